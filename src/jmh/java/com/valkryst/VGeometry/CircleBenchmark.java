@@ -0,0 +1,60 @@
+package com.valkryst.VGeometry;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CircleBenchmark {
+    private Point midpoint;
+    private Circle circle;
+    private JSONObject json;
+    private double radius;
+
+    @Setup
+    public void setup() {
+        midpoint = new Point(5, 5);
+        circle = new Circle(midpoint, 10);
+        json = circle.toJson();
+    }
+
+    @Benchmark
+    public Circle construct() {
+        return new Circle(midpoint, 10);
+    }
+
+    @Benchmark
+    public Circle copy() {
+        return new Circle(circle);
+    }
+
+    @Benchmark
+    public Circle setRadius() {
+        // Vary the radius, so that the JIT cannot treat it as a constant.
+        radius = radius < 100 ? radius + 0.5 : 0;
+        circle.setRadius(radius);
+        return circle;
+    }
+
+    @Benchmark
+    public JSONObject toJson() {
+        return circle.toJson();
+    }
+
+    @Benchmark
+    public Circle fromJson() {
+        return new Circle(json);
+    }
+
+    @Benchmark
+    public Object serializationRoundTrip() throws ClassNotFoundException, IOException {
+        return SerializationUtil.roundTrip(circle);
+    }
+}
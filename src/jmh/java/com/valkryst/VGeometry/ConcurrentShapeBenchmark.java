@@ -0,0 +1,106 @@
+package com.valkryst.VGeometry;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how reader throughput of the concurrent shapes scales with the
+ * number of reader threads, compared to guarding a shape with a monitor.
+ *
+ * Run with an increasing number of threads to see the scaling, for example:
+ * {@code mvn -P benchmark test-compile exec:exec -Djmh.args="ConcurrentShapeBenchmark -t 4"}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentShapeBenchmark {
+    private ConcurrentLine concurrentLine;
+    private ConcurrentCircle concurrentCircle;
+    private ConcurrentEllipse concurrentEllipse;
+    private Line synchronizedLine;
+
+    private final Point firstPoint = new Point(0, 0);
+    private final Point secondPoint = new Point(10, 20);
+
+    /** The line that each thread copies snapshots into. */
+    @State(Scope.Thread)
+    public static class Destination {
+        private final Line line = new Line();
+    }
+
+    @Setup
+    public void setup() {
+        concurrentLine = new ConcurrentLine(firstPoint, secondPoint);
+        concurrentCircle = new ConcurrentCircle(firstPoint, 10);
+        concurrentEllipse = new ConcurrentEllipse(firstPoint, 10, 20);
+        synchronizedLine = new Line(firstPoint, secondPoint);
+    }
+
+    @Benchmark
+    public double readLineSlope() {
+        return concurrentLine.getSlope();
+    }
+
+    @Benchmark
+    public Line readLineSnapshot() {
+        return concurrentLine.snapshot();
+    }
+
+    @Benchmark
+    public Line readLineSnapshotIntoExisting(final Destination destination) {
+        return concurrentLine.snapshot(destination.line);
+    }
+
+    @Benchmark
+    public Circle readCircleSnapshot() {
+        return concurrentCircle.snapshot();
+    }
+
+    @Benchmark
+    public Ellipse readEllipseSnapshot() {
+        return concurrentEllipse.snapshot();
+    }
+
+    @Benchmark
+    public double readSynchronizedLineSlope() {
+        synchronized (synchronizedLine) {
+            return synchronizedLine.getSlope();
+        }
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(3)
+    public double readWhileWriting_read() {
+        return concurrentLine.getSlope();
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public void readWhileWriting_write() {
+        concurrentLine.setEndPoint(secondPoint);
+    }
+
+    @Benchmark
+    @Group("synchronizedReadWhileWriting")
+    @GroupThreads(3)
+    public double synchronizedReadWhileWriting_read() {
+        synchronized (synchronizedLine) {
+            return synchronizedLine.getSlope();
+        }
+    }
+
+    @Benchmark
+    @Group("synchronizedReadWhileWriting")
+    @GroupThreads(1)
+    public void synchronizedReadWhileWriting_write() {
+        synchronized (synchronizedLine) {
+            synchronizedLine.setEndPoint(secondPoint);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.valkryst.VGeometry;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContainmentEngineBenchmark {
+    @Param({ "1000000" })
+    private int count;
+
+    @Param({ "1", "4" })
+    private int parallelism;
+
+    private PointBuffer points;
+    private Ellipse ellipse;
+    private ArrayList<Circle> circles;
+    private ForkJoinPool pool;
+    private ContainmentEngine engine;
+
+    @Setup
+    public void setup() {
+        final var random = new Random(16);
+        points = new PointBuffer(count);
+        for (int i = 0 ; i < count ; i++) {
+            points.add(random.nextInt(-1000, 1000), random.nextInt(-1000, 1000));
+        }
+
+        ellipse = new Ellipse(new Point(0, 0), 600, 300);
+        circles = new ArrayList<>();
+        for (int i = 0 ; i < 16 ; i++) {
+            circles.add(new Circle(new Point(random.nextInt(-1000, 1000), random.nextInt(-1000, 1000)), 200));
+        }
+
+        pool = new ForkJoinPool(parallelism);
+        engine = new ContainmentEngine(pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int pointsInEllipseWithLoop() {
+        int contained = 0;
+        final var point = new Point(0, 0);
+        for (int i = 0 ; i < count ; i++) {
+            points.get(i, point);
+            if (ellipse.contains(point)) {
+                contained++;
+            }
+        }
+        return contained;
+    }
+
+    @Benchmark
+    public BitSet pointsInEllipseWithEngine() {
+        return engine.findPointsIn(points, ellipse);
+    }
+
+    @Benchmark
+    public int[] containingCirclesWithEngine() {
+        return engine.findContainingCircles(points, circles);
+    }
+}
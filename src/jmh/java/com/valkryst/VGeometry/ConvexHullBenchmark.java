@@ -0,0 +1,80 @@
+package com.valkryst.VGeometry;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConvexHullBenchmark {
+    @Param({ "2000000" })
+    private int count;
+
+    @Param({ "1", "4" })
+    private int parallelism;
+
+    private PointBuffer points;
+    private List<Point> boxedPoints;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        final var random = new Random(22);
+        points = new PointBuffer(count);
+        for (int i = 0 ; i < count ; i++) {
+            points.add(random.nextInt(-1_000_000, 1_000_000), random.nextInt(-1_000_000, 1_000_000));
+        }
+        boxedPoints = points.toPoints();
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Point> hullWithBoxedPoints() {
+        final var sorted = new ArrayList<>(boxedPoints);
+        sorted.sort(Comparator.comparingInt(Point::getX).thenComparingInt(Point::getY));
+
+        final var hull = new ArrayList<Point>();
+        for (int pass = 0 ; pass < 2 ; pass++) {
+            final int start = hull.size();
+            for (final var point : sorted) {
+                while (hull.size() >= start + 2) {
+                    final var origin = hull.get(hull.size() - 2);
+                    final var last = hull.get(hull.size() - 1);
+                    final long cross = (long) (last.getX() - origin.getX()) * (point.getY() - origin.getY()) - (long) (last.getY() - origin.getY()) * (point.getX() - origin.getX());
+                    if (cross > 0) {
+                        break;
+                    }
+                    hull.remove(hull.size() - 1);
+                }
+                hull.add(point);
+            }
+            hull.remove(hull.size() - 1);
+            sorted.sort(Comparator.comparingInt(Point::getX).thenComparingInt(Point::getY).reversed());
+        }
+        return hull;
+    }
+
+    @Benchmark
+    public PointBuffer hull() {
+        return ConvexHull.of(points);
+    }
+
+    @Benchmark
+    public PointBuffer hullWithPool() {
+        return ConvexHull.of(points, pool);
+    }
+}
@@ -0,0 +1,74 @@
+package com.valkryst.VGeometry;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EllipseBenchmark {
+    private Point midpoint;
+    private Ellipse ellipse;
+    private JSONObject json;
+    private double radius;
+
+    @Setup
+    public void setup() {
+        midpoint = new Point(5, 5);
+        ellipse = new Ellipse(midpoint, 10, 20);
+        json = ellipse.toJson();
+    }
+
+    @Benchmark
+    public Ellipse construct() {
+        return new Ellipse(midpoint, 10, 20);
+    }
+
+    @Benchmark
+    public Ellipse copy() {
+        return new Ellipse(ellipse);
+    }
+
+    @Benchmark
+    public Ellipse setHorizontalRadius() {
+        // Vary the radius, so that the JIT cannot treat it as a constant.
+        radius = radius < 100 ? radius + 0.5 : 0;
+        ellipse.setHorizontalRadius(radius);
+        return ellipse;
+    }
+
+    @Benchmark
+    public Ellipse setVerticalRadius() {
+        radius = radius < 100 ? radius + 0.5 : 0;
+        ellipse.setVerticalRadius(radius);
+        return ellipse;
+    }
+
+    @Benchmark
+    public Ellipse setRadii() {
+        radius = radius < 100 ? radius + 0.5 : 0;
+        ellipse.setRadii(radius, radius + 1);
+        return ellipse;
+    }
+
+    @Benchmark
+    public JSONObject toJson() {
+        return ellipse.toJson();
+    }
+
+    @Benchmark
+    public Ellipse fromJson() {
+        return new Ellipse(json);
+    }
+
+    @Benchmark
+    public Object serializationRoundTrip() throws ClassNotFoundException, IOException {
+        return SerializationUtil.roundTrip(ellipse);
+    }
+}
@@ -0,0 +1,96 @@
+package com.valkryst.VGeometry;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KdTreeBenchmark {
+    @Param({ "500000" })
+    private int pointCount;
+
+    @Param({ "1000" })
+    private int queryCount;
+
+    @Param({ "8" })
+    private int k;
+
+    @Param({ "1", "4" })
+    private int parallelism;
+
+    private PointBuffer points;
+    private PointBuffer queries;
+    private ForkJoinPool pool;
+    private KdTree tree;
+    private int[] nearest;
+    private double[] distances;
+
+    @Setup
+    public void setup() {
+        final var random = new Random(21);
+        points = new PointBuffer(pointCount);
+        for (int i = 0 ; i < pointCount ; i++) {
+            points.add(random.nextInt(-100_000, 100_000), random.nextInt(-100_000, 100_000));
+        }
+
+        queries = new PointBuffer(queryCount);
+        for (int i = 0 ; i < queryCount ; i++) {
+            queries.add(random.nextInt(-100_000, 100_000), random.nextInt(-100_000, 100_000));
+        }
+
+        pool = new ForkJoinPool(parallelism);
+        tree = new KdTree(points, pool);
+        nearest = new int[queryCount * k];
+        distances = new double[queryCount * k];
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public KdTree build() {
+        return new KdTree(points, pool);
+    }
+
+    @Benchmark
+    public int[] nearestWithBruteForce() {
+        for (int i = 0 ; i < queryCount ; i++) {
+            final var query = queries.get(i);
+            final int offset = i * k;
+
+            // Keeps the k nearest in ascending order, by insertion.
+            int found = 0;
+            for (int j = 0 ; j < pointCount ; j++) {
+                final double distance = points.get(j).distanceSquared(query);
+                if (found == k && distance >= distances[offset + k - 1]) {
+                    continue;
+                }
+
+                int position = found < k ? found++ : k - 1;
+                while (position > 0 && distances[offset + position - 1] > distance) {
+                    distances[offset + position] = distances[offset + position - 1];
+                    nearest[offset + position] = nearest[offset + position - 1];
+                    position--;
+                }
+                distances[offset + position] = distance;
+                nearest[offset + position] = j;
+            }
+        }
+        return nearest;
+    }
+
+    @Benchmark
+    public int[] nearestWithTree() {
+        tree.findNearest(queries, k, nearest, distances);
+        return nearest;
+    }
+}
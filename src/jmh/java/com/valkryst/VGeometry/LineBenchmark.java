@@ -0,0 +1,65 @@
+package com.valkryst.VGeometry;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LineBenchmark {
+    private Point startPoint;
+    private Point endPoint;
+    private Line line;
+    private JSONObject json;
+
+    @Setup
+    public void setup() {
+        startPoint = new Point(0, 0);
+        endPoint = new Point(10, 7);
+        line = new Line(startPoint, endPoint);
+        json = line.toJson();
+    }
+
+    @Benchmark
+    public Line construct() {
+        return new Line(startPoint, endPoint);
+    }
+
+    @Benchmark
+    public Line copy() {
+        return new Line(line);
+    }
+
+    @Benchmark
+    public Line setStartPoint() {
+        line.setStartPoint(startPoint);
+        return line;
+    }
+
+    @Benchmark
+    public Line setEndPoint() {
+        line.setEndPoint(endPoint);
+        return line;
+    }
+
+    @Benchmark
+    public JSONObject toJson() {
+        return line.toJson();
+    }
+
+    @Benchmark
+    public Line fromJson() {
+        return new Line(json);
+    }
+
+    @Benchmark
+    public Object serializationRoundTrip() throws ClassNotFoundException, IOException {
+        return SerializationUtil.roundTrip(line);
+    }
+}
@@ -0,0 +1,65 @@
+package com.valkryst.VGeometry;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LineClipBenchmark {
+    @Param({ "100000" })
+    private int segmentCount;
+
+    private final BoundingBox viewport = new BoundingBox(0, 0, 1919, 1079);
+
+    private List<Line> lines;
+    private int[] segments;
+    private int[] clipped;
+    private boolean[] accepted;
+
+    @Setup
+    public void setup() {
+        final var random = new Random(24);
+
+        segments = new int[segmentCount * 4];
+        lines = new ArrayList<>(segmentCount);
+        for (int i = 0 ; i < segmentCount ; i++) {
+            final int startX = random.nextInt(-1000, 3000);
+            final int startY = random.nextInt(-1000, 2000);
+            final int endX = random.nextInt(-1000, 3000);
+            final int endY = random.nextInt(-1000, 2000);
+
+            segments[i * 4] = startX;
+            segments[i * 4 + 1] = startY;
+            segments[i * 4 + 2] = endX;
+            segments[i * 4 + 3] = endY;
+            lines.add(new Line(new Point(startX, startY), new Point(endX, endY)));
+        }
+
+        clipped = new int[segments.length];
+        accepted = new boolean[segmentCount];
+    }
+
+    @Benchmark
+    public int clipLines() {
+        int acceptedCount = 0;
+        for (int i = 0 ; i < segmentCount ; i++) {
+            final boolean isAccepted = lines.get(i).clip(viewport, clipped, i * 4);
+            accepted[i] = isAccepted;
+            acceptedCount += isAccepted ? 1 : 0;
+        }
+        return acceptedCount;
+    }
+
+    @Benchmark
+    public int clipPackedSegments() {
+        return Line.clip(segments, segmentCount, viewport, clipped, accepted);
+    }
+}
@@ -0,0 +1,88 @@
+package com.valkryst.VGeometry;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NearestSegmentBenchmark {
+    @Param({ "10000" })
+    private int queryCount;
+
+    @Param({ "2000" })
+    private int segmentCount;
+
+    @Param({ "1", "4" })
+    private int parallelism;
+
+    private PointBuffer points;
+    private ArrayList<Line> lines;
+    private ForkJoinPool pool;
+    private NearestSegmentFinder finder;
+    private int[] nearest;
+    private double[] distances;
+
+    @Setup
+    public void setup() {
+        final var random = new Random(20);
+        points = new PointBuffer(queryCount);
+        for (int i = 0 ; i < queryCount ; i++) {
+            points.add(random.nextInt(-10_000, 10_000), random.nextInt(-10_000, 10_000));
+        }
+
+        lines = new ArrayList<>(segmentCount);
+        final var segments = new int[segmentCount * 4];
+        for (int i = 0 ; i < segmentCount ; i++) {
+            final int x = random.nextInt(-10_000, 10_000);
+            final int y = random.nextInt(-10_000, 10_000);
+            final var line = new Line(new Point(x, y), new Point(x + random.nextInt(-200, 200), y + random.nextInt(-200, 200)));
+            lines.add(line);
+
+            segments[i * 4] = line.getStartPoint().getX();
+            segments[i * 4 + 1] = line.getStartPoint().getY();
+            segments[i * 4 + 2] = line.getEndPoint().getX();
+            segments[i * 4 + 3] = line.getEndPoint().getY();
+        }
+
+        pool = new ForkJoinPool(parallelism);
+        finder = new NearestSegmentFinder(segments, segmentCount, pool);
+        nearest = new int[queryCount];
+        distances = new double[queryCount];
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] nearestWithLoop() {
+        for (int i = 0 ; i < queryCount ; i++) {
+            final var point = points.get(i);
+
+            double best = Double.POSITIVE_INFINITY;
+            for (int j = 0 ; j < segmentCount ; j++) {
+                final double distance = lines.get(j).distanceSquared(point);
+                if (distance < best) {
+                    best = distance;
+                    nearest[i] = j;
+                }
+            }
+        }
+        return nearest;
+    }
+
+    @Benchmark
+    public int[] nearestWithFinder() {
+        finder.findNearest(points, nearest, distances);
+        return nearest;
+    }
+}
@@ -0,0 +1,49 @@
+package com.valkryst.VGeometry;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PointBenchmark {
+    private Point point;
+    private JSONObject json;
+
+    @Setup
+    public void setup() {
+        point = new Point(123, 456);
+        json = point.toJson();
+    }
+
+    @Benchmark
+    public Point construct() {
+        return new Point(123, 456);
+    }
+
+    @Benchmark
+    public Point copy() {
+        return new Point(point);
+    }
+
+    @Benchmark
+    public JSONObject toJson() {
+        return point.toJson();
+    }
+
+    @Benchmark
+    public Point fromJson() {
+        return new Point(json);
+    }
+
+    @Benchmark
+    public Object serializationRoundTrip() throws ClassNotFoundException, IOException {
+        return SerializationUtil.roundTrip(point);
+    }
+}
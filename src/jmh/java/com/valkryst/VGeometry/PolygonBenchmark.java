@@ -0,0 +1,64 @@
+package com.valkryst.VGeometry;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PolygonBenchmark {
+    @Param({ "10000" })
+    private int vertexCount;
+
+    private List<Line> edges;
+    private Polygon polygon;
+
+    @Setup
+    public void setup() {
+        final var coordinates = new int[vertexCount * 2];
+        for (int i = 0 ; i < vertexCount ; i++) {
+            final double angle = 2 * Math.PI * i / vertexCount;
+            final double radius = 10_000 + (i % 7) * 500;
+            coordinates[i * 2] = (int) (Math.cos(angle) * radius);
+            coordinates[i * 2 + 1] = (int) (Math.sin(angle) * radius);
+        }
+        polygon = new Polygon(coordinates, vertexCount);
+
+        edges = new ArrayList<>(vertexCount);
+        for (int i = 0 ; i < vertexCount ; i++) {
+            edges.add(new Line(polygon.getVertex(i), polygon.getVertex((i + 1) % vertexCount)));
+        }
+    }
+
+    @Benchmark
+    public double perimeterWithLines() {
+        double perimeter = 0;
+        for (final var edge : edges) {
+            final double dx = edge.getEndPoint().getX() - edge.getStartPoint().getX();
+            final double dy = edge.getEndPoint().getY() - edge.getStartPoint().getY();
+            perimeter += Math.sqrt(dx * dx + dy * dy);
+        }
+        return perimeter;
+    }
+
+    @Benchmark
+    public double perimeter() {
+        return polygon.getPerimeter();
+    }
+
+    @Benchmark
+    public double area() {
+        return polygon.getSignedArea();
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return polygon.contains(123, -456);
+    }
+}
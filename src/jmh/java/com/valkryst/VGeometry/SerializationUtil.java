@@ -0,0 +1,35 @@
+package com.valkryst.VGeometry;
+
+import java.io.*;
+
+/** Helpers for benchmarking Java serialization round-trips. */
+final class SerializationUtil {
+    private SerializationUtil() {}
+
+    /**
+     * Serializes an object, then deserializes it.
+     *
+     * @param object
+     *          The object.
+     *
+     * @return
+     *          The deserialized copy of the object.
+     *
+     * @throws ClassNotFoundException
+     *          If the class of a serialized object cannot be found.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    static Object roundTrip(final Object object) throws ClassNotFoundException, IOException {
+        final var bytes = new ByteArrayOutputStream(256);
+
+        try (final var oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(object);
+        }
+
+        try (final var ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return ois.readObject();
+        }
+    }
+}
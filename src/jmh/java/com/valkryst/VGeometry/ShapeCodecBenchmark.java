@@ -0,0 +1,70 @@
+package com.valkryst.VGeometry;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShapeCodecBenchmark {
+    @Param({ "100000" })
+    private int count;
+
+    private ArrayList<Circle> circles;
+    private int[] segments;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() {
+        circles = new ArrayList<>(count);
+        segments = new int[count * 4];
+
+        for (int i = 0 ; i < count ; i++) {
+            circles.add(new Circle(new Point(i, -i), i * 0.5));
+            segments[i * 4] = i;
+            segments[i * 4 + 1] = -i;
+            segments[i * 4 + 2] = i * 2;
+            segments[i * 4 + 3] = i * 3;
+        }
+
+        buffer = ByteBuffer.allocateDirect(count * ShapeCodec.ELLIPSE_BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    @Benchmark
+    public Object circlesWithSerialization() throws ClassNotFoundException, IOException {
+        return SerializationUtil.roundTrip(circles);
+    }
+
+    @Benchmark
+    public Circle circlesWithCodec() {
+        buffer.clear();
+        for (final var circle : circles) {
+            ShapeCodec.encode(circle, buffer);
+        }
+
+        buffer.flip();
+        final var circle = new Circle(new Point(0, 0), 0);
+        for (int i = 0 ; i < count ; i++) {
+            ShapeCodec.decode(buffer, circle);
+        }
+        return circle;
+    }
+
+    @Benchmark
+    public int[] segmentsWithCodec() {
+        buffer.clear();
+        ShapeCodec.encodeLines(segments, count, buffer);
+
+        buffer.flip();
+        ShapeCodec.decodeLines(buffer, segments, count);
+        return segments;
+    }
+}
@@ -0,0 +1,82 @@
+package com.valkryst.VGeometry;
+
+import org.json.JSONArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShapeJsonBenchmark {
+    private final List<Line> lines = new ArrayList<>();
+    private String json;
+
+    @Setup
+    public void setup() throws IOException {
+        for (int i = 0 ; i < 10_000 ; i++) {
+            lines.add(new Line(new Point(i, -i), new Point(i * 31, i * 17)));
+        }
+
+        final var array = new JSONArray();
+        lines.forEach(line -> array.put(line.toJson()));
+        json = array.toString();
+    }
+
+    @Benchmark
+    public Writer writeWithJsonObject() throws IOException {
+        final var writer = Writer.nullWriter();
+        writer.write('[');
+        for (int i = 0 ; i < lines.size() ; i++) {
+            if (i != 0) {
+                writer.write(',');
+            }
+            lines.get(i).toJson().write(writer);
+        }
+        writer.write(']');
+        return writer;
+    }
+
+    @Benchmark
+    public Writer writeWithStreamingWriter() throws IOException {
+        final var writer = Writer.nullWriter();
+        final var jsonWriter = new ShapeJsonWriter(writer);
+        jsonWriter.beginArray();
+        for (final var line : lines) {
+            jsonWriter.write(line);
+        }
+        jsonWriter.endArray();
+        return writer;
+    }
+
+    @Benchmark
+    public long readWithJsonObject() {
+        long sum = 0;
+        final var array = new JSONArray(json);
+        for (int i = 0 ; i < array.length() ; i++) {
+            sum += new Line(array.getJSONObject(i)).getEndPoint().getX();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long readWithStreamingReader() throws IOException {
+        long sum = 0;
+        final var line = new Line(new Point(0, 0), new Point(0, 0));
+        final var reader = new ShapeJsonReader(new StringReader(json));
+        reader.beginArray();
+        while (reader.hasNext()) {
+            sum += reader.readLine(line).getEndPoint().getX();
+        }
+        reader.endArray();
+        return sum;
+    }
+}
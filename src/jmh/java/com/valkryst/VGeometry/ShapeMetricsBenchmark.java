@@ -0,0 +1,73 @@
+package com.valkryst.VGeometry;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShapeMetricsBenchmark {
+    @Param({ "100000" })
+    private int count;
+
+    private double[] horizontalRadii;
+    private double[] verticalRadii;
+    private double[] results;
+    private Ellipse[] ellipses;
+
+    private final MetricsKernels scalar = new ScalarMetricsKernels();
+
+    @Setup
+    public void setup() {
+        final var random = new Random(15);
+        horizontalRadii = new double[count];
+        verticalRadii = new double[count];
+        results = new double[count];
+        ellipses = new Ellipse[count];
+
+        for (int i = 0 ; i < count ; i++) {
+            horizontalRadii[i] = random.nextDouble() * 1000;
+            verticalRadii[i] = random.nextDouble() * 1000;
+            ellipses[i] = new Ellipse(new Point(0, 0), horizontalRadii[i], verticalRadii[i]);
+        }
+    }
+
+    @Benchmark
+    public double ellipseCircumferencesWithGetters() {
+        double sum = 0;
+        for (int i = 0 ; i < count ; i++) {
+            ellipses[i].setHorizontalRadius(horizontalRadii[i]);
+            sum += ellipses[i].getCircumference();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double[] ellipseCircumferencesWithScalarKernel() {
+        scalar.ellipseCircumferences(horizontalRadii, verticalRadii, results, count);
+        return results;
+    }
+
+    @Benchmark
+    public double[] ellipseCircumferencesWithShapeMetrics() {
+        ShapeMetrics.ellipseCircumferences(horizontalRadii, verticalRadii, results, count);
+        return results;
+    }
+
+    @Benchmark
+    public double[] circleAreasWithScalarKernel() {
+        scalar.circleAreas(horizontalRadii, results, count);
+        return results;
+    }
+
+    @Benchmark
+    public double[] circleAreasWithShapeMetrics() {
+        ShapeMetrics.circleAreas(horizontalRadii, results, count);
+        return results;
+    }
+}
@@ -0,0 +1,190 @@
+package com.valkryst.VGeometry;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * An immutable, axis-aligned bounding box on the integer grid.
+ *
+ * Both the minimum and maximum coordinates are inclusive, so a box whose
+ * minimum and maximum coordinates are equal covers a single cell.
+ */
+@Value
+public class BoundingBox {
+    /** The x coordinate of the left edge. */
+    int minX;
+    /** The y coordinate of the top edge. */
+    int minY;
+    /** The x coordinate of the right edge, inclusive. */
+    int maxX;
+    /** The y coordinate of the bottom edge, inclusive. */
+    int maxY;
+
+    /**
+     * Constructs a new bounding box.
+     *
+     * @param minX
+     *          The x coordinate of the left edge.
+     *
+     * @param minY
+     *          The y coordinate of the top edge.
+     *
+     * @param maxX
+     *          The x coordinate of the right edge, inclusive.
+     *
+     * @param maxY
+     *          The y coordinate of the bottom edge, inclusive.
+     *
+     * @throws IllegalArgumentException
+     *          If either minimum coordinate is greater than its maximum coordinate.
+     */
+    public BoundingBox(final int minX, final int minY, final int maxX, final int maxY) {
+        if (minX > maxX) {
+            throw new IllegalArgumentException("The minimum x coordinate cannot be greater than the maximum x coordinate.");
+        }
+
+        if (minY > maxY) {
+            throw new IllegalArgumentException("The minimum y coordinate cannot be greater than the maximum y coordinate.");
+        }
+
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Constructs the bounding box of two points.
+     *
+     * @param x1
+     *          The x coordinate of the first point.
+     *
+     * @param y1
+     *          The y coordinate of the first point.
+     *
+     * @param x2
+     *          The x coordinate of the second point.
+     *
+     * @param y2
+     *          The y coordinate of the second point.
+     *
+     * @return
+     *          The smallest bounding box which contains both points.
+     */
+    public static BoundingBox ofPoints(final int x1, final int y1, final int x2, final int y2) {
+        return new BoundingBox(Math.min(x1, x2), Math.min(y1, y2), Math.max(x1, x2), Math.max(y1, y2));
+    }
+
+    /**
+     * Constructs the bounding box of an axis-aligned ellipse.
+     *
+     * The edges are rounded outwards to the integer grid, and clamped to the
+     * range of an int.
+     *
+     * @param midpointX
+     *          The x coordinate of the midpoint.
+     *
+     * @param midpointY
+     *          The y coordinate of the midpoint.
+     *
+     * @param horizontalRadius
+     *          The horizontal radius.
+     *
+     * @param verticalRadius
+     *          The vertical radius.
+     *
+     * @return
+     *          The smallest bounding box which contains the ellipse.
+     */
+    public static BoundingBox ofRadii(final int midpointX, final int midpointY, final double horizontalRadius, final double verticalRadius) {
+        return new BoundingBox(
+            (int) Math.max(Integer.MIN_VALUE, Math.floor(midpointX - horizontalRadius)),
+            (int) Math.max(Integer.MIN_VALUE, Math.floor(midpointY - verticalRadius)),
+            (int) Math.min(Integer.MAX_VALUE, Math.ceil(midpointX + horizontalRadius)),
+            (int) Math.min(Integer.MAX_VALUE, Math.ceil(midpointY + verticalRadius))
+        );
+    }
+
+    /**
+     * Retrieves the number of columns covered by this box.
+     *
+     * @return
+     *          The width.
+     */
+    public long getWidth() {
+        return (long) maxX - minX + 1;
+    }
+
+    /**
+     * Retrieves the number of rows covered by this box.
+     *
+     * @return
+     *          The height.
+     */
+    public long getHeight() {
+        return (long) maxY - minY + 1;
+    }
+
+    /**
+     * Determines whether this box contains a point.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          Whether the point is within, or on the edge of, this box.
+     */
+    public boolean contains(final int x, final int y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    /**
+     * Determines whether this box contains another box.
+     *
+     * @param other
+     *          The other box.
+     *
+     * @return
+     *          Whether every cell of the other box is within this box.
+     */
+    public boolean contains(final @NonNull BoundingBox other) {
+        return other.minX >= minX && other.maxX <= maxX && other.minY >= minY && other.maxY <= maxY;
+    }
+
+    /**
+     * Determines whether this box intersects another box.
+     *
+     * @param other
+     *          The other box.
+     *
+     * @return
+     *          Whether the boxes share at least one cell.
+     */
+    public boolean intersects(final @NonNull BoundingBox other) {
+        return other.minX <= maxX && other.maxX >= minX && other.minY <= maxY && other.maxY >= minY;
+    }
+
+    /**
+     * Constructs the union of this box and another box.
+     *
+     * @param other
+     *          The other box.
+     *
+     * @return
+     *          The smallest box which contains both boxes.
+     */
+    public BoundingBox union(final @NonNull BoundingBox other) {
+        if (contains(other)) {
+            return this;
+        }
+
+        if (other.contains(this)) {
+            return other;
+        }
+
+        return new BoundingBox(Math.min(minX, other.minX), Math.min(minY, other.minY), Math.max(maxX, other.maxX), Math.max(maxY, other.maxY));
+    }
+}
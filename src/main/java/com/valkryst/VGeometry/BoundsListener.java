@@ -0,0 +1,25 @@
+package com.valkryst.VGeometry;
+
+/**
+ * Represents an operation that is notified when the bounding box of a shape
+ * changes.
+ *
+ * @param <T>
+ *          The type of shape.
+ */
+@FunctionalInterface
+public interface BoundsListener<T> {
+    /**
+     * Performs this operation on a shape whose bounding box has changed.
+     *
+     * @param shape
+     *          The shape, which has already been modified.
+     *
+     * @param oldBounds
+     *          The bounding box before the modification.
+     *
+     * @param newBounds
+     *          The bounding box after the modification.
+     */
+    void boundsChanged(final T shape, final BoundingBox oldBounds, final BoundingBox newBounds);
+}
@@ -5,9 +5,8 @@ import lombok.NonNull;
 import lombok.ToString;
 import org.json.JSONObject;
 
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.Serializable;
+import java.io.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @ToString
 public class Circle implements Serializable {
@@ -19,11 +18,22 @@ public class Circle implements Serializable {
     @Getter private double radius = 0;
 
     /** The area. */
-    @Getter private double area = 0;
+    private transient double area = 0;
     /** The circumference. */
-    @Getter private double circumference = 0;
+    private transient double circumference = 0;
     /** The diameter. */
-    @Getter private double diameter = 0;
+    private transient double diameter = 0;
+    /** Whether the area, circumference, and diameter are out of date. */
+    private transient boolean dirty = true;
+    /** The bounding box, or null if it is out of date. */
+    @ToString.Exclude private transient BoundingBox bounds;
+    /** The number of times that this circle has been modified. */
+    @Getter @ToString.Exclude private transient long modificationCount = 0;
+    /** The listeners to notify when the bounding box changes, or null if there are none. */
+    @ToString.Exclude private transient CopyOnWriteArrayList<BoundsListener<? super Circle>> boundsListeners;
+
+    /** Constructs a new circle, whose midpoint is (0, 0) and whose radius is 0. */
+    public Circle() {}
 
     /**
      * Constructs a new circle.
@@ -35,8 +45,7 @@ public class Circle implements Serializable {
      *          The radius.
      */
     public Circle(final @NonNull Point midpoint, final double radius) {
-        setMidpoint(midpoint);
-        setRadius(radius);
+        set(midpoint, radius);
     }
 
     /**
@@ -46,8 +55,7 @@ public class Circle implements Serializable {
      *          The other circle.
      */
     public Circle(final @NonNull Circle circle) {
-        setMidpoint(circle.getMidpoint());
-        setRadius(circle.getRadius());
+        set(circle);
     }
 
     /**
@@ -57,8 +65,8 @@ public class Circle implements Serializable {
      *      The JSON representation of a circle.
      */
     public Circle(final @NonNull JSONObject json) {
-        setMidpoint(new Point(json.getJSONObject("midpoint")));
-        setRadius(json.getDouble("radius"));
+        final var midpoint = json.getJSONObject("midpoint");
+        set(midpoint.getInt("x"), midpoint.getInt("y"), json.getDouble("radius"));
     }
 
     /**
@@ -88,19 +96,128 @@ public class Circle implements Serializable {
      */
     private void readObject(final ObjectInputStream is) throws ClassNotFoundException, IOException {
         is.defaultReadObject();
-        updateArea();
-        updateCircumference();
-        updateDiameter();
+        dirty = true;
+    }
+
+    /**
+     * Replaces this circle with its compact serialized form.
+     *
+     * @return
+     *          The serialized form.
+     */
+    private Object writeReplace() {
+        return new SerializationProxy(this);
+    }
+
+    /**
+     * Recalculates the area, circumference, and diameter, if the radius has
+     * changed since they were last calculated.
+     */
+    private void updateDerivedProperties() {
+        if (dirty) {
+            updateArea();
+            updateCircumference();
+            updateDiameter();
+            dirty = false;
+        }
     }
 
     /** Recalculates the area. */
     private void updateArea() {
-        area = Math.PI * radius * radius;
+        area = calculateArea(radius);
     }
 
     /** Recalculates the circumference. */
     private void updateCircumference() {
-        circumference = 2 * Math.PI * radius;
+        circumference = calculateCircumference(radius);
+    }
+
+    /**
+     * Calculates the area of a circle.
+     *
+     * @param radius
+     *          The radius.
+     *
+     * @return
+     *          The area.
+     */
+    static double calculateArea(final double radius) {
+        return Math.PI * radius * radius;
+    }
+
+    /**
+     * Calculates the circumference of a circle.
+     *
+     * @param radius
+     *          The radius.
+     *
+     * @return
+     *          The circumference.
+     */
+    static double calculateCircumference(final double radius) {
+        return 2 * Math.PI * radius;
+    }
+
+    /**
+     * Determines whether a circle contains a point.
+     *
+     * @param midpointX
+     *          The x coordinate of the circle's midpoint.
+     *
+     * @param midpointY
+     *          The y coordinate of the circle's midpoint.
+     *
+     * @param radius
+     *          The radius.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          Whether the point is within, or on, the circle.
+     */
+    static boolean contains(final int midpointX, final int midpointY, final double radius, final int x, final int y) {
+        final double dx = (double) midpointX - x;
+        final double dy = (double) midpointY - y;
+        return dx * dx + dy * dy <= radius * radius;
+    }
+
+    /**
+     * Retrieves the bounding box from before a modification, if any listener
+     * needs to be notified of the modification.
+     *
+     * @return
+     *          The bounding box, or null if there are no listeners.
+     */
+    private BoundingBox getBoundsBeforeModification() {
+        return boundsListeners == null ? null : getBounds();
+    }
+
+    /**
+     * Invalidates the bounding box, counts a modification, and notifies the
+     * listeners if the bounding box has changed.
+     *
+     * @param oldBounds
+     *          The bounding box from before the modification, or null if
+     *          there were no listeners.
+     */
+    private void modified(final BoundingBox oldBounds) {
+        bounds = null;
+        modificationCount++;
+
+        if (oldBounds == null || boundsListeners == null) {
+            return;
+        }
+
+        final var newBounds = getBounds();
+        if (!newBounds.equals(oldBounds)) {
+            for (final var listener : boundsListeners) {
+                listener.boundsChanged(this, oldBounds, newBounds);
+            }
+        }
     }
 
     /** Recalculates the diameter. */
@@ -108,6 +225,208 @@ public class Circle implements Serializable {
         diameter = 2 * radius;
     }
 
+    /**
+     * Retrieves the area.
+     *
+     * @return
+     *      The area.
+     */
+    public double getArea() {
+        updateDerivedProperties();
+        return area;
+    }
+
+    /**
+     * Retrieves the circumference.
+     *
+     * @return
+     *      The circumference.
+     */
+    public double getCircumference() {
+        updateDerivedProperties();
+        return circumference;
+    }
+
+    /**
+     * Retrieves the diameter.
+     *
+     * @return
+     *      The diameter.
+     */
+    public double getDiameter() {
+        updateDerivedProperties();
+        return diameter;
+    }
+
+    /**
+     * Retrieves the bounding box of this circle.
+     *
+     * The box is cached until this circle is next modified through one of its
+     * setters. Modifying the midpoint returned by {@link #getMidpoint()}
+     * directly does not invalidate the cache.
+     *
+     * @return
+     *          The bounding box.
+     */
+    public BoundingBox getBounds() {
+        if (bounds == null) {
+            bounds = BoundingBox.ofRadii(midpoint.getX(), midpoint.getY(), radius, radius);
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Adds a listener, which is notified whenever a setter changes the
+     * bounding box of this circle.
+     *
+     * While there are no listeners, modifying this circle costs only a null
+     * check.
+     *
+     * @param listener
+     *          The listener.
+     */
+    public void addBoundsListener(final @NonNull BoundsListener<? super Circle> listener) {
+        if (boundsListeners == null) {
+            boundsListeners = new CopyOnWriteArrayList<>();
+        }
+
+        boundsListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener
+     *          The listener.
+     *
+     * @return
+     *          Whether the listener had been added.
+     */
+    public boolean removeBoundsListener(final @NonNull BoundsListener<? super Circle> listener) {
+        if (boundsListeners == null) {
+            return false;
+        }
+
+        final boolean removed = boundsListeners.remove(listener);
+        if (boundsListeners.isEmpty()) {
+            boundsListeners = null;
+        }
+
+        return removed;
+    }
+
+    /**
+     * Calculates the distance from a point to the outline of this circle.
+     *
+     * This takes a single square root, of the squared distance from the
+     * point to the midpoint.
+     *
+     * @param point
+     *          The point.
+     *
+     * @return
+     *          The distance, which is negative if the point is within this
+     *          circle.
+     */
+    public double distanceToOutline(final @NonNull Point point) {
+        return distanceToOutline(point.getX(), point.getY());
+    }
+
+    /**
+     * Calculates the distance from a point to the outline of this circle.
+     *
+     * This takes a single square root, of the squared distance from the
+     * point to the midpoint.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          The distance, which is negative if the point is within this
+     *          circle.
+     */
+    public double distanceToOutline(final int x, final int y) {
+        return Math.sqrt(Point.distanceSquared(midpoint.getX(), midpoint.getY(), x, y)) - radius;
+    }
+
+    /**
+     * Determines whether this circle contains a point.
+     *
+     * @param point
+     *          The point.
+     *
+     * @return
+     *          Whether the point is within, or on, this circle.
+     */
+    public boolean contains(final @NonNull Point point) {
+        return contains(point.getX(), point.getY());
+    }
+
+    /**
+     * Determines whether this circle contains a point.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          Whether the point is within, or on, this circle.
+     */
+    public boolean contains(final int x, final int y) {
+        return contains(midpoint.getX(), midpoint.getY(), radius, x, y);
+    }
+
+    /**
+     * Sets a new midpoint and radius.
+     *
+     * @param midpoint
+     *          The midpoint.
+     *
+     * @param radius
+     *          The radius.
+     */
+    public void set(final @NonNull Point midpoint, final double radius) {
+        set(midpoint.getX(), midpoint.getY(), radius);
+    }
+
+    /**
+     * Sets a new midpoint and radius.
+     *
+     * @param x
+     *          The x coordinate of the midpoint.
+     *
+     * @param y
+     *          The y coordinate of the midpoint.
+     *
+     * @param radius
+     *          The radius.
+     */
+    public void set(final int x, final int y, final double radius) {
+        final var oldBounds = getBoundsBeforeModification();
+        midpoint.set(x, y);
+        this.radius = Math.abs(radius);
+        dirty = true;
+        modified(oldBounds);
+    }
+
+    /**
+     * Sets a new midpoint and radius, using another circle.
+     *
+     * The listeners of the other circle are not copied.
+     *
+     * @param circle
+     *          The other circle.
+     */
+    public void set(final @NonNull Circle circle) {
+        set(circle.midpoint.getX(), circle.midpoint.getY(), circle.radius);
+    }
+
     /**
      * Sets a new midpoint.
      *
@@ -115,8 +434,22 @@ public class Circle implements Serializable {
      *          The midpoint.
      */
     public void setMidpoint(final @NonNull Point midpoint) {
-        this.midpoint.setX(midpoint.getX());
-        this.midpoint.setY(midpoint.getY());
+        setMidpoint(midpoint.getX(), midpoint.getY());
+    }
+
+    /**
+     * Sets a new midpoint.
+     *
+     * @param x
+     *          The x coordinate of the midpoint.
+     *
+     * @param y
+     *          The y coordinate of the midpoint.
+     */
+    public void setMidpoint(final int x, final int y) {
+        final var oldBounds = getBoundsBeforeModification();
+        midpoint.set(x, y);
+        modified(oldBounds);
     }
 
     /**
@@ -126,9 +459,170 @@ public class Circle implements Serializable {
      *          The radius.
      */
     public void setRadius(final double radius) {
+        final var oldBounds = getBoundsBeforeModification();
         this.radius = Math.abs(radius);
-        updateArea();
-        updateCircumference();
-        updateDiameter();
+        dirty = true;
+        modified(oldBounds);
+    }
+
+    /**
+     * Rasterizes the outline of this circle, using the midpoint circle
+     * algorithm.
+     *
+     * The radius is rounded to the nearest integer. Each cell is passed to
+     * the consumer exactly once, in no particular order.
+     *
+     * @param consumer
+     *          The consumer to pass the coordinates of each cell to.
+     */
+    public void rasterizeOutline(final @NonNull PointConsumer consumer) {
+        final int centerX = midpoint.getX();
+        final int centerY = midpoint.getY();
+
+        int x = 0;
+        int y = (int) Math.round(radius);
+        int decision = 1 - y;
+
+        while (x <= y) {
+            if (x == 0) {
+                consumer.accept(centerX, centerY + y);
+
+                if (y != 0) {
+                    consumer.accept(centerX, centerY - y);
+                    consumer.accept(centerX + y, centerY);
+                    consumer.accept(centerX - y, centerY);
+                }
+            } else {
+                consumer.accept(centerX + x, centerY + y);
+                consumer.accept(centerX - x, centerY + y);
+                consumer.accept(centerX + x, centerY - y);
+                consumer.accept(centerX - x, centerY - y);
+
+                if (x != y) {
+                    consumer.accept(centerX + y, centerY + x);
+                    consumer.accept(centerX - y, centerY + x);
+                    consumer.accept(centerX + y, centerY - x);
+                    consumer.accept(centerX - y, centerY - x);
+                }
+            }
+
+            if (decision < 0) {
+                decision += 2 * x + 3;
+            } else {
+                decision += 2 * (x - y) + 5;
+                y--;
+            }
+
+            x++;
+        }
+    }
+
+    /**
+     * Rasterizes the interior of this circle, as horizontal spans, using the
+     * midpoint circle algorithm.
+     *
+     * The radius is rounded to the nearest integer. The spans are bounded by
+     * the cells of the {@link #rasterizeOutline(PointConsumer) outline} and
+     * each row is passed to the consumer exactly once, in no particular
+     * order.
+     *
+     * @param consumer
+     *          The consumer to pass each span to.
+     */
+    public void rasterizeFilled(final @NonNull SpanConsumer consumer) {
+        final int centerX = midpoint.getX();
+        final int centerY = midpoint.getY();
+
+        int x = 0;
+        int y = (int) Math.round(radius);
+        int decision = 1 - y;
+
+        while (x <= y) {
+            // The rows at +/- x are visited once each, and span +/- y.
+            consumer.accept(centerY + x, centerX - y, centerX + y);
+
+            if (x != 0) {
+                consumer.accept(centerY - x, centerX - y, centerX + y);
+            }
+
+            if (decision < 0) {
+                decision += 2 * x + 3;
+            } else {
+                // The rows at +/- y are complete once y is about to change.
+                if (x != y) {
+                    consumer.accept(centerY + y, centerX - x, centerX + x);
+                    consumer.accept(centerY - y, centerX - x, centerX + x);
+                }
+
+                decision += 2 * (x - y) + 5;
+                y--;
+            }
+
+            x++;
+        }
+    }
+
+    /**
+     * The compact serialized form of a circle, which writes its midpoint as
+     * primitives rather than as nested {@link Point} objects.
+     *
+     * Streams which were written before this form was introduced are still
+     * read by {@link #readObject(ObjectInputStream)}.
+     */
+    private static final class SerializationProxy implements Externalizable {
+        private static final long serialVersionUID = 1;
+
+        /** The x coordinate of the midpoint. */
+        private int midpointX;
+        /** The y coordinate of the midpoint. */
+        private int midpointY;
+        /** The radius. */
+        private double radius;
+
+        /** Constructs a new, empty, serialized form, for deserialization. */
+        public SerializationProxy() {}
+
+        /**
+         * Constructs the serialized form of a circle.
+         *
+         * @param circle
+         *          The circle.
+         */
+        private SerializationProxy(final Circle circle) {
+            midpointX = circle.getMidpoint().getX();
+            midpointY = circle.getMidpoint().getY();
+            radius = circle.getRadius();
+        }
+
+        /**
+         * @serialData
+         *          The x and y coordinates of the midpoint, as ints, then the
+         *          radius, as a double.
+         */
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeInt(midpointX);
+            out.writeInt(midpointY);
+            out.writeDouble(radius);
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException {
+            midpointX = in.readInt();
+            midpointY = in.readInt();
+            radius = in.readDouble();
+        }
+
+        /**
+         * Resolves the serialized form into the circle that it represents.
+         *
+         * @return
+         *          The circle.
+         */
+        private Object readResolve() {
+            final var circle = new Circle();
+            circle.set(midpointX, midpointY, radius);
+            return circle;
+        }
     }
 }
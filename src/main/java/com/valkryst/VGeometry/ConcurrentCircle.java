@@ -0,0 +1,230 @@
+package com.valkryst.VGeometry;
+
+import lombok.NonNull;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A circle which can be modified by one thread while it is read by others.
+ *
+ * Reads are optimistic, so they never block writers or each other, and they
+ * only fall back to a read lock if a write happened while they were reading.
+ * Every read sees the midpoint and radius of a single write, and the derived
+ * properties of a {@link #snapshot() snapshot} always match its radius.
+ */
+public class ConcurrentCircle {
+    /** The lock which guards the midpoint and radius. */
+    private final StampedLock lock = new StampedLock();
+
+    /** The x coordinate of the midpoint. */
+    private int midpointX;
+    /** The y coordinate of the midpoint. */
+    private int midpointY;
+    /** The radius. */
+    private double radius;
+
+    /**
+     * Constructs a new concurrent circle.
+     *
+     * @param midpoint
+     *          The midpoint.
+     *
+     * @param radius
+     *          The radius.
+     */
+    public ConcurrentCircle(final @NonNull Point midpoint, final double radius) {
+        set(midpoint, radius);
+    }
+
+    /**
+     * Constructs a new concurrent circle, using a circle.
+     *
+     * @param circle
+     *          The circle.
+     */
+    public ConcurrentCircle(final @NonNull Circle circle) {
+        set(circle);
+    }
+
+    /**
+     * Retrieves a consistent copy of this circle.
+     *
+     * @return
+     *          The copy.
+     */
+    public Circle snapshot() {
+        return snapshot(new Circle());
+    }
+
+    /**
+     * Copies a consistent view of this circle into an existing circle.
+     *
+     * @param circle
+     *          The circle to copy into.
+     *
+     * @return
+     *          The circle.
+     */
+    public Circle snapshot(final @NonNull Circle circle) {
+        long stamp = lock.tryOptimisticRead();
+        int x = midpointX;
+        int y = midpointY;
+        double radius = this.radius;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                x = midpointX;
+                y = midpointY;
+                radius = this.radius;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        circle.set(x, y, radius);
+        return circle;
+    }
+
+    /**
+     * Retrieves a copy of the midpoint.
+     *
+     * @return
+     *          The midpoint.
+     */
+    public Point getMidpoint() {
+        long stamp = lock.tryOptimisticRead();
+        int x = midpointX;
+        int y = midpointY;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                x = midpointX;
+                y = midpointY;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        return new Point(x, y);
+    }
+
+    /**
+     * Retrieves the radius.
+     *
+     * @return
+     *          The radius.
+     */
+    public double getRadius() {
+        long stamp = lock.tryOptimisticRead();
+        double radius = this.radius;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                radius = this.radius;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        return radius;
+    }
+
+    /**
+     * Sets a new midpoint and radius, atomically.
+     *
+     * @param midpoint
+     *          The midpoint.
+     *
+     * @param radius
+     *          The radius.
+     */
+    public void set(final @NonNull Point midpoint, final double radius) {
+        set(midpoint.getX(), midpoint.getY(), radius);
+    }
+
+    /**
+     * Sets a new midpoint and radius, atomically.
+     *
+     * @param x
+     *          The x coordinate of the midpoint.
+     *
+     * @param y
+     *          The y coordinate of the midpoint.
+     *
+     * @param radius
+     *          The radius.
+     */
+    public void set(final int x, final int y, final double radius) {
+        final long stamp = lock.writeLock();
+        try {
+            midpointX = x;
+            midpointY = y;
+            this.radius = Math.abs(radius);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets a new midpoint and radius, atomically, using a circle.
+     *
+     * @param circle
+     *          The circle.
+     */
+    public void set(final @NonNull Circle circle) {
+        final var midpoint = circle.getMidpoint();
+        set(midpoint.getX(), midpoint.getY(), circle.getRadius());
+    }
+
+    /**
+     * Sets a new midpoint.
+     *
+     * @param midpoint
+     *          The midpoint.
+     */
+    public void setMidpoint(final @NonNull Point midpoint) {
+        setMidpoint(midpoint.getX(), midpoint.getY());
+    }
+
+    /**
+     * Sets a new midpoint.
+     *
+     * @param x
+     *          The x coordinate of the midpoint.
+     *
+     * @param y
+     *          The y coordinate of the midpoint.
+     */
+    public void setMidpoint(final int x, final int y) {
+        final long stamp = lock.writeLock();
+        try {
+            midpointX = x;
+            midpointY = y;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets a new radius.
+     *
+     * @param radius
+     *          The radius.
+     */
+    public void setRadius(final double radius) {
+        final long stamp = lock.writeLock();
+        try {
+            this.radius = Math.abs(radius);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Concurrent" + snapshot();
+    }
+}
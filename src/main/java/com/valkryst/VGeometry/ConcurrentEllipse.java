@@ -0,0 +1,270 @@
+package com.valkryst.VGeometry;
+
+import lombok.NonNull;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * An ellipse which can be modified by one thread while it is read by others.
+ *
+ * Reads are optimistic, so they never block writers or each other, and they
+ * only fall back to a read lock if a write happened while they were reading.
+ * Every read sees the midpoint and radii of a single write, and the derived
+ * properties of a {@link #snapshot() snapshot} always match its radii.
+ */
+public class ConcurrentEllipse {
+    /** The lock which guards the midpoint and radii. */
+    private final StampedLock lock = new StampedLock();
+
+    /** The x coordinate of the midpoint. */
+    private int midpointX;
+    /** The y coordinate of the midpoint. */
+    private int midpointY;
+    /** The horizontal radius. */
+    private double horizontalRadius;
+    /** The vertical radius. */
+    private double verticalRadius;
+
+    /**
+     * Constructs a new concurrent ellipse.
+     *
+     * @param midpoint
+     *          The midpoint.
+     *
+     * @param horizontalRadius
+     *          The horizontal radius.
+     *
+     * @param verticalRadius
+     *          The vertical radius.
+     */
+    public ConcurrentEllipse(final @NonNull Point midpoint, final double horizontalRadius, final double verticalRadius) {
+        set(midpoint, horizontalRadius, verticalRadius);
+    }
+
+    /**
+     * Constructs a new concurrent ellipse, using an ellipse.
+     *
+     * @param ellipse
+     *          The ellipse.
+     */
+    public ConcurrentEllipse(final @NonNull Ellipse ellipse) {
+        set(ellipse);
+    }
+
+    /**
+     * Retrieves a consistent copy of this ellipse.
+     *
+     * @return
+     *          The copy.
+     */
+    public Ellipse snapshot() {
+        return snapshot(new Ellipse());
+    }
+
+    /**
+     * Copies a consistent view of this ellipse into an existing ellipse.
+     *
+     * @param ellipse
+     *          The ellipse to copy into.
+     *
+     * @return
+     *          The ellipse.
+     */
+    public Ellipse snapshot(final @NonNull Ellipse ellipse) {
+        long stamp = lock.tryOptimisticRead();
+        int x = midpointX;
+        int y = midpointY;
+        double horizontalRadius = this.horizontalRadius;
+        double verticalRadius = this.verticalRadius;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                x = midpointX;
+                y = midpointY;
+                horizontalRadius = this.horizontalRadius;
+                verticalRadius = this.verticalRadius;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        ellipse.set(x, y, horizontalRadius, verticalRadius);
+        return ellipse;
+    }
+
+    /**
+     * Retrieves a copy of the midpoint.
+     *
+     * @return
+     *          The midpoint.
+     */
+    public Point getMidpoint() {
+        long stamp = lock.tryOptimisticRead();
+        int x = midpointX;
+        int y = midpointY;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                x = midpointX;
+                y = midpointY;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        return new Point(x, y);
+    }
+
+    /**
+     * Retrieves the horizontal radius.
+     *
+     * @return
+     *          The horizontal radius.
+     */
+    public double getHorizontalRadius() {
+        long stamp = lock.tryOptimisticRead();
+        double horizontalRadius = this.horizontalRadius;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                horizontalRadius = this.horizontalRadius;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        return horizontalRadius;
+    }
+
+    /**
+     * Retrieves the vertical radius.
+     *
+     * @return
+     *          The vertical radius.
+     */
+    public double getVerticalRadius() {
+        long stamp = lock.tryOptimisticRead();
+        double verticalRadius = this.verticalRadius;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                verticalRadius = this.verticalRadius;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        return verticalRadius;
+    }
+
+    /**
+     * Sets a new midpoint and radii, atomically.
+     *
+     * @param midpoint
+     *          The midpoint.
+     *
+     * @param horizontalRadius
+     *          The horizontal radius.
+     *
+     * @param verticalRadius
+     *          The vertical radius.
+     */
+    public void set(final @NonNull Point midpoint, final double horizontalRadius, final double verticalRadius) {
+        set(midpoint.getX(), midpoint.getY(), horizontalRadius, verticalRadius);
+    }
+
+    /**
+     * Sets a new midpoint and radii, atomically.
+     *
+     * @param x
+     *          The x coordinate of the midpoint.
+     *
+     * @param y
+     *          The y coordinate of the midpoint.
+     *
+     * @param horizontalRadius
+     *          The horizontal radius.
+     *
+     * @param verticalRadius
+     *          The vertical radius.
+     */
+    public void set(final int x, final int y, final double horizontalRadius, final double verticalRadius) {
+        final long stamp = lock.writeLock();
+        try {
+            midpointX = x;
+            midpointY = y;
+            this.horizontalRadius = Math.abs(horizontalRadius);
+            this.verticalRadius = Math.abs(verticalRadius);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets a new midpoint and radii, atomically, using an ellipse.
+     *
+     * @param ellipse
+     *          The ellipse.
+     */
+    public void set(final @NonNull Ellipse ellipse) {
+        final var midpoint = ellipse.getMidpoint();
+        set(midpoint.getX(), midpoint.getY(), ellipse.getHorizontalRadius(), ellipse.getVerticalRadius());
+    }
+
+    /**
+     * Sets a new midpoint.
+     *
+     * @param midpoint
+     *          The midpoint.
+     */
+    public void setMidpoint(final @NonNull Point midpoint) {
+        setMidpoint(midpoint.getX(), midpoint.getY());
+    }
+
+    /**
+     * Sets a new midpoint.
+     *
+     * @param x
+     *          The x coordinate of the midpoint.
+     *
+     * @param y
+     *          The y coordinate of the midpoint.
+     */
+    public void setMidpoint(final int x, final int y) {
+        final long stamp = lock.writeLock();
+        try {
+            midpointX = x;
+            midpointY = y;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets new horizontal and vertical radii, atomically.
+     *
+     * @param horizontalRadius
+     *          The horizontal radius.
+     *
+     * @param verticalRadius
+     *          The vertical radius.
+     */
+    public void setRadii(final double horizontalRadius, final double verticalRadius) {
+        final long stamp = lock.writeLock();
+        try {
+            this.horizontalRadius = Math.abs(horizontalRadius);
+            this.verticalRadius = Math.abs(verticalRadius);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Concurrent" + snapshot();
+    }
+}
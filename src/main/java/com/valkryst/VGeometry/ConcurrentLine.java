@@ -0,0 +1,282 @@
+package com.valkryst.VGeometry;
+
+import lombok.NonNull;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A line which can be modified by one thread while it is read by others.
+ *
+ * Reads are optimistic, so they never block writers or each other, and they
+ * only fall back to a read lock if a write happened while they were reading.
+ * Every read sees the start and end points of a single write.
+ */
+public class ConcurrentLine {
+    /** The lock which guards the coordinates. */
+    private final StampedLock lock = new StampedLock();
+
+    /** The x coordinate of the start point. */
+    private int startX;
+    /** The y coordinate of the start point. */
+    private int startY;
+    /** The x coordinate of the end point. */
+    private int endX;
+    /** The y coordinate of the end point. */
+    private int endY;
+
+    /**
+     * Constructs a new concurrent line.
+     *
+     * @param startPoint
+     *          The start point.
+     *
+     * @param endPoint
+     *          The end point.
+     */
+    public ConcurrentLine(final @NonNull Point startPoint, final @NonNull Point endPoint) {
+        set(startPoint, endPoint);
+    }
+
+    /**
+     * Constructs a new concurrent line, using a line.
+     *
+     * @param line
+     *          The line.
+     */
+    public ConcurrentLine(final @NonNull Line line) {
+        set(line);
+    }
+
+    /**
+     * Retrieves a consistent copy of this line.
+     *
+     * @return
+     *          The copy.
+     */
+    public Line snapshot() {
+        return snapshot(new Line());
+    }
+
+    /**
+     * Copies a consistent view of this line into an existing line.
+     *
+     * @param line
+     *          The line to copy into.
+     *
+     * @return
+     *          The line.
+     */
+    public Line snapshot(final @NonNull Line line) {
+        long stamp = lock.tryOptimisticRead();
+        int startX = this.startX;
+        int startY = this.startY;
+        int endX = this.endX;
+        int endY = this.endY;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                startX = this.startX;
+                startY = this.startY;
+                endX = this.endX;
+                endY = this.endY;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        line.set(startX, startY, endX, endY);
+        return line;
+    }
+
+    /**
+     * Retrieves a copy of the start point.
+     *
+     * @return
+     *          The start point.
+     */
+    public Point getStartPoint() {
+        long stamp = lock.tryOptimisticRead();
+        int x = startX;
+        int y = startY;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                x = startX;
+                y = startY;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        return new Point(x, y);
+    }
+
+    /**
+     * Retrieves a copy of the end point.
+     *
+     * @return
+     *          The end point.
+     */
+    public Point getEndPoint() {
+        long stamp = lock.tryOptimisticRead();
+        int x = endX;
+        int y = endY;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                x = endX;
+                y = endY;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        return new Point(x, y);
+    }
+
+    /**
+     * Retrieves the slope.
+     *
+     * @return
+     *          The slope.
+     */
+    public double getSlope() {
+        long stamp = lock.tryOptimisticRead();
+        int startX = this.startX;
+        int startY = this.startY;
+        int endX = this.endX;
+        int endY = this.endY;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                startX = this.startX;
+                startY = this.startY;
+                endX = this.endX;
+                endY = this.endY;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        return Line.calculateSlope(startX, startY, endX, endY);
+    }
+
+    /**
+     * Sets new start and end points, atomically.
+     *
+     * @param startPoint
+     *          The start point.
+     *
+     * @param endPoint
+     *          The end point.
+     */
+    public void set(final @NonNull Point startPoint, final @NonNull Point endPoint) {
+        set(startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY());
+    }
+
+    /**
+     * Sets new start and end points, atomically.
+     *
+     * @param startX
+     *          The x coordinate of the start point.
+     *
+     * @param startY
+     *          The y coordinate of the start point.
+     *
+     * @param endX
+     *          The x coordinate of the end point.
+     *
+     * @param endY
+     *          The y coordinate of the end point.
+     */
+    public void set(final int startX, final int startY, final int endX, final int endY) {
+        final long stamp = lock.writeLock();
+        try {
+            this.startX = startX;
+            this.startY = startY;
+            this.endX = endX;
+            this.endY = endY;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets new start and end points, atomically, using a line.
+     *
+     * @param line
+     *          The line.
+     */
+    public void set(final @NonNull Line line) {
+        final var startPoint = line.getStartPoint();
+        final var endPoint = line.getEndPoint();
+        set(startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY());
+    }
+
+    /**
+     * Sets a new start point.
+     *
+     * @param startPoint
+     *          The start point.
+     */
+    public void setStartPoint(final @NonNull Point startPoint) {
+        setStartPoint(startPoint.getX(), startPoint.getY());
+    }
+
+    /**
+     * Sets a new start point.
+     *
+     * @param x
+     *          The x coordinate of the start point.
+     *
+     * @param y
+     *          The y coordinate of the start point.
+     */
+    public void setStartPoint(final int x, final int y) {
+        final long stamp = lock.writeLock();
+        try {
+            startX = x;
+            startY = y;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets a new end point.
+     *
+     * @param endPoint
+     *          The end point.
+     */
+    public void setEndPoint(final @NonNull Point endPoint) {
+        setEndPoint(endPoint.getX(), endPoint.getY());
+    }
+
+    /**
+     * Sets a new end point.
+     *
+     * @param x
+     *          The x coordinate of the end point.
+     *
+     * @param y
+     *          The y coordinate of the end point.
+     */
+    public void setEndPoint(final int x, final int y) {
+        final long stamp = lock.writeLock();
+        try {
+            endX = x;
+            endY = y;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Concurrent" + snapshot();
+    }
+}
@@ -0,0 +1,229 @@
+package com.valkryst.VGeometry;
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Classifies large sets of points against circles and ellipses, by splitting
+ * the points into chunks which are classified in parallel on a
+ * {@link ForkJoinPool}.
+ *
+ * The shapes are copied into packed arrays before any work is forked, and each
+ * chunk writes to its own range of the results, so the chunks share no mutable
+ * state. Chunks are aligned to multiples of 64 points, so that each word of a
+ * {@link BitSet} is written by exactly one chunk.
+ *
+ * Neither the points nor the shapes may be modified while they are being
+ * classified.
+ */
+public class ContainmentEngine {
+    /** The minimum number of containment tests performed by each chunk. */
+    private static final int MIN_CHUNK_WORK = 4096;
+
+    /** The pool to classify the points on. */
+    private final ForkJoinPool pool;
+
+    /** Constructs a new containment engine, which uses the common pool. */
+    public ContainmentEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new containment engine.
+     *
+     * @param pool
+     *          The pool to classify points on.
+     */
+    public ContainmentEngine(final @NonNull ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Determines which points are contained by a circle.
+     *
+     * @param points
+     *          The points.
+     *
+     * @param circle
+     *          The circle.
+     *
+     * @return
+     *          A bit set, where the bit at each point's index is set if the
+     *          point is within, or on, the circle.
+     */
+    public BitSet findPointsIn(final @NonNull PointBuffer points, final @NonNull Circle circle) {
+        final int midpointX = circle.getMidpoint().getX();
+        final int midpointY = circle.getMidpoint().getY();
+        final double radius = circle.getRadius();
+
+        final var words = new long[wordCount(points.getSize())];
+        run(points.getSize(), 1, (start, end) -> {
+            for (int i = start ; i < end ; i++) {
+                if (Circle.contains(midpointX, midpointY, radius, points.getX(i), points.getY(i))) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Determines which points are contained by an ellipse.
+     *
+     * @param points
+     *          The points.
+     *
+     * @param ellipse
+     *          The ellipse.
+     *
+     * @return
+     *          A bit set, where the bit at each point's index is set if the
+     *          point is within, or on, the ellipse.
+     */
+    public BitSet findPointsIn(final @NonNull PointBuffer points, final @NonNull Ellipse ellipse) {
+        final int midpointX = ellipse.getMidpoint().getX();
+        final int midpointY = ellipse.getMidpoint().getY();
+        final double horizontalRadius = ellipse.getHorizontalRadius();
+        final double verticalRadius = ellipse.getVerticalRadius();
+
+        final var words = new long[wordCount(points.getSize())];
+        run(points.getSize(), 1, (start, end) -> {
+            for (int i = start ; i < end ; i++) {
+                if (Ellipse.contains(midpointX, midpointY, horizontalRadius, verticalRadius, points.getX(i), points.getY(i))) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Determines which circle, if any, contains each point.
+     *
+     * Each point is tested against the circles in order, so the cost is
+     * proportional to the number of points multiplied by the number of
+     * circles.
+     *
+     * @param points
+     *          The points.
+     *
+     * @param circles
+     *          The circles.
+     *
+     * @return
+     *          An array holding, at each point's index, the index of the first
+     *          circle which contains the point, or -1 if no circle contains it.
+     */
+    public int[] findContainingCircles(final @NonNull PointBuffer points, final @NonNull List<Circle> circles) {
+        final int count = circles.size();
+        final var midpointXs = new int[count];
+        final var midpointYs = new int[count];
+        final var radii = new double[count];
+        for (int i = 0 ; i < count ; i++) {
+            final var circle = circles.get(i);
+            midpointXs[i] = circle.getMidpoint().getX();
+            midpointYs[i] = circle.getMidpoint().getY();
+            radii[i] = circle.getRadius();
+        }
+
+        final var results = new int[points.getSize()];
+        Arrays.fill(results, -1);
+        run(points.getSize(), count, (start, end) -> {
+            for (int i = start ; i < end ; i++) {
+                final int x = points.getX(i);
+                final int y = points.getY(i);
+
+                for (int j = 0 ; j < count ; j++) {
+                    if (Circle.contains(midpointXs[j], midpointYs[j], radii[j], x, y)) {
+                        results[i] = j;
+                        break;
+                    }
+                }
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Determines which ellipse, if any, contains each point.
+     *
+     * Each point is tested against the ellipses in order, so the cost is
+     * proportional to the number of points multiplied by the number of
+     * ellipses.
+     *
+     * @param points
+     *          The points.
+     *
+     * @param ellipses
+     *          The ellipses.
+     *
+     * @return
+     *          An array holding, at each point's index, the index of the first
+     *          ellipse which contains the point, or -1 if no ellipse contains
+     *          it.
+     */
+    public int[] findContainingEllipses(final @NonNull PointBuffer points, final @NonNull List<Ellipse> ellipses) {
+        final int count = ellipses.size();
+        final var midpointXs = new int[count];
+        final var midpointYs = new int[count];
+        final var horizontalRadii = new double[count];
+        final var verticalRadii = new double[count];
+        for (int i = 0 ; i < count ; i++) {
+            final var ellipse = ellipses.get(i);
+            midpointXs[i] = ellipse.getMidpoint().getX();
+            midpointYs[i] = ellipse.getMidpoint().getY();
+            horizontalRadii[i] = ellipse.getHorizontalRadius();
+            verticalRadii[i] = ellipse.getVerticalRadius();
+        }
+
+        final var results = new int[points.getSize()];
+        Arrays.fill(results, -1);
+        run(points.getSize(), count, (start, end) -> {
+            for (int i = start ; i < end ; i++) {
+                final int x = points.getX(i);
+                final int y = points.getY(i);
+
+                for (int j = 0 ; j < count ; j++) {
+                    if (Ellipse.contains(midpointXs[j], midpointYs[j], horizontalRadii[j], verticalRadii[j], x, y)) {
+                        results[i] = j;
+                        break;
+                    }
+                }
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Classifies a range of points, in parallel.
+     *
+     * @param pointCount
+     *          The number of points.
+     *
+     * @param shapeCount
+     *          The number of shapes that each point is tested against.
+     *
+     * @param action
+     *          The action which classifies a range of points.
+     */
+    private void run(final int pointCount, final int shapeCount, final ParallelRanges.RangeAction action) {
+        ParallelRanges.forEach(pool, pointCount, MIN_CHUNK_WORK / Math.max(1, shapeCount), action);
+    }
+
+    /**
+     * Calculates the number of words needed to hold a bit for each point.
+     *
+     * @param pointCount
+     *          The number of points.
+     *
+     * @return
+     *          The number of words.
+     */
+    private static int wordCount(final int pointCount) {
+        return (pointCount + 63) >>> 6;
+    }
+}
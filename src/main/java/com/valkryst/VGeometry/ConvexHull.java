@@ -0,0 +1,293 @@
+package com.valkryst.VGeometry;
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Computes convex hulls of point sets, using Andrew's monotone chain.
+ *
+ * Each point is packed into a single long, whose natural order is the order
+ * of the points by x and then by y, so sorting the points is a sort of a
+ * primitive array. The turn between each three points is decided exactly,
+ * for all int coordinates, by {@link Line#crossSign(long, long, long, long)}.
+ *
+ * Large point sets may be processed on a {@link ForkJoinPool}. The sorted
+ * points are split into contiguous chunks, whose lower and upper chains are
+ * built in parallel, and then the chains of all chunks are chained once
+ * more. A vertex of the hull of every point is always a vertex of the hull of
+ * its chunk, so the second pass only visits a small number of candidates.
+ */
+public final class ConvexHull {
+    /** The minimum number of points which are processed in parallel. */
+    private static final int MIN_PARALLEL_SIZE = 65_536;
+    /** The minimum number of points packed by each chunk of a parallel pack. */
+    private static final int MIN_PACK_CHUNK_SIZE = 16_384;
+
+    private ConvexHull() {}
+
+    /**
+     * Computes the convex hull of a number of points.
+     *
+     * @param points
+     *          The points.
+     *
+     * @return
+     *          The vertices of the hull, as described by
+     *          {@link #of(PointBuffer)}.
+     */
+    public static PointBuffer of(final @NonNull Collection<Point> points) {
+        return of(new PointBuffer(points));
+    }
+
+    /**
+     * Computes the convex hull of a number of points.
+     *
+     * The vertices are ordered counter-clockwise, when the y axis points up,
+     * starting from the point with the lowest x coordinate and, of those, the
+     * lowest y coordinate. Duplicate points, and points which lie on an edge
+     * of the hull, are not vertices. If every point is the same, then the
+     * hull is that point, and if every point is on one line, then the hull is
+     * the two ends of the line.
+     *
+     * @param points
+     *          The points.
+     *
+     * @return
+     *          The vertices of the hull.
+     */
+    public static PointBuffer of(final @NonNull PointBuffer points) {
+        final var keys = new long[points.getSize()];
+        pack(points, keys, 0, keys.length);
+        Arrays.sort(keys);
+
+        final var lower = new long[keys.length];
+        final int lowerCount = chain(keys, 0, keys.length, lower, 0, 1);
+        final int upperCount = chain(keys, 0, keys.length, keys, 0, -1);
+        return assemble(lower, lowerCount, keys, upperCount);
+    }
+
+    /**
+     * Computes the convex hull of a number of points, in parallel.
+     *
+     * The points are sorted with {@link Arrays#parallelSort(long[])}, and
+     * then chained in as many chunks as the pool has threads. Fewer than
+     * {@value #MIN_PARALLEL_SIZE} points are processed on the calling thread.
+     *
+     * @param points
+     *          The points.
+     *
+     * @param pool
+     *          The pool to process the points on.
+     *
+     * @return
+     *          The vertices of the hull, as described by
+     *          {@link #of(PointBuffer)}.
+     */
+    public static PointBuffer of(final @NonNull PointBuffer points, final @NonNull ForkJoinPool pool) {
+        final int count = points.getSize();
+        if (count < MIN_PARALLEL_SIZE || pool.getParallelism() == 1) {
+            return of(points);
+        }
+
+        final var keys = new long[count];
+        ParallelRanges.forEach(pool, count, MIN_PACK_CHUNK_SIZE, (start, end) -> pack(points, keys, start, end));
+
+        return pool.invoke(ForkJoinTask.adapt(() -> {
+            // Run within the pool, so that the sort forks its tasks onto the pool.
+            Arrays.parallelSort(keys);
+
+            final int chunkCount = pool.getParallelism();
+            final var lower = new long[count];
+            final var lowerCounts = new int[chunkCount];
+            final var upperCounts = new int[chunkCount];
+
+            final var tasks = new ForkJoinTask<?>[chunkCount];
+            for (int i = 0 ; i < chunkCount ; i++) {
+                final int chunk = i;
+                final int from = chunkStart(chunk, chunkCount, count);
+                final int to = chunkStart(chunk + 1, chunkCount, count);
+
+                tasks[i] = ForkJoinTask.adapt(() -> {
+                    lowerCounts[chunk] = chain(keys, from, to, lower, from, 1);
+                    upperCounts[chunk] = chain(keys, from, to, keys, from, -1);
+                });
+            }
+            ForkJoinTask.invokeAll(tasks);
+
+            // Move the chains of every chunk to the front of their arrays, then chain the candidates once more.
+            int lowerCount = 0;
+            int upperCount = 0;
+            for (int i = 0 ; i < chunkCount ; i++) {
+                final int from = chunkStart(i, chunkCount, count);
+                System.arraycopy(lower, from, lower, lowerCount, lowerCounts[i]);
+                System.arraycopy(keys, from, keys, upperCount, upperCounts[i]);
+                lowerCount += lowerCounts[i];
+                upperCount += upperCounts[i];
+            }
+
+            lowerCount = chain(lower, 0, lowerCount, lower, 0, 1);
+            upperCount = chain(keys, 0, upperCount, keys, 0, -1);
+            return assemble(lower, lowerCount, keys, upperCount);
+        }));
+    }
+
+    /**
+     * Builds the lower or upper chain of a range of sorted points.
+     *
+     * The chain may be written over the points themselves, as long as it
+     * starts at the same index, because the chain never holds more points
+     * than have been read.
+     *
+     * @param keys
+     *          The packed points, sorted in ascending order.
+     *
+     * @param from
+     *          The first index of the range, inclusive.
+     *
+     * @param to
+     *          The last index of the range, exclusive.
+     *
+     * @param chain
+     *          The array to write the chain to.
+     *
+     * @param offset
+     *          The index of the chain array to write the first point to.
+     *
+     * @param turn
+     *          1 to build the lower chain, whose every turn is
+     *          counter-clockwise, or -1 to build the upper chain, whose every
+     *          turn is clockwise.
+     *
+     * @return
+     *          The number of points in the chain.
+     */
+    private static int chain(final long[] keys, final int from, final int to, final long[] chain, final int offset, final int turn) {
+        int count = 0;
+        for (int i = from ; i < to ; i++) {
+            final long key = keys[i];
+            if (count > 0 && chain[offset + count - 1] == key) {
+                continue;
+            }
+
+            final int x = unpackX(key);
+            final int y = unpackY(key);
+            while (count >= 2) {
+                final long origin = chain[offset + count - 2];
+                final long last = chain[offset + count - 1];
+                final long originX = unpackX(origin);
+                final long originY = unpackY(origin);
+
+                if (Line.crossSign(unpackX(last) - originX, unpackY(last) - originY, x - originX, y - originY) * turn > 0) {
+                    break;
+                }
+                count--;
+            }
+
+            chain[offset + count] = key;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Joins a lower and an upper chain into the vertices of a hull.
+     *
+     * @param lower
+     *          The lower chain.
+     *
+     * @param lowerCount
+     *          The number of points in the lower chain.
+     *
+     * @param upper
+     *          The upper chain.
+     *
+     * @param upperCount
+     *          The number of points in the upper chain.
+     *
+     * @return
+     *          The vertices of the hull.
+     */
+    private static PointBuffer assemble(final long[] lower, final int lowerCount, final long[] upper, final int upperCount) {
+        // Both chains run from the leftmost to the rightmost point, so the upper chain is reversed without its ends.
+        final var hull = new PointBuffer(Math.max(1, lowerCount + upperCount - 2));
+        for (int i = 0 ; i < lowerCount ; i++) {
+            hull.add(unpackX(lower[i]), unpackY(lower[i]));
+        }
+        for (int i = upperCount - 2 ; i > 0 ; i--) {
+            hull.add(unpackX(upper[i]), unpackY(upper[i]));
+        }
+        return hull;
+    }
+
+    /**
+     * Packs a range of points into longs, whose signed order is the order of
+     * the points by x and then by y.
+     *
+     * @param points
+     *          The points.
+     *
+     * @param keys
+     *          The array to write the packed points to.
+     *
+     * @param start
+     *          The first index, inclusive.
+     *
+     * @param end
+     *          The last index, exclusive.
+     */
+    private static void pack(final PointBuffer points, final long[] keys, final int start, final int end) {
+        for (int i = start ; i < end ; i++) {
+            // Flipping the sign bit of y makes its unsigned order match its signed order.
+            keys[i] = ((long) points.getX(i) << 32) | ((points.getY(i) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        }
+    }
+
+    /**
+     * Unpacks the x coordinate of a packed point.
+     *
+     * @param key
+     *          The packed point.
+     *
+     * @return
+     *          The x coordinate.
+     */
+    private static int unpackX(final long key) {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * Unpacks the y coordinate of a packed point.
+     *
+     * @param key
+     *          The packed point.
+     *
+     * @return
+     *          The y coordinate.
+     */
+    private static int unpackY(final long key) {
+        return (int) key ^ Integer.MIN_VALUE;
+    }
+
+    /**
+     * Calculates the first index of a chunk.
+     *
+     * @param chunk
+     *          The index of the chunk.
+     *
+     * @param chunkCount
+     *          The number of chunks.
+     *
+     * @param count
+     *          The number of points.
+     *
+     * @return
+     *          The first index of the chunk, inclusive.
+     */
+    private static int chunkStart(final int chunk, final int chunkCount, final int count) {
+        return (int) ((long) count * chunk / chunkCount);
+    }
+}
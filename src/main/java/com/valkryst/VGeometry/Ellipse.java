@@ -5,9 +5,8 @@ import lombok.NonNull;
 import lombok.ToString;
 import org.json.JSONObject;
 
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.Serializable;
+import java.io.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @ToString
 public class Ellipse implements Serializable {
@@ -21,13 +20,24 @@ public class Ellipse implements Serializable {
     @Getter private double verticalRadius = 0;
 
     /** The area. */
-    @Getter private double area = 0;
+    private transient double area = 0;
     /** The circumference. */
-    @Getter private double circumference = 0;
+    private transient double circumference = 0;
     /** The horizontal diameter. */
-    @Getter private double horizontalDiameter = 0;
+    private transient double horizontalDiameter = 0;
     /** The vertical diameter. */
-    @Getter private double verticalDiameter = 0;
+    private transient double verticalDiameter = 0;
+    /** Whether the area, circumference, and diameters are out of date. */
+    private transient boolean dirty = true;
+    /** The bounding box, or null if it is out of date. */
+    @ToString.Exclude private transient BoundingBox bounds;
+    /** The number of times that this ellipse has been modified. */
+    @Getter @ToString.Exclude private transient long modificationCount = 0;
+    /** The listeners to notify when the bounding box changes, or null if there are none. */
+    @ToString.Exclude private transient CopyOnWriteArrayList<BoundsListener<? super Ellipse>> boundsListeners;
+
+    /** Constructs a new ellipse, whose midpoint is (0, 0) and whose radii are 0. */
+    public Ellipse() {}
 
     /**
      * Constructs a new ellipse.
@@ -42,9 +52,7 @@ public class Ellipse implements Serializable {
      *          The vertical radius.
      */
     public Ellipse(final @NonNull Point midpoint, final double horizontalRadius, final double verticalRadius) {
-        setMidpoint(midpoint);
-        setHorizontalRadius(horizontalRadius);
-        setVerticalRadius(verticalRadius);
+        set(midpoint, horizontalRadius, verticalRadius);
     }
 
     /**
@@ -54,9 +62,7 @@ public class Ellipse implements Serializable {
      *          The other ellipse.
      */
     public Ellipse(final @NonNull Ellipse ellipse) {
-        setMidpoint(ellipse.getMidpoint());
-        setHorizontalRadius(ellipse.getHorizontalRadius());
-        setVerticalRadius(ellipse.getVerticalRadius());
+        set(ellipse);
     }
 
     /**
@@ -66,9 +72,8 @@ public class Ellipse implements Serializable {
      *      The JSON representation of an ellipse.
      */
     public Ellipse(final @NonNull JSONObject json) {
-        setMidpoint(new Point(json.getJSONObject("midpoint")));
-        setHorizontalRadius(json.getDouble("horizontalRadius"));
-        setVerticalRadius(json.getDouble("verticalRadius"));
+        final var midpoint = json.getJSONObject("midpoint");
+        set(midpoint.getInt("x"), midpoint.getInt("y"), json.getDouble("horizontalRadius"), json.getDouble("verticalRadius"));
     }
 
     /**
@@ -99,22 +104,152 @@ public class Ellipse implements Serializable {
      */
     private void readObject(final ObjectInputStream is) throws ClassNotFoundException, IOException {
         is.defaultReadObject();
-        updateArea();
-        updateCircumference();
-        updateDiameters();
+        dirty = true;
+    }
+
+    /**
+     * Replaces this ellipse with its compact serialized form.
+     *
+     * @return
+     *          The serialized form.
+     */
+    private Object writeReplace() {
+        return new SerializationProxy(this);
+    }
+
+    /**
+     * Recalculates the area, circumference, and diameters, if either radius
+     * has changed since they were last calculated.
+     */
+    private void updateDerivedProperties() {
+        if (dirty) {
+            updateArea();
+            updateCircumference();
+            updateDiameters();
+            dirty = false;
+        }
     }
 
     /** Recalculates the area. */
     private void updateArea() {
-        area = Math.PI * horizontalRadius * verticalRadius;
+        area = calculateArea(horizontalRadius, verticalRadius);
     }
 
     /** Recalculates the circumference. */
     private void updateCircumference() {
-        final var h = Math.pow(verticalRadius - horizontalRadius, 2) / Math.pow(verticalRadius + horizontalRadius, 2);
-        final var numerator = 3 * h;
-        final var denominator = 10 + Math.sqrt(4 - (3 * h));
-        circumference = Math.PI * (verticalRadius + horizontalRadius) * (1 + (numerator / denominator));
+        circumference = calculateCircumference(horizontalRadius, verticalRadius);
+    }
+
+    /**
+     * Calculates the area of an ellipse.
+     *
+     * @param horizontalRadius
+     *          The horizontal radius.
+     *
+     * @param verticalRadius
+     *          The vertical radius.
+     *
+     * @return
+     *          The area.
+     */
+    static double calculateArea(final double horizontalRadius, final double verticalRadius) {
+        return Math.PI * horizontalRadius * verticalRadius;
+    }
+
+    /**
+     * Calculates the circumference of an ellipse, using Ramanujan's second
+     * approximation.
+     *
+     * @param horizontalRadius
+     *          The horizontal radius.
+     *
+     * @param verticalRadius
+     *          The vertical radius.
+     *
+     * @return
+     *          The circumference.
+     */
+    static double calculateCircumference(final double horizontalRadius, final double verticalRadius) {
+        final double sum = verticalRadius + horizontalRadius;
+        final double difference = verticalRadius - horizontalRadius;
+        final double h = (difference * difference) / (sum * sum);
+        final double numerator = 3 * h;
+        final double denominator = 10 + Math.sqrt(4 - (3 * h));
+        return Math.PI * sum * (1 + (numerator / denominator));
+    }
+
+    /**
+     * Determines whether an ellipse contains a point.
+     *
+     * Rather than dividing by the radii, both sides of the ellipse's equation
+     * are multiplied by the squares of the radii. When a radius is zero, the
+     * product holds for every point on the other axis, so the point must also
+     * be within the other radius of the midpoint.
+     *
+     * @param midpointX
+     *          The x coordinate of the ellipse's midpoint.
+     *
+     * @param midpointY
+     *          The y coordinate of the ellipse's midpoint.
+     *
+     * @param horizontalRadius
+     *          The horizontal radius.
+     *
+     * @param verticalRadius
+     *          The vertical radius.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          Whether the point is within, or on, the ellipse.
+     */
+    static boolean contains(final int midpointX, final int midpointY, final double horizontalRadius, final double verticalRadius, final int x, final int y) {
+        final double dx = (double) midpointX - x;
+        final double dy = (double) midpointY - y;
+        final double dx2 = dx * dx;
+        final double dy2 = dy * dy;
+        final double h2 = horizontalRadius * horizontalRadius;
+        final double v2 = verticalRadius * verticalRadius;
+        return dx2 * v2 + dy2 * h2 <= h2 * v2 && (h2 != 0 || dy2 <= v2) && (v2 != 0 || dx2 <= h2);
+    }
+
+    /**
+     * Retrieves the bounding box from before a modification, if any listener
+     * needs to be notified of the modification.
+     *
+     * @return
+     *          The bounding box, or null if there are no listeners.
+     */
+    private BoundingBox getBoundsBeforeModification() {
+        return boundsListeners == null ? null : getBounds();
+    }
+
+    /**
+     * Invalidates the bounding box, counts a modification, and notifies the
+     * listeners if the bounding box has changed.
+     *
+     * @param oldBounds
+     *          The bounding box from before the modification, or null if
+     *          there were no listeners.
+     */
+    private void modified(final BoundingBox oldBounds) {
+        bounds = null;
+        modificationCount++;
+
+        if (oldBounds == null || boundsListeners == null) {
+            return;
+        }
+
+        final var newBounds = getBounds();
+        if (!newBounds.equals(oldBounds)) {
+            for (final var listener : boundsListeners) {
+                listener.boundsChanged(this, oldBounds, newBounds);
+            }
+        }
     }
 
     /** Recalculates the diameters. */
@@ -123,6 +258,192 @@ public class Ellipse implements Serializable {
         verticalDiameter = verticalRadius * 2;
     }
 
+    /**
+     * Retrieves the area.
+     *
+     * @return
+     *      The area.
+     */
+    public double getArea() {
+        updateDerivedProperties();
+        return area;
+    }
+
+    /**
+     * Retrieves the circumference.
+     *
+     * @return
+     *      The circumference.
+     */
+    public double getCircumference() {
+        updateDerivedProperties();
+        return circumference;
+    }
+
+    /**
+     * Retrieves the horizontal diameter.
+     *
+     * @return
+     *      The horizontal diameter.
+     */
+    public double getHorizontalDiameter() {
+        updateDerivedProperties();
+        return horizontalDiameter;
+    }
+
+    /**
+     * Retrieves the vertical diameter.
+     *
+     * @return
+     *      The vertical diameter.
+     */
+    public double getVerticalDiameter() {
+        updateDerivedProperties();
+        return verticalDiameter;
+    }
+
+    /**
+     * Retrieves the bounding box of this ellipse.
+     *
+     * The box is cached until this ellipse is next modified through one of its
+     * setters. Modifying the midpoint returned by {@link #getMidpoint()}
+     * directly does not invalidate the cache.
+     *
+     * @return
+     *          The bounding box.
+     */
+    public BoundingBox getBounds() {
+        if (bounds == null) {
+            bounds = BoundingBox.ofRadii(midpoint.getX(), midpoint.getY(), horizontalRadius, verticalRadius);
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Adds a listener, which is notified whenever a setter changes the
+     * bounding box of this ellipse.
+     *
+     * While there are no listeners, modifying this ellipse costs only a null
+     * check.
+     *
+     * @param listener
+     *          The listener.
+     */
+    public void addBoundsListener(final @NonNull BoundsListener<? super Ellipse> listener) {
+        if (boundsListeners == null) {
+            boundsListeners = new CopyOnWriteArrayList<>();
+        }
+
+        boundsListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener
+     *          The listener.
+     *
+     * @return
+     *          Whether the listener had been added.
+     */
+    public boolean removeBoundsListener(final @NonNull BoundsListener<? super Ellipse> listener) {
+        if (boundsListeners == null) {
+            return false;
+        }
+
+        final boolean removed = boundsListeners.remove(listener);
+        if (boundsListeners.isEmpty()) {
+            boundsListeners = null;
+        }
+
+        return removed;
+    }
+
+    /**
+     * Determines whether this ellipse contains a point.
+     *
+     * @param point
+     *          The point.
+     *
+     * @return
+     *          Whether the point is within, or on, this ellipse.
+     */
+    public boolean contains(final @NonNull Point point) {
+        return contains(point.getX(), point.getY());
+    }
+
+    /**
+     * Determines whether this ellipse contains a point.
+     *
+     * If either radius is zero, then this ellipse is a line segment, or a
+     * point, and only the points on that segment are contained.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          Whether the point is within, or on, this ellipse.
+     */
+    public boolean contains(final int x, final int y) {
+        return contains(midpoint.getX(), midpoint.getY(), horizontalRadius, verticalRadius, x, y);
+    }
+
+    /**
+     * Sets a new midpoint and radii.
+     *
+     * @param midpoint
+     *          The midpoint.
+     *
+     * @param horizontalRadius
+     *          The horizontal radius.
+     *
+     * @param verticalRadius
+     *          The vertical radius.
+     */
+    public void set(final @NonNull Point midpoint, final double horizontalRadius, final double verticalRadius) {
+        set(midpoint.getX(), midpoint.getY(), horizontalRadius, verticalRadius);
+    }
+
+    /**
+     * Sets a new midpoint and radii.
+     *
+     * @param x
+     *          The x coordinate of the midpoint.
+     *
+     * @param y
+     *          The y coordinate of the midpoint.
+     *
+     * @param horizontalRadius
+     *          The horizontal radius.
+     *
+     * @param verticalRadius
+     *          The vertical radius.
+     */
+    public void set(final int x, final int y, final double horizontalRadius, final double verticalRadius) {
+        final var oldBounds = getBoundsBeforeModification();
+        midpoint.set(x, y);
+        this.horizontalRadius = Math.abs(horizontalRadius);
+        this.verticalRadius = Math.abs(verticalRadius);
+        dirty = true;
+        modified(oldBounds);
+    }
+
+    /**
+     * Sets a new midpoint and radii, using another ellipse.
+     *
+     * The listeners of the other ellipse are not copied.
+     *
+     * @param ellipse
+     *          The other ellipse.
+     */
+    public void set(final @NonNull Ellipse ellipse) {
+        set(ellipse.midpoint.getX(), ellipse.midpoint.getY(), ellipse.horizontalRadius, ellipse.verticalRadius);
+    }
+
     /**
      * Sets a new midpoint.
      *
@@ -130,8 +451,22 @@ public class Ellipse implements Serializable {
      *          The midpoint.
      */
     public void setMidpoint(final @NonNull Point midpoint) {
-        this.midpoint.setX(midpoint.getX());
-        this.midpoint.setY(midpoint.getY());
+        setMidpoint(midpoint.getX(), midpoint.getY());
+    }
+
+    /**
+     * Sets a new midpoint.
+     *
+     * @param x
+     *          The x coordinate of the midpoint.
+     *
+     * @param y
+     *          The y coordinate of the midpoint.
+     */
+    public void setMidpoint(final int x, final int y) {
+        final var oldBounds = getBoundsBeforeModification();
+        midpoint.set(x, y);
+        modified(oldBounds);
     }
 
     /**
@@ -141,10 +476,10 @@ public class Ellipse implements Serializable {
      *          The horizontal radius.
      */
     public void setHorizontalRadius(final double horizontalRadius) {
+        final var oldBounds = getBoundsBeforeModification();
         this.horizontalRadius = Math.abs(horizontalRadius);
-        updateArea();
-        updateCircumference();
-        updateDiameters();
+        dirty = true;
+        modified(oldBounds);
     }
 
     /**
@@ -154,9 +489,270 @@ public class Ellipse implements Serializable {
      *          The vertical radius.
      */
     public void setVerticalRadius(final double verticalRadius) {
+        final var oldBounds = getBoundsBeforeModification();
         this.verticalRadius = Math.abs(verticalRadius);
-        updateArea();
-        updateCircumference();
-        updateDiameters();
+        dirty = true;
+        modified(oldBounds);
+    }
+
+    /**
+     * Sets new horizontal and vertical radii.
+     *
+     * @param horizontalRadius
+     *          The horizontal radius.
+     *
+     * @param verticalRadius
+     *          The vertical radius.
+     */
+    public void setRadii(final double horizontalRadius, final double verticalRadius) {
+        final var oldBounds = getBoundsBeforeModification();
+        this.horizontalRadius = Math.abs(horizontalRadius);
+        this.verticalRadius = Math.abs(verticalRadius);
+        dirty = true;
+        modified(oldBounds);
+    }
+
+    /**
+     * Rasterizes the outline of this ellipse, using the midpoint ellipse
+     * algorithm.
+     *
+     * The radii are rounded to the nearest integers. Each cell is passed to
+     * the consumer exactly once, in no particular order.
+     *
+     * @param consumer
+     *          The consumer to pass the coordinates of each cell to.
+     */
+    public void rasterizeOutline(final @NonNull PointConsumer consumer) {
+        final int centerX = midpoint.getX();
+        final int centerY = midpoint.getY();
+        final long rx = Math.round(horizontalRadius);
+        final long ry = Math.round(verticalRadius);
+
+        if (ry == 0) {
+            for (int x = 0 ; x <= rx ; x++) {
+                plotQuadrants(centerX, centerY, x, 0, consumer);
+            }
+
+            return;
+        }
+
+        final long rx2 = rx * rx;
+        final long ry2 = ry * ry;
+
+        int x = 0;
+        int y = (int) ry;
+        long px = 0;
+        long py = 2 * rx2 * y;
+
+        // Region 1, where the slope of the outline is shallower than -1.
+        long decision = 4 * ry2 - 4 * rx2 * ry + rx2;
+        while (px < py) {
+            plotQuadrants(centerX, centerY, x, y, consumer);
+
+            x++;
+            px += 2 * ry2;
+
+            if (decision < 0) {
+                decision += 4 * (ry2 + px);
+            } else {
+                y--;
+                py -= 2 * rx2;
+                decision += 4 * (ry2 + px - py);
+            }
+        }
+
+        // Region 2, where the slope of the outline is steeper than -1.
+        decision = ry2 * (2L * x + 1) * (2L * x + 1) + 4 * rx2 * (y - 1L) * (y - 1L) - 4 * rx2 * ry2;
+        while (y >= 0) {
+            plotQuadrants(centerX, centerY, x, y, consumer);
+
+            y--;
+            py -= 2 * rx2;
+
+            if (decision > 0) {
+                decision += 4 * (rx2 - py);
+            } else {
+                x++;
+                px += 2 * ry2;
+                decision += 4 * (rx2 - py + px);
+            }
+        }
+    }
+
+    /**
+     * Rasterizes the interior of this ellipse, as horizontal spans, using the
+     * midpoint ellipse algorithm.
+     *
+     * The radii are rounded to the nearest integers. The spans are bounded by
+     * the cells of the {@link #rasterizeOutline(PointConsumer) outline} and
+     * each row is passed to the consumer exactly once, in no particular
+     * order.
+     *
+     * @param consumer
+     *          The consumer to pass each span to.
+     */
+    public void rasterizeFilled(final @NonNull SpanConsumer consumer) {
+        final int centerX = midpoint.getX();
+        final int centerY = midpoint.getY();
+        final long rx = Math.round(horizontalRadius);
+        final long ry = Math.round(verticalRadius);
+
+        if (ry == 0) {
+            consumer.accept(centerY, (int) (centerX - rx), (int) (centerX + rx));
+            return;
+        }
+
+        final long rx2 = rx * rx;
+        final long ry2 = ry * ry;
+
+        int x = 0;
+        int y = (int) ry;
+        long px = 0;
+        long py = 2 * rx2 * y;
+
+        // Region 1, where a row is complete once y is about to change.
+        long decision = 4 * ry2 - 4 * rx2 * ry + rx2;
+        while (px < py) {
+            final int rowX = x;
+
+            x++;
+            px += 2 * ry2;
+
+            if (decision < 0) {
+                decision += 4 * (ry2 + px);
+            } else {
+                consumer.accept(centerY + y, centerX - rowX, centerX + rowX);
+                consumer.accept(centerY - y, centerX - rowX, centerX + rowX);
+
+                y--;
+                py -= 2 * rx2;
+                decision += 4 * (ry2 + px - py);
+            }
+        }
+
+        // Region 2, where each row is visited once.
+        decision = ry2 * (2L * x + 1) * (2L * x + 1) + 4 * rx2 * (y - 1L) * (y - 1L) - 4 * rx2 * ry2;
+        while (y >= 0) {
+            consumer.accept(centerY + y, centerX - x, centerX + x);
+
+            if (y != 0) {
+                consumer.accept(centerY - y, centerX - x, centerX + x);
+            }
+
+            y--;
+            py -= 2 * rx2;
+
+            if (decision > 0) {
+                decision += 4 * (rx2 - py);
+            } else {
+                x++;
+                px += 2 * ry2;
+                decision += 4 * (rx2 - py + px);
+            }
+        }
+    }
+
+    /**
+     * Passes a cell, and its reflections in each quadrant of an ellipse, to a
+     * consumer. Cells which lie on an axis are only passed once.
+     *
+     * @param centerX
+     *          The x coordinate of the midpoint of the ellipse.
+     *
+     * @param centerY
+     *          The y coordinate of the midpoint of the ellipse.
+     *
+     * @param x
+     *          The x offset of the cell, from the midpoint.
+     *
+     * @param y
+     *          The y offset of the cell, from the midpoint.
+     *
+     * @param consumer
+     *          The consumer.
+     */
+    private static void plotQuadrants(final int centerX, final int centerY, final int x, final int y, final PointConsumer consumer) {
+        consumer.accept(centerX + x, centerY + y);
+
+        if (x != 0) {
+            consumer.accept(centerX - x, centerY + y);
+        }
+
+        if (y != 0) {
+            consumer.accept(centerX + x, centerY - y);
+
+            if (x != 0) {
+                consumer.accept(centerX - x, centerY - y);
+            }
+        }
+    }
+
+    /**
+     * The compact serialized form of an ellipse, which writes its midpoint as
+     * primitives rather than as nested {@link Point} objects.
+     *
+     * Streams which were written before this form was introduced are still
+     * read by {@link #readObject(ObjectInputStream)}.
+     */
+    private static final class SerializationProxy implements Externalizable {
+        private static final long serialVersionUID = 1;
+
+        /** The x coordinate of the midpoint. */
+        private int midpointX;
+        /** The y coordinate of the midpoint. */
+        private int midpointY;
+        /** The horizontal radius. */
+        private double horizontalRadius;
+        /** The vertical radius. */
+        private double verticalRadius;
+
+        /** Constructs a new, empty, serialized form, for deserialization. */
+        public SerializationProxy() {}
+
+        /**
+         * Constructs the serialized form of an ellipse.
+         *
+         * @param ellipse
+         *          The ellipse.
+         */
+        private SerializationProxy(final Ellipse ellipse) {
+            midpointX = ellipse.getMidpoint().getX();
+            midpointY = ellipse.getMidpoint().getY();
+            horizontalRadius = ellipse.getHorizontalRadius();
+            verticalRadius = ellipse.getVerticalRadius();
+        }
+
+        /**
+         * @serialData
+         *          The x and y coordinates of the midpoint, as ints, then the
+         *          horizontal and vertical radii, as doubles.
+         */
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeInt(midpointX);
+            out.writeInt(midpointY);
+            out.writeDouble(horizontalRadius);
+            out.writeDouble(verticalRadius);
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException {
+            midpointX = in.readInt();
+            midpointY = in.readInt();
+            horizontalRadius = in.readDouble();
+            verticalRadius = in.readDouble();
+        }
+
+        /**
+         * Resolves the serialized form into the ellipse that it represents.
+         *
+         * @return
+         *          The ellipse.
+         */
+        private Object readResolve() {
+            final var ellipse = new Ellipse();
+            ellipse.set(midpointX, midpointY, horizontalRadius, verticalRadius);
+            return ellipse;
+        }
     }
 }
@@ -0,0 +1,778 @@
+package com.valkryst.VGeometry;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * A static two-dimensional tree, which indexes a set of points for
+ * k-nearest-neighbour and radius queries.
+ *
+ * The tree has no node objects. The points are copied into packed arrays, and
+ * then reordered so that the median of every range, split alternately along
+ * the x and y axes, sits at the middle of that range. Ranges of
+ * {@value #LEAF_SIZE} or fewer points are left unordered, and are scanned
+ * directly.
+ *
+ * Each point is identified by its index in the buffer that the tree was built
+ * from. The tree cannot be modified once built, so it may be queried from many
+ * threads at once, and neither building it nor querying it allocates anything
+ * beyond the packed arrays.
+ */
+public class KdTree {
+    /** The maximum number of points in a range which is left unordered. */
+    private static final int LEAF_SIZE = 8;
+    /** The minimum number of points in a range which is built in parallel. */
+    private static final int MIN_PARALLEL_BUILD_SIZE = 16_384;
+    /** The minimum number of queries performed by each chunk of a batch. */
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    /** The number of points. */
+    @Getter private final int size;
+
+    /** The x coordinate of each point, in tree order. */
+    private final int[] xs;
+    /** The y coordinate of each point, in tree order. */
+    private final int[] ys;
+    /** The index of each point, in tree order. */
+    private final int[] indices;
+    /** The pool to build the tree, and run batches of queries, on. */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new tree, which uses the common pool.
+     *
+     * @param points
+     *          The points.
+     */
+    public KdTree(final @NonNull PointBuffer points) {
+        this(points, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new tree.
+     *
+     * Large trees are built in parallel, by splitting each range on the
+     * calling thread and then building its two halves as separate tasks.
+     *
+     * @param points
+     *          The points.
+     *
+     * @param pool
+     *          The pool to build the tree, and run batches of queries, on.
+     */
+    public KdTree(final @NonNull PointBuffer points, final @NonNull ForkJoinPool pool) {
+        this.size = points.getSize();
+        this.xs = new int[size];
+        this.ys = new int[size];
+        this.indices = new int[size];
+        this.pool = pool;
+
+        points.get(0, xs, ys, 0, size);
+        for (int i = 0 ; i < size ; i++) {
+            indices[i] = i;
+        }
+
+        if (size > MIN_PARALLEL_BUILD_SIZE) {
+            pool.invoke(new BuildTask(0, size, 0));
+        } else {
+            build(0, size, 0);
+        }
+    }
+
+    /**
+     * Finds the point nearest to a position.
+     *
+     * @param x
+     *          The x coordinate of the position.
+     *
+     * @param y
+     *          The y coordinate of the position.
+     *
+     * @return
+     *          The index of the nearest point, or -1 if the tree is empty. Ties
+     *          are broken arbitrarily.
+     */
+    public int findNearest(final int x, final int y) {
+        if (size == 0) {
+            return -1;
+        }
+
+        return indices[findNearest(0, size, 0, x, y, -1)];
+    }
+
+    /**
+     * Finds the points nearest to a position.
+     *
+     * @param x
+     *          The x coordinate of the position.
+     *
+     * @param y
+     *          The y coordinate of the position.
+     *
+     * @param k
+     *          The number of points to find.
+     *
+     * @param nearest
+     *          The array to store the indices of the nearest points in,
+     *          ordered from nearest to furthest.
+     *
+     * @param distancesSquared
+     *          The array to store the squared distance to each of the nearest
+     *          points in.
+     *
+     * @return
+     *          The number of points found, which is the lesser of k and the
+     *          number of points in the tree.
+     *
+     * @throws IllegalArgumentException
+     *          If k is negative.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If either array is shorter than k.
+     */
+    public int findNearest(final int x, final int y, final int k, final @NonNull int[] nearest, final @NonNull double[] distancesSquared) {
+        checkK(k);
+        Objects.checkFromIndexSize(0, k, nearest.length);
+        Objects.checkFromIndexSize(0, k, distancesSquared.length);
+
+        return findNearest(x, y, k, nearest, distancesSquared, 0);
+    }
+
+    /**
+     * Finds the points nearest to each of a number of positions, in parallel.
+     *
+     * The results for the position at index i are stored at indices i * k
+     * through i * k + k - 1 of both arrays, ordered from nearest to furthest.
+     * If the tree holds fewer than k points, then the remaining indices are
+     * set to -1, and the remaining distances to positive infinity.
+     *
+     * @param positions
+     *          The positions.
+     *
+     * @param k
+     *          The number of points to find for each position.
+     *
+     * @param nearest
+     *          The array to store the indices of the nearest points in.
+     *
+     * @param distancesSquared
+     *          The array to store the squared distance to each of the nearest
+     *          points in.
+     *
+     * @throws IllegalArgumentException
+     *          If k is negative.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If either array is shorter than the number of positions
+     *          multiplied by k.
+     */
+    public void findNearest(final @NonNull PointBuffer positions, final int k, final @NonNull int[] nearest, final @NonNull double[] distancesSquared) {
+        checkK(k);
+
+        final int count = positions.getSize();
+        final long resultCount = (long) count * k;
+        if (resultCount > nearest.length || resultCount > distancesSquared.length) {
+            throw new IndexOutOfBoundsException("The arrays must hold " + resultCount + " results.");
+        }
+
+        ParallelRanges.forEach(pool, count, MIN_CHUNK_SIZE, (start, end) -> {
+            for (int i = start ; i < end ; i++) {
+                final int offset = i * k;
+                final int found = findNearest(positions.getX(i), positions.getY(i), k, nearest, distancesSquared, offset);
+                Arrays.fill(nearest, offset + found, offset + k, -1);
+                Arrays.fill(distancesSquared, offset + found, offset + k, Double.POSITIVE_INFINITY);
+            }
+        });
+    }
+
+    /**
+     * Reports every point within a circle.
+     *
+     * @param x
+     *          The x coordinate of the midpoint of the circle.
+     *
+     * @param y
+     *          The y coordinate of the midpoint of the circle.
+     *
+     * @param radius
+     *          The radius of the circle.
+     *
+     * @param consumer
+     *          The consumer to pass the index of each point within, or on,
+     *          the circle to.
+     */
+    public void queryRadius(final int x, final int y, final double radius, final @NonNull IntConsumer consumer) {
+        final double radiusSquared = radius * radius;
+        queryRadius(0, size, 0, x, y, radiusSquared, consumer);
+    }
+
+    /**
+     * Counts the points within a circle.
+     *
+     * @param x
+     *          The x coordinate of the midpoint of the circle.
+     *
+     * @param y
+     *          The y coordinate of the midpoint of the circle.
+     *
+     * @param radius
+     *          The radius of the circle.
+     *
+     * @return
+     *          The number of points within, or on, the circle.
+     */
+    public int countWithinRadius(final int x, final int y, final double radius) {
+        return countWithinRadius(0, size, 0, x, y, radius * radius);
+    }
+
+    /**
+     * Recursively finds the point in a range which is nearest to a position,
+     * skipping any half of the range which cannot hold a nearer point than
+     * the nearest found so far.
+     *
+     * @param lo
+     *          The first index of the range, inclusive.
+     *
+     * @param hi
+     *          The last index of the range, exclusive.
+     *
+     * @param axis
+     *          The axis that the range is split along; 0 for x and 1 for y.
+     *
+     * @param x
+     *          The x coordinate of the position.
+     *
+     * @param y
+     *          The y coordinate of the position.
+     *
+     * @param nearest
+     *          The tree order index of the nearest point found so far, or -1
+     *          if no point has been found.
+     *
+     * @return
+     *          The tree order index of the nearest point.
+     */
+    private int findNearest(final int lo, final int hi, final int axis, final int x, final int y, int nearest) {
+        double nearestDistance = nearest == -1 ? Double.POSITIVE_INFINITY : Point.distanceSquared(xs[nearest], ys[nearest], x, y);
+
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo ; i < hi ; i++) {
+                final double distance = Point.distanceSquared(xs[i], ys[i], x, y);
+                if (distance < nearestDistance) {
+                    nearest = i;
+                    nearestDistance = distance;
+                }
+            }
+            return nearest;
+        }
+
+        final int middle = (lo + hi) >>> 1;
+        final double middleDistance = Point.distanceSquared(xs[middle], ys[middle], x, y);
+        if (middleDistance < nearestDistance) {
+            nearest = middle;
+        }
+
+        final double difference = axis == 0 ? (double) x - xs[middle] : (double) y - ys[middle];
+        final boolean lowerFirst = difference < 0;
+        nearest = lowerFirst ? findNearest(lo, middle, axis ^ 1, x, y, nearest) : findNearest(middle + 1, hi, axis ^ 1, x, y, nearest);
+
+        if (difference * difference < Point.distanceSquared(xs[nearest], ys[nearest], x, y)) {
+            nearest = lowerFirst ? findNearest(middle + 1, hi, axis ^ 1, x, y, nearest) : findNearest(lo, middle, axis ^ 1, x, y, nearest);
+        }
+        return nearest;
+    }
+
+    /**
+     * Finds the points nearest to a position, storing them at an offset.
+     *
+     * @param x
+     *          The x coordinate of the position.
+     *
+     * @param y
+     *          The y coordinate of the position.
+     *
+     * @param k
+     *          The number of points to find.
+     *
+     * @param nearest
+     *          The array to store the indices of the nearest points in.
+     *
+     * @param distancesSquared
+     *          The array to store the squared distances in.
+     *
+     * @param offset
+     *          The index of both arrays to store the first result at.
+     *
+     * @return
+     *          The number of points found.
+     */
+    private int findNearest(final int x, final int y, final int k, final int[] nearest, final double[] distancesSquared, final int offset) {
+        if (k == 0) {
+            return 0;
+        }
+
+        final int found = findNearest(0, size, 0, x, y, k, nearest, distancesSquared, offset, 0);
+
+        // The results form a max-heap, so sorting them in place only needs repeated removal of the furthest.
+        for (int end = found - 1 ; end > 0 ; end--) {
+            swapResults(nearest, distancesSquared, offset, offset + end);
+            siftDown(nearest, distancesSquared, offset, end, 0);
+        }
+        return found;
+    }
+
+    /**
+     * Recursively offers every point in a range, which could be nearer than
+     * the furthest point found so far, to a max-heap of the nearest points.
+     *
+     * @param lo
+     *          The first index of the range, inclusive.
+     *
+     * @param hi
+     *          The last index of the range, exclusive.
+     *
+     * @param axis
+     *          The axis that the range is split along; 0 for x and 1 for y.
+     *
+     * @param x
+     *          The x coordinate of the position.
+     *
+     * @param y
+     *          The y coordinate of the position.
+     *
+     * @param k
+     *          The maximum size of the heap.
+     *
+     * @param nearest
+     *          The indices of the points in the heap.
+     *
+     * @param distancesSquared
+     *          The squared distances of the points in the heap.
+     *
+     * @param offset
+     *          The index of both arrays that the heap starts at.
+     *
+     * @param found
+     *          The size of the heap.
+     *
+     * @return
+     *          The new size of the heap.
+     */
+    private int findNearest(final int lo, final int hi, final int axis, final int x, final int y, final int k, final int[] nearest, final double[] distancesSquared, final int offset, int found) {
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo ; i < hi ; i++) {
+                found = offer(indices[i], Point.distanceSquared(xs[i], ys[i], x, y), k, nearest, distancesSquared, offset, found);
+            }
+            return found;
+        }
+
+        final int middle = (lo + hi) >>> 1;
+        found = offer(indices[middle], Point.distanceSquared(xs[middle], ys[middle], x, y), k, nearest, distancesSquared, offset, found);
+
+        final double difference = axis == 0 ? (double) x - xs[middle] : (double) y - ys[middle];
+        if (difference < 0) {
+            found = findNearest(lo, middle, axis ^ 1, x, y, k, nearest, distancesSquared, offset, found);
+            if (found < k || difference * difference < distancesSquared[offset]) {
+                found = findNearest(middle + 1, hi, axis ^ 1, x, y, k, nearest, distancesSquared, offset, found);
+            }
+        } else {
+            found = findNearest(middle + 1, hi, axis ^ 1, x, y, k, nearest, distancesSquared, offset, found);
+            if (found < k || difference * difference < distancesSquared[offset]) {
+                found = findNearest(lo, middle, axis ^ 1, x, y, k, nearest, distancesSquared, offset, found);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Offers a point to a max-heap of the nearest points.
+     *
+     * @param index
+     *          The index of the point.
+     *
+     * @param distanceSquared
+     *          The squared distance to the point.
+     *
+     * @param k
+     *          The maximum size of the heap.
+     *
+     * @param nearest
+     *          The indices of the points in the heap.
+     *
+     * @param distancesSquared
+     *          The squared distances of the points in the heap.
+     *
+     * @param offset
+     *          The index of both arrays that the heap starts at.
+     *
+     * @param found
+     *          The size of the heap.
+     *
+     * @return
+     *          The new size of the heap.
+     */
+    private static int offer(final int index, final double distanceSquared, final int k, final int[] nearest, final double[] distancesSquared, final int offset, final int found) {
+        if (found < k) {
+            int child = found;
+            while (child > 0) {
+                final int parent = (child - 1) >>> 1;
+                if (distancesSquared[offset + parent] >= distanceSquared) {
+                    break;
+                }
+
+                nearest[offset + child] = nearest[offset + parent];
+                distancesSquared[offset + child] = distancesSquared[offset + parent];
+                child = parent;
+            }
+
+            nearest[offset + child] = index;
+            distancesSquared[offset + child] = distanceSquared;
+            return found + 1;
+        }
+
+        if (distanceSquared < distancesSquared[offset]) {
+            nearest[offset] = index;
+            distancesSquared[offset] = distanceSquared;
+            siftDown(nearest, distancesSquared, offset, found, 0);
+        }
+        return found;
+    }
+
+    /**
+     * Moves an entry of a max-heap down, until neither of its children is
+     * further than it.
+     *
+     * @param nearest
+     *          The indices of the points in the heap.
+     *
+     * @param distancesSquared
+     *          The squared distances of the points in the heap.
+     *
+     * @param offset
+     *          The index of both arrays that the heap starts at.
+     *
+     * @param heapSize
+     *          The size of the heap.
+     *
+     * @param parent
+     *          The position of the entry within the heap.
+     */
+    private static void siftDown(final int[] nearest, final double[] distancesSquared, final int offset, final int heapSize, int parent) {
+        final int index = nearest[offset + parent];
+        final double distanceSquared = distancesSquared[offset + parent];
+
+        while (true) {
+            int child = parent * 2 + 1;
+            if (child >= heapSize) {
+                break;
+            }
+
+            if (child + 1 < heapSize && distancesSquared[offset + child + 1] > distancesSquared[offset + child]) {
+                child++;
+            }
+
+            if (distancesSquared[offset + child] <= distanceSquared) {
+                break;
+            }
+
+            nearest[offset + parent] = nearest[offset + child];
+            distancesSquared[offset + parent] = distancesSquared[offset + child];
+            parent = child;
+        }
+
+        nearest[offset + parent] = index;
+        distancesSquared[offset + parent] = distanceSquared;
+    }
+
+    /**
+     * Swaps two results.
+     *
+     * @param nearest
+     *          The indices of the points.
+     *
+     * @param distancesSquared
+     *          The squared distances of the points.
+     *
+     * @param i
+     *          The index of the first result.
+     *
+     * @param j
+     *          The index of the second result.
+     */
+    private static void swapResults(final int[] nearest, final double[] distancesSquared, final int i, final int j) {
+        final int index = nearest[i];
+        nearest[i] = nearest[j];
+        nearest[j] = index;
+
+        final double distance = distancesSquared[i];
+        distancesSquared[i] = distancesSquared[j];
+        distancesSquared[j] = distance;
+    }
+
+    /**
+     * Recursively reports every point in a range which is within a circle.
+     *
+     * @param lo
+     *          The first index of the range, inclusive.
+     *
+     * @param hi
+     *          The last index of the range, exclusive.
+     *
+     * @param axis
+     *          The axis that the range is split along; 0 for x and 1 for y.
+     *
+     * @param x
+     *          The x coordinate of the midpoint of the circle.
+     *
+     * @param y
+     *          The y coordinate of the midpoint of the circle.
+     *
+     * @param radiusSquared
+     *          The squared radius of the circle.
+     *
+     * @param consumer
+     *          The consumer to pass the index of each point to.
+     */
+    private void queryRadius(final int lo, final int hi, final int axis, final int x, final int y, final double radiusSquared, final IntConsumer consumer) {
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo ; i < hi ; i++) {
+                if (Point.distanceSquared(xs[i], ys[i], x, y) <= radiusSquared) {
+                    consumer.accept(indices[i]);
+                }
+            }
+            return;
+        }
+
+        final int middle = (lo + hi) >>> 1;
+        if (Point.distanceSquared(xs[middle], ys[middle], x, y) <= radiusSquared) {
+            consumer.accept(indices[middle]);
+        }
+
+        final double difference = axis == 0 ? (double) x - xs[middle] : (double) y - ys[middle];
+        if (difference <= 0 || difference * difference <= radiusSquared) {
+            queryRadius(lo, middle, axis ^ 1, x, y, radiusSquared, consumer);
+        }
+        if (difference >= 0 || difference * difference <= radiusSquared) {
+            queryRadius(middle + 1, hi, axis ^ 1, x, y, radiusSquared, consumer);
+        }
+    }
+
+    /**
+     * Recursively counts the points in a range which are within a circle.
+     *
+     * @param lo
+     *          The first index of the range, inclusive.
+     *
+     * @param hi
+     *          The last index of the range, exclusive.
+     *
+     * @param axis
+     *          The axis that the range is split along; 0 for x and 1 for y.
+     *
+     * @param x
+     *          The x coordinate of the midpoint of the circle.
+     *
+     * @param y
+     *          The y coordinate of the midpoint of the circle.
+     *
+     * @param radiusSquared
+     *          The squared radius of the circle.
+     *
+     * @return
+     *          The number of points.
+     */
+    private int countWithinRadius(final int lo, final int hi, final int axis, final int x, final int y, final double radiusSquared) {
+        int count = 0;
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo ; i < hi ; i++) {
+                if (Point.distanceSquared(xs[i], ys[i], x, y) <= radiusSquared) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        final int middle = (lo + hi) >>> 1;
+        if (Point.distanceSquared(xs[middle], ys[middle], x, y) <= radiusSquared) {
+            count++;
+        }
+
+        final double difference = axis == 0 ? (double) x - xs[middle] : (double) y - ys[middle];
+        if (difference <= 0 || difference * difference <= radiusSquared) {
+            count += countWithinRadius(lo, middle, axis ^ 1, x, y, radiusSquared);
+        }
+        if (difference >= 0 || difference * difference <= radiusSquared) {
+            count += countWithinRadius(middle + 1, hi, axis ^ 1, x, y, radiusSquared);
+        }
+        return count;
+    }
+
+    /**
+     * Recursively orders a range of points, so that the median of the range
+     * sits at its middle, and then orders both halves along the other axis.
+     *
+     * @param lo
+     *          The first index of the range, inclusive.
+     *
+     * @param hi
+     *          The last index of the range, exclusive.
+     *
+     * @param axis
+     *          The axis to split the range along; 0 for x and 1 for y.
+     */
+    private void build(final int lo, final int hi, final int axis) {
+        if (hi - lo <= LEAF_SIZE) {
+            return;
+        }
+
+        final int middle = (lo + hi) >>> 1;
+        select(lo, hi - 1, middle, axis);
+        build(lo, middle, axis ^ 1);
+        build(middle + 1, hi, axis ^ 1);
+    }
+
+    /**
+     * Reorders a range of points so that the point at an index is the one
+     * which would be there if the range were sorted along an axis, with no
+     * greater point before it and no lesser point after it.
+     *
+     * @param lo
+     *          The first index of the range, inclusive.
+     *
+     * @param hi
+     *          The last index of the range, inclusive.
+     *
+     * @param index
+     *          The index.
+     *
+     * @param axis
+     *          The axis to sort along; 0 for x and 1 for y.
+     */
+    private void select(int lo, int hi, final int index, final int axis) {
+        final int[] keys = axis == 0 ? xs : ys;
+
+        while (lo < hi) {
+            // The median of three keeps sorted and reverse-sorted input from degrading to quadratic time.
+            final int middle = (lo + hi) >>> 1;
+            if (keys[middle] < keys[lo]) {
+                swap(lo, middle);
+            }
+            if (keys[hi] < keys[lo]) {
+                swap(lo, hi);
+            }
+            if (keys[hi] < keys[middle]) {
+                swap(middle, hi);
+            }
+
+            final int pivot = keys[middle];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            if (index <= j) {
+                hi = j;
+            } else if (index >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Swaps two points.
+     *
+     * @param i
+     *          The index of the first point.
+     *
+     * @param j
+     *          The index of the second point.
+     */
+    private void swap(final int i, final int j) {
+        final int x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+
+        final int y = ys[i];
+        ys[i] = ys[j];
+        ys[j] = y;
+
+        final int index = indices[i];
+        indices[i] = indices[j];
+        indices[j] = index;
+    }
+
+    /**
+     * Ensures that a number of points to find is valid.
+     *
+     * @param k
+     *          The number of points.
+     *
+     * @throws IllegalArgumentException
+     *          If the number is negative.
+     */
+    private static void checkK(final int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("The number of points to find cannot be negative.");
+        }
+    }
+
+    /** Builds a range of the tree, splitting it into parallel tasks until it is small. */
+    @SuppressWarnings("serial")
+    private final class BuildTask extends RecursiveAction {
+        /** The first index of the range, inclusive. */
+        private final int lo;
+        /** The last index of the range, exclusive. */
+        private final int hi;
+        /** The axis to split the range along; 0 for x and 1 for y. */
+        private final int axis;
+
+        /**
+         * Constructs a new build task.
+         *
+         * @param lo
+         *          The first index of the range, inclusive.
+         *
+         * @param hi
+         *          The last index of the range, exclusive.
+         *
+         * @param axis
+         *          The axis to split the range along; 0 for x and 1 for y.
+         */
+        private BuildTask(final int lo, final int hi, final int axis) {
+            this.lo = lo;
+            this.hi = hi;
+            this.axis = axis;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= MIN_PARALLEL_BUILD_SIZE) {
+                build(lo, hi, axis);
+                return;
+            }
+
+            final int middle = (lo + hi) >>> 1;
+            select(lo, hi - 1, middle, axis);
+            invokeAll(new BuildTask(lo, middle, axis ^ 1), new BuildTask(middle + 1, hi, axis ^ 1));
+        }
+    }
+}
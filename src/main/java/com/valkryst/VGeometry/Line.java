@@ -3,9 +3,10 @@ package com.valkryst.VGeometry;
 import lombok.*;
 import org.json.JSONObject;
 
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.Serializable;
+import java.io.*;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @ToString
 public class Line implements Serializable {
@@ -17,6 +18,15 @@ public class Line implements Serializable {
     @Getter private Point endPoint = new Point(0, 0);
     /** The slope. */
     @Getter private double slope = 0;
+    /** The bounding box, or null if it is out of date. */
+    @ToString.Exclude private transient BoundingBox bounds;
+    /** The number of times that this line has been modified. */
+    @Getter @ToString.Exclude private transient long modificationCount = 0;
+    /** The listeners to notify when the bounding box changes, or null if there are none. */
+    @ToString.Exclude private transient CopyOnWriteArrayList<BoundsListener<? super Line>> boundsListeners;
+
+    /** Constructs a new line, whose start and end points are both (0, 0). */
+    public Line() {}
 
     /**
      * Constructs a new line.
@@ -28,8 +38,7 @@ public class Line implements Serializable {
      *          The end point.
      */
     public Line(final @NonNull Point startPoint, final @NonNull Point endPoint) {
-        setStartPoint(startPoint);
-        setEndPoint(endPoint);
+        set(startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY());
     }
 
     /**
@@ -39,8 +48,7 @@ public class Line implements Serializable {
      *          The other line.
      */
     public Line(final @NonNull Line line) {
-        setStartPoint(new Point(line.getStartPoint()));
-        setEndPoint(new Point(line.getEndPoint()));
+        set(line);
     }
 
     /**
@@ -50,8 +58,9 @@ public class Line implements Serializable {
      *          The JSON representation of a line.
      */
     public Line(final @NonNull JSONObject json) {
-        setStartPoint(new Point(json.getJSONObject("startPoint")));
-        setEndPoint(new Point(json.getJSONObject("endPoint")));
+        final var startPoint = json.getJSONObject("startPoint");
+        final var endPoint = json.getJSONObject("endPoint");
+        set(startPoint.getInt("x"), startPoint.getInt("y"), endPoint.getInt("x"), endPoint.getInt("y"));
     }
 
     /**
@@ -84,16 +93,118 @@ public class Line implements Serializable {
         updateSlope();
     }
 
+    /**
+     * Replaces this line with its compact serialized form.
+     *
+     * @return
+     *          The serialized form.
+     */
+    private Object writeReplace() {
+        return new SerializationProxy(this);
+    }
+
     /** Recalculates the slope. */
     private void updateSlope() {
-        final double numerator = endPoint.getY() - startPoint.getY();
-        final double denominator = endPoint.getX() - startPoint.getX();
+        slope = calculateSlope(startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY());
+    }
+
+    /**
+     * Retrieves the bounding box from before a modification, if any listener
+     * needs to be notified of the modification.
+     *
+     * @return
+     *          The bounding box, or null if there are no listeners.
+     */
+    private BoundingBox getBoundsBeforeModification() {
+        return boundsListeners == null ? null : getBounds();
+    }
+
+    /**
+     * Invalidates the bounding box, counts a modification, and notifies the
+     * listeners if the bounding box has changed.
+     *
+     * @param oldBounds
+     *          The bounding box from before the modification, or null if
+     *          there were no listeners.
+     */
+    private void modified(final BoundingBox oldBounds) {
+        bounds = null;
+        modificationCount++;
+
+        if (oldBounds == null || boundsListeners == null) {
+            return;
+        }
+
+        final var newBounds = getBounds();
+        if (!newBounds.equals(oldBounds)) {
+            for (final var listener : boundsListeners) {
+                listener.boundsChanged(this, oldBounds, newBounds);
+            }
+        }
+    }
+
+    /**
+     * Calculates the slope of a line.
+     *
+     * @param startX
+     *          The x coordinate of the start point.
+     *
+     * @param startY
+     *          The y coordinate of the start point.
+     *
+     * @param endX
+     *          The x coordinate of the end point.
+     *
+     * @param endY
+     *          The y coordinate of the end point.
+     *
+     * @return
+     *          The slope, or 0 if the line is horizontal or vertical.
+     */
+    static double calculateSlope(final int startX, final int startY, final int endX, final int endY) {
+        final double numerator = endY - startY;
+        final double denominator = endX - startX;
 
         if (numerator == 0 || denominator == 0) {
-            slope = 0;
-        } else {
-            slope = numerator / denominator;
+            return 0;
         }
+
+        return numerator / denominator;
+    }
+
+    /**
+     * Sets new start and end points.
+     *
+     * @param startX
+     *          The x coordinate of the start point.
+     *
+     * @param startY
+     *          The y coordinate of the start point.
+     *
+     * @param endX
+     *          The x coordinate of the end point.
+     *
+     * @param endY
+     *          The y coordinate of the end point.
+     */
+    public void set(final int startX, final int startY, final int endX, final int endY) {
+        final var oldBounds = getBoundsBeforeModification();
+        startPoint.set(startX, startY);
+        endPoint.set(endX, endY);
+        updateSlope();
+        modified(oldBounds);
+    }
+
+    /**
+     * Sets new start and end points, using another line.
+     *
+     * The listeners of the other line are not copied.
+     *
+     * @param line
+     *          The other line.
+     */
+    public void set(final @NonNull Line line) {
+        set(line.startPoint.getX(), line.startPoint.getY(), line.endPoint.getX(), line.endPoint.getY());
     }
 
     /**
@@ -103,9 +214,23 @@ public class Line implements Serializable {
      *          The new start point.
      */
     public void setStartPoint(final @NonNull Point startPoint) {
-        this.startPoint.setX(startPoint.getX());
-        this.startPoint.setY(startPoint.getY());
+        setStartPoint(startPoint.getX(), startPoint.getY());
+    }
+
+    /**
+     * Sets a new start point.
+     *
+     * @param x
+     *          The x coordinate of the new start point.
+     *
+     * @param y
+     *          The y coordinate of the new start point.
+     */
+    public void setStartPoint(final int x, final int y) {
+        final var oldBounds = getBoundsBeforeModification();
+        startPoint.set(x, y);
         updateSlope();
+        modified(oldBounds);
     }
 
     /**
@@ -115,8 +240,1038 @@ public class Line implements Serializable {
      *          The new end point.
      */
     public void setEndPoint(final @NonNull Point endPoint) {
-        this.endPoint.setX(endPoint.getX());
-        this.endPoint.setY(endPoint.getY());
+        setEndPoint(endPoint.getX(), endPoint.getY());
+    }
+
+    /**
+     * Sets a new end point.
+     *
+     * @param x
+     *          The x coordinate of the new end point.
+     *
+     * @param y
+     *          The y coordinate of the new end point.
+     */
+    public void setEndPoint(final int x, final int y) {
+        final var oldBounds = getBoundsBeforeModification();
+        endPoint.set(x, y);
         updateSlope();
+        modified(oldBounds);
+    }
+
+    /**
+     * Retrieves the bounding box of this line.
+     *
+     * The box is cached until this line is next modified through one of its
+     * setters. Modifying the points returned by {@link #getStartPoint()} or
+     * {@link #getEndPoint()} directly does not invalidate the cache.
+     *
+     * @return
+     *          The bounding box.
+     */
+    public BoundingBox getBounds() {
+        if (bounds == null) {
+            bounds = BoundingBox.ofPoints(startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY());
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Adds a listener, which is notified whenever a setter changes the
+     * bounding box of this line.
+     *
+     * While there are no listeners, modifying this line costs only a null
+     * check.
+     *
+     * @param listener
+     *          The listener.
+     */
+    public void addBoundsListener(final @NonNull BoundsListener<? super Line> listener) {
+        if (boundsListeners == null) {
+            boundsListeners = new CopyOnWriteArrayList<>();
+        }
+
+        boundsListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener
+     *          The listener.
+     *
+     * @return
+     *          Whether the listener had been added.
+     */
+    public boolean removeBoundsListener(final @NonNull BoundsListener<? super Line> listener) {
+        if (boundsListeners == null) {
+            return false;
+        }
+
+        final boolean removed = boundsListeners.remove(listener);
+        if (boundsListeners.isEmpty()) {
+            boundsListeners = null;
+        }
+
+        return removed;
+    }
+
+    /**
+     * Determines whether this line is horizontal.
+     *
+     * Unlike the slope, which is 0 for both horizontal and vertical lines,
+     * this is exact.
+     *
+     * @return
+     *          Whether the start and end points have the same y coordinate.
+     */
+    public boolean isHorizontal() {
+        return startPoint.getY() == endPoint.getY();
+    }
+
+    /**
+     * Determines whether this line is vertical.
+     *
+     * Unlike the slope, which is 0 for both horizontal and vertical lines,
+     * this is exact.
+     *
+     * @return
+     *          Whether the start and end points have the same x coordinate.
+     */
+    public boolean isVertical() {
+        return startPoint.getX() == endPoint.getX();
+    }
+
+    /**
+     * Determines on which side of this line a point lies.
+     *
+     * @param point
+     *          The point.
+     *
+     * @return
+     *          The orientation, as described by
+     *          {@link #orientation(int, int, int, int, int, int)}.
+     */
+    public int orientation(final @NonNull Point point) {
+        return orientation(point.getX(), point.getY());
+    }
+
+    /**
+     * Determines on which side of this line a point lies.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          The orientation, as described by
+     *          {@link #orientation(int, int, int, int, int, int)}.
+     */
+    public int orientation(final int x, final int y) {
+        return orientation(startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY(), x, y);
+    }
+
+    /**
+     * Determines whether this line contains a point.
+     *
+     * @param point
+     *          The point.
+     *
+     * @return
+     *          Whether the point lies on this line, between its start and end
+     *          points, inclusive.
+     */
+    public boolean contains(final @NonNull Point point) {
+        return contains(point.getX(), point.getY());
+    }
+
+    /**
+     * Determines whether this line contains a point.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          Whether the point lies on this line, between its start and end
+     *          points, inclusive.
+     */
+    public boolean contains(final int x, final int y) {
+        return contains(startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY(), x, y);
+    }
+
+    /**
+     * Determines whether this line and another line are collinear.
+     *
+     * @param other
+     *          The other line.
+     *
+     * @return
+     *          Whether all four endpoints lie on a single infinite line.
+     */
+    public boolean isCollinear(final @NonNull Line other) {
+        return isCollinear(
+            startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY(),
+            other.startPoint.getX(), other.startPoint.getY(), other.endPoint.getX(), other.endPoint.getY()
+        );
+    }
+
+    /**
+     * Determines whether this line intersects another line.
+     *
+     * @param other
+     *          The other line.
+     *
+     * @return
+     *          Whether the lines share at least one point, including when
+     *          they only touch, or when they are collinear and overlap.
+     */
+    public boolean intersects(final @NonNull Line other) {
+        return intersects(
+            startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY(),
+            other.startPoint.getX(), other.startPoint.getY(), other.endPoint.getX(), other.endPoint.getY()
+        );
+    }
+
+    /**
+     * Finds the parameters, along this line and another line, of the single
+     * point at which they intersect.
+     *
+     * @param other
+     *          The other line.
+     *
+     * @param parameters
+     *          The array to store the parameters in, as described by
+     *          {@link #findIntersectionParameters(int, int, int, int, int, int, int, int, long[])}.
+     *
+     * @return
+     *          Whether the lines intersect at a single point.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the array has fewer than three elements.
+     *
+     * @throws ArithmeticException
+     *          If the parameters do not fit in a long.
+     */
+    public boolean findIntersectionParameters(final @NonNull Line other, final @NonNull long[] parameters) {
+        return findIntersectionParameters(
+            startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY(),
+            other.startPoint.getX(), other.startPoint.getY(), other.endPoint.getX(), other.endPoint.getY(),
+            parameters
+        );
+    }
+
+    /**
+     * Calculates the squared distance from a point to the nearest point on
+     * this line.
+     *
+     * @param point
+     *          The point.
+     *
+     * @return
+     *          The squared distance.
+     */
+    public double distanceSquared(final @NonNull Point point) {
+        return distanceSquared(point.getX(), point.getY());
+    }
+
+    /**
+     * Calculates the squared distance from a point to the nearest point on
+     * this line.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          The squared distance.
+     */
+    public double distanceSquared(final int x, final int y) {
+        return distanceSquared(startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY(), x, y);
+    }
+
+    /**
+     * Clips this line to a viewport, using the Liang–Barsky algorithm.
+     *
+     * @param viewport
+     *          The viewport.
+     *
+     * @param clipped
+     *          The array to write the start x, start y, end x, and end y
+     *          coordinates of the clipped line to, as described by
+     *          {@link #clip(int, int, int, int, int, int, int, int, int[], int)}.
+     *
+     * @param offset
+     *          The index of the array to write the first coordinate to.
+     *
+     * @return
+     *          Whether any part of this line is within the viewport.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the array cannot hold four coordinates from the offset.
+     */
+    public boolean clip(final @NonNull BoundingBox viewport, final @NonNull int[] clipped, final int offset) {
+        Objects.checkFromIndexSize(offset, 4, clipped.length);
+        return clip(
+            startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY(),
+            viewport.getMinX(), viewport.getMinY(), viewport.getMaxX(), viewport.getMaxY(),
+            clipped, offset
+        );
+    }
+
+    /**
+     * Retrieves the number of cells that this line passes through, when
+     * rasterized.
+     *
+     * @return
+     *      The number of cells.
+     */
+    public long getCellCount() {
+        return getCellCount(startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY());
+    }
+
+    /**
+     * Rasterizes this line, from its start point to its end point, using
+     * Bresenham's line algorithm.
+     *
+     * @param consumer
+     *          The consumer to pass the coordinates of each cell to.
+     */
+    public void rasterize(final @NonNull PointConsumer consumer) {
+        rasterize(startPoint.getX(), startPoint.getY(), endPoint.getX(), endPoint.getY(), consumer);
+    }
+
+    /**
+     * Rasterizes this line, from its start point to its end point, using
+     * Bresenham's line algorithm.
+     *
+     * @param buffer
+     *          The buffer to append the coordinates of each cell to.
+     */
+    public void rasterize(final @NonNull PointBuffer buffer) {
+        buffer.ensureCapacity(Math.toIntExact(buffer.getSize() + getCellCount()));
+        rasterize(buffer::add);
+    }
+
+    /**
+     * Rasterizes a number of lines, using Bresenham's line algorithm.
+     *
+     * @param lines
+     *          The lines.
+     *
+     * @param buffer
+     *          The buffer to append the coordinates of each cell to.
+     */
+    public static void rasterize(final @NonNull Collection<Line> lines, final @NonNull PointBuffer buffer) {
+        long cellCount = buffer.getSize();
+        for (final var line : lines) {
+            cellCount += line.getCellCount();
+        }
+        buffer.ensureCapacity(Math.toIntExact(cellCount));
+
+        final PointConsumer consumer = buffer::add;
+        for (final var line : lines) {
+            line.rasterize(consumer);
+        }
+    }
+
+    /**
+     * Rasterizes a number of lines, using Bresenham's line algorithm.
+     *
+     * @param segments
+     *          The lines, packed as consecutive start x, start y, end x,
+     *          and end y coordinates.
+     *
+     * @param count
+     *          The number of lines.
+     *
+     * @param buffer
+     *          The buffer to append the coordinates of each cell to.
+     */
+    public static void rasterize(final @NonNull int[] segments, final int count, final @NonNull PointBuffer buffer) {
+        Objects.checkFromIndexSize(0, count * 4, segments.length);
+
+        long cellCount = buffer.getSize();
+        for (int i = 0 ; i < count * 4 ; i += 4) {
+            cellCount += getCellCount(segments[i], segments[i + 1], segments[i + 2], segments[i + 3]);
+        }
+        buffer.ensureCapacity(Math.toIntExact(cellCount));
+
+        final PointConsumer consumer = buffer::add;
+        for (int i = 0 ; i < count * 4 ; i += 4) {
+            rasterize(segments[i], segments[i + 1], segments[i + 2], segments[i + 3], consumer);
+        }
+    }
+
+    /**
+     * Rasterizes a line, from its start point to its end point, using
+     * Bresenham's line algorithm.
+     *
+     * @param startX
+     *          The x coordinate of the start point.
+     *
+     * @param startY
+     *          The y coordinate of the start point.
+     *
+     * @param endX
+     *          The x coordinate of the end point.
+     *
+     * @param endY
+     *          The y coordinate of the end point.
+     *
+     * @param consumer
+     *          The consumer to pass the coordinates of each cell to.
+     */
+    public static void rasterize(final int startX, final int startY, final int endX, final int endY, final @NonNull PointConsumer consumer) {
+        final long dx = Math.abs((long) endX - startX);
+        final long dy = -Math.abs((long) endY - startY);
+        final int stepX = startX < endX ? 1 : -1;
+        final int stepY = startY < endY ? 1 : -1;
+
+        long error = dx + dy;
+        int x = startX;
+        int y = startY;
+
+        while (true) {
+            consumer.accept(x, y);
+
+            if (x == endX && y == endY) {
+                return;
+            }
+
+            final long doubledError = 2 * error;
+
+            if (doubledError >= dy) {
+                error += dy;
+                x += stepX;
+            }
+
+            if (doubledError <= dx) {
+                error += dx;
+                y += stepY;
+            }
+        }
+    }
+
+    /**
+     * Calculates the squared distance from a point to the nearest point on a
+     * line.
+     *
+     * If the point projects onto the line between its endpoints, then the
+     * distance is calculated from the cross product, rather than from the
+     * projected point, so that no precision is lost to the projection.
+     *
+     * @param startX
+     *          The x coordinate of the line's start point.
+     *
+     * @param startY
+     *          The y coordinate of the line's start point.
+     *
+     * @param endX
+     *          The x coordinate of the line's end point.
+     *
+     * @param endY
+     *          The y coordinate of the line's end point.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          The squared distance.
+     */
+    public static double distanceSquared(final int startX, final int startY, final int endX, final int endY, final int x, final int y) {
+        final double dx = (double) endX - startX;
+        final double dy = (double) endY - startY;
+        final double wx = (double) x - startX;
+        final double wy = (double) y - startY;
+
+        final double dot = wx * dx + wy * dy;
+        if (dot <= 0) {
+            return wx * wx + wy * wy;
+        }
+
+        final double lengthSquared = dx * dx + dy * dy;
+        if (dot >= lengthSquared) {
+            return Point.distanceSquared(endX, endY, x, y);
+        }
+
+        final double cross = wx * dy - wy * dx;
+        return cross * cross / lengthSquared;
+    }
+
+    /**
+     * Clips a number of lines to a viewport, using the Liang–Barsky
+     * algorithm.
+     *
+     * Each line is clipped without branching on its position, and nothing is
+     * allocated, so that the loop may be unrolled and vectorized. The clipped
+     * lines may be written over the lines themselves.
+     *
+     * @param segments
+     *          The lines, packed as consecutive start x, start y, end x,
+     *          and end y coordinates.
+     *
+     * @param count
+     *          The number of lines.
+     *
+     * @param viewport
+     *          The viewport.
+     *
+     * @param clipped
+     *          The array to write each clipped line to, at the same position
+     *          as the line. The coordinates of rejected lines are unspecified.
+     *
+     * @param accepted
+     *          The array to store, at each line's index, whether any part of
+     *          the line is within the viewport.
+     *
+     * @return
+     *          The number of accepted lines.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the count is negative, or if any array is too short to hold
+     *          the count of lines.
+     */
+    public static int clip(final @NonNull int[] segments, final int count, final @NonNull BoundingBox viewport, final @NonNull int[] clipped, final @NonNull boolean[] accepted) {
+        Objects.checkFromIndexSize(0, count * 4, segments.length);
+        Objects.checkFromIndexSize(0, count * 4, clipped.length);
+        Objects.checkFromIndexSize(0, count, accepted.length);
+
+        final int minX = viewport.getMinX();
+        final int minY = viewport.getMinY();
+        final int maxX = viewport.getMaxX();
+        final int maxY = viewport.getMaxY();
+
+        int acceptedCount = 0;
+        for (int i = 0 ; i < count ; i++) {
+            final int offset = i * 4;
+            final boolean isAccepted = clip(segments[offset], segments[offset + 1], segments[offset + 2], segments[offset + 3], minX, minY, maxX, maxY, clipped, offset);
+            accepted[i] = isAccepted;
+            acceptedCount += isAccepted ? 1 : 0;
+        }
+        return acceptedCount;
+    }
+
+    /**
+     * Clips a line to a viewport, using the Liang–Barsky algorithm.
+     *
+     * The endpoints of the clipped line are rounded to the nearest cell, so
+     * they are always within the viewport, and they are exactly the endpoints
+     * of the line wherever those are already within the viewport.
+     *
+     * @param startX
+     *          The x coordinate of the line's start point.
+     *
+     * @param startY
+     *          The y coordinate of the line's start point.
+     *
+     * @param endX
+     *          The x coordinate of the line's end point.
+     *
+     * @param endY
+     *          The y coordinate of the line's end point.
+     *
+     * @param minX
+     *          The x coordinate of the viewport's left edge.
+     *
+     * @param minY
+     *          The y coordinate of the viewport's top edge.
+     *
+     * @param maxX
+     *          The x coordinate of the viewport's right edge, inclusive.
+     *
+     * @param maxY
+     *          The y coordinate of the viewport's bottom edge, inclusive.
+     *
+     * @param clipped
+     *          The array to write the start x, start y, end x, and end y
+     *          coordinates of the clipped line to. The coordinates are
+     *          unspecified if the line is rejected.
+     *
+     * @param offset
+     *          The index of the array to write the first coordinate to.
+     *
+     * @return
+     *          Whether any part of the line is within the viewport.
+     */
+    public static boolean clip(final int startX, final int startY, final int endX, final int endY, final int minX, final int minY, final int maxX, final int maxY, final @NonNull int[] clipped, final int offset) {
+        final long dx = (long) endX - startX;
+        final long dy = (long) endY - startY;
+
+        // The parameters, along the line, at which it enters and exits the band between each pair of edges, as fractions
+        // with positive denominators. A line which is parallel to a pair of edges is either always or never between them.
+        final boolean isWithinX = startX >= minX && startX <= maxX;
+        final long enterX = dx > 0 ? (long) minX - startX : (dx < 0 ? (long) startX - maxX : (isWithinX ? 0 : 1));
+        final long exitX = dx > 0 ? (long) maxX - startX : (dx < 0 ? (long) startX - minX : (isWithinX ? 1 : 0));
+        final long denominatorX = dx != 0 ? Math.abs(dx) : 1;
+
+        final boolean isWithinY = startY >= minY && startY <= maxY;
+        final long enterY = dy > 0 ? (long) minY - startY : (dy < 0 ? (long) startY - maxY : (isWithinY ? 0 : 1));
+        final long exitY = dy > 0 ? (long) maxY - startY : (dy < 0 ? (long) startY - minY : (isWithinY ? 1 : 0));
+        final long denominatorY = dy != 0 ? Math.abs(dy) : 1;
+
+        // Every entry must come no later than every exit, and within the line. This is decided exactly, because the
+        // parameters of a line which passes through a corner may round differently as doubles.
+        final boolean isAccepted = enterX <= exitX & enterY <= exitY
+                                 & enterX <= denominatorX & exitX >= 0
+                                 & enterY <= denominatorY & exitY >= 0
+                                 & crossSign(enterX, exitY, denominatorX, denominatorY) <= 0
+                                 & crossSign(enterY, exitX, denominatorY, denominatorX) <= 0;
+
+        final double enter = Math.max(Math.max(0, (double) enterX / denominatorX), (double) enterY / denominatorY);
+        final double exit = Math.min(Math.min(1, (double) exitX / denominatorX), (double) exitY / denominatorY);
+
+        // Keeping both parameters on the line, even when it's rejected, keeps every coordinate within the range of an int.
+        final double first = Math.min(enter, 1);
+        final double last = Math.max(exit, 0);
+
+        clipped[offset] = (int) Math.rint(startX + first * dx);
+        clipped[offset + 1] = (int) Math.rint(startY + first * dy);
+        clipped[offset + 2] = (int) Math.rint(startX + last * dx);
+        clipped[offset + 3] = (int) Math.rint(startY + last * dy);
+        return isAccepted;
+    }
+
+    /**
+     * Determines on which side of a line a point lies, exactly.
+     *
+     * @param startX
+     *          The x coordinate of the line's start point.
+     *
+     * @param startY
+     *          The y coordinate of the line's start point.
+     *
+     * @param endX
+     *          The x coordinate of the line's end point.
+     *
+     * @param endY
+     *          The y coordinate of the line's end point.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          1 if the point is counterclockwise of the line, when looking
+     *          from its start point to its end point with the y axis pointing
+     *          up, -1 if it is clockwise, or 0 if it is collinear with the
+     *          line. Every point is collinear with a line of zero length.
+     */
+    public static int orientation(final int startX, final int startY, final int endX, final int endY, final int x, final int y) {
+        return crossSign((long) endX - startX, (long) endY - startY, (long) x - startX, (long) y - startY);
+    }
+
+    /**
+     * Determines whether three points are collinear, exactly.
+     *
+     * @param ax
+     *          The x coordinate of the first point.
+     *
+     * @param ay
+     *          The y coordinate of the first point.
+     *
+     * @param bx
+     *          The x coordinate of the second point.
+     *
+     * @param by
+     *          The y coordinate of the second point.
+     *
+     * @param cx
+     *          The x coordinate of the third point.
+     *
+     * @param cy
+     *          The y coordinate of the third point.
+     *
+     * @return
+     *          Whether the points lie on a single infinite line.
+     */
+    public static boolean isCollinear(final int ax, final int ay, final int bx, final int by, final int cx, final int cy) {
+        return orientation(ax, ay, bx, by, cx, cy) == 0;
+    }
+
+    /**
+     * Determines whether two lines are collinear, exactly.
+     *
+     * @param startX1
+     *          The x coordinate of the first line's start point.
+     *
+     * @param startY1
+     *          The y coordinate of the first line's start point.
+     *
+     * @param endX1
+     *          The x coordinate of the first line's end point.
+     *
+     * @param endY1
+     *          The y coordinate of the first line's end point.
+     *
+     * @param startX2
+     *          The x coordinate of the second line's start point.
+     *
+     * @param startY2
+     *          The y coordinate of the second line's start point.
+     *
+     * @param endX2
+     *          The x coordinate of the second line's end point.
+     *
+     * @param endY2
+     *          The y coordinate of the second line's end point.
+     *
+     * @return
+     *          Whether all four endpoints lie on a single infinite line.
+     */
+    public static boolean isCollinear(final int startX1, final int startY1, final int endX1, final int endY1, final int startX2, final int startY2, final int endX2, final int endY2) {
+        // A line of zero length has no direction, so the other line's direction is used instead.
+        if (startX1 == endX1 && startY1 == endY1) {
+            return orientation(startX2, startY2, endX2, endY2, startX1, startY1) == 0;
+        }
+
+        return orientation(startX1, startY1, endX1, endY1, startX2, startY2) == 0 && orientation(startX1, startY1, endX1, endY1, endX2, endY2) == 0;
+    }
+
+    /**
+     * Determines whether a line contains a point, exactly.
+     *
+     * @param startX
+     *          The x coordinate of the line's start point.
+     *
+     * @param startY
+     *          The y coordinate of the line's start point.
+     *
+     * @param endX
+     *          The x coordinate of the line's end point.
+     *
+     * @param endY
+     *          The y coordinate of the line's end point.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          Whether the point lies on the line, between its start and end
+     *          points, inclusive.
+     */
+    public static boolean contains(final int startX, final int startY, final int endX, final int endY, final int x, final int y) {
+        return orientation(startX, startY, endX, endY, x, y) == 0 && withinBounds(startX, startY, endX, endY, x, y);
+    }
+
+    /**
+     * Determines whether two lines intersect, exactly.
+     *
+     * @param startX1
+     *          The x coordinate of the first line's start point.
+     *
+     * @param startY1
+     *          The y coordinate of the first line's start point.
+     *
+     * @param endX1
+     *          The x coordinate of the first line's end point.
+     *
+     * @param endY1
+     *          The y coordinate of the first line's end point.
+     *
+     * @param startX2
+     *          The x coordinate of the second line's start point.
+     *
+     * @param startY2
+     *          The y coordinate of the second line's start point.
+     *
+     * @param endX2
+     *          The x coordinate of the second line's end point.
+     *
+     * @param endY2
+     *          The y coordinate of the second line's end point.
+     *
+     * @return
+     *          Whether the lines share at least one point, including when
+     *          they only touch, or when they are collinear and overlap.
+     */
+    public static boolean intersects(final int startX1, final int startY1, final int endX1, final int endY1, final int startX2, final int startY2, final int endX2, final int endY2) {
+        final int o1 = orientation(startX1, startY1, endX1, endY1, startX2, startY2);
+        final int o2 = orientation(startX1, startY1, endX1, endY1, endX2, endY2);
+        final int o3 = orientation(startX2, startY2, endX2, endY2, startX1, startY1);
+        final int o4 = orientation(startX2, startY2, endX2, endY2, endX1, endY1);
+
+        if (o1 != o2 && o3 != o4) {
+            return true;
+        }
+
+        return (o1 == 0 && withinBounds(startX1, startY1, endX1, endY1, startX2, startY2))
+            || (o2 == 0 && withinBounds(startX1, startY1, endX1, endY1, endX2, endY2))
+            || (o3 == 0 && withinBounds(startX2, startY2, endX2, endY2, startX1, startY1))
+            || (o4 == 0 && withinBounds(startX2, startY2, endX2, endY2, endX1, endY1));
+    }
+
+    /**
+     * Finds the parameters, along two lines, of the single point at which
+     * they intersect, as exact rationals.
+     *
+     * The parameters are stored as the numerator of the first line's
+     * parameter, t, the numerator of the second line's parameter, u, and
+     * their shared denominator, which is positive. The point of intersection
+     * is then {@code start1 + (end1 - start1) * t / denominator}, which
+     * equals {@code start2 + (end2 - start2) * u / denominator}, and both
+     * numerators are between 0 and the denominator, inclusive.
+     *
+     * Lines which are parallel, including collinear lines which overlap, and
+     * lines of zero length, do not intersect at a single point, so
+     * {@link #intersects(int, int, int, int, int, int, int, int)} should be
+     * used to test them.
+     *
+     * The parameters always fit in a long when the coordinates are within
+     * +/- 2^30.
+     *
+     * @param startX1
+     *          The x coordinate of the first line's start point.
+     *
+     * @param startY1
+     *          The y coordinate of the first line's start point.
+     *
+     * @param endX1
+     *          The x coordinate of the first line's end point.
+     *
+     * @param endY1
+     *          The y coordinate of the first line's end point.
+     *
+     * @param startX2
+     *          The x coordinate of the second line's start point.
+     *
+     * @param startY2
+     *          The y coordinate of the second line's start point.
+     *
+     * @param endX2
+     *          The x coordinate of the second line's end point.
+     *
+     * @param endY2
+     *          The y coordinate of the second line's end point.
+     *
+     * @param parameters
+     *          The array to store the parameters in. It is left unchanged if
+     *          the lines do not intersect at a single point.
+     *
+     * @return
+     *          Whether the lines intersect at a single point.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the array has fewer than three elements.
+     *
+     * @throws ArithmeticException
+     *          If the parameters do not fit in a long.
+     */
+    public static boolean findIntersectionParameters(final int startX1, final int startY1, final int endX1, final int endY1, final int startX2, final int startY2, final int endX2, final int endY2, final @NonNull long[] parameters) {
+        Objects.checkFromIndexSize(0, 3, parameters.length);
+
+        final long rx = (long) endX1 - startX1;
+        final long ry = (long) endY1 - startY1;
+        final long sx = (long) endX2 - startX2;
+        final long sy = (long) endY2 - startY2;
+        final long wx = (long) startX2 - startX1;
+        final long wy = (long) startY2 - startY1;
+
+        long denominator = Math.subtractExact(Math.multiplyExact(rx, sy), Math.multiplyExact(ry, sx));
+        if (denominator == 0) {
+            return false;
+        }
+
+        long t = Math.subtractExact(Math.multiplyExact(wx, sy), Math.multiplyExact(wy, sx));
+        long u = Math.subtractExact(Math.multiplyExact(wx, ry), Math.multiplyExact(wy, rx));
+        if (denominator < 0) {
+            denominator = Math.negateExact(denominator);
+            t = Math.negateExact(t);
+            u = Math.negateExact(u);
+        }
+
+        if (t < 0 || t > denominator || u < 0 || u > denominator) {
+            return false;
+        }
+
+        parameters[0] = t;
+        parameters[1] = u;
+        parameters[2] = denominator;
+        return true;
+    }
+
+    /**
+     * Determines whether a point lies within the bounding box of a line.
+     *
+     * @param startX
+     *          The x coordinate of the line's start point.
+     *
+     * @param startY
+     *          The y coordinate of the line's start point.
+     *
+     * @param endX
+     *          The x coordinate of the line's end point.
+     *
+     * @param endY
+     *          The y coordinate of the line's end point.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          Whether the point lies within the bounding box.
+     */
+    private static boolean withinBounds(final int startX, final int startY, final int endX, final int endY, final int x, final int y) {
+        return x >= Math.min(startX, endX) && x <= Math.max(startX, endX) && y >= Math.min(startY, endY) && y <= Math.max(startY, endY);
+    }
+
+    /**
+     * Calculates the sign of the cross product of two vectors, exactly.
+     *
+     * @param ax
+     *          The x component of the first vector.
+     *
+     * @param ay
+     *          The y component of the first vector.
+     *
+     * @param bx
+     *          The x component of the second vector.
+     *
+     * @param by
+     *          The y component of the second vector.
+     *
+     * @return
+     *          1 if the second vector is counterclockwise of the first, -1 if
+     *          it is clockwise, or 0 if they are parallel.
+     */
+    static int crossSign(final long ax, final long ay, final long bx, final long by) {
+        return compare128(Math.multiplyHigh(ax, by), ax * by, Math.multiplyHigh(ay, bx), ay * bx);
+    }
+
+    /**
+     * Compares two signed 128-bit integers.
+     *
+     * @param firstHigh
+     *          The high 64 bits of the first integer.
+     *
+     * @param firstLow
+     *          The low 64 bits of the first integer.
+     *
+     * @param secondHigh
+     *          The high 64 bits of the second integer.
+     *
+     * @param secondLow
+     *          The low 64 bits of the second integer.
+     *
+     * @return
+     *          -1, 0, or 1, as the first integer is less than, equal to, or
+     *          greater than the second.
+     */
+    private static int compare128(final long firstHigh, final long firstLow, final long secondHigh, final long secondLow) {
+        if (firstHigh != secondHigh) {
+            return firstHigh < secondHigh ? -1 : 1;
+        }
+
+        return Integer.signum(Long.compareUnsigned(firstLow, secondLow));
+    }
+
+    /**
+     * Retrieves the number of cells that a line passes through, when
+     * rasterized.
+     *
+     * @param startX
+     *          The x coordinate of the start point.
+     *
+     * @param startY
+     *          The y coordinate of the start point.
+     *
+     * @param endX
+     *          The x coordinate of the end point.
+     *
+     * @param endY
+     *          The y coordinate of the end point.
+     *
+     * @return
+     *      The number of cells.
+     */
+    private static long getCellCount(final int startX, final int startY, final int endX, final int endY) {
+        return Math.max(Math.abs((long) endX - startX), Math.abs((long) endY - startY)) + 1;
+    }
+
+    /**
+     * The compact serialized form of a line, which writes its start and end points as
+     * primitives rather than as nested {@link Point} objects.
+     *
+     * Streams which were written before this form was introduced are still
+     * read by {@link #readObject(ObjectInputStream)}.
+     */
+    private static final class SerializationProxy implements Externalizable {
+        private static final long serialVersionUID = 1;
+
+        /** The x coordinate of the start point. */
+        private int startX;
+        /** The y coordinate of the start point. */
+        private int startY;
+        /** The x coordinate of the end point. */
+        private int endX;
+        /** The y coordinate of the end point. */
+        private int endY;
+
+        /** Constructs a new, empty, serialized form, for deserialization. */
+        public SerializationProxy() {}
+
+        /**
+         * Constructs the serialized form of a line.
+         *
+         * @param line
+         *          The line.
+         */
+        private SerializationProxy(final Line line) {
+            startX = line.getStartPoint().getX();
+            startY = line.getStartPoint().getY();
+            endX = line.getEndPoint().getX();
+            endY = line.getEndPoint().getY();
+        }
+
+        /**
+         * @serialData
+         *          The x and y coordinates of the start point, then those of the
+         *          end point, as ints.
+         */
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeInt(startX);
+            out.writeInt(startY);
+            out.writeInt(endX);
+            out.writeInt(endY);
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException {
+            startX = in.readInt();
+            startY = in.readInt();
+            endX = in.readInt();
+            endY = in.readInt();
+        }
+
+        /**
+         * Resolves the serialized form into the line that it represents.
+         *
+         * @return
+         *          The line.
+         */
+        private Object readResolve() {
+            final var line = new Line();
+            line.set(startX, startY, endX, endY);
+            return line;
+        }
     }
 }
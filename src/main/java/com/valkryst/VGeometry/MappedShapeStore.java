@@ -0,0 +1,612 @@
+package com.valkryst.VGeometry;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * A read-only store of shapes, which maps a file of fixed-width records into
+ * memory.
+ *
+ * Opening a store only reads its header and maps the file, so it takes the
+ * same time regardless of the file's size. The records are read straight
+ * from the mapping when they're accessed, so pages are loaded lazily by the
+ * operating system, and the heap only holds the shapes that the caller
+ * decodes.
+ *
+ * A store file is a 32-byte header, followed by the records of a single
+ * {@link ShapeType}, in the layout used by {@link ShapeCodec}. Everything is
+ * little-endian. Files larger than 2 GiB are mapped as several windows.
+ *
+ * Stores are safe to read from multiple threads.
+ */
+public final class MappedShapeStore implements Closeable {
+    /** The magic number at the start of a store file. */
+    private static final int MAGIC = 0x56475353;
+    /** The version of the file format. */
+    private static final int VERSION = 1;
+    /** The number of bytes in the header. */
+    static final int HEADER_BYTES = 32;
+    /** The default base-2 logarithm of the number of records in each mapped window. */
+    private static final int DEFAULT_WINDOW_SHIFT = 26;
+    /** The number of bytes in the buffer used to write a store file. */
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    /** The channel of the file. */
+    private final FileChannel channel;
+    /** The mapped windows of the file. */
+    private final MappedByteBuffer[] windows;
+    /** The base-2 logarithm of the number of records in each window. */
+    private final int windowShift;
+    /** The mask which selects the index of a record within its window. */
+    private final long windowMask;
+
+    /** The type of shape in the store. */
+    @Getter private final ShapeType type;
+    /** The number of bytes in a record. */
+    private final int recordBytes;
+    /** The number of shapes in the store. */
+    @Getter private final long count;
+
+    /**
+     * Constructs a new store.
+     *
+     * @param channel
+     *          The channel of the file.
+     *
+     * @param type
+     *          The type of shape in the store.
+     *
+     * @param count
+     *          The number of shapes in the store.
+     *
+     * @param windowShift
+     *          The base-2 logarithm of the number of records in each window.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    private MappedShapeStore(final FileChannel channel, final ShapeType type, final long count, final int windowShift) throws IOException {
+        this.channel = channel;
+        this.type = type;
+        this.count = count;
+        this.windowShift = windowShift;
+        this.recordBytes = type.getRecordBytes();
+        this.windowMask = (1L << windowShift) - 1;
+
+        final long recordsPerWindow = 1L << windowShift;
+        windows = new MappedByteBuffer[Math.toIntExact((count + recordsPerWindow - 1) >>> windowShift)];
+
+        for (int i = 0 ; i < windows.length ; i++) {
+            final long firstRecord = (long) i << windowShift;
+            final long records = Math.min(recordsPerWindow, count - firstRecord);
+            windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + firstRecord * recordBytes, records * recordBytes);
+            windows[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Opens a store.
+     *
+     * @param path
+     *          The path of the store file.
+     *
+     * @return
+     *          The store.
+     *
+     * @throws IOException
+     *          If an I/O error occurs, or if the file is not a valid store.
+     */
+    public static MappedShapeStore open(final @NonNull Path path) throws IOException {
+        return open(path, DEFAULT_WINDOW_SHIFT);
+    }
+
+    /**
+     * Opens a store, with a specific window size.
+     *
+     * @param path
+     *          The path of the store file.
+     *
+     * @param windowShift
+     *          The base-2 logarithm of the number of records in each window.
+     *
+     * @return
+     *          The store.
+     *
+     * @throws IOException
+     *          If an I/O error occurs, or if the file is not a valid store.
+     */
+    static MappedShapeStore open(final @NonNull Path path, final int windowShift) throws IOException {
+        final var channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            final var header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) != -1) {
+                // Keep reading until the header is full, or the file ends.
+            }
+
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException("The file " + path + " is not a shape store.");
+            }
+
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("The shape store " + path + " has the unsupported version " + header.getInt(4) + ".");
+            }
+
+            final int typeOrdinal = header.getInt(8);
+            final long count = header.getLong(16);
+            if (typeOrdinal < 0 || typeOrdinal >= ShapeType.values().length || count < 0) {
+                throw new IOException("The shape store " + path + " has a corrupt header.");
+            }
+
+            final var type = ShapeType.values()[typeOrdinal];
+            if (header.getInt(12) != type.getRecordBytes() || channel.size() != HEADER_BYTES + count * type.getRecordBytes()) {
+                throw new IOException("The shape store " + path + " has a corrupt header, or is truncated.");
+            }
+
+            return new MappedShapeStore(channel, type, count, windowShift);
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a store of points.
+     *
+     * @param path
+     *          The path of the store file.
+     *
+     * @param points
+     *          The points.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    public static void writePoints(final @NonNull Path path, final @NonNull PointBuffer points) throws IOException {
+        write(path, ShapeType.POINT, points.getSize(), (index, buffer) -> {
+            buffer.putInt(points.getX(index));
+            buffer.putInt(points.getY(index));
+        });
+    }
+
+    /**
+     * Writes a store of lines.
+     *
+     * @param path
+     *          The path of the store file.
+     *
+     * @param lines
+     *          The lines.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    public static void writeLines(final @NonNull Path path, final @NonNull Collection<Line> lines) throws IOException {
+        final Iterator<Line> iterator = lines.iterator();
+        write(path, ShapeType.LINE, lines.size(), (index, buffer) -> ShapeCodec.encode(iterator.next(), buffer));
+    }
+
+    /**
+     * Writes a store of lines, from packed segments.
+     *
+     * @param path
+     *          The path of the store file.
+     *
+     * @param segments
+     *          The segments, packed as consecutive start x, start y, end x,
+     *          and end y coordinates.
+     *
+     * @param count
+     *          The number of segments.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    public static void writeLines(final @NonNull Path path, final @NonNull int[] segments, final int count) throws IOException {
+        Objects.checkFromIndexSize(0, count * 4, segments.length);
+        write(path, ShapeType.LINE, count, (index, buffer) -> {
+            for (int i = index * 4 ; i < index * 4 + 4 ; i++) {
+                buffer.putInt(segments[i]);
+            }
+        });
+    }
+
+    /**
+     * Writes a store of circles.
+     *
+     * @param path
+     *          The path of the store file.
+     *
+     * @param circles
+     *          The circles.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    public static void writeCircles(final @NonNull Path path, final @NonNull Collection<Circle> circles) throws IOException {
+        final Iterator<Circle> iterator = circles.iterator();
+        write(path, ShapeType.CIRCLE, circles.size(), (index, buffer) -> ShapeCodec.encode(iterator.next(), buffer));
+    }
+
+    /**
+     * Writes a store of ellipses.
+     *
+     * @param path
+     *          The path of the store file.
+     *
+     * @param ellipses
+     *          The ellipses.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    public static void writeEllipses(final @NonNull Path path, final @NonNull Collection<Ellipse> ellipses) throws IOException {
+        final Iterator<Ellipse> iterator = ellipses.iterator();
+        write(path, ShapeType.ELLIPSE, ellipses.size(), (index, buffer) -> ShapeCodec.encode(iterator.next(), buffer));
+    }
+
+    /**
+     * Writes a store.
+     *
+     * @param path
+     *          The path of the store file.
+     *
+     * @param type
+     *          The type of shape in the store.
+     *
+     * @param count
+     *          The number of shapes.
+     *
+     * @param encoder
+     *          The encoder of each record.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    private static void write(final Path path, final ShapeType type, final int count, final RecordEncoder encoder) throws IOException {
+        try (final var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final var buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putInt(type.ordinal());
+            buffer.putInt(type.getRecordBytes());
+            buffer.putLong(count);
+            buffer.putLong(0);
+
+            for (int i = 0 ; i < count ; i++) {
+                if (buffer.remaining() < type.getRecordBytes()) {
+                    writeFully(channel, buffer);
+                }
+
+                encoder.encode(i, buffer);
+            }
+
+            writeFully(channel, buffer);
+        }
+    }
+
+    /**
+     * Writes the contents of a buffer to a channel, then clears the buffer.
+     *
+     * @param channel
+     *          The channel.
+     *
+     * @param buffer
+     *          The buffer.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Retrieves a point.
+     *
+     * @param index
+     *          The index of the point.
+     *
+     * @param point
+     *          The point to read into.
+     *
+     * @return
+     *          The point.
+     *
+     * @throws IllegalStateException
+     *          If the store does not contain points.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the index is out of bounds.
+     */
+    public Point getPoint(final long index, final @NonNull Point point) {
+        requireType(ShapeType.POINT);
+        point.setX(getX(index));
+        point.setY(getY(index));
+        return point;
+    }
+
+    /**
+     * Retrieves a line.
+     *
+     * @param index
+     *          The index of the line.
+     *
+     * @param line
+     *          The line to read into.
+     *
+     * @return
+     *          The line.
+     *
+     * @throws IllegalStateException
+     *          If the store does not contain lines.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the index is out of bounds.
+     */
+    public Line getLine(final long index, final @NonNull Line line) {
+        line.set(getX(index), getY(index), getEndX(index), getEndY(index));
+        return line;
+    }
+
+    /**
+     * Retrieves a circle.
+     *
+     * @param index
+     *          The index of the circle.
+     *
+     * @param circle
+     *          The circle to read into.
+     *
+     * @return
+     *          The circle.
+     *
+     * @throws IllegalStateException
+     *          If the store does not contain circles.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the index is out of bounds.
+     */
+    public Circle getCircle(final long index, final @NonNull Circle circle) {
+        circle.set(getX(index), getY(index), getRadius(index));
+        return circle;
+    }
+
+    /**
+     * Retrieves an ellipse.
+     *
+     * @param index
+     *          The index of the ellipse.
+     *
+     * @param ellipse
+     *          The ellipse to read into.
+     *
+     * @return
+     *          The ellipse.
+     *
+     * @throws IllegalStateException
+     *          If the store does not contain ellipses.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the index is out of bounds.
+     */
+    public Ellipse getEllipse(final long index, final @NonNull Ellipse ellipse) {
+        ellipse.set(getX(index), getY(index), getHorizontalRadius(index), getVerticalRadius(index));
+        return ellipse;
+    }
+
+    /**
+     * Retrieves the x coordinate of a point, the start point of a line, or
+     * the midpoint of a circle or ellipse.
+     *
+     * @param index
+     *          The index of the shape.
+     *
+     * @return
+     *          The x coordinate.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the index is out of bounds.
+     */
+    public int getX(final long index) {
+        return window(index).getInt(offset(index));
+    }
+
+    /**
+     * Retrieves the y coordinate of a point, the start point of a line, or
+     * the midpoint of a circle or ellipse.
+     *
+     * @param index
+     *          The index of the shape.
+     *
+     * @return
+     *          The y coordinate.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the index is out of bounds.
+     */
+    public int getY(final long index) {
+        return window(index).getInt(offset(index) + 4);
+    }
+
+    /**
+     * Retrieves the x coordinate of the end point of a line.
+     *
+     * @param index
+     *          The index of the line.
+     *
+     * @return
+     *          The x coordinate.
+     *
+     * @throws IllegalStateException
+     *          If the store does not contain lines.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the index is out of bounds.
+     */
+    public int getEndX(final long index) {
+        requireType(ShapeType.LINE);
+        return window(index).getInt(offset(index) + 8);
+    }
+
+    /**
+     * Retrieves the y coordinate of the end point of a line.
+     *
+     * @param index
+     *          The index of the line.
+     *
+     * @return
+     *          The y coordinate.
+     *
+     * @throws IllegalStateException
+     *          If the store does not contain lines.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the index is out of bounds.
+     */
+    public int getEndY(final long index) {
+        requireType(ShapeType.LINE);
+        return window(index).getInt(offset(index) + 12);
+    }
+
+    /**
+     * Retrieves the radius of a circle.
+     *
+     * @param index
+     *          The index of the circle.
+     *
+     * @return
+     *          The radius.
+     *
+     * @throws IllegalStateException
+     *          If the store does not contain circles.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the index is out of bounds.
+     */
+    public double getRadius(final long index) {
+        requireType(ShapeType.CIRCLE);
+        return window(index).getDouble(offset(index) + 8);
+    }
+
+    /**
+     * Retrieves the horizontal radius of an ellipse.
+     *
+     * @param index
+     *          The index of the ellipse.
+     *
+     * @return
+     *          The horizontal radius.
+     *
+     * @throws IllegalStateException
+     *          If the store does not contain ellipses.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the index is out of bounds.
+     */
+    public double getHorizontalRadius(final long index) {
+        requireType(ShapeType.ELLIPSE);
+        return window(index).getDouble(offset(index) + 8);
+    }
+
+    /**
+     * Retrieves the vertical radius of an ellipse.
+     *
+     * @param index
+     *          The index of the ellipse.
+     *
+     * @return
+     *          The vertical radius.
+     *
+     * @throws IllegalStateException
+     *          If the store does not contain ellipses.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the index is out of bounds.
+     */
+    public double getVerticalRadius(final long index) {
+        requireType(ShapeType.ELLIPSE);
+        return window(index).getDouble(offset(index) + 16);
+    }
+
+    /**
+     * Retrieves the window which contains a record.
+     *
+     * @param index
+     *          The index of the record.
+     *
+     * @return
+     *          The window.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the index is out of bounds.
+     */
+    private MappedByteBuffer window(final long index) {
+        Objects.checkIndex(index, count);
+        return windows[(int) (index >>> windowShift)];
+    }
+
+    /**
+     * Calculates the offset of a record within its window.
+     *
+     * @param index
+     *          The index of the record.
+     *
+     * @return
+     *          The offset.
+     */
+    private int offset(final long index) {
+        return (int) (index & windowMask) * recordBytes;
+    }
+
+    /**
+     * Throws an exception if the store does not contain a type of shape.
+     *
+     * @param expected
+     *          The type of shape.
+     *
+     * @throws IllegalStateException
+     *          If the store does not contain the type of shape.
+     */
+    private void requireType(final ShapeType expected) {
+        if (type != expected) {
+            throw new IllegalStateException("The store contains " + type + " records, not " + expected + " records.");
+        }
+    }
+
+    /** Encodes a record into a buffer. */
+    @FunctionalInterface
+    private interface RecordEncoder {
+        /**
+         * Encodes a record.
+         *
+         * @param index
+         *          The index of the record.
+         *
+         * @param buffer
+         *          The buffer to write to.
+         */
+        void encode(final int index, final ByteBuffer buffer);
+    }
+}
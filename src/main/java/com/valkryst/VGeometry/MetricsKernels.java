@@ -0,0 +1,126 @@
+package com.valkryst.VGeometry;
+
+/**
+ * Computes the metrics of many circles or ellipses at once.
+ *
+ * The arguments are validated by {@link ShapeMetrics}, before they reach an
+ * implementation.
+ */
+interface MetricsKernels {
+    /**
+     * Calculates the areas of circles.
+     *
+     * @param radii
+     *          The radii.
+     *
+     * @param areas
+     *          The array to store the areas in.
+     *
+     * @param count
+     *          The number of circles.
+     */
+    void circleAreas(final double[] radii, final double[] areas, final int count);
+
+    /**
+     * Calculates the circumferences of circles.
+     *
+     * @param radii
+     *          The radii.
+     *
+     * @param circumferences
+     *          The array to store the circumferences in.
+     *
+     * @param count
+     *          The number of circles.
+     */
+    void circleCircumferences(final double[] radii, final double[] circumferences, final int count);
+
+    /**
+     * Determines which circles contain a point.
+     *
+     * @param midpointXs
+     *          The x coordinates of the midpoints.
+     *
+     * @param midpointYs
+     *          The y coordinates of the midpoints.
+     *
+     * @param radii
+     *          The radii.
+     *
+     * @param count
+     *          The number of circles.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @param results
+     *          The array to store whether each circle contains the point in.
+     */
+    void circlesContain(final int[] midpointXs, final int[] midpointYs, final double[] radii, final int count, final int x, final int y, final boolean[] results);
+
+    /**
+     * Determines which ellipses contain a point.
+     *
+     * @param midpointXs
+     *          The x coordinates of the midpoints.
+     *
+     * @param midpointYs
+     *          The y coordinates of the midpoints.
+     *
+     * @param horizontalRadii
+     *          The horizontal radii.
+     *
+     * @param verticalRadii
+     *          The vertical radii.
+     *
+     * @param count
+     *          The number of ellipses.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @param results
+     *          The array to store whether each ellipse contains the point in.
+     */
+    void ellipsesContain(final int[] midpointXs, final int[] midpointYs, final double[] horizontalRadii, final double[] verticalRadii, final int count, final int x, final int y, final boolean[] results);
+
+    /**
+     * Calculates the areas of ellipses.
+     *
+     * @param horizontalRadii
+     *          The horizontal radii.
+     *
+     * @param verticalRadii
+     *          The vertical radii.
+     *
+     * @param areas
+     *          The array to store the areas in.
+     *
+     * @param count
+     *          The number of ellipses.
+     */
+    void ellipseAreas(final double[] horizontalRadii, final double[] verticalRadii, final double[] areas, final int count);
+
+    /**
+     * Calculates the circumferences of ellipses.
+     *
+     * @param horizontalRadii
+     *          The horizontal radii.
+     *
+     * @param verticalRadii
+     *          The vertical radii.
+     *
+     * @param circumferences
+     *          The array to store the circumferences in.
+     *
+     * @param count
+     *          The number of ellipses.
+     */
+    void ellipseCircumferences(final double[] horizontalRadii, final double[] verticalRadii, final double[] circumferences, final int count);
+}
@@ -0,0 +1,194 @@
+package com.valkryst.VGeometry;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Finds the line segment nearest to each of many query points, such as when
+ * snapping positions onto a road network.
+ *
+ * The segments are copied, and indexed by an {@link RTree}, when the finder is
+ * constructed. Each query then visits only the nodes of the tree which could
+ * hold a nearer segment than the nearest found so far, measuring the exact
+ * squared distance to each candidate segment without taking a square root.
+ *
+ * Queries allocate nothing, so a finder may be queried from many threads at
+ * once, and batches of queries are split across a {@link ForkJoinPool}.
+ */
+public class NearestSegmentFinder {
+    /** The minimum number of queries performed by each chunk of a batch. */
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    /** The number of segments. */
+    @Getter private final int size;
+
+    /** The segments, packed as start x, start y, end x, and end y. */
+    private final int[] segments;
+    /** The index of the segments' bounding boxes. */
+    private final RTree tree;
+    /** The distance from a point to a segment. */
+    private final RTree.EntryDistance distance;
+    /** The pool to run batches of queries on. */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new finder, which uses the common pool.
+     *
+     * @param segments
+     *          The segments, packed as consecutive start x, start y, end x,
+     *          and end y coordinates. Each segment is identified by its
+     *          position in the array.
+     *
+     * @param count
+     *          The number of segments.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the count is negative, or if the array holds fewer segments
+     *          than the count.
+     */
+    public NearestSegmentFinder(final @NonNull int[] segments, final int count) {
+        this(segments, count, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new finder.
+     *
+     * @param segments
+     *          The segments, packed as consecutive start x, start y, end x,
+     *          and end y coordinates. Each segment is identified by its
+     *          position in the array.
+     *
+     * @param count
+     *          The number of segments.
+     *
+     * @param pool
+     *          The pool to run batches of queries on.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the count is negative, or if the array holds fewer segments
+     *          than the count.
+     */
+    public NearestSegmentFinder(final @NonNull int[] segments, final int count, final @NonNull ForkJoinPool pool) {
+        Objects.checkFromIndexSize(0, count * 4, segments.length);
+
+        this.size = count;
+        this.segments = Arrays.copyOf(segments, count * 4);
+        this.tree = RTree.of(this.segments, count);
+        this.pool = pool;
+
+        this.distance = (handle, x, y) -> {
+            final int offset = handle * 4;
+            return Line.distanceSquared(this.segments[offset], this.segments[offset + 1], this.segments[offset + 2], this.segments[offset + 3], x, y);
+        };
+    }
+
+    /**
+     * Constructs a new finder, which uses the common pool, for a number of
+     * lines.
+     *
+     * @param lines
+     *          The lines. Each line is identified by its position in the
+     *          collection's iteration order.
+     *
+     * @return
+     *          The finder.
+     */
+    public static NearestSegmentFinder ofLines(final @NonNull Collection<Line> lines) {
+        final var segments = new int[lines.size() * 4];
+
+        int i = 0;
+        for (final var line : lines) {
+            segments[i] = line.getStartPoint().getX();
+            segments[i + 1] = line.getStartPoint().getY();
+            segments[i + 2] = line.getEndPoint().getX();
+            segments[i + 3] = line.getEndPoint().getY();
+            i += 4;
+        }
+
+        return new NearestSegmentFinder(segments, lines.size());
+    }
+
+    /**
+     * Finds the segment nearest to a point.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          The index of the nearest segment, or -1 if there are no
+     *          segments. Ties are broken arbitrarily.
+     */
+    public int findNearest(final int x, final int y) {
+        return tree.nearest(x, y, distance);
+    }
+
+    /**
+     * Calculates the squared distance from a point to a segment.
+     *
+     * @param index
+     *          The index of the segment.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          The squared distance.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If there is no segment at the index.
+     */
+    public double distanceSquared(final int index, final int x, final int y) {
+        Objects.checkIndex(index, size);
+        return distance.distanceSquared(index, x, y);
+    }
+
+    /**
+     * Finds the segment nearest to each of a number of points, in parallel.
+     *
+     * @param points
+     *          The points.
+     *
+     * @param nearest
+     *          The array to store the index of the nearest segment to each
+     *          point in, or -1 if there are no segments.
+     *
+     * @param distancesSquared
+     *          The array to store the squared distance from each point to its
+     *          nearest segment in, or null if the distances aren't needed. The
+     *          distance is positive infinity if there are no segments.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If either array is shorter than the number of points.
+     */
+    public void findNearest(final @NonNull PointBuffer points, final @NonNull int[] nearest, final double[] distancesSquared) {
+        final int count = points.getSize();
+        Objects.checkFromIndexSize(0, count, nearest.length);
+        if (distancesSquared != null) {
+            Objects.checkFromIndexSize(0, count, distancesSquared.length);
+        }
+
+        ParallelRanges.forEach(pool, count, MIN_CHUNK_SIZE, (start, end) -> {
+            for (int i = start ; i < end ; i++) {
+                final int x = points.getX(i);
+                final int y = points.getY(i);
+                final int segment = tree.nearest(x, y, distance);
+                nearest[i] = segment;
+
+                if (distancesSquared != null) {
+                    distancesSquared[i] = segment == -1 ? Double.POSITIVE_INFINITY : distance.distanceSquared(segment, x, y);
+                }
+            }
+        });
+    }
+}
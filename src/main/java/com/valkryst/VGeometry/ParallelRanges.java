@@ -0,0 +1,122 @@
+package com.valkryst.VGeometry;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits a range of indices into chunks, which are processed in parallel on a
+ * {@link ForkJoinPool}.
+ *
+ * Chunks are aligned to multiples of 64 indices, so that each word of a
+ * {@link java.util.BitSet} is written by exactly one chunk.
+ */
+final class ParallelRanges {
+    /** The number of chunks to create for each thread of the pool, so that uneven chunks can be balanced. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private ParallelRanges() {}
+
+    /**
+     * Processes a range of indices, by splitting it into chunks.
+     *
+     * If the range fits in a single chunk, then it is processed on the
+     * calling thread.
+     *
+     * @param pool
+     *          The pool to process the chunks on.
+     *
+     * @param count
+     *          The number of indices.
+     *
+     * @param minChunkSize
+     *          The minimum number of indices per chunk.
+     *
+     * @param action
+     *          The action to perform on each chunk.
+     */
+    static void forEach(final ForkJoinPool pool, final int count, final int minChunkSize, final RangeAction action) {
+        final int balancedChunkSize = count / (pool.getParallelism() * CHUNKS_PER_THREAD);
+        final int chunkSize = alignUp(Math.max(1, Math.max(minChunkSize, balancedChunkSize)));
+
+        if (count <= chunkSize) {
+            action.apply(0, count);
+        } else {
+            pool.invoke(new ChunkTask(action, 0, count, chunkSize));
+        }
+    }
+
+    /**
+     * Rounds a number of indices up to a multiple of 64.
+     *
+     * @param value
+     *          The number of indices.
+     *
+     * @return
+     *          The rounded number of indices.
+     */
+    private static int alignUp(final int value) {
+        return (int) Math.min(Integer.MAX_VALUE & ~63, ((long) value + 63) & ~63L);
+    }
+
+    /** Represents an operation on a range of indices. */
+    @FunctionalInterface
+    interface RangeAction {
+        /**
+         * Performs this operation on a range of indices.
+         *
+         * @param start
+         *          The first index, inclusive.
+         *
+         * @param end
+         *          The last index, exclusive.
+         */
+        void apply(final int start, final int end);
+    }
+
+    /** Splits a range of indices in half, until each half fits in a chunk. */
+    @SuppressWarnings("serial")
+    private static final class ChunkTask extends RecursiveAction {
+        /** The action. */
+        private final RangeAction action;
+        /** The first index, inclusive, which is a multiple of 64. */
+        private final int start;
+        /** The last index, exclusive. */
+        private final int end;
+        /** The maximum number of indices per chunk, which is a multiple of 64. */
+        private final int chunkSize;
+
+        /**
+         * Constructs a new chunk task.
+         *
+         * @param action
+         *          The action.
+         *
+         * @param start
+         *          The first index, inclusive.
+         *
+         * @param end
+         *          The last index, exclusive.
+         *
+         * @param chunkSize
+         *          The maximum number of indices per chunk.
+         */
+        private ChunkTask(final RangeAction action, final int start, final int end, final int chunkSize) {
+            this.action = action;
+            this.start = start;
+            this.end = end;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= chunkSize) {
+                action.apply(start, end);
+                return;
+            }
+
+            // Rounding the midpoint up keeps both halves aligned, and non-empty, as the range spans more than 64 indices.
+            final int middle = start + alignUp((end - start) >>> 1);
+            invokeAll(new ChunkTask(action, start, middle, chunkSize), new ChunkTask(action, middle, end, chunkSize));
+        }
+    }
+}
@@ -55,6 +55,30 @@ public class Point implements Serializable {
         this.y = json.getInt("y");
     }
 
+    /**
+     * Sets new coordinates.
+     *
+     * @param x
+     *          The x coordinate.
+     *
+     * @param y
+     *          The y coordinate.
+     */
+    public void set(final int x, final int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Sets new coordinates, using another point.
+     *
+     * @param otherPoint
+     *          The other point.
+     */
+    public void set(final @NonNull Point otherPoint) {
+        set(otherPoint.x, otherPoint.y);
+    }
+
     /**
      * Retrieves the JSON representation of this point.
      *
@@ -67,4 +91,60 @@ public class Point implements Serializable {
         object.put("y", y);
         return object;
     }
+
+    /**
+     * Calculates the squared distance from this point to another point.
+     *
+     * @param point
+     *          The other point.
+     *
+     * @return
+     *          The squared distance.
+     */
+    public double distanceSquared(final @NonNull Point point) {
+        return distanceSquared(x, y, point.x, point.y);
+    }
+
+    /**
+     * Calculates the squared distance from this point to another point.
+     *
+     * @param x
+     *          The x coordinate of the other point.
+     *
+     * @param y
+     *          The y coordinate of the other point.
+     *
+     * @return
+     *          The squared distance.
+     */
+    public double distanceSquared(final int x, final int y) {
+        return distanceSquared(this.x, this.y, x, y);
+    }
+
+    /**
+     * Calculates the squared distance between two points.
+     *
+     * The differences between the coordinates are exact, and the result is
+     * exact whenever it is less than 2^53.
+     *
+     * @param x1
+     *          The x coordinate of the first point.
+     *
+     * @param y1
+     *          The y coordinate of the first point.
+     *
+     * @param x2
+     *          The x coordinate of the second point.
+     *
+     * @param y2
+     *          The y coordinate of the second point.
+     *
+     * @return
+     *          The squared distance.
+     */
+    public static double distanceSquared(final int x1, final int y1, final int x2, final int y2) {
+        final double dx = (double) x2 - x1;
+        final double dy = (double) y2 - y1;
+        return dx * dx + dy * dy;
+    }
 }
@@ -0,0 +1,427 @@
+package com.valkryst.VGeometry;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A growable buffer of points, stored as packed arrays of x and y
+ * coordinates.
+ *
+ * Unlike a {@code List<Point>}, no {@link Point} objects are created unless
+ * they are explicitly requested.
+ */
+public class PointBuffer {
+    /** The default capacity. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The x coordinates. */
+    private int[] xs;
+    /** The y coordinates. */
+    private int[] ys;
+    /** The number of points. */
+    @Getter private int size = 0;
+
+    /** Constructs a new point buffer. */
+    public PointBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new point buffer.
+     *
+     * @param initialCapacity
+     *          The initial capacity.
+     *
+     * @throws IllegalArgumentException
+     *          If the initial capacity is negative.
+     */
+    public PointBuffer(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity cannot be negative.");
+        }
+
+        xs = new int[initialCapacity];
+        ys = new int[initialCapacity];
+    }
+
+    /**
+     * Constructs a new point buffer, using another point buffer.
+     *
+     * @param buffer
+     *          The other point buffer.
+     */
+    public PointBuffer(final @NonNull PointBuffer buffer) {
+        xs = Arrays.copyOf(buffer.xs, buffer.size);
+        ys = Arrays.copyOf(buffer.ys, buffer.size);
+        size = buffer.size;
+    }
+
+    /**
+     * Constructs a new point buffer, using a collection of points.
+     *
+     * @param points
+     *          The points.
+     */
+    public PointBuffer(final @NonNull Collection<Point> points) {
+        this(points.size());
+
+        for (final var point : points) {
+            add(point);
+        }
+    }
+
+    /**
+     * Ensures that the buffer can hold at least the given number of points
+     * without growing.
+     *
+     * @param capacity
+     *          The minimum capacity.
+     */
+    public void ensureCapacity(final int capacity) {
+        if (capacity <= xs.length) {
+            return;
+        }
+
+        final int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) capacity, xs.length * 2L));
+        xs = Arrays.copyOf(xs, newCapacity);
+        ys = Arrays.copyOf(ys, newCapacity);
+    }
+
+    /** Shrinks the capacity of the buffer to its size. */
+    public void trimToSize() {
+        if (size < xs.length) {
+            xs = Arrays.copyOf(xs, size);
+            ys = Arrays.copyOf(ys, size);
+        }
+    }
+
+    /** Removes all points from the buffer, without releasing its capacity. */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Determines whether the buffer is empty.
+     *
+     * @return
+     *          Whether the buffer is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds a point to the end of the buffer.
+     *
+     * @param x
+     *          The x coordinate.
+     *
+     * @param y
+     *          The y coordinate.
+     *
+     * @return
+     *          The index of the point.
+     */
+    public int add(final int x, final int y) {
+        ensureCapacity(size + 1);
+        xs[size] = x;
+        ys[size] = y;
+        return size++;
+    }
+
+    /**
+     * Adds a point to the end of the buffer.
+     *
+     * @param point
+     *          The point.
+     *
+     * @return
+     *          The index of the point.
+     */
+    public int add(final @NonNull Point point) {
+        return add(point.getX(), point.getY());
+    }
+
+    /**
+     * Adds a range of coordinates to the end of the buffer.
+     *
+     * @param xs
+     *          The x coordinates.
+     *
+     * @param ys
+     *          The y coordinates.
+     *
+     * @param offset
+     *          The index of the first coordinate to add.
+     *
+     * @param length
+     *          The number of coordinates to add.
+     */
+    public void addAll(final @NonNull int[] xs, final @NonNull int[] ys, final int offset, final int length) {
+        Objects.checkFromIndexSize(offset, length, xs.length);
+        Objects.checkFromIndexSize(offset, length, ys.length);
+
+        ensureCapacity(size + length);
+        System.arraycopy(xs, offset, this.xs, size, length);
+        System.arraycopy(ys, offset, this.ys, size, length);
+        size += length;
+    }
+
+    /**
+     * Adds every point of another buffer to the end of this buffer.
+     *
+     * @param buffer
+     *          The other buffer.
+     */
+    public void addAll(final @NonNull PointBuffer buffer) {
+        addAll(buffer.xs, buffer.ys, 0, buffer.size);
+    }
+
+    /**
+     * Retrieves the x coordinate of a point.
+     *
+     * @param index
+     *          The index of the point.
+     *
+     * @return
+     *          The x coordinate.
+     */
+    public int getX(final int index) {
+        Objects.checkIndex(index, size);
+        return xs[index];
+    }
+
+    /**
+     * Retrieves the y coordinate of a point.
+     *
+     * @param index
+     *          The index of the point.
+     *
+     * @return
+     *          The y coordinate.
+     */
+    public int getY(final int index) {
+        Objects.checkIndex(index, size);
+        return ys[index];
+    }
+
+    /**
+     * Retrieves a point.
+     *
+     * @param index
+     *          The index of the point.
+     *
+     * @return
+     *          A new point with the coordinates of the point.
+     */
+    public Point get(final int index) {
+        Objects.checkIndex(index, size);
+        return new Point(xs[index], ys[index]);
+    }
+
+    /**
+     * Copies the coordinates of a point into an existing point.
+     *
+     * @param index
+     *          The index of the point.
+     *
+     * @param point
+     *          The point to copy the coordinates into.
+     */
+    public void get(final int index, final @NonNull Point point) {
+        Objects.checkIndex(index, size);
+        point.setX(xs[index]);
+        point.setY(ys[index]);
+    }
+
+    /**
+     * Copies a range of coordinates into arrays.
+     *
+     * @param index
+     *          The index of the first point to copy.
+     *
+     * @param xs
+     *          The array to copy the x coordinates into.
+     *
+     * @param ys
+     *          The array to copy the y coordinates into.
+     *
+     * @param offset
+     *          The index, in the arrays, at which to begin copying.
+     *
+     * @param length
+     *          The number of points to copy.
+     */
+    public void get(final int index, final @NonNull int[] xs, final @NonNull int[] ys, final int offset, final int length) {
+        Objects.checkFromIndexSize(index, length, size);
+        System.arraycopy(this.xs, index, xs, offset, length);
+        System.arraycopy(this.ys, index, ys, offset, length);
+    }
+
+    /**
+     * Sets the coordinates of a point.
+     *
+     * @param index
+     *          The index of the point.
+     *
+     * @param x
+     *          The new x coordinate.
+     *
+     * @param y
+     *          The new y coordinate.
+     */
+    public void set(final int index, final int x, final int y) {
+        Objects.checkIndex(index, size);
+        xs[index] = x;
+        ys[index] = y;
+    }
+
+    /**
+     * Sets the coordinates of a point.
+     *
+     * @param index
+     *          The index of the point.
+     *
+     * @param point
+     *          The point whose coordinates are to be used.
+     */
+    public void set(final int index, final @NonNull Point point) {
+        set(index, point.getX(), point.getY());
+    }
+
+    /**
+     * Sets a range of coordinates, using arrays.
+     *
+     * @param index
+     *          The index of the first point to set.
+     *
+     * @param xs
+     *          The x coordinates.
+     *
+     * @param ys
+     *          The y coordinates.
+     *
+     * @param offset
+     *          The index, in the arrays, of the first coordinate to use.
+     *
+     * @param length
+     *          The number of points to set.
+     */
+    public void set(final int index, final @NonNull int[] xs, final @NonNull int[] ys, final int offset, final int length) {
+        Objects.checkFromIndexSize(index, length, size);
+        System.arraycopy(xs, offset, this.xs, index, length);
+        System.arraycopy(ys, offset, this.ys, index, length);
+    }
+
+    /**
+     * Performs an operation on the coordinates of every point, in order.
+     *
+     * @param consumer
+     *          The operation.
+     */
+    public void forEach(final @NonNull PointConsumer consumer) {
+        for (int i = 0 ; i < size ; i++) {
+            consumer.accept(xs[i], ys[i]);
+        }
+    }
+
+    /**
+     * Retrieves a new cursor over the points of this buffer.
+     *
+     * The cursor can be {@link Cursor#reset() reset} and reused, so that
+     * repeated iterations do not allocate.
+     *
+     * @return
+     *          The cursor.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Retrieves a copy of the points in this buffer.
+     *
+     * @return
+     *          The points.
+     */
+    public List<Point> toPoints() {
+        final var points = new ArrayList<Point>(size);
+
+        for (int i = 0 ; i < size ; i++) {
+            points.add(new Point(xs[i], ys[i]));
+        }
+
+        return points;
+    }
+
+    /**
+     * A reusable, forward-only cursor over the points of a buffer.
+     *
+     * Points added to the buffer while iterating are visited, as long as the
+     * cursor has not yet been exhausted.
+     */
+    public class Cursor {
+        /** The index of the current point. */
+        @Getter private int index = -1;
+
+        /** Moves the cursor back to before the first point. */
+        public void reset() {
+            index = -1;
+        }
+
+        /**
+         * Moves the cursor to the next point.
+         *
+         * @return
+         *          Whether there was a next point.
+         */
+        public boolean next() {
+            if (index + 1 < size) {
+                index++;
+                return true;
+            }
+
+            index = size;
+            return false;
+        }
+
+        /**
+         * Retrieves the x coordinate of the current point.
+         *
+         * @return
+         *          The x coordinate.
+         */
+        public int getX() {
+            return PointBuffer.this.getX(index);
+        }
+
+        /**
+         * Retrieves the y coordinate of the current point.
+         *
+         * @return
+         *          The y coordinate.
+         */
+        public int getY() {
+            return PointBuffer.this.getY(index);
+        }
+
+        /**
+         * Sets the coordinates of the current point.
+         *
+         * @param x
+         *          The new x coordinate.
+         *
+         * @param y
+         *          The new y coordinate.
+         */
+        public void set(final int x, final int y) {
+            PointBuffer.this.set(index, x, y);
+        }
+    }
+}
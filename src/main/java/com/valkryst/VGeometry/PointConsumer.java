@@ -0,0 +1,16 @@
+package com.valkryst.VGeometry;
+
+/** Represents an operation that accepts the coordinates of a point. */
+@FunctionalInterface
+public interface PointConsumer {
+    /**
+     * Performs this operation on the given coordinates.
+     *
+     * @param x
+     *          The x coordinate.
+     *
+     * @param y
+     *          The y coordinate.
+     */
+    void accept(final int x, final int y);
+}
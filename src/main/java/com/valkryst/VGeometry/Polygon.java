@@ -0,0 +1,566 @@
+package com.valkryst.VGeometry;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import org.json.JSONObject;
+
+import java.io.*;
+import java.nio.IntBuffer;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A closed shape, whose outline joins each vertex to the next, and the last
+ * vertex back to the first.
+ *
+ * The vertices are stored as a single packed array of consecutive x and y
+ * coordinates, so neighbouring edges share their vertices, and an outline of
+ * any length is one object. Every measurement is a single pass over the
+ * array, and allocates nothing.
+ *
+ * The outline may touch or cross itself. Points are contained according to
+ * their winding number, so a region which the outline winds around twice is
+ * still contained.
+ */
+@ToString
+public class Polygon implements Serializable {
+    private static final long serialVersionUID = 1;
+
+    /** The vertices, packed as consecutive x and y coordinates. */
+    @ToString.Exclude private int[] coordinates;
+    /** The number of vertices. */
+    @Getter private int vertexCount;
+    /** The bounding box, or null if it is out of date. */
+    @ToString.Exclude private transient BoundingBox bounds;
+    /** The number of times that this polygon has been modified. */
+    @Getter @ToString.Exclude private transient long modificationCount = 0;
+    /** The listeners to notify when the bounding box changes, or null if there are none. */
+    @ToString.Exclude private transient CopyOnWriteArrayList<BoundsListener<? super Polygon>> boundsListeners;
+
+    /**
+     * Constructs a new polygon.
+     *
+     * @param coordinates
+     *          The vertices, packed as consecutive x and y coordinates. The
+     *          array is copied.
+     *
+     * @param count
+     *          The number of vertices.
+     *
+     * @throws IllegalArgumentException
+     *          If the count is less than one.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the array holds fewer vertices than the count.
+     */
+    public Polygon(final @NonNull int[] coordinates, final int count) {
+        setVertices(coordinates, count);
+    }
+
+    /**
+     * Constructs a new polygon.
+     *
+     * @param points
+     *          The vertices.
+     *
+     * @throws IllegalArgumentException
+     *          If there are no vertices.
+     */
+    public Polygon(final @NonNull PointBuffer points) {
+        this(Polyline.pack(points), points.getSize());
+    }
+
+    /**
+     * Constructs a new polygon.
+     *
+     * @param points
+     *          The vertices.
+     *
+     * @throws IllegalArgumentException
+     *          If there are no vertices.
+     */
+    public Polygon(final @NonNull Collection<Point> points) {
+        this(Polyline.pack(points), points.size());
+    }
+
+    /**
+     * Constructs a new polygon, using another polygon.
+     *
+     * @param polygon
+     *          The other polygon.
+     */
+    public Polygon(final @NonNull Polygon polygon) {
+        this(polygon.coordinates, polygon.vertexCount);
+    }
+
+    /**
+     * Constructs a new polygon, using the JSON representation of a polygon.
+     *
+     * @param json
+     *          The JSON representation of a polygon.
+     */
+    public Polygon(final @NonNull JSONObject json) {
+        final var vertices = json.getJSONArray("vertices");
+        setVertices(Polyline.pack(vertices), vertices.length());
+    }
+
+    /**
+     * Retrieves the JSON representation of this polygon.
+     *
+     * @return
+     *      The JSON representation of this polygon.
+     */
+    public JSONObject toJson() {
+        final var object = new JSONObject();
+        object.put("vertices", Polyline.toJson(coordinates, vertexCount));
+        return object;
+    }
+
+    /**
+     * Loads this polygon from its serialized form.
+     *
+     * @param is
+     *          The input stream.
+     *
+     * @throws InvalidObjectException
+     *          Always, as a polygon is only ever serialized through its
+     *          compact form.
+     */
+    private void readObject(final ObjectInputStream is) throws InvalidObjectException {
+        throw new InvalidObjectException("A polygon must be deserialized from its serialized form.");
+    }
+
+    /**
+     * Replaces this polygon with its compact serialized form.
+     *
+     * @return
+     *          The serialized form.
+     */
+    private Object writeReplace() {
+        return new Polyline.SerializationProxy(coordinates, vertexCount, true);
+    }
+
+    /**
+     * Retrieves the bounding box from before a modification, if any listener
+     * needs to be notified of the modification.
+     *
+     * @return
+     *          The bounding box, or null if there are no listeners.
+     */
+    private BoundingBox getBoundsBeforeModification() {
+        return boundsListeners == null ? null : getBounds();
+    }
+
+    /**
+     * Invalidates the bounding box, counts a modification, and notifies the
+     * listeners if the bounding box has changed.
+     *
+     * @param oldBounds
+     *          The bounding box from before the modification, or null if
+     *          there were no listeners.
+     */
+    private void modified(final BoundingBox oldBounds) {
+        bounds = null;
+        modificationCount++;
+
+        if (oldBounds == null || boundsListeners == null) {
+            return;
+        }
+
+        final var newBounds = getBounds();
+        if (!newBounds.equals(oldBounds)) {
+            for (final var listener : boundsListeners) {
+                listener.boundsChanged(this, oldBounds, newBounds);
+            }
+        }
+    }
+
+    /**
+     * Replaces every vertex.
+     *
+     * The existing array is reused if it is large enough.
+     *
+     * @param coordinates
+     *          The new vertices, packed as consecutive x and y coordinates.
+     *          The array is copied.
+     *
+     * @param count
+     *          The number of vertices.
+     *
+     * @throws IllegalArgumentException
+     *          If the count is less than one.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the array holds fewer vertices than the count.
+     */
+    public void setVertices(final @NonNull int[] coordinates, final int count) {
+        Polyline.requireVertices(count);
+        Objects.checkFromIndexSize(0, count * 2, coordinates.length);
+
+        final var oldBounds = getBoundsBeforeModification();
+        this.coordinates = Polyline.reserve(this.coordinates, count);
+        System.arraycopy(coordinates, 0, this.coordinates, 0, count * 2);
+        vertexCount = count;
+        modified(oldBounds);
+    }
+
+    /**
+     * Replaces every vertex, by reading packed coordinates from a buffer.
+     *
+     * @param coordinates
+     *          The buffer to read the new vertices from, as consecutive x and
+     *          y coordinates.
+     *
+     * @param count
+     *          The number of vertices.
+     *
+     * @throws IllegalArgumentException
+     *          If the count is less than one.
+     *
+     * @throws java.nio.BufferUnderflowException
+     *          If the buffer holds fewer vertices than the count.
+     */
+    void setVertices(final IntBuffer coordinates, final int count) {
+        Polyline.requireVertices(count);
+
+        final var oldBounds = getBoundsBeforeModification();
+        this.coordinates = Polyline.reserve(this.coordinates, count);
+        coordinates.get(this.coordinates, 0, count * 2);
+        vertexCount = count;
+        modified(oldBounds);
+    }
+
+    /**
+     * Sets a new position for a vertex.
+     *
+     * @param index
+     *          The index of the vertex.
+     *
+     * @param x
+     *          The new x coordinate.
+     *
+     * @param y
+     *          The new y coordinate.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If there is no vertex at the index.
+     */
+    public void setVertex(final int index, final int x, final int y) {
+        Objects.checkIndex(index, vertexCount);
+
+        final var oldBounds = getBoundsBeforeModification();
+        coordinates[index * 2] = x;
+        coordinates[index * 2 + 1] = y;
+        modified(oldBounds);
+    }
+
+    /**
+     * Sets a new position for a vertex.
+     *
+     * @param index
+     *          The index of the vertex.
+     *
+     * @param point
+     *          The new position.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If there is no vertex at the index.
+     */
+    public void setVertex(final int index, final @NonNull Point point) {
+        setVertex(index, point.getX(), point.getY());
+    }
+
+    /**
+     * Retrieves the x coordinate of a vertex.
+     *
+     * @param index
+     *          The index of the vertex.
+     *
+     * @return
+     *          The x coordinate.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If there is no vertex at the index.
+     */
+    public int getX(final int index) {
+        Objects.checkIndex(index, vertexCount);
+        return coordinates[index * 2];
+    }
+
+    /**
+     * Retrieves the y coordinate of a vertex.
+     *
+     * @param index
+     *          The index of the vertex.
+     *
+     * @return
+     *          The y coordinate.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If there is no vertex at the index.
+     */
+    public int getY(final int index) {
+        Objects.checkIndex(index, vertexCount);
+        return coordinates[index * 2 + 1];
+    }
+
+    /**
+     * Retrieves a vertex.
+     *
+     * @param index
+     *          The index of the vertex.
+     *
+     * @return
+     *          A new point with the coordinates of the vertex.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If there is no vertex at the index.
+     */
+    public Point getVertex(final int index) {
+        return new Point(getX(index), getY(index));
+    }
+
+    /**
+     * Copies the vertices into an array.
+     *
+     * @param coordinates
+     *          The array to copy the vertices into, as consecutive x and y
+     *          coordinates.
+     *
+     * @param offset
+     *          The index of the array to copy the first coordinate to.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the array is too small.
+     */
+    public void getVertices(final @NonNull int[] coordinates, final int offset) {
+        Objects.checkFromIndexSize(offset, vertexCount * 2, coordinates.length);
+        System.arraycopy(this.coordinates, 0, coordinates, offset, vertexCount * 2);
+    }
+
+    /**
+     * Copies the vertices into a point buffer.
+     *
+     * @param points
+     *          The point buffer to append the vertices to.
+     */
+    public void getVertices(final @NonNull PointBuffer points) {
+        points.ensureCapacity(points.getSize() + vertexCount);
+        for (int i = 0 ; i < vertexCount * 2 ; i += 2) {
+            points.add(coordinates[i], coordinates[i + 1]);
+        }
+    }
+
+    /**
+     * Retrieves the bounding box of this polygon.
+     *
+     * The box is cached until this polygon is next modified.
+     *
+     * @return
+     *          The bounding box.
+     */
+    public BoundingBox getBounds() {
+        if (bounds == null) {
+            bounds = Polyline.calculateBounds(coordinates, vertexCount);
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Adds a listener, which is notified whenever a setter changes the
+     * bounding box of this polygon.
+     *
+     * While there are no listeners, modifying this polygon costs only a
+     * null check.
+     *
+     * @param listener
+     *          The listener.
+     */
+    public void addBoundsListener(final @NonNull BoundsListener<? super Polygon> listener) {
+        if (boundsListeners == null) {
+            boundsListeners = new CopyOnWriteArrayList<>();
+        }
+
+        boundsListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener
+     *          The listener.
+     *
+     * @return
+     *          Whether the listener had been added.
+     */
+    public boolean removeBoundsListener(final @NonNull BoundsListener<? super Polygon> listener) {
+        if (boundsListeners == null) {
+            return false;
+        }
+
+        final boolean removed = boundsListeners.remove(listener);
+        if (boundsListeners.isEmpty()) {
+            boundsListeners = null;
+        }
+
+        return removed;
+    }
+
+    /**
+     * Calculates the perimeter of this polygon.
+     *
+     * @return
+     *          The sum of the lengths of its edges, including the edge from
+     *          the last vertex back to the first.
+     */
+    public double getPerimeter() {
+        return Polyline.calculateLength(coordinates, vertexCount, true);
+    }
+
+    /**
+     * Calculates the area of this polygon, using the shoelace formula.
+     *
+     * @return
+     *          The area, as described by {@link #getSignedArea()}, without
+     *          its sign.
+     */
+    public double getArea() {
+        return Math.abs(getSignedArea());
+    }
+
+    /**
+     * Calculates the signed area of this polygon, using the shoelace formula.
+     *
+     * The vertices are measured relative to the first vertex, so the result is
+     * exact whenever twice the area of every triangle between the first
+     * vertex and an edge is less than 2^53. Regions which the outline winds
+     * around more than once are counted once for each winding, and regions
+     * of opposite winding cancel out.
+     *
+     * @return
+     *          The signed area, which is positive if the vertices are ordered
+     *          counter-clockwise when the y axis points up.
+     */
+    public double getSignedArea() {
+        final int originX = coordinates[0];
+        final int originY = coordinates[1];
+
+        double doubleArea = 0;
+        double previousX = 0;
+        double previousY = 0;
+
+        for (int i = 2 ; i < vertexCount * 2 ; i += 2) {
+            final double x = (double) coordinates[i] - originX;
+            final double y = (double) coordinates[i + 1] - originY;
+            doubleArea += previousX * y - x * previousY;
+            previousX = x;
+            previousY = y;
+        }
+        return doubleArea / 2;
+    }
+
+    /**
+     * Calculates the squared distance from a point to the nearest point on
+     * the outline of this polygon.
+     *
+     * @param point
+     *          The point.
+     *
+     * @return
+     *          The squared distance, which is positive whether the point is
+     *          within this polygon or not.
+     */
+    public double distanceSquared(final @NonNull Point point) {
+        return distanceSquared(point.getX(), point.getY());
+    }
+
+    /**
+     * Calculates the squared distance from a point to the nearest point on
+     * the outline of this polygon.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          The squared distance, which is positive whether the point is
+     *          within this polygon or not.
+     */
+    public double distanceSquared(final int x, final int y) {
+        return Polyline.calculateDistanceSquared(coordinates, vertexCount, true, x, y);
+    }
+
+    /**
+     * Determines whether this polygon contains a point.
+     *
+     * @param point
+     *          The point.
+     *
+     * @return
+     *          Whether the point is within, or on the outline of, this polygon.
+     */
+    public boolean contains(final @NonNull Point point) {
+        return contains(point.getX(), point.getY());
+    }
+
+    /**
+     * Determines whether this polygon contains a point.
+     *
+     * The winding number of the point is counted from the edges which cross
+     * the horizontal line through it, and each crossing is decided exactly
+     * by {@link Line#orientation(int, int, int, int, int, int)}.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          Whether the point is within, or on the outline of, this polygon.
+     */
+    public boolean contains(final int x, final int y) {
+        int windingNumber = 0;
+        int startX = coordinates[vertexCount * 2 - 2];
+        int startY = coordinates[vertexCount * 2 - 1];
+
+        for (int i = 0 ; i < vertexCount * 2 ; i += 2) {
+            final int endX = coordinates[i];
+            final int endY = coordinates[i + 1];
+
+            if (startY <= y) {
+                if (endY > y) {
+                    final int orientation = Line.orientation(startX, startY, endX, endY, x, y);
+                    if (orientation == 0) {
+                        return true;
+                    }
+
+                    if (orientation > 0) {
+                        windingNumber++;
+                    }
+                } else if (endY == y && (startY == y ? Math.min(startX, endX) <= x && x <= Math.max(startX, endX) : endX == x)) {
+                    // The point is on a horizontal edge, or is a vertex between two edges which descend from it.
+                    return true;
+                }
+            } else if (endY <= y) {
+                final int orientation = Line.orientation(startX, startY, endX, endY, x, y);
+                if (orientation == 0) {
+                    return true;
+                }
+
+                if (orientation < 0) {
+                    windingNumber--;
+                }
+            }
+
+            startX = endX;
+            startY = endY;
+        }
+        return windingNumber != 0;
+    }
+}
@@ -0,0 +1,784 @@
+package com.valkryst.VGeometry;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.*;
+import java.nio.IntBuffer;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An open path of line segments, which joins each vertex to the next.
+ *
+ * The vertices are stored as a single packed array of consecutive x and y
+ * coordinates, so neighbouring segments share their vertices, and a path of
+ * any length is one object. Every measurement is a single pass over the
+ * array, and allocates nothing.
+ */
+@ToString
+public class Polyline implements Serializable {
+    private static final long serialVersionUID = 1;
+
+    /** The vertices, packed as consecutive x and y coordinates. */
+    @ToString.Exclude private int[] coordinates;
+    /** The number of vertices. */
+    @Getter private int vertexCount;
+    /** The bounding box, or null if it is out of date. */
+    @ToString.Exclude private transient BoundingBox bounds;
+    /** The number of times that this polyline has been modified. */
+    @Getter @ToString.Exclude private transient long modificationCount = 0;
+    /** The listeners to notify when the bounding box changes, or null if there are none. */
+    @ToString.Exclude private transient CopyOnWriteArrayList<BoundsListener<? super Polyline>> boundsListeners;
+
+    /**
+     * Constructs a new polyline.
+     *
+     * @param coordinates
+     *          The vertices, packed as consecutive x and y coordinates. The
+     *          array is copied.
+     *
+     * @param count
+     *          The number of vertices.
+     *
+     * @throws IllegalArgumentException
+     *          If the count is less than one.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the array holds fewer vertices than the count.
+     */
+    public Polyline(final @NonNull int[] coordinates, final int count) {
+        setVertices(coordinates, count);
+    }
+
+    /**
+     * Constructs a new polyline.
+     *
+     * @param points
+     *          The vertices.
+     *
+     * @throws IllegalArgumentException
+     *          If there are no vertices.
+     */
+    public Polyline(final @NonNull PointBuffer points) {
+        this(pack(points), points.getSize());
+    }
+
+    /**
+     * Constructs a new polyline.
+     *
+     * @param points
+     *          The vertices.
+     *
+     * @throws IllegalArgumentException
+     *          If there are no vertices.
+     */
+    public Polyline(final @NonNull Collection<Point> points) {
+        this(pack(points), points.size());
+    }
+
+    /**
+     * Constructs a new polyline, using another polyline.
+     *
+     * @param polyline
+     *          The other polyline.
+     */
+    public Polyline(final @NonNull Polyline polyline) {
+        this(polyline.coordinates, polyline.vertexCount);
+    }
+
+    /**
+     * Constructs a new polyline, using the JSON representation of a polyline.
+     *
+     * @param json
+     *          The JSON representation of a polyline.
+     */
+    public Polyline(final @NonNull JSONObject json) {
+        final var vertices = json.getJSONArray("vertices");
+        setVertices(pack(vertices), vertices.length());
+    }
+
+    /**
+     * Retrieves the JSON representation of this polyline.
+     *
+     * @return
+     *      The JSON representation of this polyline.
+     */
+    public JSONObject toJson() {
+        final var object = new JSONObject();
+        object.put("vertices", toJson(coordinates, vertexCount));
+        return object;
+    }
+
+    /**
+     * Loads this polyline from its serialized form.
+     *
+     * @param is
+     *          The input stream.
+     *
+     * @throws InvalidObjectException
+     *          Always, as a polyline is only ever serialized through its
+     *          compact form.
+     */
+    private void readObject(final ObjectInputStream is) throws InvalidObjectException {
+        throw new InvalidObjectException("A polyline must be deserialized from its serialized form.");
+    }
+
+    /**
+     * Replaces this polyline with its compact serialized form.
+     *
+     * @return
+     *          The serialized form.
+     */
+    private Object writeReplace() {
+        return new SerializationProxy(coordinates, vertexCount, false);
+    }
+
+    /**
+     * Retrieves the bounding box from before a modification, if any listener
+     * needs to be notified of the modification.
+     *
+     * @return
+     *          The bounding box, or null if there are no listeners.
+     */
+    private BoundingBox getBoundsBeforeModification() {
+        return boundsListeners == null ? null : getBounds();
+    }
+
+    /**
+     * Invalidates the bounding box, counts a modification, and notifies the
+     * listeners if the bounding box has changed.
+     *
+     * @param oldBounds
+     *          The bounding box from before the modification, or null if
+     *          there were no listeners.
+     */
+    private void modified(final BoundingBox oldBounds) {
+        bounds = null;
+        modificationCount++;
+
+        if (oldBounds == null || boundsListeners == null) {
+            return;
+        }
+
+        final var newBounds = getBounds();
+        if (!newBounds.equals(oldBounds)) {
+            for (final var listener : boundsListeners) {
+                listener.boundsChanged(this, oldBounds, newBounds);
+            }
+        }
+    }
+
+    /**
+     * Replaces every vertex.
+     *
+     * The existing array is reused if it is large enough.
+     *
+     * @param coordinates
+     *          The new vertices, packed as consecutive x and y coordinates.
+     *          The array is copied.
+     *
+     * @param count
+     *          The number of vertices.
+     *
+     * @throws IllegalArgumentException
+     *          If the count is less than one.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the array holds fewer vertices than the count.
+     */
+    public void setVertices(final @NonNull int[] coordinates, final int count) {
+        requireVertices(count);
+        Objects.checkFromIndexSize(0, count * 2, coordinates.length);
+
+        final var oldBounds = getBoundsBeforeModification();
+        this.coordinates = reserve(this.coordinates, count);
+        System.arraycopy(coordinates, 0, this.coordinates, 0, count * 2);
+        vertexCount = count;
+        modified(oldBounds);
+    }
+
+    /**
+     * Replaces every vertex, by reading packed coordinates from a buffer.
+     *
+     * @param coordinates
+     *          The buffer to read the new vertices from, as consecutive x and
+     *          y coordinates.
+     *
+     * @param count
+     *          The number of vertices.
+     *
+     * @throws IllegalArgumentException
+     *          If the count is less than one.
+     *
+     * @throws java.nio.BufferUnderflowException
+     *          If the buffer holds fewer vertices than the count.
+     */
+    void setVertices(final IntBuffer coordinates, final int count) {
+        requireVertices(count);
+
+        final var oldBounds = getBoundsBeforeModification();
+        this.coordinates = reserve(this.coordinates, count);
+        coordinates.get(this.coordinates, 0, count * 2);
+        vertexCount = count;
+        modified(oldBounds);
+    }
+
+    /**
+     * Sets a new position for a vertex.
+     *
+     * @param index
+     *          The index of the vertex.
+     *
+     * @param x
+     *          The new x coordinate.
+     *
+     * @param y
+     *          The new y coordinate.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If there is no vertex at the index.
+     */
+    public void setVertex(final int index, final int x, final int y) {
+        Objects.checkIndex(index, vertexCount);
+
+        final var oldBounds = getBoundsBeforeModification();
+        coordinates[index * 2] = x;
+        coordinates[index * 2 + 1] = y;
+        modified(oldBounds);
+    }
+
+    /**
+     * Sets a new position for a vertex.
+     *
+     * @param index
+     *          The index of the vertex.
+     *
+     * @param point
+     *          The new position.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If there is no vertex at the index.
+     */
+    public void setVertex(final int index, final @NonNull Point point) {
+        setVertex(index, point.getX(), point.getY());
+    }
+
+    /**
+     * Retrieves the x coordinate of a vertex.
+     *
+     * @param index
+     *          The index of the vertex.
+     *
+     * @return
+     *          The x coordinate.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If there is no vertex at the index.
+     */
+    public int getX(final int index) {
+        Objects.checkIndex(index, vertexCount);
+        return coordinates[index * 2];
+    }
+
+    /**
+     * Retrieves the y coordinate of a vertex.
+     *
+     * @param index
+     *          The index of the vertex.
+     *
+     * @return
+     *          The y coordinate.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If there is no vertex at the index.
+     */
+    public int getY(final int index) {
+        Objects.checkIndex(index, vertexCount);
+        return coordinates[index * 2 + 1];
+    }
+
+    /**
+     * Retrieves a vertex.
+     *
+     * @param index
+     *          The index of the vertex.
+     *
+     * @return
+     *          A new point with the coordinates of the vertex.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If there is no vertex at the index.
+     */
+    public Point getVertex(final int index) {
+        return new Point(getX(index), getY(index));
+    }
+
+    /**
+     * Copies the vertices into an array.
+     *
+     * @param coordinates
+     *          The array to copy the vertices into, as consecutive x and y
+     *          coordinates.
+     *
+     * @param offset
+     *          The index of the array to copy the first coordinate to.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the array is too small.
+     */
+    public void getVertices(final @NonNull int[] coordinates, final int offset) {
+        Objects.checkFromIndexSize(offset, vertexCount * 2, coordinates.length);
+        System.arraycopy(this.coordinates, 0, coordinates, offset, vertexCount * 2);
+    }
+
+    /**
+     * Copies the vertices into a point buffer.
+     *
+     * @param points
+     *          The point buffer to append the vertices to.
+     */
+    public void getVertices(final @NonNull PointBuffer points) {
+        points.ensureCapacity(points.getSize() + vertexCount);
+        for (int i = 0 ; i < vertexCount * 2 ; i += 2) {
+            points.add(coordinates[i], coordinates[i + 1]);
+        }
+    }
+
+    /**
+     * Retrieves the bounding box of this polyline.
+     *
+     * The box is cached until this polyline is next modified.
+     *
+     * @return
+     *          The bounding box.
+     */
+    public BoundingBox getBounds() {
+        if (bounds == null) {
+            bounds = calculateBounds(coordinates, vertexCount);
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Adds a listener, which is notified whenever a setter changes the
+     * bounding box of this polyline.
+     *
+     * While there are no listeners, modifying this polyline costs only a
+     * null check.
+     *
+     * @param listener
+     *          The listener.
+     */
+    public void addBoundsListener(final @NonNull BoundsListener<? super Polyline> listener) {
+        if (boundsListeners == null) {
+            boundsListeners = new CopyOnWriteArrayList<>();
+        }
+
+        boundsListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener
+     *          The listener.
+     *
+     * @return
+     *          Whether the listener had been added.
+     */
+    public boolean removeBoundsListener(final @NonNull BoundsListener<? super Polyline> listener) {
+        if (boundsListeners == null) {
+            return false;
+        }
+
+        final boolean removed = boundsListeners.remove(listener);
+        if (boundsListeners.isEmpty()) {
+            boundsListeners = null;
+        }
+
+        return removed;
+    }
+
+    /**
+     * Calculates the length of this polyline.
+     *
+     * @return
+     *          The sum of the lengths of its segments.
+     */
+    public double getLength() {
+        return calculateLength(coordinates, vertexCount, false);
+    }
+
+    /**
+     * Calculates the squared distance from a point to the nearest point on
+     * this polyline.
+     *
+     * @param point
+     *          The point.
+     *
+     * @return
+     *          The squared distance.
+     */
+    public double distanceSquared(final @NonNull Point point) {
+        return distanceSquared(point.getX(), point.getY());
+    }
+
+    /**
+     * Calculates the squared distance from a point to the nearest point on
+     * this polyline.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          The squared distance.
+     */
+    public double distanceSquared(final int x, final int y) {
+        return calculateDistanceSquared(coordinates, vertexCount, false, x, y);
+    }
+
+    /**
+     * Determines whether this polyline contains a point.
+     *
+     * @param point
+     *          The point.
+     *
+     * @return
+     *          Whether the point lies on any segment of this polyline.
+     */
+    public boolean contains(final @NonNull Point point) {
+        return contains(point.getX(), point.getY());
+    }
+
+    /**
+     * Determines whether this polyline contains a point.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          Whether the point lies on any segment of this polyline.
+     */
+    public boolean contains(final int x, final int y) {
+        int startX = coordinates[0];
+        int startY = coordinates[1];
+        if (vertexCount == 1) {
+            return startX == x && startY == y;
+        }
+
+        for (int i = 2 ; i < vertexCount * 2 ; i += 2) {
+            final int endX = coordinates[i];
+            final int endY = coordinates[i + 1];
+            if (Line.contains(startX, startY, endX, endY, x, y)) {
+                return true;
+            }
+
+            startX = endX;
+            startY = endY;
+        }
+        return false;
+    }
+
+    /**
+     * Calculates the bounding box of packed vertices.
+     *
+     * @param coordinates
+     *          The vertices, packed as consecutive x and y coordinates.
+     *
+     * @param count
+     *          The number of vertices, which must be at least one.
+     *
+     * @return
+     *          The bounding box.
+     */
+    static BoundingBox calculateBounds(final int[] coordinates, final int count) {
+        int minX = coordinates[0];
+        int minY = coordinates[1];
+        int maxX = minX;
+        int maxY = minY;
+
+        for (int i = 2 ; i < count * 2 ; i += 2) {
+            final int x = coordinates[i];
+            final int y = coordinates[i + 1];
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+
+        return new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Calculates the total length of the segments between packed vertices.
+     *
+     * @param coordinates
+     *          The vertices, packed as consecutive x and y coordinates.
+     *
+     * @param count
+     *          The number of vertices, which must be at least one.
+     *
+     * @param isClosed
+     *          Whether to include the segment from the last vertex back to
+     *          the first.
+     *
+     * @return
+     *          The length.
+     */
+    static double calculateLength(final int[] coordinates, final int count, final boolean isClosed) {
+        double length = 0;
+        int startX = isClosed ? coordinates[count * 2 - 2] : coordinates[0];
+        int startY = isClosed ? coordinates[count * 2 - 1] : coordinates[1];
+
+        for (int i = isClosed ? 0 : 2 ; i < count * 2 ; i += 2) {
+            final int endX = coordinates[i];
+            final int endY = coordinates[i + 1];
+            length += Math.sqrt(Point.distanceSquared(startX, startY, endX, endY));
+            startX = endX;
+            startY = endY;
+        }
+        return length;
+    }
+
+    /**
+     * Calculates the squared distance from a point to the nearest of the
+     * segments between packed vertices.
+     *
+     * @param coordinates
+     *          The vertices, packed as consecutive x and y coordinates.
+     *
+     * @param count
+     *          The number of vertices, which must be at least one.
+     *
+     * @param isClosed
+     *          Whether to include the segment from the last vertex back to
+     *          the first.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          The squared distance.
+     */
+    static double calculateDistanceSquared(final int[] coordinates, final int count, final boolean isClosed, final int x, final int y) {
+        int startX = isClosed ? coordinates[count * 2 - 2] : coordinates[0];
+        int startY = isClosed ? coordinates[count * 2 - 1] : coordinates[1];
+        double nearest = Point.distanceSquared(startX, startY, x, y);
+
+        for (int i = isClosed ? 0 : 2 ; i < count * 2 ; i += 2) {
+            final int endX = coordinates[i];
+            final int endY = coordinates[i + 1];
+            nearest = Math.min(nearest, Line.distanceSquared(startX, startY, endX, endY, x, y));
+            startX = endX;
+            startY = endY;
+        }
+        return nearest;
+    }
+
+    /**
+     * Ensures that an array can hold a number of packed vertices.
+     *
+     * @param coordinates
+     *          The array, or null if there is none.
+     *
+     * @param count
+     *          The number of vertices.
+     *
+     * @return
+     *          The array, if it is large enough, or a new array.
+     */
+    static int[] reserve(final int[] coordinates, final int count) {
+        if (coordinates != null && coordinates.length >= count * 2) {
+            return coordinates;
+        }
+
+        return new int[count * 2];
+    }
+
+    /**
+     * Throws an exception if a number of vertices is less than one.
+     *
+     * @param count
+     *          The number of vertices.
+     *
+     * @throws IllegalArgumentException
+     *          If the number is less than one.
+     */
+    static void requireVertices(final int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("There must be at least one vertex.");
+        }
+    }
+
+    /**
+     * Packs the points of a point buffer as consecutive x and y coordinates.
+     *
+     * @param points
+     *          The points.
+     *
+     * @return
+     *          The packed coordinates.
+     */
+    static int[] pack(final PointBuffer points) {
+        final var coordinates = new int[points.getSize() * 2];
+        for (int i = 0 ; i < points.getSize() ; i++) {
+            coordinates[i * 2] = points.getX(i);
+            coordinates[i * 2 + 1] = points.getY(i);
+        }
+        return coordinates;
+    }
+
+    /**
+     * Packs a collection of points as consecutive x and y coordinates.
+     *
+     * @param points
+     *          The points.
+     *
+     * @return
+     *          The packed coordinates.
+     */
+    static int[] pack(final Collection<Point> points) {
+        final var coordinates = new int[points.size() * 2];
+
+        int i = 0;
+        for (final var point : points) {
+            coordinates[i] = point.getX();
+            coordinates[i + 1] = point.getY();
+            i += 2;
+        }
+        return coordinates;
+    }
+
+    /**
+     * Packs the JSON representations of a number of points as consecutive x
+     * and y coordinates.
+     *
+     * @param points
+     *          The JSON representations of the points.
+     *
+     * @return
+     *          The packed coordinates.
+     */
+    static int[] pack(final JSONArray points) {
+        final var coordinates = new int[points.length() * 2];
+        for (int i = 0 ; i < points.length() ; i++) {
+            final var point = points.getJSONObject(i);
+            coordinates[i * 2] = point.getInt("x");
+            coordinates[i * 2 + 1] = point.getInt("y");
+        }
+        return coordinates;
+    }
+
+    /**
+     * Retrieves the JSON representation of packed vertices.
+     *
+     * @param coordinates
+     *          The vertices, packed as consecutive x and y coordinates.
+     *
+     * @param count
+     *          The number of vertices.
+     *
+     * @return
+     *          An array of the JSON representation of each vertex.
+     */
+    static JSONArray toJson(final int[] coordinates, final int count) {
+        final var array = new JSONArray();
+        for (int i = 0 ; i < count * 2 ; i += 2) {
+            final var point = new JSONObject();
+            point.put("x", coordinates[i]);
+            point.put("y", coordinates[i + 1]);
+            array.put(point);
+        }
+        return array;
+    }
+
+    /**
+     * The compact serialized form of a polyline or polygon, which stores its
+     * vertices as primitives.
+     */
+    static final class SerializationProxy implements Externalizable {
+        private static final long serialVersionUID = 1;
+
+        /** The vertices, packed as consecutive x and y coordinates. */
+        private int[] coordinates;
+        /** The number of vertices. */
+        private int count;
+        /** Whether the shape is a polygon, rather than a polyline. */
+        private boolean isPolygon;
+
+        /** Constructs a new, empty, serialized form, for deserialization. */
+        public SerializationProxy() {}
+
+        /**
+         * Constructs the serialized form of a polyline or polygon.
+         *
+         * @param coordinates
+         *          The vertices, packed as consecutive x and y coordinates.
+         *
+         * @param count
+         *          The number of vertices.
+         *
+         * @param isPolygon
+         *          Whether the shape is a polygon, rather than a polyline.
+         */
+        SerializationProxy(final int[] coordinates, final int count, final boolean isPolygon) {
+            this.coordinates = coordinates;
+            this.count = count;
+            this.isPolygon = isPolygon;
+        }
+
+        /**
+         * @serialData
+         *          Whether the shape is a polygon, as a boolean, then the
+         *          number of vertices, as an int, then the x and y
+         *          coordinates of each vertex, as ints.
+         */
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeBoolean(isPolygon);
+            out.writeInt(count);
+            for (int i = 0 ; i < count * 2 ; i++) {
+                out.writeInt(coordinates[i]);
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException {
+            isPolygon = in.readBoolean();
+            count = in.readInt();
+            if (count < 1) {
+                throw new InvalidObjectException("There must be at least one vertex.");
+            }
+
+            coordinates = new int[count * 2];
+            for (int i = 0 ; i < count * 2 ; i++) {
+                coordinates[i] = in.readInt();
+            }
+        }
+
+        /**
+         * Resolves the serialized form into the shape that it represents.
+         *
+         * @return
+         *          The polyline or polygon.
+         */
+        private Object readResolve() {
+            return isPolygon ? new Polygon(coordinates, count) : new Polyline(coordinates, count);
+        }
+    }
+}
@@ -0,0 +1,1139 @@
+package com.valkryst.VGeometry;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * An R-tree of axis-aligned bounding boxes, which indexes lines and ellipses
+ * for window, stabbing, and nearest-neighbour queries.
+ *
+ * Each entry is identified by an integer handle. Trees which are
+ * {@link #of(int[], int) bulk loaded} use the Sort-Tile-Recursive algorithm
+ * and number their entries in input order, while entries which are
+ * {@link #insert(int, int, int, int) inserted} are assigned an unused handle.
+ * Handles may be reused after their entries are removed.
+ *
+ * Nodes and bounding boxes are stored in packed int arrays, rather than as
+ * objects. Nodes are not rebalanced when entries are removed, so a tree
+ * which has seen many removals can be rebuilt by bulk loading it.
+ *
+ * Queries allocate nothing and may be run concurrently with one another, but
+ * not with modifications.
+ */
+public class RTree {
+    /** The maximum number of children per node. */
+    private static final int MAX_CHILDREN = 16;
+    /** The initial capacity of the per-entry and per-node arrays. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The number of entries. */
+    @Getter private int size = 0;
+
+    /** The bounds of each entry, packed as min x, min y, max x, and max y. */
+    private int[] entryBounds = new int[INITIAL_CAPACITY * 4];
+    /** The leaf node which contains each entry, or -1 if the handle is unused. */
+    private int[] entryLeaf = new int[INITIAL_CAPACITY];
+    /** The handles that have been released, and can be reused. */
+    private int[] freeHandles = new int[INITIAL_CAPACITY];
+    /** The number of released handles. */
+    private int freeHandleCount = 0;
+    /** The number of handles that have ever been assigned. */
+    private int handleCount = 0;
+
+    /** The bounds of each node, packed as min x, min y, max x, and max y. */
+    private int[] nodeBounds = new int[INITIAL_CAPACITY * 4];
+    /** The children of each node, packed in groups of {@link #MAX_CHILDREN}. */
+    private int[] nodeChildren = new int[INITIAL_CAPACITY * MAX_CHILDREN];
+    /** The number of children of each node. */
+    private int[] nodeChildCount = new int[INITIAL_CAPACITY];
+    /** The parent of each node, or -1 for the root. */
+    private int[] nodeParent = new int[INITIAL_CAPACITY];
+    /** The level of each node, where leaves are at level 0. */
+    private int[] nodeLevel = new int[INITIAL_CAPACITY];
+    /** The nodes that have been released, and can be reused. */
+    private int[] freeNodes = new int[INITIAL_CAPACITY];
+    /** The number of released nodes. */
+    private int freeNodeCount = 0;
+    /** The number of nodes that have ever been used. */
+    private int nodeCount = 0;
+    /** The root node. */
+    private int root;
+
+    /** The children of a node which is being split. */
+    private final int[] splitChildren = new int[MAX_CHILDREN + 1];
+    /** The sort keys of the children of a node which is being split. */
+    private final long[] splitKeys = new long[MAX_CHILDREN + 1];
+
+    /** Constructs a new, empty, R-tree. */
+    public RTree() {
+        root = allocateNode(0);
+    }
+
+    /**
+     * Constructs a new R-tree, by bulk loading the bounds of a number of
+     * entries with the Sort-Tile-Recursive algorithm.
+     *
+     * The handle of each entry is its index in the array.
+     *
+     * @param bounds
+     *          The bounds of the entries, packed as consecutive min x, min y,
+     *          max x, and max y coordinates.
+     *
+     * @param count
+     *          The number of entries.
+     *
+     * @return
+     *          The tree.
+     */
+    public static RTree of(final @NonNull int[] bounds, final int count) {
+        Objects.checkFromIndexSize(0, count * 4, bounds.length);
+
+        final var tree = new RTree();
+        tree.load(bounds, count);
+        return tree;
+    }
+
+    /**
+     * Constructs a new R-tree, by bulk loading a number of lines with the
+     * Sort-Tile-Recursive algorithm.
+     *
+     * The handle of each line is its position in the collection's iteration
+     * order.
+     *
+     * @param lines
+     *          The lines.
+     *
+     * @return
+     *          The tree.
+     */
+    public static RTree ofLines(final @NonNull Collection<Line> lines) {
+        final var bounds = new int[lines.size() * 4];
+
+        int i = 0;
+        for (final var line : lines) {
+            setBounds(bounds, i, line.getBounds());
+            i += 4;
+        }
+
+        return of(bounds, lines.size());
+    }
+
+    /**
+     * Constructs a new R-tree, by bulk loading a number of ellipses with the
+     * Sort-Tile-Recursive algorithm.
+     *
+     * The handle of each ellipse is its position in the collection's
+     * iteration order.
+     *
+     * @param ellipses
+     *          The ellipses.
+     *
+     * @return
+     *          The tree.
+     */
+    public static RTree ofEllipses(final @NonNull Collection<Ellipse> ellipses) {
+        final var bounds = new int[ellipses.size() * 4];
+
+        int i = 0;
+        for (final var ellipse : ellipses) {
+            setBounds(bounds, i, ellipse.getBounds());
+            i += 4;
+        }
+
+        return of(bounds, ellipses.size());
+    }
+
+    /**
+     * Inserts a line.
+     *
+     * The tree stores a copy of the line's bounds, so changes to the line
+     * must be applied with {@link #update(int, Line)}, or by a
+     * {@link BoundsListener} which calls {@link #update(int, BoundingBox)}.
+     *
+     * @param line
+     *          The line.
+     *
+     * @return
+     *          The handle of the new entry.
+     */
+    public int insert(final @NonNull Line line) {
+        final int handle = allocateHandle();
+        setBounds(entryBounds, handle * 4, line.getBounds());
+        insertEntry(handle);
+        return handle;
+    }
+
+    /**
+     * Inserts an ellipse.
+     *
+     * The tree stores a copy of the ellipse's bounds, so changes to the
+     * ellipse must be applied with {@link #update(int, Ellipse)}, or by a
+     * {@link BoundsListener} which calls {@link #update(int, BoundingBox)}.
+     *
+     * @param ellipse
+     *          The ellipse.
+     *
+     * @return
+     *          The handle of the new entry.
+     */
+    public int insert(final @NonNull Ellipse ellipse) {
+        final int handle = allocateHandle();
+        setBounds(entryBounds, handle * 4, ellipse.getBounds());
+        insertEntry(handle);
+        return handle;
+    }
+
+    /**
+     * Inserts a bounding box.
+     *
+     * @param minX
+     *          The x coordinate of the left edge of the box.
+     *
+     * @param minY
+     *          The y coordinate of the top edge of the box.
+     *
+     * @param maxX
+     *          The x coordinate of the right edge of the box, inclusive.
+     *
+     * @param maxY
+     *          The y coordinate of the bottom edge of the box, inclusive.
+     *
+     * @return
+     *          The handle of the new entry.
+     */
+    public int insert(final int minX, final int minY, final int maxX, final int maxY) {
+        final int handle = allocateHandle();
+        setBounds(entryBounds, handle * 4, minX, minY, maxX, maxY);
+        insertEntry(handle);
+        return handle;
+    }
+
+    /**
+     * Inserts a bounding box.
+     *
+     * @param bounds
+     *          The bounding box.
+     *
+     * @return
+     *          The handle of the new entry.
+     */
+    public int insert(final @NonNull BoundingBox bounds) {
+        final int handle = allocateHandle();
+        setBounds(entryBounds, handle * 4, bounds);
+        insertEntry(handle);
+        return handle;
+    }
+
+    /**
+     * Updates the bounds of a line.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @param line
+     *          The line, with its new start and end points.
+     *
+     * @throws IllegalArgumentException
+     *          If there is no entry with the handle.
+     */
+    public void update(final int handle, final @NonNull Line line) {
+        checkHandle(handle);
+        removeEntry(handle);
+        setBounds(entryBounds, handle * 4, line.getBounds());
+        insertEntry(handle);
+    }
+
+    /**
+     * Updates the bounds of an ellipse.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @param ellipse
+     *          The ellipse, with its new midpoint and radii.
+     *
+     * @throws IllegalArgumentException
+     *          If there is no entry with the handle.
+     */
+    public void update(final int handle, final @NonNull Ellipse ellipse) {
+        checkHandle(handle);
+        removeEntry(handle);
+        setBounds(entryBounds, handle * 4, ellipse.getBounds());
+        insertEntry(handle);
+    }
+
+    /**
+     * Updates the bounds of an entry.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @param minX
+     *          The x coordinate of the new left edge of the box.
+     *
+     * @param minY
+     *          The y coordinate of the new top edge of the box.
+     *
+     * @param maxX
+     *          The x coordinate of the new right edge of the box, inclusive.
+     *
+     * @param maxY
+     *          The y coordinate of the new bottom edge of the box, inclusive.
+     *
+     * @throws IllegalArgumentException
+     *          If there is no entry with the handle.
+     */
+    public void update(final int handle, final int minX, final int minY, final int maxX, final int maxY) {
+        checkHandle(handle);
+        removeEntry(handle);
+        setBounds(entryBounds, handle * 4, minX, minY, maxX, maxY);
+        insertEntry(handle);
+    }
+
+    /**
+     * Updates the bounds of an entry.
+     *
+     * This can be called from a {@link BoundsListener}, so that only the
+     * entries whose shapes have moved are updated.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @param bounds
+     *          The new bounding box.
+     *
+     * @throws IllegalArgumentException
+     *          If there is no entry with the handle.
+     */
+    public void update(final int handle, final @NonNull BoundingBox bounds) {
+        checkHandle(handle);
+        removeEntry(handle);
+        setBounds(entryBounds, handle * 4, bounds);
+        insertEntry(handle);
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @throws IllegalArgumentException
+     *          If there is no entry with the handle.
+     */
+    public void remove(final int handle) {
+        checkHandle(handle);
+        removeEntry(handle);
+        entryLeaf[handle] = -1;
+        freeHandles[freeHandleCount++] = handle;
+    }
+
+    /**
+     * Determines whether an entry exists.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @return
+     *          Whether the entry exists.
+     */
+    public boolean contains(final int handle) {
+        return handle >= 0 && handle < handleCount && entryLeaf[handle] != -1;
+    }
+
+    /** Removes every entry. */
+    public void clear() {
+        size = 0;
+        handleCount = 0;
+        freeHandleCount = 0;
+        nodeCount = 0;
+        freeNodeCount = 0;
+        root = allocateNode(0);
+    }
+
+    /**
+     * Retrieves the height of the tree, which is 1 for a tree with a single
+     * leaf.
+     *
+     * @return
+     *          The height.
+     */
+    public int getHeight() {
+        return nodeLevel[root] + 1;
+    }
+
+    /**
+     * Reports every entry whose bounds intersect a rectangle.
+     *
+     * @param minX
+     *          The x coordinate of the left edge of the rectangle.
+     *
+     * @param minY
+     *          The y coordinate of the top edge of the rectangle.
+     *
+     * @param maxX
+     *          The x coordinate of the right edge of the rectangle, inclusive.
+     *
+     * @param maxY
+     *          The y coordinate of the bottom edge of the rectangle, inclusive.
+     *
+     * @param consumer
+     *          The consumer to pass the handle of each entry to.
+     */
+    public void search(final int minX, final int minY, final int maxX, final int maxY, final @NonNull IntConsumer consumer) {
+        if (size > 0 && minX <= maxX && minY <= maxY) {
+            search(root, minX, minY, maxX, maxY, consumer);
+        }
+    }
+
+    /**
+     * Reports every entry whose bounds contain a point.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @param consumer
+     *          The consumer to pass the handle of each entry to.
+     */
+    public void stab(final int x, final int y, final @NonNull IntConsumer consumer) {
+        search(x, y, x, y, consumer);
+    }
+
+    /**
+     * Finds the entry whose bounds are nearest to a point.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          The handle of the nearest entry, or -1 if the tree is empty.
+     */
+    public int nearest(final int x, final int y) {
+        return nearest(x, y, null);
+    }
+
+    /**
+     * Finds the entry which is nearest to a point, according to a distance
+     * function.
+     *
+     * The distance function is only evaluated for entries whose bounds are
+     * closer than the nearest entry found so far, so it must never return
+     * less than the squared distance from the point to the entry's bounds.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @param distance
+     *          The distance function, or null to use the distance to the
+     *          bounds of each entry.
+     *
+     * @return
+     *          The handle of the nearest entry, or -1 if the tree is empty.
+     */
+    public int nearest(final int x, final int y, final EntryDistance distance) {
+        if (size == 0) {
+            return -1;
+        }
+
+        return nearest(root, x, y, distance, -1, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Recursively reports every entry, below a node, whose bounds intersect a
+     * rectangle.
+     *
+     * @param node
+     *          The node.
+     *
+     * @param minX
+     *          The x coordinate of the left edge of the rectangle.
+     *
+     * @param minY
+     *          The y coordinate of the top edge of the rectangle.
+     *
+     * @param maxX
+     *          The x coordinate of the right edge of the rectangle, inclusive.
+     *
+     * @param maxY
+     *          The y coordinate of the bottom edge of the rectangle, inclusive.
+     *
+     * @param consumer
+     *          The consumer to pass the handle of each entry to.
+     */
+    private void search(final int node, final int minX, final int minY, final int maxX, final int maxY, final IntConsumer consumer) {
+        final int first = node * MAX_CHILDREN;
+        final int last = first + nodeChildCount[node];
+        final boolean isLeaf = nodeLevel[node] == 0;
+        final int[] bounds = isLeaf ? entryBounds : nodeBounds;
+
+        for (int i = first ; i < last ; i++) {
+            final int child = nodeChildren[i];
+            final int offset = child * 4;
+
+            if (bounds[offset] <= maxX && bounds[offset + 2] >= minX && bounds[offset + 1] <= maxY && bounds[offset + 3] >= minY) {
+                if (isLeaf) {
+                    consumer.accept(child);
+                } else {
+                    search(child, minX, minY, maxX, maxY, consumer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recursively finds the entry, below a node, which is nearest to a point.
+     *
+     * The child whose bounds are nearest is searched first, and any child
+     * whose bounds are no nearer than the best entry found so far is skipped.
+     *
+     * @param node
+     *          The node.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @param distance
+     *          The distance function, or null.
+     *
+     * @param best
+     *          The handle of the nearest entry found so far, or -1.
+     *
+     * @param bestDistance
+     *          The squared distance to the nearest entry found so far.
+     *
+     * @return
+     *          The handle of the nearest entry found so far, or -1.
+     */
+    private int nearest(final int node, final int x, final int y, final EntryDistance distance, int best, double bestDistance) {
+        final int first = node * MAX_CHILDREN;
+        final int last = first + nodeChildCount[node];
+
+        if (nodeLevel[node] == 0) {
+            for (int i = first ; i < last ; i++) {
+                final int handle = nodeChildren[i];
+
+                double entryDistance = boundsDistance(entryBounds, handle, x, y);
+                if (entryDistance < bestDistance && distance != null) {
+                    entryDistance = distance.distanceSquared(handle, x, y);
+                }
+
+                if (entryDistance < bestDistance) {
+                    best = handle;
+                    bestDistance = entryDistance;
+                }
+            }
+
+            return best;
+        }
+
+        int nearestChild = -1;
+        double nearestChildDistance = Double.POSITIVE_INFINITY;
+        for (int i = first ; i < last ; i++) {
+            final double childDistance = boundsDistance(nodeBounds, nodeChildren[i], x, y);
+            if (childDistance < nearestChildDistance) {
+                nearestChild = i;
+                nearestChildDistance = childDistance;
+            }
+        }
+
+        for (int i = nearestChild, visited = 0 ; visited < last - first ; visited++) {
+            final int child = nodeChildren[i];
+
+            if (boundsDistance(nodeBounds, child, x, y) < bestDistance) {
+                final int newBest = nearest(child, x, y, distance, best, bestDistance);
+
+                if (newBest != best) {
+                    best = newBest;
+                    bestDistance = distance == null ? boundsDistance(entryBounds, best, x, y) : distance.distanceSquared(best, x, y);
+                }
+            }
+
+            i = (i + 1 == last) ? first : i + 1;
+        }
+
+        return best;
+    }
+
+    /**
+     * Bulk loads the bounds of a number of entries, replacing the contents of
+     * the tree.
+     *
+     * @param bounds
+     *          The packed bounds of the entries.
+     *
+     * @param count
+     *          The number of entries.
+     */
+    private void load(final int[] bounds, final int count) {
+        clear();
+
+        ensureHandleCapacity(count);
+        for (int offset = 0 ; offset < count * 4 ; offset += 4) {
+            setBounds(entryBounds, offset, bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3]);
+        }
+        handleCount = count;
+        size = count;
+
+        if (count == 0) {
+            return;
+        }
+
+        // Build each level of the tree from the one below, until one node remains.
+        int[] children = new int[count];
+        for (int i = 0 ; i < count ; i++) {
+            children[i] = i;
+        }
+
+        nodeCount = 0;
+        int level = 0;
+        int childCount = count;
+
+        while (true) {
+            final int[] childBounds = level == 0 ? entryBounds : nodeBounds;
+            final int leafCount = (childCount + MAX_CHILDREN - 1) / MAX_CHILDREN;
+            final int sliceCount = (int) Math.ceil(Math.sqrt(leafCount));
+            final int sliceSize = sliceCount * MAX_CHILDREN;
+
+            final var keys = new long[childCount];
+            sortByCenter(childBounds, children, keys, 0, childCount, 0);
+
+            final var parents = new int[leafCount];
+            int parentCount = 0;
+
+            for (int sliceStart = 0 ; sliceStart < childCount ; sliceStart += sliceSize) {
+                final int sliceEnd = Math.min(childCount, sliceStart + sliceSize);
+                sortByCenter(childBounds, children, keys, sliceStart, sliceEnd, 1);
+
+                for (int start = sliceStart ; start < sliceEnd ; start += MAX_CHILDREN) {
+                    final int node = allocateNode(level);
+                    final int end = Math.min(sliceEnd, start + MAX_CHILDREN);
+
+                    for (int i = start ; i < end ; i++) {
+                        setChild(node, nodeChildCount[node]++, children[i]);
+                    }
+
+                    recalculateBounds(node);
+                    parents[parentCount++] = node;
+                }
+            }
+
+            if (parentCount == 1) {
+                root = parents[0];
+                nodeParent[root] = -1;
+                return;
+            }
+
+            children = parents;
+            childCount = parentCount;
+            level++;
+        }
+    }
+
+    /**
+     * Sorts a range of children by the center of their bounds.
+     *
+     * @param bounds
+     *          The packed bounds of the children.
+     *
+     * @param children
+     *          The children.
+     *
+     * @param keys
+     *          A scratch array, at least as long as the range.
+     *
+     * @param start
+     *          The index of the first child in the range.
+     *
+     * @param end
+     *          The index after the last child in the range.
+     *
+     * @param axis
+     *          0 to sort by the x coordinate, or 1 to sort by the y
+     *          coordinate.
+     */
+    private static void sortByCenter(final int[] bounds, final int[] children, final long[] keys, final int start, final int end, final int axis) {
+        for (int i = start ; i < end ; i++) {
+            final int offset = children[i] * 4 + axis;
+            final long center = (bounds[offset] >> 1) + (bounds[offset + 2] >> 1);
+            keys[i] = (center << 32) | children[i];
+        }
+
+        Arrays.sort(keys, start, end);
+
+        for (int i = start ; i < end ; i++) {
+            children[i] = (int) keys[i];
+        }
+    }
+
+    /**
+     * Inserts an entry, whose bounds have been set, into the tree.
+     *
+     * @param handle
+     *          The handle of the entry.
+     */
+    private void insertEntry(final int handle) {
+        final int offset = handle * 4;
+        final int minX = entryBounds[offset];
+        final int minY = entryBounds[offset + 1];
+        final int maxX = entryBounds[offset + 2];
+        final int maxY = entryBounds[offset + 3];
+
+        // Descend to the leaf whose bounds need the least enlargement.
+        int node = root;
+        while (nodeLevel[node] > 0) {
+            final int first = node * MAX_CHILDREN;
+            final int last = first + nodeChildCount[node];
+
+            int bestChild = nodeChildren[first];
+            double bestEnlargement = Double.POSITIVE_INFINITY;
+            double bestArea = Double.POSITIVE_INFINITY;
+
+            for (int i = first ; i < last ; i++) {
+                final int child = nodeChildren[i];
+                final int childOffset = child * 4;
+                final double area = area(nodeBounds[childOffset], nodeBounds[childOffset + 1], nodeBounds[childOffset + 2], nodeBounds[childOffset + 3]);
+                final double enlargement = area(
+                    Math.min(minX, nodeBounds[childOffset]),
+                    Math.min(minY, nodeBounds[childOffset + 1]),
+                    Math.max(maxX, nodeBounds[childOffset + 2]),
+                    Math.max(maxY, nodeBounds[childOffset + 3])
+                ) - area;
+
+                if (enlargement < bestEnlargement || (enlargement == bestEnlargement && area < bestArea)) {
+                    bestChild = child;
+                    bestEnlargement = enlargement;
+                    bestArea = area;
+                }
+            }
+
+            node = bestChild;
+        }
+
+        // Enlarge every node on the path, so that they cover the new entry.
+        if (nodeChildCount[root] == 0) {
+            setBounds(nodeBounds, root * 4, minX, minY, maxX, maxY);
+        } else {
+            for (int ancestor = node ; ancestor != -1 ; ancestor = nodeParent[ancestor]) {
+                final int ancestorOffset = ancestor * 4;
+                nodeBounds[ancestorOffset] = Math.min(nodeBounds[ancestorOffset], minX);
+                nodeBounds[ancestorOffset + 1] = Math.min(nodeBounds[ancestorOffset + 1], minY);
+                nodeBounds[ancestorOffset + 2] = Math.max(nodeBounds[ancestorOffset + 2], maxX);
+                nodeBounds[ancestorOffset + 3] = Math.max(nodeBounds[ancestorOffset + 3], maxY);
+            }
+        }
+
+        addChild(node, handle);
+        size++;
+    }
+
+    /**
+     * Adds a child to a node whose bounds already cover it, splitting the node
+     * if it is full.
+     *
+     * @param node
+     *          The node.
+     *
+     * @param child
+     *          The child.
+     */
+    private void addChild(final int node, final int child) {
+        if (nodeChildCount[node] < MAX_CHILDREN) {
+            setChild(node, nodeChildCount[node]++, child);
+            return;
+        }
+
+        // Sort the children, and the new child, along the axis on which their centers are most spread out.
+        final int first = node * MAX_CHILDREN;
+        System.arraycopy(nodeChildren, first, splitChildren, 0, MAX_CHILDREN);
+        splitChildren[MAX_CHILDREN] = child;
+
+        final int[] bounds = nodeLevel[node] == 0 ? entryBounds : nodeBounds;
+        final int axis = widestAxis(bounds, splitChildren);
+        sortByCenter(bounds, splitChildren, splitKeys, 0, MAX_CHILDREN + 1, axis);
+
+        // Move the upper half of the children into a new sibling.
+        final int sibling = allocateNode(nodeLevel[node]);
+        final int half = (MAX_CHILDREN + 1) / 2;
+
+        nodeChildCount[node] = 0;
+        for (int i = 0 ; i < half ; i++) {
+            setChild(node, nodeChildCount[node]++, splitChildren[i]);
+        }
+        for (int i = half ; i <= MAX_CHILDREN ; i++) {
+            setChild(sibling, nodeChildCount[sibling]++, splitChildren[i]);
+        }
+
+        recalculateBounds(node);
+        recalculateBounds(sibling);
+
+        if (node == root) {
+            root = allocateNode(nodeLevel[node] + 1);
+            nodeParent[root] = -1;
+            setChild(root, nodeChildCount[root]++, node);
+            setChild(root, nodeChildCount[root]++, sibling);
+            recalculateBounds(root);
+        } else {
+            addChild(nodeParent[node], sibling);
+        }
+    }
+
+    /**
+     * Removes an entry from its leaf, removing any nodes which become empty
+     * and shrinking the bounds of the remaining ancestors.
+     *
+     * @param handle
+     *          The handle of the entry.
+     */
+    private void removeEntry(final int handle) {
+        int node = entryLeaf[handle];
+        int child = handle;
+
+        while (true) {
+            removeChild(node, child);
+
+            if (nodeChildCount[node] > 0 || node == root) {
+                break;
+            }
+
+            // The node is empty, so remove it from its parent as well.
+            freeNodes[freeNodeCount++] = node;
+            child = node;
+            node = nodeParent[node];
+        }
+
+        for (int ancestor = node ; ancestor != -1 ; ancestor = nodeParent[ancestor]) {
+            recalculateBounds(ancestor);
+        }
+
+        // Shorten the tree while the root has a single, non-leaf, child.
+        while (nodeLevel[root] > 0 && nodeChildCount[root] == 1) {
+            freeNodes[freeNodeCount++] = root;
+            root = nodeChildren[root * MAX_CHILDREN];
+            nodeParent[root] = -1;
+        }
+
+        if (nodeLevel[root] > 0 && nodeChildCount[root] == 0) {
+            freeNodes[freeNodeCount++] = root;
+            root = allocateNode(0);
+        }
+
+        size--;
+    }
+
+    /**
+     * Removes a child from a node, by moving the node's last child into its
+     * place.
+     *
+     * @param node
+     *          The node.
+     *
+     * @param child
+     *          The child.
+     */
+    private void removeChild(final int node, final int child) {
+        final int first = node * MAX_CHILDREN;
+        final int last = first + nodeChildCount[node] - 1;
+
+        for (int i = first ; i <= last ; i++) {
+            if (nodeChildren[i] == child) {
+                nodeChildren[i] = nodeChildren[last];
+                nodeChildCount[node]--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sets a child of a node, and points the child back at the node.
+     *
+     * @param node
+     *          The node.
+     *
+     * @param index
+     *          The index of the child, within the node.
+     *
+     * @param child
+     *          The child.
+     */
+    private void setChild(final int node, final int index, final int child) {
+        nodeChildren[node * MAX_CHILDREN + index] = child;
+
+        if (nodeLevel[node] == 0) {
+            entryLeaf[child] = node;
+        } else {
+            nodeParent[child] = node;
+        }
+    }
+
+    /**
+     * Recalculates the bounds of a node from the bounds of its children.
+     *
+     * @param node
+     *          The node.
+     */
+    private void recalculateBounds(final int node) {
+        final int first = node * MAX_CHILDREN;
+        final int last = first + nodeChildCount[node];
+        final int[] bounds = nodeLevel[node] == 0 ? entryBounds : nodeBounds;
+
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+
+        for (int i = first ; i < last ; i++) {
+            final int offset = nodeChildren[i] * 4;
+            minX = Math.min(minX, bounds[offset]);
+            minY = Math.min(minY, bounds[offset + 1]);
+            maxX = Math.max(maxX, bounds[offset + 2]);
+            maxY = Math.max(maxY, bounds[offset + 3]);
+        }
+
+        setBounds(nodeBounds, node * 4, minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Determines the axis along which the centers of a number of children are
+     * most spread out.
+     *
+     * @param bounds
+     *          The packed bounds of the children.
+     *
+     * @param children
+     *          The children.
+     *
+     * @return
+     *          0 for the x axis, or 1 for the y axis.
+     */
+    private static int widestAxis(final int[] bounds, final int[] children) {
+        long minX = Long.MAX_VALUE;
+        long minY = Long.MAX_VALUE;
+        long maxX = Long.MIN_VALUE;
+        long maxY = Long.MIN_VALUE;
+
+        for (final int child : children) {
+            final int offset = child * 4;
+            final long centerX = (long) bounds[offset] + bounds[offset + 2];
+            final long centerY = (long) bounds[offset + 1] + bounds[offset + 3];
+            minX = Math.min(minX, centerX);
+            minY = Math.min(minY, centerY);
+            maxX = Math.max(maxX, centerX);
+            maxY = Math.max(maxY, centerY);
+        }
+
+        return maxX - minX >= maxY - minY ? 0 : 1;
+    }
+
+    /**
+     * Retrieves an unused node, growing the per-node arrays if necessary.
+     *
+     * @param level
+     *          The level of the node.
+     *
+     * @return
+     *          The node.
+     */
+    private int allocateNode(final int level) {
+        final int node;
+
+        if (freeNodeCount > 0) {
+            node = freeNodes[--freeNodeCount];
+        } else {
+            if (nodeCount == nodeChildCount.length) {
+                final int capacity = nodeCount * 2;
+                nodeBounds = Arrays.copyOf(nodeBounds, capacity * 4);
+                nodeChildren = Arrays.copyOf(nodeChildren, capacity * MAX_CHILDREN);
+                nodeChildCount = Arrays.copyOf(nodeChildCount, capacity);
+                nodeParent = Arrays.copyOf(nodeParent, capacity);
+                nodeLevel = Arrays.copyOf(nodeLevel, capacity);
+                freeNodes = Arrays.copyOf(freeNodes, capacity);
+            }
+
+            node = nodeCount++;
+        }
+
+        nodeChildCount[node] = 0;
+        nodeParent[node] = -1;
+        nodeLevel[node] = level;
+        return node;
+    }
+
+    /**
+     * Retrieves an unused handle, growing the per-entry arrays if necessary.
+     *
+     * @return
+     *          The handle.
+     */
+    private int allocateHandle() {
+        if (freeHandleCount > 0) {
+            return freeHandles[--freeHandleCount];
+        }
+
+        ensureHandleCapacity(handleCount + 1);
+        return handleCount++;
+    }
+
+    /**
+     * Ensures that the per-entry arrays can hold a number of handles.
+     *
+     * @param capacity
+     *          The number of handles.
+     */
+    private void ensureHandleCapacity(final int capacity) {
+        if (capacity <= entryLeaf.length) {
+            return;
+        }
+
+        final int newCapacity = Math.max(capacity, entryLeaf.length * 2);
+        entryBounds = Arrays.copyOf(entryBounds, newCapacity * 4);
+        entryLeaf = Arrays.copyOf(entryLeaf, newCapacity);
+        freeHandles = Arrays.copyOf(freeHandles, newCapacity);
+    }
+
+    /**
+     * Ensures that a handle refers to an entry.
+     *
+     * @param handle
+     *          The handle.
+     *
+     * @throws IllegalArgumentException
+     *          If there is no entry with the handle.
+     */
+    private void checkHandle(final int handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("There is no entry with the handle " + handle + ".");
+        }
+    }
+
+    /**
+     * Calculates the squared distance from a point to a bounding box.
+     *
+     * @param bounds
+     *          The packed bounds.
+     *
+     * @param index
+     *          The index of the bounding box.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          The squared distance, which is 0 if the point is in the box.
+     */
+    private static double boundsDistance(final int[] bounds, final int index, final int x, final int y) {
+        final int offset = index * 4;
+        final double dx = Math.max(0, Math.max((double) bounds[offset] - x, (double) x - bounds[offset + 2]));
+        final double dy = Math.max(0, Math.max((double) bounds[offset + 1] - y, (double) y - bounds[offset + 3]));
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Calculates the area of a bounding box.
+     *
+     * @param minX
+     *          The x coordinate of the left edge.
+     *
+     * @param minY
+     *          The y coordinate of the top edge.
+     *
+     * @param maxX
+     *          The x coordinate of the right edge.
+     *
+     * @param maxY
+     *          The y coordinate of the bottom edge.
+     *
+     * @return
+     *          The area.
+     */
+    private static double area(final int minX, final int minY, final int maxX, final int maxY) {
+        return ((double) maxX - minX) * ((double) maxY - minY);
+    }
+
+    /**
+     * Sets a bounding box.
+     *
+     * @param bounds
+     *          The packed bounds.
+     *
+     * @param offset
+     *          The offset of the bounding box.
+     *
+     * @param minX
+     *          The x coordinate of the left edge.
+     *
+     * @param minY
+     *          The y coordinate of the top edge.
+     *
+     * @param maxX
+     *          The x coordinate of the right edge.
+     *
+     * @param maxY
+     *          The y coordinate of the bottom edge.
+     */
+    private static void setBounds(final int[] bounds, final int offset, final int minX, final int minY, final int maxX, final int maxY) {
+        bounds[offset] = Math.min(minX, maxX);
+        bounds[offset + 1] = Math.min(minY, maxY);
+        bounds[offset + 2] = Math.max(minX, maxX);
+        bounds[offset + 3] = Math.max(minY, maxY);
+    }
+
+    /**
+     * Sets a bounding box.
+     *
+     * @param bounds
+     *          The packed bounds.
+     *
+     * @param offset
+     *          The offset of the bounding box.
+     *
+     * @param box
+     *          The bounding box.
+     */
+    private static void setBounds(final int[] bounds, final int offset, final BoundingBox box) {
+        bounds[offset] = box.getMinX();
+        bounds[offset + 1] = box.getMinY();
+        bounds[offset + 2] = box.getMaxX();
+        bounds[offset + 3] = box.getMaxY();
+    }
+
+    /** Calculates the distance from a point to an entry of an R-tree. */
+    @FunctionalInterface
+    public interface EntryDistance {
+        /**
+         * Calculates the squared distance from a point to an entry.
+         *
+         * @param handle
+         *          The handle of the entry.
+         *
+         * @param x
+         *          The x coordinate of the point.
+         *
+         * @param y
+         *          The y coordinate of the point.
+         *
+         * @return
+         *          The squared distance.
+         */
+        double distanceSquared(final int handle, final int x, final int y);
+    }
+}
@@ -0,0 +1,46 @@
+package com.valkryst.VGeometry;
+
+/** Computes the metrics of many circles or ellipses, one at a time. */
+final class ScalarMetricsKernels implements MetricsKernels {
+    @Override
+    public void circleAreas(final double[] radii, final double[] areas, final int count) {
+        for (int i = 0 ; i < count ; i++) {
+            areas[i] = Circle.calculateArea(radii[i]);
+        }
+    }
+
+    @Override
+    public void circleCircumferences(final double[] radii, final double[] circumferences, final int count) {
+        for (int i = 0 ; i < count ; i++) {
+            circumferences[i] = Circle.calculateCircumference(radii[i]);
+        }
+    }
+
+    @Override
+    public void circlesContain(final int[] midpointXs, final int[] midpointYs, final double[] radii, final int count, final int x, final int y, final boolean[] results) {
+        for (int i = 0 ; i < count ; i++) {
+            results[i] = Circle.contains(midpointXs[i], midpointYs[i], radii[i], x, y);
+        }
+    }
+
+    @Override
+    public void ellipsesContain(final int[] midpointXs, final int[] midpointYs, final double[] horizontalRadii, final double[] verticalRadii, final int count, final int x, final int y, final boolean[] results) {
+        for (int i = 0 ; i < count ; i++) {
+            results[i] = Ellipse.contains(midpointXs[i], midpointYs[i], horizontalRadii[i], verticalRadii[i], x, y);
+        }
+    }
+
+    @Override
+    public void ellipseAreas(final double[] horizontalRadii, final double[] verticalRadii, final double[] areas, final int count) {
+        for (int i = 0 ; i < count ; i++) {
+            areas[i] = Ellipse.calculateArea(horizontalRadii[i], verticalRadii[i]);
+        }
+    }
+
+    @Override
+    public void ellipseCircumferences(final double[] horizontalRadii, final double[] verticalRadii, final double[] circumferences, final int count) {
+        for (int i = 0 ; i < count ; i++) {
+            circumferences[i] = Ellipse.calculateCircumference(horizontalRadii[i], verticalRadii[i]);
+        }
+    }
+}
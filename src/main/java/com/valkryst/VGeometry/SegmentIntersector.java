@@ -0,0 +1,793 @@
+package com.valkryst.VGeometry;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Finds every intersecting pair in a set of line segments, using the
+ * Bentley-Ottmann sweep-line algorithm, in O((n + k) log n) time for n
+ * segments and k intersecting pairs.
+ *
+ * Whether two segments intersect, and the order of segments along the sweep
+ * line, are decided with exact integer orientation tests. Vertical segments,
+ * segments which touch at an endpoint, segments which share a point with
+ * many others, and collinear overlapping segments are all reported.
+ *
+ * Crossing points are only calculated as doubles, and are ordered exactly
+ * against segment endpoints whenever the intermediate products fit in a long,
+ * which is always the case for coordinates within +/- 2^30.
+ */
+public final class SegmentIntersector {
+    /** The kind of event at which two segments swap places. */
+    private static final int CROSS = 0;
+    /** The kind of event at which a segment starts. */
+    private static final int START = 1;
+    /** The kind of event at which a segment ends. */
+    private static final int END = 2;
+
+    /** The x coordinate of the left endpoint of each segment. */
+    private final int[] leftX;
+    /** The y coordinate of the left endpoint of each segment. */
+    private final int[] leftY;
+    /** The x coordinate of the right endpoint of each segment. */
+    private final int[] rightX;
+    /** The y coordinate of the right endpoint of each segment. */
+    private final int[] rightY;
+
+    /** The node of the sweep line status which holds each segment, or -1. */
+    private final int[] segmentNode;
+    /** The segment held by each node. */
+    private final int[] nodeSegment;
+    /** The left child of each node, or -1. */
+    private final int[] nodeLeft;
+    /** The right child of each node, or -1. */
+    private final int[] nodeRight;
+    /** The parent of each node, or -1. */
+    private final int[] nodeParent;
+    /** The heap priority of each node. */
+    private final int[] nodePriority;
+    /** The number of nodes that have been used. */
+    private int nodeCount = 0;
+    /** The root node, or -1. */
+    private int root = -1;
+
+    /** The scratch array for the parameters of a crossing point. */
+    private final long[] parameters = new long[3];
+
+    /** The pending events. */
+    private final PriorityQueue<Event> events;
+    /** The consumer to report intersections to. */
+    private final IntersectionConsumer consumer;
+
+    /**
+     * Constructs a new intersector.
+     *
+     * @param segments
+     *          The packed segments.
+     *
+     * @param count
+     *          The number of segments.
+     *
+     * @param consumer
+     *          The consumer to report intersections to.
+     */
+    private SegmentIntersector(final int[] segments, final int count, final IntersectionConsumer consumer) {
+        this.consumer = consumer;
+
+        leftX = new int[count];
+        leftY = new int[count];
+        rightX = new int[count];
+        rightY = new int[count];
+        segmentNode = new int[count];
+        nodeSegment = new int[count];
+        nodeLeft = new int[count];
+        nodeRight = new int[count];
+        nodeParent = new int[count];
+        nodePriority = new int[count];
+
+        final var initialEvents = new ArrayList<Event>(count * 2);
+        int seed = 0x2545F491;
+
+        for (int i = 0 ; i < count ; i++) {
+            final int x1 = segments[i * 4];
+            final int y1 = segments[i * 4 + 1];
+            final int x2 = segments[i * 4 + 2];
+            final int y2 = segments[i * 4 + 3];
+
+            // Orient each segment from its lexicographically smallest endpoint.
+            final boolean isReversed = x2 < x1 || (x2 == x1 && y2 < y1);
+            leftX[i] = isReversed ? x2 : x1;
+            leftY[i] = isReversed ? y2 : y1;
+            rightX[i] = isReversed ? x1 : x2;
+            rightY[i] = isReversed ? y1 : y2;
+            segmentNode[i] = -1;
+
+            seed ^= seed << 13;
+            seed ^= seed >>> 17;
+            seed ^= seed << 5;
+            nodePriority[i] = seed;
+
+            initialEvents.add(new Event(leftX[i], leftY[i], true, START, i, -1));
+            initialEvents.add(new Event(rightX[i], rightY[i], true, END, i, -1));
+        }
+
+        events = new PriorityQueue<>(initialEvents);
+    }
+
+    /**
+     * Finds every intersecting pair in a collection of lines.
+     *
+     * @param lines
+     *          The lines. Each line is identified by its position in the
+     *          collection's iteration order.
+     *
+     * @param consumer
+     *          The consumer to report each intersecting pair to, once.
+     */
+    public static void findIntersections(final @NonNull Collection<Line> lines, final @NonNull IntersectionConsumer consumer) {
+        final var segments = new int[lines.size() * 4];
+
+        int i = 0;
+        for (final var line : lines) {
+            segments[i++] = line.getStartPoint().getX();
+            segments[i++] = line.getStartPoint().getY();
+            segments[i++] = line.getEndPoint().getX();
+            segments[i++] = line.getEndPoint().getY();
+        }
+
+        findIntersections(segments, lines.size(), consumer);
+    }
+
+    /**
+     * Finds every intersecting pair in a set of segments.
+     *
+     * @param segments
+     *          The segments, packed as consecutive start x, start y, end x,
+     *          and end y coordinates. Each segment is identified by its index.
+     *
+     * @param count
+     *          The number of segments.
+     *
+     * @param consumer
+     *          The consumer to report each intersecting pair to, once.
+     */
+    public static void findIntersections(final @NonNull int[] segments, final int count, final @NonNull IntersectionConsumer consumer) {
+        Objects.checkFromIndexSize(0, count * 4, segments.length);
+        new SegmentIntersector(segments, count, consumer).sweep();
+    }
+
+    /** Processes every event. */
+    private void sweep() {
+        while (!events.isEmpty()) {
+            final var event = events.poll();
+
+            switch (event.kind) {
+                case CROSS -> processCross(event);
+                case START -> processStart(event.first);
+                case END -> processEnd(event.first);
+            }
+        }
+    }
+
+    /**
+     * Inserts a segment into the status, reports it against every segment
+     * which contains its left endpoint, and checks its new neighbours.
+     *
+     * @param segment
+     *          The segment.
+     */
+    private void processStart(final int segment) {
+        final int x = leftX[segment];
+        final int y = leftY[segment];
+        final int node = insert(segment, x, y);
+
+        // The segments which contain the endpoint are adjacent to the new one.
+        for (int other = previous(node) ; other != -1 && contains(nodeSegment[other], x, y) ; other = previous(other)) {
+            report(segment, nodeSegment[other], x, y);
+        }
+
+        for (int other = next(node) ; other != -1 && contains(nodeSegment[other], x, y) ; other = next(other)) {
+            report(segment, nodeSegment[other], x, y);
+        }
+
+        final int below = previous(node);
+        final int above = next(node);
+
+        if (below != -1) {
+            checkForCross(nodeSegment[below], segment);
+        }
+
+        if (above != -1) {
+            checkForCross(segment, nodeSegment[above]);
+        }
+    }
+
+    /**
+     * Removes a segment from the status, and checks whether its neighbours
+     * will cross.
+     *
+     * @param segment
+     *          The segment.
+     */
+    private void processEnd(final int segment) {
+        final int node = segmentNode[segment];
+        final int below = previous(node);
+        final int above = next(node);
+
+        delete(node);
+        segmentNode[segment] = -1;
+
+        if (below != -1 && above != -1) {
+            checkForCross(nodeSegment[below], nodeSegment[above]);
+        }
+    }
+
+    /**
+     * Swaps two segments which cross, reports them, and checks their new
+     * neighbours.
+     *
+     * Events for pairs which are no longer adjacent are ignored, as they are
+     * rescheduled if the pair becomes adjacent again.
+     *
+     * @param event
+     *          The event.
+     */
+    private void processCross(final Event event) {
+        final int lower = segmentNode[event.first];
+        final int upper = segmentNode[event.second];
+
+        if (lower == -1 || upper == -1 || next(lower) != upper) {
+            return;
+        }
+
+        report(event.first, event.second, event.x, event.y);
+
+        // Swap the segments by exchanging the nodes which hold them.
+        nodeSegment[lower] = event.second;
+        nodeSegment[upper] = event.first;
+        segmentNode[event.second] = lower;
+        segmentNode[event.first] = upper;
+
+        final int below = previous(lower);
+        final int above = next(upper);
+
+        if (below != -1) {
+            checkForCross(nodeSegment[below], event.second);
+        }
+
+        if (above != -1) {
+            checkForCross(event.first, nodeSegment[above]);
+        }
+    }
+
+    /**
+     * Schedules a crossing of two adjacent segments, if they intersect and the
+     * lower segment is steeper, so that they must swap places.
+     *
+     * @param lower
+     *          The lower segment.
+     *
+     * @param upper
+     *          The upper segment.
+     */
+    private void checkForCross(final int lower, final int upper) {
+        if (Line.crossSign(direction(lower, true), direction(lower, false), direction(upper, true), direction(upper, false)) >= 0) {
+            return;
+        }
+
+        if (!intersects(lower, upper)) {
+            return;
+        }
+
+        // Calculate the crossing point, snapping it to a lattice point if it is exactly on one.
+        final double rx = direction(lower, true);
+        final double ry = direction(lower, false);
+        final double sx = direction(upper, true);
+        final double sy = direction(upper, false);
+        final double wx = (double) leftX[upper] - leftX[lower];
+        final double wy = (double) leftY[upper] - leftY[lower];
+        final double t = (wx * sy - wy * sx) / (rx * sy - ry * sx);
+
+        double x = leftX[lower] + t * rx;
+        double y = leftY[lower] + t * ry;
+        boolean isExact = false;
+
+        final long roundedX = Math.round(x);
+        final long roundedY = Math.round(y);
+        if (roundedX == (int) roundedX && roundedY == (int) roundedY && contains(lower, (int) roundedX, (int) roundedY) && contains(upper, (int) roundedX, (int) roundedY)) {
+            x = roundedX;
+            y = roundedY;
+            isExact = true;
+        }
+
+        events.add(new Event(x, y, isExact, CROSS, lower, upper));
+    }
+
+    /**
+     * Reports an intersecting pair.
+     *
+     * @param first
+     *          One of the segments.
+     *
+     * @param second
+     *          The other segment.
+     *
+     * @param x
+     *          The x coordinate of a point which both segments contain.
+     *
+     * @param y
+     *          The y coordinate of a point which both segments contain.
+     */
+    private void report(final int first, final int second, final double x, final double y) {
+        consumer.accept(Math.min(first, second), Math.max(first, second), x, y);
+    }
+
+    /**
+     * Determines whether two segments intersect.
+     *
+     * @param first
+     *          One of the segments.
+     *
+     * @param second
+     *          The other segment.
+     *
+     * @return
+     *          Whether the segments intersect.
+     */
+    private boolean intersects(final int first, final int second) {
+        return Line.intersects(leftX[first], leftY[first], rightX[first], rightY[first], leftX[second], leftY[second], rightX[second], rightY[second]);
+    }
+
+    /**
+     * Determines whether a segment contains a point.
+     *
+     * @param segment
+     *          The segment.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          Whether the segment contains the point.
+     */
+    private boolean contains(final int segment, final int x, final int y) {
+        return Line.contains(leftX[segment], leftY[segment], rightX[segment], rightY[segment], x, y);
+    }
+
+    /**
+     * Determines on which side of a segment a point lies.
+     *
+     * @param segment
+     *          The segment.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          1 if the point is above the segment, -1 if it is below, or 0
+     *          if it is collinear with the segment.
+     */
+    private int orientation(final int segment, final int x, final int y) {
+        return Line.orientation(leftX[segment], leftY[segment], rightX[segment], rightY[segment], x, y);
+    }
+
+    /**
+     * Retrieves one component of the direction of a segment, from its left
+     * endpoint to its right endpoint.
+     *
+     * @param segment
+     *          The segment.
+     *
+     * @param isX
+     *          Whether to retrieve the x component, rather than the y
+     *          component.
+     *
+     * @return
+     *          The component.
+     */
+    private long direction(final int segment, final boolean isX) {
+        return isX ? (long) rightX[segment] - leftX[segment] : (long) rightY[segment] - leftY[segment];
+    }
+
+    /**
+     * Compares a segment, which starts at a point, to a segment in the status.
+     *
+     * @param segment
+     *          The starting segment.
+     *
+     * @param other
+     *          The segment in the status.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          A positive value if the starting segment is above the other
+     *          segment, just after the point, or a negative value if it is
+     *          below.
+     */
+    private int compare(final int segment, final int other, final int x, final int y) {
+        final int side = orientation(other, x, y);
+        if (side != 0) {
+            return side;
+        }
+
+        // Zero-length segments have no direction, so they're kept below the others at the point.
+        final boolean isPoint = leftX[segment] == rightX[segment] && leftY[segment] == rightY[segment];
+        final boolean isOtherPoint = leftX[other] == rightX[other] && leftY[other] == rightY[other];
+        if (isPoint != isOtherPoint) {
+            return isPoint ? -1 : 1;
+        }
+
+        final int turn = Line.crossSign(direction(other, true), direction(other, false), direction(segment, true), direction(segment, false));
+        if (turn != 0) {
+            return turn;
+        }
+
+        return Integer.compare(segment, other);
+    }
+
+    /**
+     * Inserts a segment into the status.
+     *
+     * @param segment
+     *          The segment.
+     *
+     * @param x
+     *          The x coordinate of the segment's left endpoint.
+     *
+     * @param y
+     *          The y coordinate of the segment's left endpoint.
+     *
+     * @return
+     *          The node which holds the segment.
+     */
+    private int insert(final int segment, final int x, final int y) {
+        final int node = nodeCount++;
+        nodeSegment[node] = segment;
+        nodeLeft[node] = -1;
+        nodeRight[node] = -1;
+        nodeParent[node] = -1;
+        segmentNode[segment] = node;
+
+        if (root == -1) {
+            root = node;
+            return node;
+        }
+
+        int current = root;
+        while (true) {
+            if (compare(segment, nodeSegment[current], x, y) < 0) {
+                if (nodeLeft[current] == -1) {
+                    nodeLeft[current] = node;
+                    break;
+                }
+                current = nodeLeft[current];
+            } else {
+                if (nodeRight[current] == -1) {
+                    nodeRight[current] = node;
+                    break;
+                }
+                current = nodeRight[current];
+            }
+        }
+
+        nodeParent[node] = current;
+
+        while (nodeParent[node] != -1 && nodePriority[node] > nodePriority[nodeParent[node]]) {
+            rotateUp(node);
+        }
+
+        return node;
+    }
+
+    /**
+     * Deletes a node from the status.
+     *
+     * @param node
+     *          The node.
+     */
+    private void delete(final int node) {
+        while (nodeLeft[node] != -1 || nodeRight[node] != -1) {
+            final int left = nodeLeft[node];
+            final int right = nodeRight[node];
+
+            if (left == -1) {
+                rotateUp(right);
+            } else if (right == -1) {
+                rotateUp(left);
+            } else {
+                rotateUp(nodePriority[left] > nodePriority[right] ? left : right);
+            }
+        }
+
+        final int parent = nodeParent[node];
+        if (parent == -1) {
+            root = -1;
+        } else if (nodeLeft[parent] == node) {
+            nodeLeft[parent] = -1;
+        } else {
+            nodeRight[parent] = -1;
+        }
+    }
+
+    /**
+     * Rotates a node above its parent.
+     *
+     * @param node
+     *          The node.
+     */
+    private void rotateUp(final int node) {
+        final int parent = nodeParent[node];
+        final int grandparent = nodeParent[parent];
+
+        if (nodeLeft[parent] == node) {
+            nodeLeft[parent] = nodeRight[node];
+            if (nodeRight[node] != -1) {
+                nodeParent[nodeRight[node]] = parent;
+            }
+            nodeRight[node] = parent;
+        } else {
+            nodeRight[parent] = nodeLeft[node];
+            if (nodeLeft[node] != -1) {
+                nodeParent[nodeLeft[node]] = parent;
+            }
+            nodeLeft[node] = parent;
+        }
+
+        nodeParent[parent] = node;
+        nodeParent[node] = grandparent;
+
+        if (grandparent == -1) {
+            root = node;
+        } else if (nodeLeft[grandparent] == parent) {
+            nodeLeft[grandparent] = node;
+        } else {
+            nodeRight[grandparent] = node;
+        }
+    }
+
+    /**
+     * Retrieves the node below a node in the status.
+     *
+     * @param node
+     *          The node.
+     *
+     * @return
+     *          The node below, or -1.
+     */
+    private int previous(int node) {
+        if (nodeLeft[node] != -1) {
+            node = nodeLeft[node];
+            while (nodeRight[node] != -1) {
+                node = nodeRight[node];
+            }
+            return node;
+        }
+
+        while (nodeParent[node] != -1 && nodeLeft[nodeParent[node]] == node) {
+            node = nodeParent[node];
+        }
+        return nodeParent[node];
+    }
+
+    /**
+     * Retrieves the node above a node in the status.
+     *
+     * @param node
+     *          The node.
+     *
+     * @return
+     *          The node above, or -1.
+     */
+    private int next(int node) {
+        if (nodeRight[node] != -1) {
+            node = nodeRight[node];
+            while (nodeLeft[node] != -1) {
+                node = nodeLeft[node];
+            }
+            return node;
+        }
+
+        while (nodeParent[node] != -1 && nodeRight[nodeParent[node]] == node) {
+            node = nodeParent[node];
+        }
+        return nodeParent[node];
+    }
+
+    /**
+     * Calculates the sign of (a * b) + (c * d), exactly.
+     *
+     * The result is exact as long as the sum fits in 127 bits.
+     *
+     * @param a
+     *          The first factor of the first product.
+     *
+     * @param b
+     *          The second factor of the first product.
+     *
+     * @param c
+     *          The first factor of the second product.
+     *
+     * @param d
+     *          The second factor of the second product.
+     *
+     * @return
+     *          The sign.
+     */
+    private static int sumOfProductsSign(final long a, final long b, final long c, final long d) {
+        final long firstLow = a * b;
+        final long secondLow = c * d;
+        final long low = firstLow + secondLow;
+        final long carry = Long.compareUnsigned(low, firstLow) < 0 ? 1 : 0;
+        final long high = Math.multiplyHigh(a, b) + Math.multiplyHigh(c, d) + carry;
+
+        if (high != 0) {
+            return high < 0 ? -1 : 1;
+        }
+
+        return low == 0 ? 0 : 1;
+    }
+
+    /**
+     * Compares the crossing point of two segments to a lattice point, exactly.
+     *
+     * @param lower
+     *          The lower segment.
+     *
+     * @param upper
+     *          The upper segment.
+     *
+     * @param x
+     *          The x coordinate of the lattice point.
+     *
+     * @param y
+     *          The y coordinate of the lattice point.
+     *
+     * @return
+     *          -1, 0, or 1, as the crossing point is lexicographically before,
+     *          at, or after the lattice point.
+     *
+     * @throws ArithmeticException
+     *          If the intermediate products do not fit in a long.
+     */
+    private int compareCrossToPoint(final int lower, final int upper, final int x, final int y) {
+        // Crossing events are only created for segments which intersect and are not parallel, so the parameters exist.
+        Line.findIntersectionParameters(leftX[lower], leftY[lower], rightX[lower], rightY[lower], leftX[upper], leftY[upper], rightX[upper], rightY[upper], parameters);
+
+        // The crossing point is the left endpoint of the lower segment plus r * (numerator / denominator).
+        final long numerator = parameters[0];
+        final long denominator = parameters[2];
+
+        final int compareX = sumOfProductsSign((long) leftX[lower] - x, denominator, direction(lower, true), numerator);
+        if (compareX != 0) {
+            return compareX;
+        }
+
+        return sumOfProductsSign((long) leftY[lower] - y, denominator, direction(lower, false), numerator);
+    }
+
+    /** An event of the sweep. */
+    private final class Event implements Comparable<Event> {
+        /** The x coordinate. */
+        private final double x;
+        /** The y coordinate. */
+        private final double y;
+        /** Whether the coordinates are exactly a lattice point. */
+        private final boolean isExact;
+        /** The kind of event. */
+        private final int kind;
+        /** The segment which starts or ends, or the lower of two crossing segments. */
+        private final int first;
+        /** The upper of two crossing segments, or -1. */
+        private final int second;
+
+        /**
+         * Constructs a new event.
+         *
+         * @param x
+         *          The x coordinate.
+         *
+         * @param y
+         *          The y coordinate.
+         *
+         * @param isExact
+         *          Whether the coordinates are exactly a lattice point.
+         *
+         * @param kind
+         *          The kind of event.
+         *
+         * @param first
+         *          The segment which starts or ends, or the lower of two
+         *          crossing segments.
+         *
+         * @param second
+         *          The upper of two crossing segments, or -1.
+         */
+        private Event(final double x, final double y, final boolean isExact, final int kind, final int first, final int second) {
+            this.x = x;
+            this.y = y;
+            this.isExact = isExact;
+            this.kind = kind;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public int compareTo(final Event other) {
+            int result = comparePosition(other);
+            if (result != 0) {
+                return result;
+            }
+
+            result = Integer.compare(kind, other.kind);
+            if (result != 0) {
+                return result;
+            }
+
+            result = Integer.compare(first, other.first);
+            return result != 0 ? result : Integer.compare(second, other.second);
+        }
+
+        /**
+         * Compares the positions of this event and another event,
+         * lexicographically.
+         *
+         * @param other
+         *          The other event.
+         *
+         * @return
+         *          -1, 0, or 1, as this event is before, at, or after the
+         *          other event.
+         */
+        private int comparePosition(final Event other) {
+            try {
+                if (isExact != other.isExact) {
+                    return isExact
+                        ? -compareCrossToPoint(other.first, other.second, (int) x, (int) y)
+                        : compareCrossToPoint(first, second, (int) other.x, (int) other.y);
+                }
+            } catch (final ArithmeticException ignored) {
+                // Fall back to comparing the approximate coordinates.
+            }
+
+            final int result = Double.compare(x, other.x);
+            return result != 0 ? result : Double.compare(y, other.y);
+        }
+    }
+
+    /** Represents an operation that accepts an intersecting pair of segments. */
+    @FunctionalInterface
+    public interface IntersectionConsumer {
+        /**
+         * Performs this operation on the given pair of segments.
+         *
+         * @param first
+         *          The index of the first segment, which is lower than that of
+         *          the second.
+         *
+         * @param second
+         *          The index of the second segment.
+         *
+         * @param x
+         *          The x coordinate of a point which both segments contain.
+         *
+         * @param y
+         *          The y coordinate of a point which both segments contain.
+         */
+        void accept(final int first, final int second, final double x, final double y);
+    }
+}
@@ -0,0 +1,833 @@
+package com.valkryst.VGeometry;
+
+import lombok.NonNull;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Encodes and decodes shapes as binary records.
+ *
+ * Each record holds only the state of its shape, so derived properties are
+ * not stored, and are recalculated lazily after decoding:
+ *
+ * <ul>
+ *     <li>A point is its x and y coordinates, as ints.</li>
+ *     <li>A line is the x and y coordinates of its start and end points, as ints.</li>
+ *     <li>A circle is the x and y coordinates of its midpoint, as ints, and its radius, as a double.</li>
+ *     <li>An ellipse is the x and y coordinates of its midpoint, as ints, and its horizontal and vertical radii, as doubles.</li>
+ *     <li>A polyline or polygon is its number of vertices, as an int, followed by a point record for each vertex.</li>
+ * </ul>
+ *
+ * Every record has a fixed width, except for those of polylines and polygons,
+ * whose width depends on their number of vertices.
+ *
+ * Records are read from, and written to, the current position of a buffer,
+ * using the buffer's byte order. Bulk operations check that the buffer has
+ * enough space for every record before reading or writing any of them.
+ */
+public final class ShapeCodec {
+    /** The number of bytes in a point record. */
+    public static final int POINT_BYTES = 8;
+    /** The number of bytes in a line record. */
+    public static final int LINE_BYTES = 16;
+    /** The number of bytes in a circle record. */
+    public static final int CIRCLE_BYTES = 16;
+    /** The number of bytes in an ellipse record. */
+    public static final int ELLIPSE_BYTES = 24;
+    /** The number of bytes before the vertices of a polyline or polygon record. */
+    public static final int VERTEX_COUNT_BYTES = 4;
+
+    private ShapeCodec() {}
+
+    /**
+     * Encodes a point.
+     *
+     * @param point
+     *          The point.
+     *
+     * @param buffer
+     *          The buffer to write to.
+     *
+     * @throws BufferOverflowException
+     *          If the buffer does not have enough space.
+     */
+    public static void encode(final @NonNull Point point, final @NonNull ByteBuffer buffer) {
+        requireRemaining(buffer, POINT_BYTES, true);
+        buffer.putInt(point.getX());
+        buffer.putInt(point.getY());
+    }
+
+    /**
+     * Decodes a point.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @return
+     *          The point.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     */
+    public static Point decodePoint(final @NonNull ByteBuffer buffer) {
+        return decode(buffer, new Point());
+    }
+
+    /**
+     * Decodes a point into an existing point.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @param point
+     *          The point to decode into.
+     *
+     * @return
+     *          The point.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     */
+    public static Point decode(final @NonNull ByteBuffer buffer, final @NonNull Point point) {
+        requireRemaining(buffer, POINT_BYTES, false);
+        point.set(buffer.getInt(), buffer.getInt());
+        return point;
+    }
+
+    /**
+     * Encodes a line.
+     *
+     * @param line
+     *          The line.
+     *
+     * @param buffer
+     *          The buffer to write to.
+     *
+     * @throws BufferOverflowException
+     *          If the buffer does not have enough space.
+     */
+    public static void encode(final @NonNull Line line, final @NonNull ByteBuffer buffer) {
+        requireRemaining(buffer, LINE_BYTES, true);
+        buffer.putInt(line.getStartPoint().getX());
+        buffer.putInt(line.getStartPoint().getY());
+        buffer.putInt(line.getEndPoint().getX());
+        buffer.putInt(line.getEndPoint().getY());
+    }
+
+    /**
+     * Decodes a line.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @return
+     *          The line.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     */
+    public static Line decodeLine(final @NonNull ByteBuffer buffer) {
+        return decode(buffer, new Line());
+    }
+
+    /**
+     * Decodes a line into an existing line.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @param line
+     *          The line to decode into.
+     *
+     * @return
+     *          The line.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     */
+    public static Line decode(final @NonNull ByteBuffer buffer, final @NonNull Line line) {
+        requireRemaining(buffer, LINE_BYTES, false);
+        line.set(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+        return line;
+    }
+
+    /**
+     * Encodes a circle.
+     *
+     * @param circle
+     *          The circle.
+     *
+     * @param buffer
+     *          The buffer to write to.
+     *
+     * @throws BufferOverflowException
+     *          If the buffer does not have enough space.
+     */
+    public static void encode(final @NonNull Circle circle, final @NonNull ByteBuffer buffer) {
+        requireRemaining(buffer, CIRCLE_BYTES, true);
+        buffer.putInt(circle.getMidpoint().getX());
+        buffer.putInt(circle.getMidpoint().getY());
+        buffer.putDouble(circle.getRadius());
+    }
+
+    /**
+     * Decodes a circle.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @return
+     *          The circle.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     */
+    public static Circle decodeCircle(final @NonNull ByteBuffer buffer) {
+        return decode(buffer, new Circle());
+    }
+
+    /**
+     * Decodes a circle into an existing circle.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @param circle
+     *          The circle to decode into.
+     *
+     * @return
+     *          The circle.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     */
+    public static Circle decode(final @NonNull ByteBuffer buffer, final @NonNull Circle circle) {
+        requireRemaining(buffer, CIRCLE_BYTES, false);
+        circle.set(buffer.getInt(), buffer.getInt(), buffer.getDouble());
+        return circle;
+    }
+
+    /**
+     * Encodes an ellipse.
+     *
+     * @param ellipse
+     *          The ellipse.
+     *
+     * @param buffer
+     *          The buffer to write to.
+     *
+     * @throws BufferOverflowException
+     *          If the buffer does not have enough space.
+     */
+    public static void encode(final @NonNull Ellipse ellipse, final @NonNull ByteBuffer buffer) {
+        requireRemaining(buffer, ELLIPSE_BYTES, true);
+        buffer.putInt(ellipse.getMidpoint().getX());
+        buffer.putInt(ellipse.getMidpoint().getY());
+        buffer.putDouble(ellipse.getHorizontalRadius());
+        buffer.putDouble(ellipse.getVerticalRadius());
+    }
+
+    /**
+     * Decodes an ellipse.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @return
+     *          The ellipse.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     */
+    public static Ellipse decodeEllipse(final @NonNull ByteBuffer buffer) {
+        return decode(buffer, new Ellipse());
+    }
+
+    /**
+     * Decodes an ellipse into an existing ellipse.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @param ellipse
+     *          The ellipse to decode into.
+     *
+     * @return
+     *          The ellipse.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     */
+    public static Ellipse decode(final @NonNull ByteBuffer buffer, final @NonNull Ellipse ellipse) {
+        requireRemaining(buffer, ELLIPSE_BYTES, false);
+        ellipse.set(buffer.getInt(), buffer.getInt(), buffer.getDouble(), buffer.getDouble());
+        return ellipse;
+    }
+
+    /**
+     * Calculates the number of bytes in the record of a polyline.
+     *
+     * @param polyline
+     *          The polyline.
+     *
+     * @return
+     *          The number of bytes.
+     */
+    public static long getRecordBytes(final @NonNull Polyline polyline) {
+        return VERTEX_COUNT_BYTES + (long) polyline.getVertexCount() * POINT_BYTES;
+    }
+
+    /**
+     * Encodes a polyline.
+     *
+     * @param polyline
+     *          The polyline.
+     *
+     * @param buffer
+     *          The buffer to write to.
+     *
+     * @throws BufferOverflowException
+     *          If the buffer does not have enough space.
+     */
+    public static void encode(final @NonNull Polyline polyline, final @NonNull ByteBuffer buffer) {
+        requireRemaining(buffer, getRecordBytes(polyline), true);
+        buffer.putInt(polyline.getVertexCount());
+        for (int i = 0 ; i < polyline.getVertexCount() ; i++) {
+            buffer.putInt(polyline.getX(i));
+            buffer.putInt(polyline.getY(i));
+        }
+    }
+
+    /**
+     * Decodes a polyline.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @return
+     *          The polyline.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     *
+     * @throws IllegalArgumentException
+     *          If the record has no vertices.
+     */
+    public static Polyline decodePolyline(final @NonNull ByteBuffer buffer) {
+        final int count = readVertexCount(buffer);
+        return new Polyline(readVertices(buffer, count), count);
+    }
+
+    /**
+     * Decodes a polyline into an existing polyline.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @param polyline
+     *          The polyline to decode into.
+     *
+     * @return
+     *          The polyline.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     *
+     * @throws IllegalArgumentException
+     *          If the record has no vertices.
+     */
+    public static Polyline decode(final @NonNull ByteBuffer buffer, final @NonNull Polyline polyline) {
+        final int count = readVertexCount(buffer);
+        polyline.setVertices(buffer.asIntBuffer(), count);
+        buffer.position(buffer.position() + count * POINT_BYTES);
+        return polyline;
+    }
+
+    /**
+     * Calculates the number of bytes in the record of a polygon.
+     *
+     * @param polygon
+     *          The polygon.
+     *
+     * @return
+     *          The number of bytes.
+     */
+    public static long getRecordBytes(final @NonNull Polygon polygon) {
+        return VERTEX_COUNT_BYTES + (long) polygon.getVertexCount() * POINT_BYTES;
+    }
+
+    /**
+     * Encodes a polygon.
+     *
+     * @param polygon
+     *          The polygon.
+     *
+     * @param buffer
+     *          The buffer to write to.
+     *
+     * @throws BufferOverflowException
+     *          If the buffer does not have enough space.
+     */
+    public static void encode(final @NonNull Polygon polygon, final @NonNull ByteBuffer buffer) {
+        requireRemaining(buffer, getRecordBytes(polygon), true);
+        buffer.putInt(polygon.getVertexCount());
+        for (int i = 0 ; i < polygon.getVertexCount() ; i++) {
+            buffer.putInt(polygon.getX(i));
+            buffer.putInt(polygon.getY(i));
+        }
+    }
+
+    /**
+     * Decodes a polygon.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @return
+     *          The polygon.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     *
+     * @throws IllegalArgumentException
+     *          If the record has no vertices.
+     */
+    public static Polygon decodePolygon(final @NonNull ByteBuffer buffer) {
+        final int count = readVertexCount(buffer);
+        return new Polygon(readVertices(buffer, count), count);
+    }
+
+    /**
+     * Decodes a polygon into an existing polygon.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @param polygon
+     *          The polygon to decode into.
+     *
+     * @return
+     *          The polygon.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     *
+     * @throws IllegalArgumentException
+     *          If the record has no vertices.
+     */
+    public static Polygon decode(final @NonNull ByteBuffer buffer, final @NonNull Polygon polygon) {
+        final int count = readVertexCount(buffer);
+        polygon.setVertices(buffer.asIntBuffer(), count);
+        buffer.position(buffer.position() + count * POINT_BYTES);
+        return polygon;
+    }
+
+    /**
+     * Encodes every point in a buffer.
+     *
+     * @param points
+     *          The points.
+     *
+     * @param buffer
+     *          The buffer to write to.
+     *
+     * @throws BufferOverflowException
+     *          If the buffer does not have enough space.
+     */
+    public static void encodePoints(final @NonNull PointBuffer points, final @NonNull ByteBuffer buffer) {
+        requireRemaining(buffer, (long) points.getSize() * POINT_BYTES, true);
+
+        for (int i = 0 ; i < points.getSize() ; i++) {
+            buffer.putInt(points.getX(i));
+            buffer.putInt(points.getY(i));
+        }
+    }
+
+    /**
+     * Encodes a range of points, from arrays of coordinates.
+     *
+     * @param xs
+     *          The x coordinates.
+     *
+     * @param ys
+     *          The y coordinates.
+     *
+     * @param offset
+     *          The index of the first point, in the arrays.
+     *
+     * @param length
+     *          The number of points.
+     *
+     * @param buffer
+     *          The buffer to write to.
+     *
+     * @throws BufferOverflowException
+     *          If the buffer does not have enough space.
+     */
+    public static void encodePoints(final @NonNull int[] xs, final @NonNull int[] ys, final int offset, final int length, final @NonNull ByteBuffer buffer) {
+        Objects.checkFromIndexSize(offset, length, xs.length);
+        Objects.checkFromIndexSize(offset, length, ys.length);
+        requireRemaining(buffer, (long) length * POINT_BYTES, true);
+
+        for (int i = offset ; i < offset + length ; i++) {
+            buffer.putInt(xs[i]);
+            buffer.putInt(ys[i]);
+        }
+    }
+
+    /**
+     * Decodes points, and appends them to a point buffer.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @param count
+     *          The number of points.
+     *
+     * @param points
+     *          The point buffer to append to.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     */
+    public static void decodePoints(final @NonNull ByteBuffer buffer, final int count, final @NonNull PointBuffer points) {
+        requireCount(count);
+        requireRemaining(buffer, (long) count * POINT_BYTES, false);
+        points.ensureCapacity(points.getSize() + count);
+
+        for (int i = 0 ; i < count ; i++) {
+            points.add(buffer.getInt(), buffer.getInt());
+        }
+    }
+
+    /**
+     * Decodes points into arrays of coordinates.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @param xs
+     *          The array to decode the x coordinates into.
+     *
+     * @param ys
+     *          The array to decode the y coordinates into.
+     *
+     * @param offset
+     *          The index of the first point, in the arrays.
+     *
+     * @param length
+     *          The number of points.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     */
+    public static void decodePoints(final @NonNull ByteBuffer buffer, final @NonNull int[] xs, final @NonNull int[] ys, final int offset, final int length) {
+        Objects.checkFromIndexSize(offset, length, xs.length);
+        Objects.checkFromIndexSize(offset, length, ys.length);
+        requireRemaining(buffer, (long) length * POINT_BYTES, false);
+
+        for (int i = offset ; i < offset + length ; i++) {
+            xs[i] = buffer.getInt();
+            ys[i] = buffer.getInt();
+        }
+    }
+
+    /**
+     * Encodes packed segments as line records.
+     *
+     * The packed layout matches the record layout, so the segments are
+     * copied in bulk.
+     *
+     * @param segments
+     *          The segments, packed as consecutive start x, start y, end x,
+     *          and end y coordinates.
+     *
+     * @param count
+     *          The number of segments.
+     *
+     * @param buffer
+     *          The buffer to write to.
+     *
+     * @throws BufferOverflowException
+     *          If the buffer does not have enough space.
+     */
+    public static void encodeLines(final @NonNull int[] segments, final int count, final @NonNull ByteBuffer buffer) {
+        requireCount(count);
+        Objects.checkFromIndexSize(0, count * 4, segments.length);
+        requireRemaining(buffer, (long) count * LINE_BYTES, true);
+
+        buffer.asIntBuffer().put(segments, 0, count * 4);
+        buffer.position(buffer.position() + count * LINE_BYTES);
+    }
+
+    /**
+     * Decodes line records as packed segments.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @param segments
+     *          The array to decode the segments into, packed as consecutive
+     *          start x, start y, end x, and end y coordinates.
+     *
+     * @param count
+     *          The number of segments.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     */
+    public static void decodeLines(final @NonNull ByteBuffer buffer, final @NonNull int[] segments, final int count) {
+        requireCount(count);
+        Objects.checkFromIndexSize(0, count * 4, segments.length);
+        requireRemaining(buffer, (long) count * LINE_BYTES, false);
+
+        buffer.asIntBuffer().get(segments, 0, count * 4);
+        buffer.position(buffer.position() + count * LINE_BYTES);
+    }
+
+    /**
+     * Encodes a range of circles, from arrays of their properties.
+     *
+     * @param xs
+     *          The x coordinates of the midpoints.
+     *
+     * @param ys
+     *          The y coordinates of the midpoints.
+     *
+     * @param radii
+     *          The radii.
+     *
+     * @param offset
+     *          The index of the first circle, in the arrays.
+     *
+     * @param length
+     *          The number of circles.
+     *
+     * @param buffer
+     *          The buffer to write to.
+     *
+     * @throws BufferOverflowException
+     *          If the buffer does not have enough space.
+     */
+    public static void encodeCircles(final @NonNull int[] xs, final @NonNull int[] ys, final @NonNull double[] radii, final int offset, final int length, final @NonNull ByteBuffer buffer) {
+        Objects.checkFromIndexSize(offset, length, xs.length);
+        Objects.checkFromIndexSize(offset, length, ys.length);
+        Objects.checkFromIndexSize(offset, length, radii.length);
+        requireRemaining(buffer, (long) length * CIRCLE_BYTES, true);
+
+        for (int i = offset ; i < offset + length ; i++) {
+            buffer.putInt(xs[i]);
+            buffer.putInt(ys[i]);
+            buffer.putDouble(radii[i]);
+        }
+    }
+
+    /**
+     * Decodes circles into arrays of their properties.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @param xs
+     *          The array to decode the x coordinates of the midpoints into.
+     *
+     * @param ys
+     *          The array to decode the y coordinates of the midpoints into.
+     *
+     * @param radii
+     *          The array to decode the radii into.
+     *
+     * @param offset
+     *          The index of the first circle, in the arrays.
+     *
+     * @param length
+     *          The number of circles.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     */
+    public static void decodeCircles(final @NonNull ByteBuffer buffer, final @NonNull int[] xs, final @NonNull int[] ys, final @NonNull double[] radii, final int offset, final int length) {
+        Objects.checkFromIndexSize(offset, length, xs.length);
+        Objects.checkFromIndexSize(offset, length, ys.length);
+        Objects.checkFromIndexSize(offset, length, radii.length);
+        requireRemaining(buffer, (long) length * CIRCLE_BYTES, false);
+
+        for (int i = offset ; i < offset + length ; i++) {
+            xs[i] = buffer.getInt();
+            ys[i] = buffer.getInt();
+            radii[i] = buffer.getDouble();
+        }
+    }
+
+    /**
+     * Encodes a range of ellipses, from arrays of their properties.
+     *
+     * @param xs
+     *          The x coordinates of the midpoints.
+     *
+     * @param ys
+     *          The y coordinates of the midpoints.
+     *
+     * @param horizontalRadii
+     *          The horizontal radii.
+     *
+     * @param verticalRadii
+     *          The vertical radii.
+     *
+     * @param offset
+     *          The index of the first ellipse, in the arrays.
+     *
+     * @param length
+     *          The number of ellipses.
+     *
+     * @param buffer
+     *          The buffer to write to.
+     *
+     * @throws BufferOverflowException
+     *          If the buffer does not have enough space.
+     */
+    public static void encodeEllipses(final @NonNull int[] xs, final @NonNull int[] ys, final @NonNull double[] horizontalRadii, final @NonNull double[] verticalRadii, final int offset, final int length, final @NonNull ByteBuffer buffer) {
+        Objects.checkFromIndexSize(offset, length, xs.length);
+        Objects.checkFromIndexSize(offset, length, ys.length);
+        Objects.checkFromIndexSize(offset, length, horizontalRadii.length);
+        Objects.checkFromIndexSize(offset, length, verticalRadii.length);
+        requireRemaining(buffer, (long) length * ELLIPSE_BYTES, true);
+
+        for (int i = offset ; i < offset + length ; i++) {
+            buffer.putInt(xs[i]);
+            buffer.putInt(ys[i]);
+            buffer.putDouble(horizontalRadii[i]);
+            buffer.putDouble(verticalRadii[i]);
+        }
+    }
+
+    /**
+     * Decodes ellipses into arrays of their properties.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @param xs
+     *          The array to decode the x coordinates of the midpoints into.
+     *
+     * @param ys
+     *          The array to decode the y coordinates of the midpoints into.
+     *
+     * @param horizontalRadii
+     *          The array to decode the horizontal radii into.
+     *
+     * @param verticalRadii
+     *          The array to decode the vertical radii into.
+     *
+     * @param offset
+     *          The index of the first ellipse, in the arrays.
+     *
+     * @param length
+     *          The number of ellipses.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     */
+    public static void decodeEllipses(final @NonNull ByteBuffer buffer, final @NonNull int[] xs, final @NonNull int[] ys, final @NonNull double[] horizontalRadii, final @NonNull double[] verticalRadii, final int offset, final int length) {
+        Objects.checkFromIndexSize(offset, length, xs.length);
+        Objects.checkFromIndexSize(offset, length, ys.length);
+        Objects.checkFromIndexSize(offset, length, horizontalRadii.length);
+        Objects.checkFromIndexSize(offset, length, verticalRadii.length);
+        requireRemaining(buffer, (long) length * ELLIPSE_BYTES, false);
+
+        for (int i = offset ; i < offset + length ; i++) {
+            xs[i] = buffer.getInt();
+            ys[i] = buffer.getInt();
+            horizontalRadii[i] = buffer.getDouble();
+            verticalRadii[i] = buffer.getDouble();
+        }
+    }
+
+    /**
+     * Reads the number of vertices at the start of a polyline or polygon
+     * record, after checking that the buffer holds the whole record.
+     *
+     * @param buffer
+     *          The buffer to read from.
+     *
+     * @return
+     *          The number of vertices.
+     *
+     * @throws BufferUnderflowException
+     *          If the buffer does not have enough data.
+     *
+     * @throws IllegalArgumentException
+     *          If the record has no vertices.
+     */
+    private static int readVertexCount(final ByteBuffer buffer) {
+        requireRemaining(buffer, VERTEX_COUNT_BYTES, false);
+
+        final int count = buffer.getInt(buffer.position());
+        Polyline.requireVertices(count);
+        requireRemaining(buffer, VERTEX_COUNT_BYTES + (long) count * POINT_BYTES, false);
+
+        buffer.position(buffer.position() + VERTEX_COUNT_BYTES);
+        return count;
+    }
+
+    /**
+     * Reads the vertices of a polyline or polygon record.
+     *
+     * @param buffer
+     *          The buffer to read from, which must hold the vertices.
+     *
+     * @param count
+     *          The number of vertices.
+     *
+     * @return
+     *          The vertices, packed as consecutive x and y coordinates.
+     */
+    private static int[] readVertices(final ByteBuffer buffer, final int count) {
+        final var coordinates = new int[count * 2];
+        buffer.asIntBuffer().get(coordinates);
+        buffer.position(buffer.position() + count * POINT_BYTES);
+        return coordinates;
+    }
+
+    /**
+     * Throws an exception if a record count is negative.
+     *
+     * @param count
+     *          The count.
+     *
+     * @throws IllegalArgumentException
+     *          If the count is negative.
+     */
+    private static void requireCount(final int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("The count cannot be negative.");
+        }
+    }
+
+    /**
+     * Throws an exception if a buffer does not have enough bytes remaining.
+     *
+     * @param buffer
+     *          The buffer.
+     *
+     * @param bytes
+     *          The number of bytes required.
+     *
+     * @param isWrite
+     *          Whether the bytes are to be written, rather than read.
+     *
+     * @throws BufferOverflowException
+     *          If the bytes are to be written, and there is not enough space.
+     *
+     * @throws BufferUnderflowException
+     *          If the bytes are to be read, and there is not enough data.
+     */
+    private static void requireRemaining(final ByteBuffer buffer, final long bytes, final boolean isWrite) {
+        if (buffer.remaining() < bytes) {
+            throw isWrite ? new BufferOverflowException() : new BufferUnderflowException();
+        }
+    }
+}
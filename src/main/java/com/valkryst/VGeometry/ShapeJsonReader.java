@@ -0,0 +1,1041 @@
+package com.valkryst.VGeometry;
+
+import lombok.NonNull;
+import org.json.JSONException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads shapes from JSON, incrementally, without building a
+ * {@link org.json.JSONObject} for each shape.
+ *
+ * The input uses the same fields as the {@code toJson} method of each shape.
+ * The fields of an object may be in any order, and unknown fields are
+ * skipped. Shapes can be read into existing instances, so that a large array
+ * can be processed without allocating a shape per element:
+ *
+ * <pre>{@code
+ * final var line = new Line();
+ *
+ * reader.beginArray();
+ * while (reader.hasNext()) {
+ *     reader.readLine(line);
+ * }
+ * reader.endArray();
+ * }</pre>
+ *
+ * This class is not thread-safe.
+ */
+public class ShapeJsonReader implements Closeable {
+    /** The reader to read from. */
+    private final Reader reader;
+
+    /** The buffered characters. */
+    private final char[] buffer = new char[8192];
+    /** The position of the next character in the buffer. */
+    private int position = 0;
+    /** The number of characters in the buffer. */
+    private int limit = 0;
+    /** The number of characters before the start of the buffer. */
+    private long offset = 0;
+
+    /** The characters of the most recently read key, string, or number. */
+    private char[] token = new char[32];
+    /** The number of characters in the token. */
+    private int tokenLength = 0;
+
+    /** Whether each open array has had any elements read. */
+    private boolean[] hasElements = new boolean[8];
+    /** The number of open arrays. */
+    private int depth = 0;
+
+    /** The coordinates of the most recently read point. */
+    private final Point scratch = new Point();
+    /** The vertices of the most recently read polyline or polygon, packed as consecutive x and y coordinates. */
+    private int[] vertices = new int[32];
+
+    /**
+     * Constructs a new reader.
+     *
+     * @param reader
+     *          The reader to read from.
+     */
+    public ShapeJsonReader(final @NonNull Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Constructs a new reader, which reads UTF-8 from a stream.
+     *
+     * @param inputStream
+     *          The stream to read from.
+     */
+    public ShapeJsonReader(final @NonNull InputStream inputStream) {
+        this(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Begins reading an array.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not an array.
+     */
+    public void beginArray() throws IOException {
+        beginValue();
+        expect('[');
+
+        if (depth == hasElements.length) {
+            hasElements = Arrays.copyOf(hasElements, depth * 2);
+        }
+
+        hasElements[depth++] = false;
+    }
+
+    /**
+     * Determines whether the current array has another element.
+     *
+     * @return
+     *          Whether the current array has another element.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If there is no array to read from.
+     */
+    public boolean hasNext() throws IOException {
+        if (depth == 0) {
+            throw new JSONException("There is no array to read from.");
+        }
+
+        final int next = peekNonWhitespace();
+        return next != ']' && next != -1;
+    }
+
+    /**
+     * Ends reading the current array.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If there is no array to end, or if the array has more elements.
+     */
+    public void endArray() throws IOException {
+        if (depth == 0) {
+            throw new JSONException("There is no array to end.");
+        }
+
+        expect(']');
+        depth--;
+    }
+
+    /**
+     * Reads a point.
+     *
+     * @return
+     *          The point.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a point.
+     */
+    public Point readPoint() throws IOException {
+        return readPoint(new Point());
+    }
+
+    /**
+     * Reads a point into an existing point.
+     *
+     * @param point
+     *          The point to read into.
+     *
+     * @return
+     *          The point.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a point.
+     */
+    public Point readPoint(final @NonNull Point point) throws IOException {
+        beginValue();
+        readPointFields();
+        point.set(scratch);
+        return point;
+    }
+
+    /**
+     * Reads a line.
+     *
+     * @return
+     *          The line.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a line.
+     */
+    public Line readLine() throws IOException {
+        return readLine(new Line());
+    }
+
+    /**
+     * Reads a line into an existing line.
+     *
+     * @param line
+     *          The line to read into.
+     *
+     * @return
+     *          The line.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a line.
+     */
+    public Line readLine(final @NonNull Line line) throws IOException {
+        beginValue();
+        expect('{');
+
+        int startX = 0;
+        int startY = 0;
+        int endX = 0;
+        int endY = 0;
+        boolean hasStartPoint = false;
+        boolean hasEndPoint = false;
+
+        if (!consumeIf('}')) {
+            do {
+                readKey();
+
+                if (isToken("startPoint")) {
+                    readPointFields();
+                    startX = scratch.getX();
+                    startY = scratch.getY();
+                    hasStartPoint = true;
+                } else if (isToken("endPoint")) {
+                    readPointFields();
+                    endX = scratch.getX();
+                    endY = scratch.getY();
+                    hasEndPoint = true;
+                } else {
+                    skipValue();
+                }
+            } while (consumeIf(','));
+
+            expect('}');
+        }
+
+        requireField(hasStartPoint, "startPoint");
+        requireField(hasEndPoint, "endPoint");
+
+        line.set(startX, startY, endX, endY);
+        return line;
+    }
+
+    /**
+     * Reads a circle.
+     *
+     * @return
+     *          The circle.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a circle.
+     */
+    public Circle readCircle() throws IOException {
+        return readCircle(new Circle());
+    }
+
+    /**
+     * Reads a circle into an existing circle.
+     *
+     * @param circle
+     *          The circle to read into.
+     *
+     * @return
+     *          The circle.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a circle.
+     */
+    public Circle readCircle(final @NonNull Circle circle) throws IOException {
+        beginValue();
+        expect('{');
+
+        int x = 0;
+        int y = 0;
+        double radius = 0;
+        boolean hasMidpoint = false;
+        boolean hasRadius = false;
+
+        if (!consumeIf('}')) {
+            do {
+                readKey();
+
+                if (isToken("midpoint")) {
+                    readPointFields();
+                    x = scratch.getX();
+                    y = scratch.getY();
+                    hasMidpoint = true;
+                } else if (isToken("radius")) {
+                    radius = readDouble();
+                    hasRadius = true;
+                } else {
+                    skipValue();
+                }
+            } while (consumeIf(','));
+
+            expect('}');
+        }
+
+        requireField(hasMidpoint, "midpoint");
+        requireField(hasRadius, "radius");
+
+        circle.set(x, y, radius);
+        return circle;
+    }
+
+    /**
+     * Reads an ellipse.
+     *
+     * @return
+     *          The ellipse.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not an ellipse.
+     */
+    public Ellipse readEllipse() throws IOException {
+        return readEllipse(new Ellipse());
+    }
+
+    /**
+     * Reads an ellipse into an existing ellipse.
+     *
+     * @param ellipse
+     *          The ellipse to read into.
+     *
+     * @return
+     *          The ellipse.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not an ellipse.
+     */
+    public Ellipse readEllipse(final @NonNull Ellipse ellipse) throws IOException {
+        beginValue();
+        expect('{');
+
+        int x = 0;
+        int y = 0;
+        double horizontalRadius = 0;
+        double verticalRadius = 0;
+        boolean hasMidpoint = false;
+        boolean hasHorizontalRadius = false;
+        boolean hasVerticalRadius = false;
+
+        if (!consumeIf('}')) {
+            do {
+                readKey();
+
+                if (isToken("midpoint")) {
+                    readPointFields();
+                    x = scratch.getX();
+                    y = scratch.getY();
+                    hasMidpoint = true;
+                } else if (isToken("horizontalRadius")) {
+                    horizontalRadius = readDouble();
+                    hasHorizontalRadius = true;
+                } else if (isToken("verticalRadius")) {
+                    verticalRadius = readDouble();
+                    hasVerticalRadius = true;
+                } else {
+                    skipValue();
+                }
+            } while (consumeIf(','));
+
+            expect('}');
+        }
+
+        requireField(hasMidpoint, "midpoint");
+        requireField(hasHorizontalRadius, "horizontalRadius");
+        requireField(hasVerticalRadius, "verticalRadius");
+
+        ellipse.set(x, y, horizontalRadius, verticalRadius);
+        return ellipse;
+    }
+
+    /**
+     * Reads a polyline.
+     *
+     * @return
+     *          The polyline.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a polyline.
+     *
+     * @throws IllegalArgumentException
+     *          If the polyline has no vertices.
+     */
+    public Polyline readPolyline() throws IOException {
+        final int count = readVerticesObject();
+        return new Polyline(vertices, count);
+    }
+
+    /**
+     * Reads a polyline into an existing polyline.
+     *
+     * @param polyline
+     *          The polyline to read into.
+     *
+     * @return
+     *          The polyline.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a polyline.
+     *
+     * @throws IllegalArgumentException
+     *          If the polyline has no vertices.
+     */
+    public Polyline readPolyline(final @NonNull Polyline polyline) throws IOException {
+        final int count = readVerticesObject();
+        polyline.setVertices(vertices, count);
+        return polyline;
+    }
+
+    /**
+     * Reads a polygon.
+     *
+     * @return
+     *          The polygon.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a polygon.
+     *
+     * @throws IllegalArgumentException
+     *          If the polygon has no vertices.
+     */
+    public Polygon readPolygon() throws IOException {
+        final int count = readVerticesObject();
+        return new Polygon(vertices, count);
+    }
+
+    /**
+     * Reads a polygon into an existing polygon.
+     *
+     * @param polygon
+     *          The polygon to read into.
+     *
+     * @return
+     *          The polygon.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a polygon.
+     *
+     * @throws IllegalArgumentException
+     *          If the polygon has no vertices.
+     */
+    public Polygon readPolygon(final @NonNull Polygon polygon) throws IOException {
+        final int count = readVerticesObject();
+        polygon.setVertices(vertices, count);
+        return polygon;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Consumes the comma which separates a value from the previous element of
+     * the current array, if necessary.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    private void beginValue() throws IOException {
+        if (depth == 0) {
+            return;
+        }
+
+        if (hasElements[depth - 1]) {
+            expect(',');
+        } else {
+            hasElements[depth - 1] = true;
+        }
+    }
+
+    /**
+     * Reads the fields of a point into the scratch point.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a point.
+     */
+    private void readPointFields() throws IOException {
+        expect('{');
+
+        int x = 0;
+        int y = 0;
+        boolean hasX = false;
+        boolean hasY = false;
+
+        if (!consumeIf('}')) {
+            do {
+                readKey();
+
+                if (isToken("x")) {
+                    x = readInt();
+                    hasX = true;
+                } else if (isToken("y")) {
+                    y = readInt();
+                    hasY = true;
+                } else {
+                    skipValue();
+                }
+            } while (consumeIf(','));
+
+            expect('}');
+        }
+
+        requireField(hasX, "x");
+        requireField(hasY, "y");
+
+        scratch.set(x, y);
+    }
+
+    /**
+     * Reads an object with a field of vertices, such as a polyline or
+     * polygon, into the vertex array.
+     *
+     * @return
+     *          The number of vertices.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not an object with a field of vertices.
+     */
+    private int readVerticesObject() throws IOException {
+        beginValue();
+        expect('{');
+
+        int count = 0;
+        boolean hasVertices = false;
+
+        if (!consumeIf('}')) {
+            do {
+                readKey();
+
+                if (isToken("vertices")) {
+                    count = 0;
+                    expect('[');
+
+                    if (!consumeIf(']')) {
+                        do {
+                            readPointFields();
+
+                            if (count * 2 == vertices.length) {
+                                vertices = Arrays.copyOf(vertices, vertices.length * 2);
+                            }
+
+                            vertices[count * 2] = scratch.getX();
+                            vertices[count * 2 + 1] = scratch.getY();
+                            count++;
+                        } while (consumeIf(','));
+
+                        expect(']');
+                    }
+
+                    hasVertices = true;
+                } else {
+                    skipValue();
+                }
+            } while (consumeIf(','));
+
+            expect('}');
+        }
+
+        requireField(hasVertices, "vertices");
+        return count;
+    }
+
+    /**
+     * Throws an exception if a field is missing.
+     *
+     * @param isPresent
+     *          Whether the field is present.
+     *
+     * @param name
+     *          The name of the field.
+     *
+     * @throws JSONException
+     *          If the field is missing.
+     */
+    private static void requireField(final boolean isPresent, final String name) {
+        if (!isPresent) {
+            throw new JSONException("JSONObject[\"" + name + "\"] not found.");
+        }
+    }
+
+    /**
+     * Reads a key, and the colon which follows it, into the token.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a key.
+     */
+    private void readKey() throws IOException {
+        expect('"');
+        readString();
+        expect(':');
+    }
+
+    /**
+     * Reads an int, which may be written as any number or numeric string.
+     *
+     * Fractions are truncated, as they are by {@link org.json.JSONObject#getInt(String)}.
+     *
+     * @return
+     *          The int.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a number, or is outside the range of
+     *          an int.
+     */
+    private int readInt() throws IOException {
+        readNumber();
+
+        final long value;
+        if (isIntegerToken()) {
+            value = parseIntegerToken();
+        } else {
+            final double number = parseDoubleToken();
+            value = Double.isFinite(number) ? (long) number : Long.MAX_VALUE;
+        }
+
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw syntaxError("The value " + new String(token, 0, tokenLength) + " is not an int");
+        }
+
+        return (int) value;
+    }
+
+    /**
+     * Reads a double, which may be written as any number or numeric string.
+     *
+     * @return
+     *          The double.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a number.
+     */
+    private double readDouble() throws IOException {
+        readNumber();
+
+        // Short integers are exactly representable, so they're parsed without allocating.
+        if (isIntegerToken() && tokenLength <= 16) {
+            return parseIntegerToken();
+        }
+
+        return parseDoubleToken();
+    }
+
+    /**
+     * Reads a number, or a string which contains a number, into the token.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next value is not a number.
+     */
+    private void readNumber() throws IOException {
+        if (consumeIf('"')) {
+            readString();
+            return;
+        }
+
+        tokenLength = 0;
+        for (int next = peek() ; next != -1 && isNumberCharacter((char) next) ; next = peek()) {
+            appendToToken((char) next);
+            position++;
+        }
+
+        if (tokenLength == 0) {
+            throw syntaxError("Expected a number");
+        }
+    }
+
+    /**
+     * Determines whether the token is an optionally signed sequence of digits.
+     *
+     * @return
+     *          Whether the token is an integer.
+     */
+    private boolean isIntegerToken() {
+        final int start = tokenLength > 0 && token[0] == '-' ? 1 : 0;
+        if (start == tokenLength || tokenLength - start > 18) {
+            return false;
+        }
+
+        for (int i = start ; i < tokenLength ; i++) {
+            if (token[i] < '0' || token[i] > '9') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Parses the token as an integer.
+     *
+     * @return
+     *          The integer.
+     */
+    private long parseIntegerToken() {
+        final boolean isNegative = token[0] == '-';
+        long value = 0;
+
+        for (int i = isNegative ? 1 : 0 ; i < tokenLength ; i++) {
+            value = value * 10 + (token[i] - '0');
+        }
+
+        return isNegative ? -value : value;
+    }
+
+    /**
+     * Parses the token as a double.
+     *
+     * @return
+     *          The double.
+     *
+     * @throws JSONException
+     *          If the token is not a number.
+     */
+    private double parseDoubleToken() {
+        final var string = new String(token, 0, tokenLength);
+
+        try {
+            return Double.parseDouble(string);
+        } catch (final NumberFormatException e) {
+            throw syntaxError("The value " + string + " is not a number");
+        }
+    }
+
+    /**
+     * Determines whether a character may be part of a number.
+     *
+     * @param character
+     *          The character.
+     *
+     * @return
+     *          Whether the character may be part of a number.
+     */
+    private static boolean isNumberCharacter(final char character) {
+        return (character >= '0' && character <= '9') || character == '-' || character == '+' || character == '.' || character == 'e' || character == 'E';
+    }
+
+    /**
+     * Reads the rest of a string, whose opening quote has been consumed, into
+     * the token.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the string is not terminated, or has an invalid escape.
+     */
+    private void readString() throws IOException {
+        tokenLength = 0;
+
+        while (true) {
+            final int next = read();
+
+            if (next == -1) {
+                throw syntaxError("Unterminated string");
+            }
+
+            if (next == '"') {
+                return;
+            }
+
+            if (next != '\\') {
+                appendToToken((char) next);
+                continue;
+            }
+
+            final int escaped = read();
+            switch (escaped) {
+                case 'b' -> appendToToken('\b');
+                case 'f' -> appendToToken('\f');
+                case 'n' -> appendToToken('\n');
+                case 'r' -> appendToToken('\r');
+                case 't' -> appendToToken('\t');
+                case '"', '\\', '/' -> appendToToken((char) escaped);
+                case 'u' -> {
+                    int codeUnit = 0;
+                    for (int i = 0 ; i < 4 ; i++) {
+                        final int digit = Character.digit(read(), 16);
+                        if (digit == -1) {
+                            throw syntaxError("Illegal escape");
+                        }
+                        codeUnit = codeUnit * 16 + digit;
+                    }
+                    appendToToken((char) codeUnit);
+                }
+                default -> throw syntaxError("Illegal escape");
+            }
+        }
+    }
+
+    /**
+     * Skips the next value, of any type.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the value is malformed.
+     */
+    private void skipValue() throws IOException {
+        int nesting = 0;
+
+        do {
+            final int next = peekNonWhitespace();
+
+            switch (next) {
+                case -1 -> throw syntaxError("Unexpected end of input");
+                case '"' -> {
+                    position++;
+                    readString();
+                }
+                case '{', '[' -> {
+                    position++;
+                    nesting++;
+                }
+                case '}', ']' -> {
+                    if (nesting == 0) {
+                        throw syntaxError("Expected a value");
+                    }
+                    position++;
+                    nesting--;
+                }
+                case ',', ':' -> {
+                    if (nesting == 0) {
+                        throw syntaxError("Expected a value");
+                    }
+                    position++;
+                }
+                default -> {
+                    // Numbers and literals are skipped up to the next delimiter.
+                    int character = peek();
+                    while (character != -1 && ",:]}\"{[".indexOf(character) == -1 && !Character.isWhitespace(character)) {
+                        position++;
+                        character = peek();
+                    }
+                }
+            }
+        } while (nesting > 0);
+    }
+
+    /**
+     * Determines whether the token is equal to a string.
+     *
+     * @param string
+     *          The string.
+     *
+     * @return
+     *          Whether the token is equal to the string.
+     */
+    private boolean isToken(final String string) {
+        if (tokenLength != string.length()) {
+            return false;
+        }
+
+        for (int i = 0 ; i < tokenLength ; i++) {
+            if (token[i] != string.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Appends a character to the token.
+     *
+     * @param character
+     *          The character.
+     */
+    private void appendToToken(final char character) {
+        if (tokenLength == token.length) {
+            token = Arrays.copyOf(token, tokenLength * 2);
+        }
+
+        token[tokenLength++] = character;
+    }
+
+    /**
+     * Consumes the next non-whitespace character, which must be a specific
+     * character.
+     *
+     * @param expected
+     *          The expected character.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the next character is not the expected character.
+     */
+    private void expect(final char expected) throws IOException {
+        if (!consumeIf(expected)) {
+            throw syntaxError("Expected '" + expected + "'");
+        }
+    }
+
+    /**
+     * Consumes the next non-whitespace character, if it is a specific
+     * character.
+     *
+     * @param expected
+     *          The expected character.
+     *
+     * @return
+     *          Whether the character was consumed.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    private boolean consumeIf(final char expected) throws IOException {
+        if (peekNonWhitespace() == expected) {
+            position++;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Skips whitespace, and retrieves the next character without consuming
+     * it.
+     *
+     * @return
+     *          The next character, or -1 if the end of the input was reached.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    private int peekNonWhitespace() throws IOException {
+        int next = peek();
+
+        while (next == ' ' || next == '\t' || next == '\n' || next == '\r') {
+            position++;
+            next = peek();
+        }
+
+        return next;
+    }
+
+    /**
+     * Consumes the next character.
+     *
+     * @return
+     *          The character, or -1 if the end of the input was reached.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    private int read() throws IOException {
+        final int next = peek();
+
+        if (next != -1) {
+            position++;
+        }
+
+        return next;
+    }
+
+    /**
+     * Retrieves the next character, without consuming it.
+     *
+     * @return
+     *          The character, or -1 if the end of the input was reached.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    private int peek() throws IOException {
+        if (position == limit) {
+            offset += limit;
+            position = 0;
+            limit = Math.max(0, reader.read(buffer, 0, buffer.length));
+
+            if (limit == 0) {
+                return -1;
+            }
+        }
+
+        return buffer[position];
+    }
+
+    /**
+     * Constructs an exception which describes a syntax error at the current
+     * position.
+     *
+     * @param message
+     *          The description of the error.
+     *
+     * @return
+     *          The exception.
+     */
+    private JSONException syntaxError(final String message) {
+        return new JSONException(message + " at character " + (offset + position) + ".");
+    }
+}
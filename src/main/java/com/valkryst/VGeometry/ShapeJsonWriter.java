@@ -0,0 +1,340 @@
+package com.valkryst.VGeometry;
+
+import lombok.NonNull;
+import org.json.JSONException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes shapes as JSON, straight to a stream, without building a
+ * {@link org.json.JSONObject} for each shape.
+ *
+ * The output uses the same fields as the {@code toJson} method of each shape,
+ * so it can be read by either the shapes' JSON constructors or a
+ * {@link ShapeJsonReader}. Commas between the elements of an array are
+ * written automatically.
+ *
+ * This class is not thread-safe.
+ */
+public class ShapeJsonWriter implements Closeable, Flushable {
+    /** The writer to write to. */
+    private final Writer writer;
+
+    /** A scratch buffer, used to format integers. */
+    private final char[] digits = new char[20];
+
+    /** Whether each open array has any elements. */
+    private boolean[] hasElements = new boolean[8];
+    /** The number of open arrays. */
+    private int depth = 0;
+
+    /**
+     * Constructs a new writer.
+     *
+     * @param writer
+     *          The writer to write to.
+     */
+    public ShapeJsonWriter(final @NonNull Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Constructs a new writer, which writes UTF-8 to a stream.
+     *
+     * @param outputStream
+     *          The stream to write to.
+     */
+    public ShapeJsonWriter(final @NonNull OutputStream outputStream) {
+        this(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Begins a new array.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    public void beginArray() throws IOException {
+        beginValue();
+
+        if (depth == hasElements.length) {
+            hasElements = Arrays.copyOf(hasElements, depth * 2);
+        }
+
+        hasElements[depth++] = false;
+        writer.write('[');
+    }
+
+    /**
+     * Ends the current array.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If there is no array to end.
+     */
+    public void endArray() throws IOException {
+        if (depth == 0) {
+            throw new JSONException("There is no array to end.");
+        }
+
+        depth--;
+        writer.write(']');
+    }
+
+    /**
+     * Writes a point.
+     *
+     * @param point
+     *          The point.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    public void write(final @NonNull Point point) throws IOException {
+        write(point.getX(), point.getY());
+    }
+
+    /**
+     * Writes a point.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    public void write(final int x, final int y) throws IOException {
+        beginValue();
+        writePoint(x, y);
+    }
+
+    /**
+     * Writes every point in a buffer, as consecutive values.
+     *
+     * @param buffer
+     *          The buffer.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    public void write(final @NonNull PointBuffer buffer) throws IOException {
+        for (int i = 0 ; i < buffer.getSize() ; i++) {
+            write(buffer.getX(i), buffer.getY(i));
+        }
+    }
+
+    /**
+     * Writes a line.
+     *
+     * @param line
+     *          The line.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    public void write(final @NonNull Line line) throws IOException {
+        beginValue();
+        writer.write("{\"startPoint\":");
+        writePoint(line.getStartPoint().getX(), line.getStartPoint().getY());
+        writer.write(",\"endPoint\":");
+        writePoint(line.getEndPoint().getX(), line.getEndPoint().getY());
+        writer.write('}');
+    }
+
+    /**
+     * Writes a circle.
+     *
+     * @param circle
+     *          The circle.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the radius is not finite.
+     */
+    public void write(final @NonNull Circle circle) throws IOException {
+        beginValue();
+        writer.write("{\"midpoint\":");
+        writePoint(circle.getMidpoint().getX(), circle.getMidpoint().getY());
+        writer.write(",\"radius\":");
+        writeDouble(circle.getRadius());
+        writer.write('}');
+    }
+
+    /**
+     * Writes an ellipse.
+     *
+     * @param ellipse
+     *          The ellipse.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If either radius is not finite.
+     */
+    public void write(final @NonNull Ellipse ellipse) throws IOException {
+        beginValue();
+        writer.write("{\"midpoint\":");
+        writePoint(ellipse.getMidpoint().getX(), ellipse.getMidpoint().getY());
+        writer.write(",\"horizontalRadius\":");
+        writeDouble(ellipse.getHorizontalRadius());
+        writer.write(",\"verticalRadius\":");
+        writeDouble(ellipse.getVerticalRadius());
+        writer.write('}');
+    }
+
+    /**
+     * Writes a polyline.
+     *
+     * @param polyline
+     *          The polyline.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    public void write(final @NonNull Polyline polyline) throws IOException {
+        beginValue();
+        writer.write("{\"vertices\":[");
+        for (int i = 0 ; i < polyline.getVertexCount() ; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writePoint(polyline.getX(i), polyline.getY(i));
+        }
+        writer.write("]}");
+    }
+
+    /**
+     * Writes a polygon.
+     *
+     * @param polygon
+     *          The polygon.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    public void write(final @NonNull Polygon polygon) throws IOException {
+        beginValue();
+        writer.write("{\"vertices\":[");
+        for (int i = 0 ; i < polygon.getVertexCount() ; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writePoint(polygon.getX(i), polygon.getY(i));
+        }
+        writer.write("]}");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Writes the comma which separates a value from the previous element of
+     * the current array, if necessary.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    private void beginValue() throws IOException {
+        if (depth == 0) {
+            return;
+        }
+
+        if (hasElements[depth - 1]) {
+            writer.write(',');
+        } else {
+            hasElements[depth - 1] = true;
+        }
+    }
+
+    /**
+     * Writes the fields of a point, as an object.
+     *
+     * @param x
+     *          The x coordinate.
+     *
+     * @param y
+     *          The y coordinate.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    private void writePoint(final int x, final int y) throws IOException {
+        writer.write("{\"x\":");
+        writeLong(x);
+        writer.write(",\"y\":");
+        writeLong(y);
+        writer.write('}');
+    }
+
+    /**
+     * Writes a double, in the same format as {@link org.json.JSONObject}.
+     *
+     * @param value
+     *          The value.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     *
+     * @throws JSONException
+     *          If the value is not finite.
+     */
+    private void writeDouble(final double value) throws IOException {
+        if (!Double.isFinite(value)) {
+            throw new JSONException("JSON does not allow non-finite numbers.");
+        }
+
+        // Whole numbers are written without a fraction, and without allocating.
+        if (value == (long) value && Math.abs(value) < 1e15) {
+            writeLong((long) value);
+        } else {
+            writer.write(Double.toString(value));
+        }
+    }
+
+    /**
+     * Writes a long, without allocating.
+     *
+     * @param value
+     *          The value.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    private void writeLong(final long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writer.write(Long.toString(value));
+            return;
+        }
+
+        long remaining = Math.abs(value);
+        int start = digits.length;
+
+        do {
+            digits[--start] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+
+        if (value < 0) {
+            digits[--start] = '-';
+        }
+
+        writer.write(digits, start, digits.length - start);
+    }
+}
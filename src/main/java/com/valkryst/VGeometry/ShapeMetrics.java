@@ -0,0 +1,211 @@
+package com.valkryst.VGeometry;
+
+import lombok.NonNull;
+
+import java.util.Objects;
+
+/**
+ * Computes the metrics of many circles or ellipses at once, from packed
+ * arrays of their radii.
+ *
+ * When the {@code jdk.incubator.vector} module is available, for example when
+ * the JVM is started with {@code --add-modules jdk.incubator.vector}, the
+ * metrics are computed with the Vector API. Otherwise, they're computed one at
+ * a time.
+ *
+ * Either way, each metric is computed with the same operations, in the same
+ * order, as the getters of {@link Circle} and {@link Ellipse}, so the results
+ * currently equal those of the getters. Callers should only rely on them being
+ * within a relative error of {@code 1e-12} of the getters, though.
+ */
+public final class ShapeMetrics {
+    /** Whether the Vector API is available. */
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    /** The kernels used to compute the metrics. */
+    private static final MetricsKernels KERNELS = VECTORIZED ? new VectorMetricsKernels() : new ScalarMetricsKernels();
+
+    private ShapeMetrics() {}
+
+    /**
+     * Calculates the areas of circles.
+     *
+     * @param radii
+     *          The radii.
+     *
+     * @param areas
+     *          The array to store the areas in.
+     *
+     * @param count
+     *          The number of circles.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the count is negative, or if either array is shorter than the count.
+     */
+    public static void circleAreas(final @NonNull double[] radii, final @NonNull double[] areas, final int count) {
+        Objects.checkFromIndexSize(0, count, radii.length);
+        Objects.checkFromIndexSize(0, count, areas.length);
+        KERNELS.circleAreas(radii, areas, count);
+    }
+
+    /**
+     * Calculates the circumferences of circles.
+     *
+     * @param radii
+     *          The radii.
+     *
+     * @param circumferences
+     *          The array to store the circumferences in.
+     *
+     * @param count
+     *          The number of circles.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the count is negative, or if either array is shorter than the count.
+     */
+    public static void circleCircumferences(final @NonNull double[] radii, final @NonNull double[] circumferences, final int count) {
+        Objects.checkFromIndexSize(0, count, radii.length);
+        Objects.checkFromIndexSize(0, count, circumferences.length);
+        KERNELS.circleCircumferences(radii, circumferences, count);
+    }
+
+    /**
+     * Determines which circles contain a point.
+     *
+     * A circle contains a point when the point is within, or on, the circle.
+     *
+     * @param midpointXs
+     *          The x coordinates of the midpoints.
+     *
+     * @param midpointYs
+     *          The y coordinates of the midpoints.
+     *
+     * @param radii
+     *          The radii.
+     *
+     * @param count
+     *          The number of circles.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @param results
+     *          The array to store whether each circle contains the point in.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the count is negative, or if any array is shorter than the count.
+     */
+    public static void circlesContain(final @NonNull int[] midpointXs, final @NonNull int[] midpointYs, final @NonNull double[] radii, final int count, final int x, final int y, final @NonNull boolean[] results) {
+        Objects.checkFromIndexSize(0, count, midpointXs.length);
+        Objects.checkFromIndexSize(0, count, midpointYs.length);
+        Objects.checkFromIndexSize(0, count, radii.length);
+        Objects.checkFromIndexSize(0, count, results.length);
+        KERNELS.circlesContain(midpointXs, midpointYs, radii, count, x, y, results);
+    }
+
+    /**
+     * Determines which ellipses contain a point.
+     *
+     * An ellipse contains a point when the point is within, or on, the
+     * ellipse. If either radius of an ellipse is zero, then only the points on
+     * the segment, or point, that it degenerates to are contained.
+     *
+     * @param midpointXs
+     *          The x coordinates of the midpoints.
+     *
+     * @param midpointYs
+     *          The y coordinates of the midpoints.
+     *
+     * @param horizontalRadii
+     *          The horizontal radii.
+     *
+     * @param verticalRadii
+     *          The vertical radii.
+     *
+     * @param count
+     *          The number of ellipses.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @param results
+     *          The array to store whether each ellipse contains the point in.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the count is negative, or if any array is shorter than the count.
+     */
+    public static void ellipsesContain(final @NonNull int[] midpointXs, final @NonNull int[] midpointYs, final @NonNull double[] horizontalRadii, final @NonNull double[] verticalRadii, final int count, final int x, final int y, final @NonNull boolean[] results) {
+        Objects.checkFromIndexSize(0, count, midpointXs.length);
+        Objects.checkFromIndexSize(0, count, midpointYs.length);
+        Objects.checkFromIndexSize(0, count, horizontalRadii.length);
+        Objects.checkFromIndexSize(0, count, verticalRadii.length);
+        Objects.checkFromIndexSize(0, count, results.length);
+        KERNELS.ellipsesContain(midpointXs, midpointYs, horizontalRadii, verticalRadii, count, x, y, results);
+    }
+
+    /**
+     * Calculates the areas of ellipses.
+     *
+     * @param horizontalRadii
+     *          The horizontal radii.
+     *
+     * @param verticalRadii
+     *          The vertical radii.
+     *
+     * @param areas
+     *          The array to store the areas in.
+     *
+     * @param count
+     *          The number of ellipses.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the count is negative, or if any array is shorter than the count.
+     */
+    public static void ellipseAreas(final @NonNull double[] horizontalRadii, final @NonNull double[] verticalRadii, final @NonNull double[] areas, final int count) {
+        Objects.checkFromIndexSize(0, count, horizontalRadii.length);
+        Objects.checkFromIndexSize(0, count, verticalRadii.length);
+        Objects.checkFromIndexSize(0, count, areas.length);
+        KERNELS.ellipseAreas(horizontalRadii, verticalRadii, areas, count);
+    }
+
+    /**
+     * Calculates the circumferences of ellipses, using Ramanujan's second
+     * approximation.
+     *
+     * @param horizontalRadii
+     *          The horizontal radii.
+     *
+     * @param verticalRadii
+     *          The vertical radii.
+     *
+     * @param circumferences
+     *          The array to store the circumferences in.
+     *
+     * @param count
+     *          The number of ellipses.
+     *
+     * @throws IndexOutOfBoundsException
+     *          If the count is negative, or if any array is shorter than the count.
+     */
+    public static void ellipseCircumferences(final @NonNull double[] horizontalRadii, final @NonNull double[] verticalRadii, final @NonNull double[] circumferences, final int count) {
+        Objects.checkFromIndexSize(0, count, horizontalRadii.length);
+        Objects.checkFromIndexSize(0, count, verticalRadii.length);
+        Objects.checkFromIndexSize(0, count, circumferences.length);
+        KERNELS.ellipseCircumferences(horizontalRadii, verticalRadii, circumferences, count);
+    }
+
+    /**
+     * Determines whether the metrics are computed with the Vector API.
+     *
+     * @return
+     *          Whether the metrics are computed with the Vector API.
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+}
@@ -0,0 +1,112 @@
+package com.valkryst.VGeometry;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * A pool of reusable shapes, so that loops which need short-lived shapes, such
+ * as a per-frame update, can reuse them rather than allocating new ones.
+ *
+ * A shape is returned by {@link #acquire()} in whatever state it was in when
+ * it was released, so every property should be set after acquiring it, with
+ * a setter such as {@link Line#set(int, int, int, int)}. The pool does not
+ * remove the bounds listeners of a released shape.
+ *
+ * <pre>{@code
+ * final var pool = new ShapePool<>(Line::new, 64);
+ *
+ * final var line = pool.acquire();
+ * line.set(startX, startY, endX, endY);
+ * ...
+ * pool.release(line);
+ * }</pre>
+ *
+ * This class is not thread-safe.
+ *
+ * @param <T>
+ *          The type of shape.
+ */
+public class ShapePool<T> {
+    /** The factory which creates a shape when none are available. */
+    private final Supplier<? extends T> factory;
+
+    /** The shapes which are available to be acquired. */
+    private Object[] shapes;
+    /** The number of shapes which are available to be acquired. */
+    @Getter private int availableCount = 0;
+
+    /**
+     * Constructs a new, empty pool.
+     *
+     * @param factory
+     *          The factory which creates a shape when none are available.
+     */
+    public ShapePool(final @NonNull Supplier<? extends T> factory) {
+        this(factory, 0);
+    }
+
+    /**
+     * Constructs a new pool, and fills it with shapes.
+     *
+     * @param factory
+     *          The factory which creates a shape when none are available.
+     *
+     * @param initialCount
+     *          The number of shapes to create.
+     *
+     * @throws IllegalArgumentException
+     *          If the initial count is negative.
+     */
+    public ShapePool(final @NonNull Supplier<? extends T> factory, final int initialCount) {
+        if (initialCount < 0) {
+            throw new IllegalArgumentException("The initial count cannot be negative.");
+        }
+
+        this.factory = factory;
+        this.shapes = new Object[Math.max(16, initialCount)];
+
+        for (int i = 0 ; i < initialCount ; i++) {
+            shapes[i] = factory.get();
+        }
+        availableCount = initialCount;
+    }
+
+    /**
+     * Acquires a shape, creating one if none are available.
+     *
+     * @return
+     *          The shape.
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if (availableCount == 0) {
+            return factory.get();
+        }
+
+        availableCount--;
+        final var shape = (T) shapes[availableCount];
+        shapes[availableCount] = null;
+        return shape;
+    }
+
+    /**
+     * Releases a shape, so that it may be acquired again.
+     *
+     * The shape must not be used after it's released, and it must not be
+     * released more than once without being acquired in between.
+     *
+     * @param shape
+     *          The shape.
+     */
+    public void release(final @NonNull T shape) {
+        if (availableCount == shapes.length) {
+            shapes = Arrays.copyOf(shapes, shapes.length * 2);
+        }
+
+        shapes[availableCount] = shape;
+        availableCount++;
+    }
+}
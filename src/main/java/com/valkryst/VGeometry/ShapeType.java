@@ -0,0 +1,24 @@
+package com.valkryst.VGeometry;
+
+import lombok.Getter;
+
+/** The types of shape which can be stored as fixed-width records. */
+public enum ShapeType {
+    POINT(ShapeCodec.POINT_BYTES),
+    LINE(ShapeCodec.LINE_BYTES),
+    CIRCLE(ShapeCodec.CIRCLE_BYTES),
+    ELLIPSE(ShapeCodec.ELLIPSE_BYTES);
+
+    /** The number of bytes in a record. */
+    @Getter private final int recordBytes;
+
+    /**
+     * Constructs a new shape type.
+     *
+     * @param recordBytes
+     *          The number of bytes in a record.
+     */
+    ShapeType(final int recordBytes) {
+        this.recordBytes = recordBytes;
+    }
+}
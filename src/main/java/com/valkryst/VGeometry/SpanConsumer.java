@@ -0,0 +1,19 @@
+package com.valkryst.VGeometry;
+
+/** Represents an operation that accepts a horizontal span of cells. */
+@FunctionalInterface
+public interface SpanConsumer {
+    /**
+     * Performs this operation on the given span.
+     *
+     * @param y
+     *          The y coordinate of the span.
+     *
+     * @param startX
+     *          The x coordinate of the first cell in the span.
+     *
+     * @param endX
+     *          The x coordinate of the last cell in the span, inclusive.
+     */
+    void accept(final int y, final int startX, final int endX);
+}
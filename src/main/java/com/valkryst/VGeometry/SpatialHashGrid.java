@@ -0,0 +1,749 @@
+package com.valkryst.VGeometry;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A uniform grid of square cells, which indexes points and circles for range
+ * and radius queries.
+ *
+ * Each entry is identified by an integer handle, which is assigned when the
+ * entry is inserted and may be reused after the entry is removed. Only the
+ * cells which contain at least one entry are stored, so the grid is
+ * unbounded.
+ *
+ * Queries report the handles of matching entries to a callback, without
+ * allocating, and cost time proportional to the number of cells that they
+ * touch. This class is not thread-safe; not even concurrent queries.
+ */
+public class SpatialHashGrid {
+    /** The initial capacity of the per-entry and per-cell arrays. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The width and height of each cell. */
+    @Getter private final int cellSize;
+    /** The number of entries. */
+    @Getter private int size = 0;
+
+    /** Whether each handle is in use. */
+    private boolean[] entryUsed = new boolean[INITIAL_CAPACITY];
+    /** The x coordinate of each entry. */
+    private int[] entryX = new int[INITIAL_CAPACITY];
+    /** The y coordinate of each entry. */
+    private int[] entryY = new int[INITIAL_CAPACITY];
+    /** The radius of each entry, which is zero for points. */
+    private double[] entryRadius = new double[INITIAL_CAPACITY];
+    /** The lowest column of the cells that each entry occupies. */
+    private int[] entryMinColumn = new int[INITIAL_CAPACITY];
+    /** The lowest row of the cells that each entry occupies. */
+    private int[] entryMinRow = new int[INITIAL_CAPACITY];
+    /** The highest column of the cells that each entry occupies. */
+    private int[] entryMaxColumn = new int[INITIAL_CAPACITY];
+    /** The highest row of the cells that each entry occupies. */
+    private int[] entryMaxRow = new int[INITIAL_CAPACITY];
+    /** The query during which each entry was last reported. */
+    private int[] entryStamp = new int[INITIAL_CAPACITY];
+    /** The handles that have been released, and can be reused. */
+    private int[] freeHandles = new int[INITIAL_CAPACITY];
+    /** The number of released handles. */
+    private int freeHandleCount = 0;
+    /** The number of handles that have ever been assigned. */
+    private int handleCount = 0;
+    /** The identifier of the current query. */
+    private int stamp = 0;
+
+    /** Whether each slot of the cell table is in use. */
+    private boolean[] cellUsed = new boolean[INITIAL_CAPACITY];
+    /** The packed column and row of the cell in each slot of the cell table. */
+    private long[] cellKeys = new long[INITIAL_CAPACITY];
+    /** The first node of the cell in each slot of the cell table. */
+    private int[] cellHeads = new int[INITIAL_CAPACITY];
+    /** The number of used slots in the cell table. */
+    private int cellCount = 0;
+
+    /** The handle of the entry referenced by each node. */
+    private int[] nodeHandles = new int[INITIAL_CAPACITY];
+    /** The next node in the same cell as each node, or -1. */
+    private int[] nodeNext = new int[INITIAL_CAPACITY];
+    /** The first unused node, or -1. */
+    private int freeNode = -1;
+    /** The number of nodes that have ever been used. */
+    private int nodeCount = 0;
+
+    /**
+     * Constructs a new spatial hash grid.
+     *
+     * @param cellSize
+     *          The width and height of each cell.
+     *
+     * @throws IllegalArgumentException
+     *          If the cell size is not positive.
+     */
+    public SpatialHashGrid(final int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("The cell size must be positive.");
+        }
+
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Inserts a point.
+     *
+     * @param x
+     *          The x coordinate of the point.
+     *
+     * @param y
+     *          The y coordinate of the point.
+     *
+     * @return
+     *          The handle of the new entry.
+     */
+    public int insert(final int x, final int y) {
+        return insert(x, y, 0);
+    }
+
+    /**
+     * Inserts a point.
+     *
+     * @param point
+     *          The point.
+     *
+     * @return
+     *          The handle of the new entry.
+     */
+    public int insert(final @NonNull Point point) {
+        return insert(point.getX(), point.getY(), 0);
+    }
+
+    /**
+     * Inserts a circle.
+     *
+     * The grid stores a copy of the circle's midpoint and radius, so changes
+     * to the circle must be applied with {@link #move(int, Circle)}.
+     *
+     * @param circle
+     *          The circle.
+     *
+     * @return
+     *          The handle of the new entry.
+     */
+    public int insert(final @NonNull Circle circle) {
+        final var midpoint = circle.getMidpoint();
+        return insert(midpoint.getX(), midpoint.getY(), circle.getRadius());
+    }
+
+    /**
+     * Inserts a circle.
+     *
+     * @param x
+     *          The x coordinate of the midpoint of the circle.
+     *
+     * @param y
+     *          The y coordinate of the midpoint of the circle.
+     *
+     * @param radius
+     *          The radius of the circle.
+     *
+     * @return
+     *          The handle of the new entry.
+     */
+    public int insert(final int x, final int y, final double radius) {
+        final int handle = allocateHandle();
+        entryUsed[handle] = true;
+        entryStamp[handle] = stamp;
+        setEntry(handle, x, y, Math.abs(radius));
+        addToCells(handle);
+        size++;
+        return handle;
+    }
+
+    /**
+     * Moves a point, or the midpoint of a circle.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @param x
+     *          The new x coordinate.
+     *
+     * @param y
+     *          The new y coordinate.
+     *
+     * @throws IllegalArgumentException
+     *          If there is no entry with the handle.
+     */
+    public void move(final int handle, final int x, final int y) {
+        checkHandle(handle);
+        move(handle, x, y, entryRadius[handle]);
+    }
+
+    /**
+     * Moves a point.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @param point
+     *          The new position.
+     *
+     * @throws IllegalArgumentException
+     *          If there is no entry with the handle.
+     */
+    public void move(final int handle, final @NonNull Point point) {
+        move(handle, point.getX(), point.getY());
+    }
+
+    /**
+     * Moves, and resizes, a circle.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @param circle
+     *          The circle, with its new midpoint and radius.
+     *
+     * @throws IllegalArgumentException
+     *          If there is no entry with the handle.
+     */
+    public void move(final int handle, final @NonNull Circle circle) {
+        final var midpoint = circle.getMidpoint();
+        move(handle, midpoint.getX(), midpoint.getY(), circle.getRadius());
+    }
+
+    /**
+     * Moves, and resizes, a circle.
+     *
+     * Only the cells which the entry enters or leaves are updated, so moving
+     * an entry within its cells costs constant time.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @param x
+     *          The new x coordinate of the midpoint.
+     *
+     * @param y
+     *          The new y coordinate of the midpoint.
+     *
+     * @param radius
+     *          The new radius.
+     *
+     * @throws IllegalArgumentException
+     *          If there is no entry with the handle.
+     */
+    public void move(final int handle, final int x, final int y, final double radius) {
+        checkHandle(handle);
+
+        final int oldMinColumn = entryMinColumn[handle];
+        final int oldMinRow = entryMinRow[handle];
+        final int oldMaxColumn = entryMaxColumn[handle];
+        final int oldMaxRow = entryMaxRow[handle];
+
+        setEntry(handle, x, y, Math.abs(radius));
+
+        if (oldMinColumn == entryMinColumn[handle] && oldMinRow == entryMinRow[handle] && oldMaxColumn == entryMaxColumn[handle] && oldMaxRow == entryMaxRow[handle]) {
+            return;
+        }
+
+        for (long row = oldMinRow ; row <= oldMaxRow ; row++) {
+            for (long column = oldMinColumn ; column <= oldMaxColumn ; column++) {
+                if (!occupies(handle, (int) column, (int) row)) {
+                    removeFromCell(handle, (int) column, (int) row);
+                }
+            }
+        }
+
+        for (long row = entryMinRow[handle] ; row <= entryMaxRow[handle] ; row++) {
+            for (long column = entryMinColumn[handle] ; column <= entryMaxColumn[handle] ; column++) {
+                if (column < oldMinColumn || column > oldMaxColumn || row < oldMinRow || row > oldMaxRow) {
+                    addToCell(handle, (int) column, (int) row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @throws IllegalArgumentException
+     *          If there is no entry with the handle.
+     */
+    public void remove(final int handle) {
+        checkHandle(handle);
+
+        for (long row = entryMinRow[handle] ; row <= entryMaxRow[handle] ; row++) {
+            for (long column = entryMinColumn[handle] ; column <= entryMaxColumn[handle] ; column++) {
+                removeFromCell(handle, (int) column, (int) row);
+            }
+        }
+
+        entryUsed[handle] = false;
+        freeHandles[freeHandleCount++] = handle;
+        size--;
+    }
+
+    /**
+     * Determines whether an entry exists.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @return
+     *          Whether the entry exists.
+     */
+    public boolean contains(final int handle) {
+        return handle >= 0 && handle < handleCount && entryUsed[handle];
+    }
+
+    /** Removes every entry. */
+    public void clear() {
+        Arrays.fill(entryUsed, false);
+        Arrays.fill(cellUsed, false);
+        size = 0;
+        handleCount = 0;
+        freeHandleCount = 0;
+        cellCount = 0;
+        nodeCount = 0;
+        freeNode = -1;
+    }
+
+    /**
+     * Reports every entry which overlaps a rectangle.
+     *
+     * @param minX
+     *          The x coordinate of the left edge of the rectangle.
+     *
+     * @param minY
+     *          The y coordinate of the top edge of the rectangle.
+     *
+     * @param maxX
+     *          The x coordinate of the right edge of the rectangle, inclusive.
+     *
+     * @param maxY
+     *          The y coordinate of the bottom edge of the rectangle, inclusive.
+     *
+     * @param consumer
+     *          The consumer to pass the handle of each overlapping entry to.
+     *          Each handle is reported at most once.
+     */
+    public void queryRectangle(final int minX, final int minY, final int maxX, final int maxY, final @NonNull IntConsumer consumer) {
+        if (minX > maxX || minY > maxY) {
+            return;
+        }
+
+        final int queryStamp = nextStamp();
+        final int minRow = Math.floorDiv(minY, cellSize);
+        final int maxRow = Math.floorDiv(maxY, cellSize);
+        final int minColumn = Math.floorDiv(minX, cellSize);
+        final int maxColumn = Math.floorDiv(maxX, cellSize);
+
+        for (long row = minRow ; row <= maxRow ; row++) {
+            for (long column = minColumn ; column <= maxColumn ; column++) {
+                final int slot = findSlot(packCell((int) column, (int) row));
+                if (!cellUsed[slot]) {
+                    continue;
+                }
+
+                for (int node = cellHeads[slot] ; node != -1 ; node = nodeNext[node]) {
+                    final int handle = nodeHandles[node];
+                    if (entryStamp[handle] == queryStamp) {
+                        continue;
+                    }
+                    entryStamp[handle] = queryStamp;
+
+                    final double dx = Math.max(0, Math.max((double) minX - entryX[handle], (double) entryX[handle] - maxX));
+                    final double dy = Math.max(0, Math.max((double) minY - entryY[handle], (double) entryY[handle] - maxY));
+                    final double radius = entryRadius[handle];
+
+                    if (dx * dx + dy * dy <= radius * radius) {
+                        consumer.accept(handle);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports every entry which overlaps a circle.
+     *
+     * @param x
+     *          The x coordinate of the midpoint of the circle.
+     *
+     * @param y
+     *          The y coordinate of the midpoint of the circle.
+     *
+     * @param radius
+     *          The radius of the circle.
+     *
+     * @param consumer
+     *          The consumer to pass the handle of each overlapping entry to.
+     *          Each handle is reported at most once.
+     */
+    public void queryRadius(final int x, final int y, double radius, final @NonNull IntConsumer consumer) {
+        radius = Math.abs(radius);
+
+        final int queryStamp = nextStamp();
+        final int minRow = Math.floorDiv(clamp(Math.floor(y - radius)), cellSize);
+        final int maxRow = Math.floorDiv(clamp(Math.ceil(y + radius)), cellSize);
+        final int minColumn = Math.floorDiv(clamp(Math.floor(x - radius)), cellSize);
+        final int maxColumn = Math.floorDiv(clamp(Math.ceil(x + radius)), cellSize);
+
+        for (long row = minRow ; row <= maxRow ; row++) {
+            for (long column = minColumn ; column <= maxColumn ; column++) {
+                final int slot = findSlot(packCell((int) column, (int) row));
+                if (!cellUsed[slot]) {
+                    continue;
+                }
+
+                for (int node = cellHeads[slot] ; node != -1 ; node = nodeNext[node]) {
+                    final int handle = nodeHandles[node];
+                    if (entryStamp[handle] == queryStamp) {
+                        continue;
+                    }
+                    entryStamp[handle] = queryStamp;
+
+                    final double dx = (double) entryX[handle] - x;
+                    final double dy = (double) entryY[handle] - y;
+                    final double reach = radius + entryRadius[handle];
+
+                    if (dx * dx + dy * dy <= reach * reach) {
+                        consumer.accept(handle);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves an unused handle, growing the per-entry arrays if necessary.
+     *
+     * @return
+     *          The handle.
+     */
+    private int allocateHandle() {
+        if (freeHandleCount > 0) {
+            return freeHandles[--freeHandleCount];
+        }
+
+        if (handleCount == entryUsed.length) {
+            final int capacity = handleCount * 2;
+            entryUsed = Arrays.copyOf(entryUsed, capacity);
+            entryX = Arrays.copyOf(entryX, capacity);
+            entryY = Arrays.copyOf(entryY, capacity);
+            entryRadius = Arrays.copyOf(entryRadius, capacity);
+            entryMinColumn = Arrays.copyOf(entryMinColumn, capacity);
+            entryMinRow = Arrays.copyOf(entryMinRow, capacity);
+            entryMaxColumn = Arrays.copyOf(entryMaxColumn, capacity);
+            entryMaxRow = Arrays.copyOf(entryMaxRow, capacity);
+            entryStamp = Arrays.copyOf(entryStamp, capacity);
+            freeHandles = Arrays.copyOf(freeHandles, capacity);
+        }
+
+        return handleCount++;
+    }
+
+    /**
+     * Ensures that a handle refers to an entry.
+     *
+     * @param handle
+     *          The handle.
+     *
+     * @throws IllegalArgumentException
+     *          If there is no entry with the handle.
+     */
+    private void checkHandle(final int handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("There is no entry with the handle " + handle + ".");
+        }
+    }
+
+    /**
+     * Sets the position and radius of an entry, and recalculates the range of
+     * cells that it occupies.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @param x
+     *          The x coordinate.
+     *
+     * @param y
+     *          The y coordinate.
+     *
+     * @param radius
+     *          The radius.
+     */
+    private void setEntry(final int handle, final int x, final int y, final double radius) {
+        entryX[handle] = x;
+        entryY[handle] = y;
+        entryRadius[handle] = radius;
+        entryMinColumn[handle] = Math.floorDiv(clamp(Math.floor(x - radius)), cellSize);
+        entryMinRow[handle] = Math.floorDiv(clamp(Math.floor(y - radius)), cellSize);
+        entryMaxColumn[handle] = Math.floorDiv(clamp(Math.ceil(x + radius)), cellSize);
+        entryMaxRow[handle] = Math.floorDiv(clamp(Math.ceil(y + radius)), cellSize);
+    }
+
+    /**
+     * Determines whether an entry occupies a cell.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @param column
+     *          The column of the cell.
+     *
+     * @param row
+     *          The row of the cell.
+     *
+     * @return
+     *          Whether the entry occupies the cell.
+     */
+    private boolean occupies(final int handle, final int column, final int row) {
+        return column >= entryMinColumn[handle] && column <= entryMaxColumn[handle] && row >= entryMinRow[handle] && row <= entryMaxRow[handle];
+    }
+
+    /**
+     * Adds an entry to every cell that it occupies.
+     *
+     * @param handle
+     *          The handle of the entry.
+     */
+    private void addToCells(final int handle) {
+        for (long row = entryMinRow[handle] ; row <= entryMaxRow[handle] ; row++) {
+            for (long column = entryMinColumn[handle] ; column <= entryMaxColumn[handle] ; column++) {
+                addToCell(handle, (int) column, (int) row);
+            }
+        }
+    }
+
+    /**
+     * Adds an entry to a cell.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @param column
+     *          The column of the cell.
+     *
+     * @param row
+     *          The row of the cell.
+     */
+    private void addToCell(final int handle, final int column, final int row) {
+        final long key = packCell(column, row);
+        int slot = findSlot(key);
+
+        if (!cellUsed[slot]) {
+            if ((cellCount + 1) * 4L > cellKeys.length * 3L) {
+                growCells();
+                slot = findSlot(key);
+            }
+
+            cellUsed[slot] = true;
+            cellKeys[slot] = key;
+            cellHeads[slot] = -1;
+            cellCount++;
+        }
+
+        final int node = allocateNode();
+        nodeHandles[node] = handle;
+        nodeNext[node] = cellHeads[slot];
+        cellHeads[slot] = node;
+    }
+
+    /**
+     * Removes an entry from a cell, and removes the cell if it becomes empty.
+     *
+     * @param handle
+     *          The handle of the entry.
+     *
+     * @param column
+     *          The column of the cell.
+     *
+     * @param row
+     *          The row of the cell.
+     */
+    private void removeFromCell(final int handle, final int column, final int row) {
+        final int slot = findSlot(packCell(column, row));
+        if (!cellUsed[slot]) {
+            return;
+        }
+
+        int previous = -1;
+        for (int node = cellHeads[slot] ; node != -1 ; node = nodeNext[node]) {
+            if (nodeHandles[node] == handle) {
+                if (previous == -1) {
+                    cellHeads[slot] = nodeNext[node];
+                } else {
+                    nodeNext[previous] = nodeNext[node];
+                }
+
+                nodeNext[node] = freeNode;
+                freeNode = node;
+                break;
+            }
+
+            previous = node;
+        }
+
+        if (cellHeads[slot] == -1) {
+            removeSlot(slot);
+        }
+    }
+
+    /**
+     * Retrieves an unused node, growing the node arrays if necessary.
+     *
+     * @return
+     *          The node.
+     */
+    private int allocateNode() {
+        if (freeNode != -1) {
+            final int node = freeNode;
+            freeNode = nodeNext[node];
+            return node;
+        }
+
+        if (nodeCount == nodeHandles.length) {
+            nodeHandles = Arrays.copyOf(nodeHandles, nodeCount * 2);
+            nodeNext = Arrays.copyOf(nodeNext, nodeCount * 2);
+        }
+
+        return nodeCount++;
+    }
+
+    /**
+     * Finds the slot of the cell table which contains a cell, or the empty
+     * slot at which it would be inserted.
+     *
+     * @param key
+     *          The packed column and row of the cell.
+     *
+     * @return
+     *          The slot.
+     */
+    private int findSlot(final long key) {
+        final int mask = cellKeys.length - 1;
+        int slot = hash(key) & mask;
+
+        while (cellUsed[slot] && cellKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Removes a slot from the cell table, shifting any later slots of the
+     * same probe sequence back into the gap.
+     *
+     * @param slot
+     *          The slot.
+     */
+    private void removeSlot(final int slot) {
+        final int mask = cellKeys.length - 1;
+        int gap = slot;
+        int current = slot;
+
+        while (true) {
+            current = (current + 1) & mask;
+            if (!cellUsed[current]) {
+                break;
+            }
+
+            final int ideal = hash(cellKeys[current]) & mask;
+            if (((current - ideal) & mask) >= ((current - gap) & mask)) {
+                cellKeys[gap] = cellKeys[current];
+                cellHeads[gap] = cellHeads[current];
+                gap = current;
+            }
+        }
+
+        cellUsed[gap] = false;
+        cellCount--;
+    }
+
+    /** Doubles the capacity of the cell table. */
+    private void growCells() {
+        final var oldUsed = cellUsed;
+        final var oldKeys = cellKeys;
+        final var oldHeads = cellHeads;
+
+        cellUsed = new boolean[oldUsed.length * 2];
+        cellKeys = new long[oldUsed.length * 2];
+        cellHeads = new int[oldUsed.length * 2];
+
+        for (int i = 0 ; i < oldUsed.length ; i++) {
+            if (oldUsed[i]) {
+                final int slot = findSlot(oldKeys[i]);
+                cellUsed[slot] = true;
+                cellKeys[slot] = oldKeys[i];
+                cellHeads[slot] = oldHeads[i];
+            }
+        }
+    }
+
+    /**
+     * Retrieves the identifier of a new query.
+     *
+     * @return
+     *          The identifier.
+     */
+    private int nextStamp() {
+        if (++stamp == 0) {
+            Arrays.fill(entryStamp, 0);
+            stamp = 1;
+        }
+
+        return stamp;
+    }
+
+    /**
+     * Packs the column and row of a cell into a single key.
+     *
+     * @param column
+     *          The column.
+     *
+     * @param row
+     *          The row.
+     *
+     * @return
+     *          The key.
+     */
+    private static long packCell(final int column, final int row) {
+        return ((long) column << 32) | (row & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Mixes the bits of a cell key.
+     *
+     * @param key
+     *          The key.
+     *
+     * @return
+     *          The hash.
+     */
+    private static int hash(final long key) {
+        final long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    /**
+     * Clamps a coordinate to the range of an int.
+     *
+     * @param coordinate
+     *          The coordinate.
+     *
+     * @return
+     *          The clamped coordinate.
+     */
+    private static int clamp(final double coordinate) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, coordinate));
+    }
+}
@@ -0,0 +1,127 @@
+package com.valkryst.VGeometry;
+
+import jdk.incubator.vector.*;
+
+/**
+ * Computes the metrics of many circles or ellipses at once, using the
+ * incubating Vector API.
+ *
+ * Each lane performs the same operations, in the same order, as the scalar
+ * formulas in {@link Circle} and {@link Ellipse}, and the elements which do
+ * not fill a whole vector are handed to those formulas.
+ *
+ * This class must only be loaded when the {@code jdk.incubator.vector}
+ * module is available.
+ */
+final class VectorMetricsKernels implements MetricsKernels {
+    /** The species of the double vectors. */
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    /** The species of the int vectors, which has as many lanes as {@link #SPECIES}. */
+    private static final VectorSpecies<Integer> INT_SPECIES = VectorSpecies.of(int.class, VectorShape.forBitSize(SPECIES.vectorBitSize() / 2));
+
+    @Override
+    public void circleAreas(final double[] radii, final double[] areas, final int count) {
+        int i = 0;
+
+        for (final int bound = SPECIES.loopBound(count) ; i < bound ; i += SPECIES.length()) {
+            final var radius = DoubleVector.fromArray(SPECIES, radii, i);
+            radius.mul(Math.PI).mul(radius).intoArray(areas, i);
+        }
+
+        for ( ; i < count ; i++) {
+            areas[i] = Circle.calculateArea(radii[i]);
+        }
+    }
+
+    @Override
+    public void circleCircumferences(final double[] radii, final double[] circumferences, final int count) {
+        int i = 0;
+
+        for (final int bound = SPECIES.loopBound(count) ; i < bound ; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, radii, i).mul(2 * Math.PI).intoArray(circumferences, i);
+        }
+
+        for ( ; i < count ; i++) {
+            circumferences[i] = Circle.calculateCircumference(radii[i]);
+        }
+    }
+
+    @Override
+    public void circlesContain(final int[] midpointXs, final int[] midpointYs, final double[] radii, final int count, final int x, final int y, final boolean[] results) {
+        int i = 0;
+
+        for (final int bound = SPECIES.loopBound(count) ; i < bound ; i += SPECIES.length()) {
+            final var dx = ((DoubleVector) IntVector.fromArray(INT_SPECIES, midpointXs, i).convertShape(VectorOperators.I2D, SPECIES, 0)).sub(x);
+            final var dy = ((DoubleVector) IntVector.fromArray(INT_SPECIES, midpointYs, i).convertShape(VectorOperators.I2D, SPECIES, 0)).sub(y);
+            final var radius = DoubleVector.fromArray(SPECIES, radii, i);
+
+            dx.mul(dx).add(dy.mul(dy)).compare(VectorOperators.LE, radius.mul(radius)).intoArray(results, i);
+        }
+
+        for ( ; i < count ; i++) {
+            results[i] = Circle.contains(midpointXs[i], midpointYs[i], radii[i], x, y);
+        }
+    }
+
+    @Override
+    public void ellipsesContain(final int[] midpointXs, final int[] midpointYs, final double[] horizontalRadii, final double[] verticalRadii, final int count, final int x, final int y, final boolean[] results) {
+        int i = 0;
+
+        for (final int bound = SPECIES.loopBound(count) ; i < bound ; i += SPECIES.length()) {
+            final var dx = ((DoubleVector) IntVector.fromArray(INT_SPECIES, midpointXs, i).convertShape(VectorOperators.I2D, SPECIES, 0)).sub(x);
+            final var dy = ((DoubleVector) IntVector.fromArray(INT_SPECIES, midpointYs, i).convertShape(VectorOperators.I2D, SPECIES, 0)).sub(y);
+            final var horizontalRadius = DoubleVector.fromArray(SPECIES, horizontalRadii, i);
+            final var verticalRadius = DoubleVector.fromArray(SPECIES, verticalRadii, i);
+
+            final var dx2 = dx.mul(dx);
+            final var dy2 = dy.mul(dy);
+            final var h2 = horizontalRadius.mul(horizontalRadius);
+            final var v2 = verticalRadius.mul(verticalRadius);
+
+            dx2.mul(v2).add(dy2.mul(h2)).compare(VectorOperators.LE, h2.mul(v2))
+               .and(h2.compare(VectorOperators.NE, 0).or(dy2.compare(VectorOperators.LE, v2)))
+               .and(v2.compare(VectorOperators.NE, 0).or(dx2.compare(VectorOperators.LE, h2)))
+               .intoArray(results, i);
+        }
+
+        for ( ; i < count ; i++) {
+            results[i] = Ellipse.contains(midpointXs[i], midpointYs[i], horizontalRadii[i], verticalRadii[i], x, y);
+        }
+    }
+
+    @Override
+    public void ellipseAreas(final double[] horizontalRadii, final double[] verticalRadii, final double[] areas, final int count) {
+        int i = 0;
+
+        for (final int bound = SPECIES.loopBound(count) ; i < bound ; i += SPECIES.length()) {
+            final var horizontalRadius = DoubleVector.fromArray(SPECIES, horizontalRadii, i);
+            final var verticalRadius = DoubleVector.fromArray(SPECIES, verticalRadii, i);
+            horizontalRadius.mul(Math.PI).mul(verticalRadius).intoArray(areas, i);
+        }
+
+        for ( ; i < count ; i++) {
+            areas[i] = Ellipse.calculateArea(horizontalRadii[i], verticalRadii[i]);
+        }
+    }
+
+    @Override
+    public void ellipseCircumferences(final double[] horizontalRadii, final double[] verticalRadii, final double[] circumferences, final int count) {
+        int i = 0;
+
+        for (final int bound = SPECIES.loopBound(count) ; i < bound ; i += SPECIES.length()) {
+            final var horizontalRadius = DoubleVector.fromArray(SPECIES, horizontalRadii, i);
+            final var verticalRadius = DoubleVector.fromArray(SPECIES, verticalRadii, i);
+
+            final var sum = verticalRadius.add(horizontalRadius);
+            final var difference = verticalRadius.sub(horizontalRadius);
+            final var h = difference.mul(difference).div(sum.mul(sum));
+            final var numerator = h.mul(3);
+            final var denominator = h.mul(-3).add(4).sqrt().add(10);
+            sum.mul(Math.PI).mul(numerator.div(denominator).add(1)).intoArray(circumferences, i);
+        }
+
+        for ( ; i < count ; i++) {
+            circumferences[i] = Ellipse.calculateCircumference(horizontalRadii[i], verticalRadii[i]);
+        }
+    }
+}
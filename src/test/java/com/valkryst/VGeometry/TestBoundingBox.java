@@ -0,0 +1,81 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBoundingBox {
+    @Test
+    public void testConstructor() {
+        final var box = new BoundingBox(-1, 2, 3, 4);
+        assertEquals(-1, box.getMinX());
+        assertEquals(2, box.getMinY());
+        assertEquals(3, box.getMaxX());
+        assertEquals(4, box.getMaxY());
+        assertEquals(5, box.getWidth());
+        assertEquals(3, box.getHeight());
+    }
+
+    @Test
+    public void testConstructor_withInvertedEdges() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundingBox(1, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BoundingBox(0, 1, 0, 0));
+    }
+
+    @Test
+    public void testGetWidth_withFullRange() {
+        final var box = new BoundingBox(Integer.MIN_VALUE, 0, Integer.MAX_VALUE, 0);
+        assertEquals(1L << 32, box.getWidth());
+        assertEquals(1, box.getHeight());
+    }
+
+    @Test
+    public void testOfPoints() {
+        assertEquals(new BoundingBox(-5, 1, 2, 8), BoundingBox.ofPoints(2, 8, -5, 1));
+    }
+
+    @Test
+    public void testOfRadii() {
+        assertEquals(new BoundingBox(-2, 7, 4, 13), BoundingBox.ofRadii(1, 10, 2.5, 3));
+        assertEquals(new BoundingBox(1, 10, 1, 10), BoundingBox.ofRadii(1, 10, 0, 0));
+
+        final var clamped = BoundingBox.ofRadii(Integer.MAX_VALUE, Integer.MIN_VALUE, 10, 10);
+        assertEquals(Integer.MAX_VALUE, clamped.getMaxX());
+        assertEquals(Integer.MIN_VALUE, clamped.getMinY());
+    }
+
+    @Test
+    public void testContains() {
+        final var box = new BoundingBox(0, 0, 10, 10);
+        assertTrue(box.contains(0, 10));
+        assertFalse(box.contains(11, 5));
+        assertTrue(box.contains(new BoundingBox(2, 2, 10, 10)));
+        assertFalse(box.contains(new BoundingBox(2, 2, 11, 10)));
+        assertThrows(NullPointerException.class, () -> box.contains(null));
+    }
+
+    @Test
+    public void testIntersects() {
+        final var box = new BoundingBox(0, 0, 10, 10);
+        assertTrue(box.intersects(new BoundingBox(10, 10, 20, 20)));
+        assertTrue(box.intersects(new BoundingBox(-5, 3, 15, 4)));
+        assertFalse(box.intersects(new BoundingBox(11, 0, 20, 10)));
+        assertThrows(NullPointerException.class, () -> box.intersects(null));
+    }
+
+    @Test
+    public void testUnion() {
+        final var box = new BoundingBox(0, 0, 10, 10);
+        final var inner = new BoundingBox(1, 1, 2, 2);
+        assertSame(box, box.union(inner));
+        assertSame(box, inner.union(box));
+        assertEquals(new BoundingBox(-3, 0, 10, 12), box.union(new BoundingBox(-3, 5, 0, 12)));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        assertEquals(new BoundingBox(1, 2, 3, 4), new BoundingBox(1, 2, 3, 4));
+        assertEquals(new BoundingBox(1, 2, 3, 4).hashCode(), new BoundingBox(1, 2, 3, 4).hashCode());
+        assertNotEquals(new BoundingBox(1, 2, 3, 4), new BoundingBox(1, 2, 3, 5));
+    }
+}
@@ -7,10 +7,23 @@ import org.junit.jupiter.api.Test;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TestCircle {
+    /** A circle which was serialized before the compact serialized form was introduced. */
+    private static final String LEGACY_STREAM = "rO0ABXNyAB1jb20udmFsa3J5c3QuVkdlb21ldHJ5LkNpcmNsZQAAAAAAAAABAgAFRAAEYXJlYUQA" +
+        "DWNpcmN1bWZlcmVuY2VEAAhkaWFtZXRlckQABnJhZGl1c0wACG1pZHBvaW50dAAeTGNvbS92YWxr" +
+        "cnlzdC9WR2VvbWV0cnkvUG9pbnQ7eHBAM6KMWdVDO0AvanopVTheQBQAAAAAAABABAAAAAAAAHNy" +
+        "ABxjb20udmFsa3J5c3QuVkdlb21ldHJ5LlBvaW50AAAAAAAAAAECAAJJAAF4SQABeXhwAAAAAwAA" +
+        "AAQ=";
+
     @AfterEach
     public void after() {
         try {
@@ -116,6 +129,70 @@ public class TestCircle {
         assertThrows(NullPointerException.class, () -> new Circle((JSONObject) null));
     }
 
+    @Test
+    public void testGetBounds() {
+        final var circle = new Circle(new Point(2, -3), 1.5);
+        final var bounds = circle.getBounds();
+        assertEquals(new BoundingBox(0, -5, 4, -1), bounds);
+        assertSame(bounds, circle.getBounds());
+
+        final long modificationCount = circle.getModificationCount();
+        circle.setRadius(2);
+        assertEquals(modificationCount + 1, circle.getModificationCount());
+        assertEquals(new BoundingBox(0, -5, 4, -1), circle.getBounds());
+        assertNotSame(bounds, circle.getBounds());
+
+        circle.setMidpoint(new Point(10, 10));
+        assertEquals(modificationCount + 2, circle.getModificationCount());
+        assertEquals(new BoundingBox(8, 8, 12, 12), circle.getBounds());
+    }
+
+    @Test
+    public void testBoundsListener() {
+        final var circle = new Circle(new Point(0, 0), 1);
+        final var events = new ArrayList<BoundingBox>();
+        final BoundsListener<Object> listener = (shape, oldBounds, newBounds) -> {
+            assertSame(circle, shape);
+            events.add(oldBounds);
+            events.add(newBounds);
+        };
+        circle.addBoundsListener(listener);
+
+        circle.setRadius(2);
+        assertEquals(List.of(new BoundingBox(-1, -1, 1, 1), new BoundingBox(-2, -2, 2, 2)), events);
+
+        // The bounds are unchanged, so the listener is not notified.
+        circle.setRadius(1.5);
+        assertEquals(2, events.size());
+
+        circle.set(new Point(10, 0), 1);
+        assertEquals(List.of(new BoundingBox(-2, -2, 2, 2), new BoundingBox(9, -1, 11, 1)), events.subList(2, 4));
+
+        assertTrue(circle.removeBoundsListener(listener));
+        assertFalse(circle.removeBoundsListener(listener));
+        circle.setMidpoint(new Point(0, 0));
+        assertEquals(4, events.size());
+        assertThrows(NullPointerException.class, () -> circle.addBoundsListener(null));
+    }
+
+    @Test
+    public void testContains() {
+        final var circle = new Circle(new Point(2, -3), 5);
+        assertTrue(circle.contains(2, -3));
+        assertTrue(circle.contains(new Point(5, 1)));
+        assertTrue(circle.contains(-3, -3));
+        assertFalse(circle.contains(6, 1));
+        assertFalse(circle.contains(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertThrows(NullPointerException.class, () -> circle.contains(null));
+    }
+
+    @Test
+    public void testContains_withZeroRadius() {
+        final var circle = new Circle(new Point(2, -3), 0);
+        assertTrue(circle.contains(2, -3));
+        assertFalse(circle.contains(2, -2));
+    }
+
     @Test
     public void testSerializationAndDeserialization() {
         final var originalCircle = new Circle(new Point(0, 0), 10);
@@ -147,6 +224,29 @@ public class TestCircle {
         }
     }
 
+    @Test
+    public void testDeserialization_withLegacyStream() throws IOException, ClassNotFoundException {
+        // Written by the original serialized form, before the compact form was introduced.
+        final var legacy = Base64.getDecoder().decode(LEGACY_STREAM);
+        final var circle = (Circle) deserialize(legacy);
+        assertEquals(new Point(3, 4), circle.getMidpoint());
+        assertEquals(2.5, circle.getRadius());
+        assertEquals(Math.PI * 2.5 * 2.5, circle.getArea());
+    }
+
+    @Test
+    public void testSerialization_isCompact() throws IOException, ClassNotFoundException {
+        final var legacy = Base64.getDecoder().decode(LEGACY_STREAM);
+        final var circle = new Circle(new Point(3, 4), 2.5);
+        final var bytes = serialize(circle);
+        assertTrue(bytes.length < legacy.length, bytes.length + " >= " + legacy.length);
+
+        final var copy = (Circle) deserialize(bytes);
+        assertEquals(circle.getMidpoint(), copy.getMidpoint());
+        assertEquals(circle.getRadius(), copy.getRadius());
+        assertEquals(circle.getArea(), copy.getArea());
+    }
+
     @Test
     public void testToJson() {
         final var midpoint = new Point(0, 0);
@@ -234,4 +334,166 @@ public class TestCircle {
 
         assertEquals(40, circle.getDiameter(), 1e-15);
     }
+
+    @Test
+    public void testSetRadius_repeatedly() {
+        final var circle = new Circle(new Point(0, 0), 10);
+
+        for (int i = 1 ; i <= 20 ; i++) {
+            circle.setRadius(i);
+        }
+
+        assertEquals(1256.64, circle.getArea(), 0.01);
+        assertEquals(125.66, circle.getCircumference(), 0.004);
+        assertEquals(40, circle.getDiameter(), 1e-15);
+    }
+
+    @Test
+    public void testSet() {
+        final var circle = new Circle(new Point(0, 0), 10);
+        assertEquals(314.16, circle.getArea(), 0.001);
+
+        circle.set(new Point(3, 4), -20);
+        assertEquals(new Point(3, 4), circle.getMidpoint());
+        assertEquals(20, circle.getRadius(), 1e-15);
+        assertEquals(1256.64, circle.getArea(), 0.01);
+        assertEquals(125.66, circle.getCircumference(), 0.004);
+        assertEquals(40, circle.getDiameter(), 1e-15);
+    }
+
+    @Test
+    public void testConstructor_withNoArgs() {
+        final var circle = new Circle();
+        assertEquals(new Point(0, 0), circle.getMidpoint());
+        assertEquals(0, circle.getRadius());
+        assertEquals(0, circle.getArea());
+    }
+
+    @Test
+    public void testSetMidpoint_withInts() {
+        final var circle = new Circle(new Point(0, 0), 10);
+        final var midpoint = circle.getMidpoint();
+
+        circle.setMidpoint(3, -4);
+        assertEquals(new Point(3, -4), circle.getMidpoint());
+        assertSame(midpoint, circle.getMidpoint());
+        assertEquals(new BoundingBox(-7, -14, 13, 6), circle.getBounds());
+    }
+
+    @Test
+    public void testSet_withInts() {
+        final var circle = new Circle(new Point(0, 0), 10);
+        assertEquals(314.16, circle.getArea(), 0.001);
+
+        circle.set(3, 4, -20);
+        assertEquals(new Point(3, 4), circle.getMidpoint());
+        assertEquals(20, circle.getRadius(), 1e-15);
+        assertEquals(1256.64, circle.getArea(), 0.01);
+    }
+
+    @Test
+    public void testSet_withCircle() {
+        final var other = new Circle(new Point(-1, 2), 5);
+        final var circle = new Circle();
+        circle.set(other);
+
+        assertEquals(other.getMidpoint(), circle.getMidpoint());
+        assertNotSame(other.getMidpoint(), circle.getMidpoint());
+        assertEquals(5, circle.getRadius());
+        assertEquals(other.getArea(), circle.getArea());
+
+        assertThrows(NullPointerException.class, () -> circle.set(null));
+    }
+
+    @Test
+    public void testSet_withNullPoint() {
+        final var circle = new Circle(new Point(0, 0), 10);
+        assertThrows(NullPointerException.class, () -> circle.set(null, 10));
+    }
+
+    @Test
+    public void testRasterizeOutline_withZeroRadius() {
+        final var circle = new Circle(new Point(4, 5), 0);
+        final var buffer = new PointBuffer();
+        circle.rasterizeOutline(buffer::add);
+
+        assertEquals(List.of(new Point(4, 5)), buffer.toPoints());
+    }
+
+    @Test
+    public void testRasterizeOutline() {
+        final var circle = new Circle(new Point(0, 0), 2);
+        final var cells = new HashSet<Point>();
+        circle.rasterizeOutline((x, y) -> assertTrue(cells.add(new Point(x, y))));
+
+        assertEquals(Set.of(
+            new Point(0, 2), new Point(0, -2), new Point(2, 0), new Point(-2, 0),
+            new Point(1, 2), new Point(-1, 2), new Point(1, -2), new Point(-1, -2),
+            new Point(2, 1), new Point(-2, 1), new Point(2, -1), new Point(-2, -1)
+        ), cells);
+    }
+
+    @Test
+    public void testRasterizeOutline_withNullConsumer() {
+        final var circle = new Circle(new Point(0, 0), 2);
+        assertThrows(NullPointerException.class, () -> circle.rasterizeOutline(null));
+    }
+
+    @Test
+    public void testRasterizeFilled() {
+        for (int radius = 0 ; radius <= 40 ; radius++) {
+            final var circle = new Circle(new Point(3, -7), radius);
+
+            final var outline = new HashMap<Integer, Integer>();
+            circle.rasterizeOutline((x, y) -> outline.merge(y, Math.abs(x - 3), Math::max));
+
+            final var rows = new HashMap<Integer, Integer>();
+            circle.rasterizeFilled((y, startX, endX) -> {
+                assertEquals(3 - startX, endX - 3);
+                assertNull(rows.put(y, endX - 3));
+            });
+
+            assertEquals(2 * radius + 1, rows.size());
+            assertEquals(outline, rows);
+        }
+    }
+
+    @Test
+    public void testRasterizeFilled_withRoundedRadius() {
+        final var circle = new Circle(new Point(0, 0), 0.6);
+        final var rows = new HashSet<Integer>();
+        circle.rasterizeFilled((y, startX, endX) -> rows.add(y));
+
+        assertEquals(Set.of(-1, 0, 1), rows);
+    }
+
+    @Test
+    public void testRasterizeFilled_withNullConsumer() {
+        final var circle = new Circle(new Point(0, 0), 2);
+        assertThrows(NullPointerException.class, () -> circle.rasterizeFilled(null));
+    }
+
+    @Test
+    public void testDistanceToOutline() {
+        final var circle = new Circle(new Point(1, 1), 5);
+        assertEquals(0, circle.distanceToOutline(new Point(4, 5)));
+        assertEquals(5, circle.distanceToOutline(7, 9));
+        assertEquals(-5, circle.distanceToOutline(1, 1));
+        assertEquals(Math.sqrt(2) - 5, circle.distanceToOutline(2, 2), 1e-12);
+        assertThrows(NullPointerException.class, () -> circle.distanceToOutline(null));
+    }
+
+    private static byte[] serialize(final Object object) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(final byte[] bytes) throws IOException, ClassNotFoundException {
+        try (final var ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        }
+    }
 }
@@ -0,0 +1,95 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestConcurrentCircle {
+    @Test
+    public void testConstructor() {
+        final var circle = new ConcurrentCircle(new Point(1, 2), -3);
+        assertEquals(new Point(1, 2), circle.getMidpoint());
+        assertEquals(3, circle.getRadius());
+    }
+
+    @Test
+    public void testConstructor_withCircle() {
+        final var circle = new ConcurrentCircle(new Circle(new Point(1, 2), 3));
+        assertEquals(new Point(1, 2), circle.getMidpoint());
+        assertEquals(3, circle.getRadius());
+    }
+
+    @Test
+    public void testConstructor_withNullArguments() {
+        assertThrows(NullPointerException.class, () -> new ConcurrentCircle(null, 1));
+        assertThrows(NullPointerException.class, () -> new ConcurrentCircle(null));
+    }
+
+    @Test
+    public void testSnapshot() {
+        final var circle = new ConcurrentCircle(new Point(1, 2), 3);
+        final var snapshot = circle.snapshot();
+        assertEquals(new Point(1, 2), snapshot.getMidpoint());
+        assertEquals(3, snapshot.getRadius());
+        assertEquals(Math.PI * 9, snapshot.getArea());
+
+        // The snapshot is a copy.
+        circle.setRadius(5);
+        circle.setMidpoint(new Point(0, 0));
+        assertEquals(3, snapshot.getRadius());
+        assertEquals(5, circle.getRadius());
+        assertEquals(new Point(0, 0), circle.getMidpoint());
+    }
+
+    @Test
+    public void testSnapshot_withCircle() {
+        final var circle = new ConcurrentCircle(new Point(1, 2), 3);
+        final var snapshot = new Circle();
+        assertSame(snapshot, circle.snapshot(snapshot));
+        assertEquals(new Point(1, 2), snapshot.getMidpoint());
+        assertEquals(3, snapshot.getRadius());
+        assertEquals(Math.PI * 9, snapshot.getArea());
+
+        assertThrows(NullPointerException.class, () -> circle.snapshot(null));
+    }
+
+    @Test
+    public void testSet_withInts() {
+        final var circle = new ConcurrentCircle(new Point(1, 2), 3);
+        circle.set(5, 6, -7);
+        assertEquals(new Point(5, 6), circle.getMidpoint());
+        assertEquals(7, circle.getRadius());
+
+        circle.setMidpoint(-1, -2);
+        assertEquals(new Point(-1, -2), circle.getMidpoint());
+    }
+
+    @Test
+    public void testSnapshot_isNeverTorn() throws InterruptedException {
+        final var circle = new ConcurrentCircle(new Point(1, 1), 1);
+        final var isRunning = new AtomicBoolean(true);
+
+        final var writer = new Thread(() -> {
+            for (int i = 0 ; isRunning.get() ; i++) {
+                final int value = i % 2 + 1;
+                circle.set(new Point(value, value), value);
+            }
+        });
+        writer.start();
+
+        try {
+            for (int i = 0 ; i < 1_000_000 ; i++) {
+                final var snapshot = circle.snapshot();
+                final double radius = snapshot.getRadius();
+                assertEquals(radius, snapshot.getMidpoint().getX());
+                assertEquals(radius, snapshot.getMidpoint().getY());
+                assertEquals(Math.PI * radius * radius, snapshot.getArea());
+            }
+        } finally {
+            isRunning.set(false);
+            writer.join();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestConcurrentEllipse {
+    @Test
+    public void testConstructor() {
+        final var ellipse = new ConcurrentEllipse(new Point(1, 2), -3, 4);
+        assertEquals(new Point(1, 2), ellipse.getMidpoint());
+        assertEquals(3, ellipse.getHorizontalRadius());
+        assertEquals(4, ellipse.getVerticalRadius());
+    }
+
+    @Test
+    public void testConstructor_withEllipse() {
+        final var ellipse = new ConcurrentEllipse(new Ellipse(new Point(1, 2), 3, 4));
+        assertEquals(new Point(1, 2), ellipse.getMidpoint());
+        assertEquals(3, ellipse.getHorizontalRadius());
+        assertEquals(4, ellipse.getVerticalRadius());
+    }
+
+    @Test
+    public void testConstructor_withNullArguments() {
+        assertThrows(NullPointerException.class, () -> new ConcurrentEllipse(null, 1, 1));
+        assertThrows(NullPointerException.class, () -> new ConcurrentEllipse(null));
+    }
+
+    @Test
+    public void testSnapshot() {
+        final var ellipse = new ConcurrentEllipse(new Point(1, 2), 3, 4);
+        final var snapshot = ellipse.snapshot();
+        assertEquals(new Point(1, 2), snapshot.getMidpoint());
+        assertEquals(3, snapshot.getHorizontalRadius());
+        assertEquals(4, snapshot.getVerticalRadius());
+        assertEquals(Math.PI * 12, snapshot.getArea());
+
+        // The snapshot is a copy.
+        ellipse.setRadii(5, -6);
+        ellipse.setMidpoint(new Point(0, 0));
+        assertEquals(3, snapshot.getHorizontalRadius());
+        assertEquals(5, ellipse.getHorizontalRadius());
+        assertEquals(6, ellipse.getVerticalRadius());
+        assertEquals(new Point(0, 0), ellipse.getMidpoint());
+    }
+
+    @Test
+    public void testSnapshot_withEllipse() {
+        final var ellipse = new ConcurrentEllipse(new Point(1, 2), 3, 4);
+        final var snapshot = new Ellipse();
+        assertSame(snapshot, ellipse.snapshot(snapshot));
+        assertEquals(new Point(1, 2), snapshot.getMidpoint());
+        assertEquals(3, snapshot.getHorizontalRadius());
+        assertEquals(4, snapshot.getVerticalRadius());
+        assertEquals(Math.PI * 12, snapshot.getArea());
+
+        assertThrows(NullPointerException.class, () -> ellipse.snapshot(null));
+    }
+
+    @Test
+    public void testSet_withInts() {
+        final var ellipse = new ConcurrentEllipse(new Point(1, 2), 3, 4);
+        ellipse.set(5, 6, -7, 8);
+        assertEquals(new Point(5, 6), ellipse.getMidpoint());
+        assertEquals(7, ellipse.getHorizontalRadius());
+        assertEquals(8, ellipse.getVerticalRadius());
+
+        ellipse.setMidpoint(-1, -2);
+        assertEquals(new Point(-1, -2), ellipse.getMidpoint());
+    }
+
+    @Test
+    public void testSnapshot_isNeverTorn() throws InterruptedException {
+        final var ellipse = new ConcurrentEllipse(new Point(1, 1), 1, 2);
+        final var isRunning = new AtomicBoolean(true);
+
+        final var writer = new Thread(() -> {
+            for (int i = 0 ; isRunning.get() ; i++) {
+                final int value = i % 2 + 1;
+                ellipse.set(new Point(value, value), value, value * 2);
+            }
+        });
+        writer.start();
+
+        try {
+            for (int i = 0 ; i < 1_000_000 ; i++) {
+                final var snapshot = ellipse.snapshot();
+                final double radius = snapshot.getHorizontalRadius();
+                assertEquals(radius, snapshot.getMidpoint().getX());
+                assertEquals(radius, snapshot.getMidpoint().getY());
+                assertEquals(radius * 2, snapshot.getVerticalRadius());
+            }
+        } finally {
+            isRunning.set(false);
+            writer.join();
+        }
+    }
+}
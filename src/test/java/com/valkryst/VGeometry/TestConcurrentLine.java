@@ -0,0 +1,109 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestConcurrentLine {
+    @Test
+    public void testConstructor() {
+        final var line = new ConcurrentLine(new Point(1, 2), new Point(5, 10));
+        assertEquals(new Point(1, 2), line.getStartPoint());
+        assertEquals(new Point(5, 10), line.getEndPoint());
+        assertEquals(2, line.getSlope());
+    }
+
+    @Test
+    public void testConstructor_withLine() {
+        final var line = new ConcurrentLine(new Line(new Point(1, 2), new Point(3, 4)));
+        assertEquals(new Point(1, 2), line.getStartPoint());
+        assertEquals(new Point(3, 4), line.getEndPoint());
+    }
+
+    @Test
+    public void testConstructor_withNullArguments() {
+        assertThrows(NullPointerException.class, () -> new ConcurrentLine(null, new Point(0, 0)));
+        assertThrows(NullPointerException.class, () -> new ConcurrentLine(new Point(0, 0), null));
+        assertThrows(NullPointerException.class, () -> new ConcurrentLine(null));
+    }
+
+    @Test
+    public void testSnapshot() {
+        final var line = new ConcurrentLine(new Point(0, 0), new Point(4, 2));
+        final var snapshot = line.snapshot();
+        assertEquals(new Point(0, 0), snapshot.getStartPoint());
+        assertEquals(new Point(4, 2), snapshot.getEndPoint());
+        assertEquals(0.5, snapshot.getSlope());
+
+        // The snapshot is a copy.
+        line.setEndPoint(new Point(8, 8));
+        assertEquals(new Point(4, 2), snapshot.getEndPoint());
+        assertEquals(new Point(8, 8), line.getEndPoint());
+    }
+
+    @Test
+    public void testSnapshot_withLine() {
+        final var line = new ConcurrentLine(new Point(0, 0), new Point(4, 2));
+        final var snapshot = new Line();
+        assertSame(snapshot, line.snapshot(snapshot));
+        assertEquals(new Point(0, 0), snapshot.getStartPoint());
+        assertEquals(new Point(4, 2), snapshot.getEndPoint());
+        assertEquals(0.5, snapshot.getSlope());
+
+        assertThrows(NullPointerException.class, () -> line.snapshot(null));
+    }
+
+    @Test
+    public void testSet_withInts() {
+        final var line = new ConcurrentLine(new Point(0, 0), new Point(4, 4));
+        line.set(1, 2, 9, 6);
+        assertEquals(new Point(1, 2), line.getStartPoint());
+        assertEquals(new Point(9, 6), line.getEndPoint());
+
+        line.setStartPoint(3, 3);
+        line.setEndPoint(5, 7);
+        assertEquals(new Point(3, 3), line.getStartPoint());
+        assertEquals(new Point(5, 7), line.getEndPoint());
+        assertEquals(2, line.getSlope());
+    }
+
+    @Test
+    public void testSetStartPoint() {
+        final var line = new ConcurrentLine(new Point(0, 0), new Point(4, 4));
+        line.setStartPoint(new Point(2, 0));
+        assertEquals(new Point(2, 0), line.getStartPoint());
+        assertEquals(2, line.getSlope());
+    }
+
+    @Test
+    public void testSnapshot_isNeverTorn() throws InterruptedException {
+        final var first = new Line(new Point(0, 0), new Point(10, 10));
+        final var second = new Line(new Point(5, -5), new Point(-5, 5));
+        final var line = new ConcurrentLine(first);
+        final var isRunning = new AtomicBoolean(true);
+
+        final var writer = new Thread(() -> {
+            for (int i = 0 ; isRunning.get() ; i++) {
+                line.set(i % 2 == 0 ? second : first);
+            }
+        });
+        writer.start();
+
+        try {
+            for (int i = 0 ; i < 1_000_000 ; i++) {
+                final var snapshot = line.snapshot();
+                final int startX = snapshot.getStartPoint().getX();
+                assertTrue(startX == 0 || startX == 5);
+
+                final var expected = startX == 0 ? first : second;
+                assertEquals(expected.getStartPoint(), snapshot.getStartPoint());
+                assertEquals(expected.getEndPoint(), snapshot.getEndPoint());
+            }
+        } finally {
+            isRunning.set(false);
+            writer.join();
+        }
+    }
+}
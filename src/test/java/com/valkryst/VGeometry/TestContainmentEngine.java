@@ -0,0 +1,131 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestContainmentEngine {
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final ContainmentEngine engine = new ContainmentEngine(pool);
+    private final Random random = new Random(16);
+
+    @AfterEach
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testFindPointsIn_withCircle() {
+        final var points = randomPoints(50_001);
+        final var circle = new Circle(new Point(10, -20), 300);
+        final var results = engine.findPointsIn(points, circle);
+
+        for (int i = 0 ; i < points.getSize() ; i++) {
+            assertEquals(circle.contains(points.getX(i), points.getY(i)), results.get(i));
+        }
+        assertTrue(results.length() <= points.getSize());
+    }
+
+    @Test
+    public void testFindPointsIn_withEllipse() {
+        final var points = randomPoints(50_001);
+        final var ellipse = new Ellipse(new Point(10, -20), 500, 200);
+        final var results = engine.findPointsIn(points, ellipse);
+
+        for (int i = 0 ; i < points.getSize() ; i++) {
+            assertEquals(ellipse.contains(points.getX(i), points.getY(i)), results.get(i));
+        }
+    }
+
+    @Test
+    public void testFindPointsIn_withFewPoints() {
+        final var points = new PointBuffer();
+        points.add(0, 0);
+        points.add(5, 5);
+        points.add(1, 0);
+
+        final var results = engine.findPointsIn(points, new Circle(new Point(0, 0), 1));
+        assertEquals("{0, 2}", results.toString());
+        assertTrue(engine.findPointsIn(new PointBuffer(), new Circle(new Point(0, 0), 1)).isEmpty());
+    }
+
+    @Test
+    public void testFindContainingCircles() {
+        final var points = randomPoints(20_000);
+        final var circles = new ArrayList<Circle>();
+        for (int i = 0 ; i < 20 ; i++) {
+            circles.add(new Circle(new Point(random.nextInt(-1000, 1000), random.nextInt(-1000, 1000)), random.nextInt(400)));
+        }
+
+        final var results = engine.findContainingCircles(points, circles);
+        assertEquals(points.getSize(), results.length);
+
+        for (int i = 0 ; i < points.getSize() ; i++) {
+            assertEquals(firstContaining(circles, points.getX(i), points.getY(i)), results[i]);
+        }
+    }
+
+    @Test
+    public void testFindContainingEllipses() {
+        final var points = randomPoints(20_000);
+        final var ellipses = new ArrayList<Ellipse>();
+        for (int i = 0 ; i < 20 ; i++) {
+            ellipses.add(new Ellipse(new Point(random.nextInt(-1000, 1000), random.nextInt(-1000, 1000)), random.nextInt(400), random.nextInt(400)));
+        }
+        ellipses.add(0, new Ellipse(new Point(0, 0), 0, 1000));
+
+        final var results = engine.findContainingEllipses(points, ellipses);
+
+        for (int i = 0 ; i < points.getSize() ; i++) {
+            int expected = -1;
+            for (int j = 0 ; j < ellipses.size() ; j++) {
+                if (ellipses.get(j).contains(points.getX(i), points.getY(i))) {
+                    expected = j;
+                    break;
+                }
+            }
+
+            assertEquals(expected, results[i]);
+        }
+    }
+
+    @Test
+    public void testFindContainingCircles_withNoCircles() {
+        final var results = engine.findContainingCircles(randomPoints(100), List.of());
+        for (final int result : results) {
+            assertEquals(-1, result);
+        }
+    }
+
+    @Test
+    public void testNullArguments() {
+        final var points = new PointBuffer();
+        assertThrows(NullPointerException.class, () -> new ContainmentEngine(null));
+        assertThrows(NullPointerException.class, () -> engine.findPointsIn(null, new Circle(new Point(0, 0), 1)));
+        assertThrows(NullPointerException.class, () -> engine.findPointsIn(points, (Circle) null));
+        assertThrows(NullPointerException.class, () -> engine.findContainingEllipses(points, null));
+    }
+
+    private PointBuffer randomPoints(final int count) {
+        final var points = new PointBuffer(count);
+        for (int i = 0 ; i < count ; i++) {
+            points.add(random.nextInt(-1000, 1000), random.nextInt(-1000, 1000));
+        }
+        return points;
+    }
+
+    private static int firstContaining(final List<Circle> circles, final int x, final int y) {
+        for (int i = 0 ; i < circles.size() ; i++) {
+            if (circles.get(i).contains(x, y)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
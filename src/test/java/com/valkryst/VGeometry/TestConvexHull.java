@@ -0,0 +1,123 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestConvexHull {
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final Random random = new Random(22);
+
+    @AfterEach
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testOf_withSquare() {
+        final var points = new PointBuffer();
+        for (int x = 0 ; x <= 10 ; x++) {
+            for (int y = 0 ; y <= 10 ; y++) {
+                points.add(x, y);
+            }
+        }
+
+        assertEquals(List.of(
+            new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10)
+        ), ConvexHull.of(points).toPoints());
+    }
+
+    @Test
+    public void testOf_withDegenerateInputs() {
+        assertTrue(ConvexHull.of(new PointBuffer()).isEmpty());
+        assertEquals(List.of(new Point(3, 4)), ConvexHull.of(List.of(new Point(3, 4), new Point(3, 4), new Point(3, 4))).toPoints());
+        assertEquals(List.of(new Point(-2, -2), new Point(6, 6)), ConvexHull.of(List.of(
+            new Point(0, 0), new Point(6, 6), new Point(-2, -2), new Point(2, 2), new Point(6, 6)
+        )).toPoints());
+    }
+
+    @Test
+    public void testOf_withExtremeCoordinates() {
+        final var points = new PointBuffer();
+        points.add(Integer.MIN_VALUE, Integer.MIN_VALUE);
+        points.add(Integer.MAX_VALUE, Integer.MIN_VALUE);
+        points.add(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        points.add(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        points.add(Integer.MAX_VALUE - 1, Integer.MAX_VALUE - 1);
+        points.add(0, Integer.MIN_VALUE);
+        points.add(Integer.MIN_VALUE + 1, 0);
+
+        final var hull = ConvexHull.of(points);
+        assertEquals(List.of(
+            new Point(Integer.MIN_VALUE, Integer.MIN_VALUE),
+            new Point(Integer.MAX_VALUE, Integer.MIN_VALUE),
+            new Point(Integer.MAX_VALUE, Integer.MAX_VALUE),
+            new Point(Integer.MIN_VALUE, Integer.MAX_VALUE)
+        ), hull.toPoints());
+    }
+
+    @Test
+    public void testOf_withRandomPoints() {
+        for (int i = 0 ; i < 50 ; i++) {
+            final var points = randomPoints(random.nextInt(1, 500), random.nextInt(1, 100));
+            assertHull(points, ConvexHull.of(points));
+        }
+    }
+
+    @Test
+    public void testOf_withPool() {
+        final var points = randomPoints(300_000, 1_000_000);
+        final var hull = ConvexHull.of(points, pool);
+
+        assertHull(points, hull);
+        assertEquals(ConvexHull.of(points).toPoints(), hull.toPoints());
+    }
+
+    @Test
+    public void testOf_withPoolAndSmallInput() {
+        final var points = randomPoints(1_000, 100);
+        assertEquals(ConvexHull.of(points).toPoints(), ConvexHull.of(points, pool).toPoints());
+    }
+
+    @Test
+    public void testOf_withNullArguments() {
+        assertThrows(NullPointerException.class, () -> ConvexHull.of((PointBuffer) null));
+        assertThrows(NullPointerException.class, () -> ConvexHull.of((List<Point>) null));
+        assertThrows(NullPointerException.class, () -> ConvexHull.of(new PointBuffer(), null));
+    }
+
+    private static void assertHull(final PointBuffer points, final PointBuffer hull) {
+        final var vertices = new HashSet<>(hull.toPoints());
+        assertEquals(hull.getSize(), vertices.size());
+        assertTrue(points.toPoints().containsAll(vertices));
+
+        final int size = hull.getSize();
+        if (size < 3) {
+            return;
+        }
+
+        for (int i = 0 ; i < size ; i++) {
+            final var start = hull.get(i);
+            final var end = hull.get((i + 1) % size);
+            assertEquals(1, Line.orientation(start.getX(), start.getY(), end.getX(), end.getY(), hull.getX((i + 2) % size), hull.getY((i + 2) % size)));
+
+            for (int j = 0 ; j < points.getSize() ; j++) {
+                assertTrue(Line.orientation(start.getX(), start.getY(), end.getX(), end.getY(), points.getX(j), points.getY(j)) >= 0);
+            }
+        }
+    }
+
+    private PointBuffer randomPoints(final int count, final int extent) {
+        final var points = new PointBuffer(count);
+        for (int i = 0 ; i < count ; i++) {
+            points.add(random.nextInt(-extent, extent), random.nextInt(-extent, extent));
+        }
+        return points;
+    }
+}
@@ -7,10 +7,19 @@ import org.junit.jupiter.api.Test;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TestEllipse {
+    /** A ellipse which was serialized before the compact serialized form was introduced. */
+    private static final String LEGACY_STREAM = "rO0ABXNyAB5jb20udmFsa3J5c3QuVkdlb21ldHJ5LkVsbGlwc2UAAAAAAAAAAQIAB0QABGFyZWFE" +
+        "AA1jaXJjdW1mZXJlbmNlRAASaG9yaXpvbnRhbERpYW1ldGVyRAAQaG9yaXpvbnRhbFJhZGl1c0QA" +
+        "EHZlcnRpY2FsRGlhbWV0ZXJEAA52ZXJ0aWNhbFJhZGl1c0wACG1pZHBvaW50dAAeTGNvbS92YWxr" +
+        "cnlzdC9WR2VvbWV0cnkvUG9pbnQ7eHBAR4/bnv/qRkA72RTch6CaQBQAAAAAAABABAAAAAAAAEAo" +
+        "AAAAAAAAQBgAAAAAAABzcgAcY29tLnZhbGtyeXN0LlZHZW9tZXRyeS5Qb2ludAAAAAAAAAABAgAC" +
+        "SQABeEkAAXl4cP////0AAAAE";
+
     @AfterEach
     public void after() {
         try {
@@ -116,6 +125,81 @@ public class TestEllipse {
         assertThrows(NullPointerException.class, () -> new Ellipse((JSONObject) null));
     }
 
+    @Test
+    public void testGetBounds() {
+        final var ellipse = new Ellipse(new Point(0, 0), 4, 2);
+        final var bounds = ellipse.getBounds();
+        assertEquals(new BoundingBox(-4, -2, 4, 2), bounds);
+        assertSame(bounds, ellipse.getBounds());
+
+        final long modificationCount = ellipse.getModificationCount();
+        ellipse.setHorizontalRadius(1);
+        assertEquals(new BoundingBox(-1, -2, 1, 2), ellipse.getBounds());
+        ellipse.setVerticalRadius(0.5);
+        assertEquals(new BoundingBox(-1, -1, 1, 1), ellipse.getBounds());
+        ellipse.setRadii(3, 3);
+        assertEquals(new BoundingBox(-3, -3, 3, 3), ellipse.getBounds());
+        ellipse.setMidpoint(new Point(1, 1));
+        assertEquals(new BoundingBox(-2, -2, 4, 4), ellipse.getBounds());
+        assertEquals(modificationCount + 4, ellipse.getModificationCount());
+    }
+
+    @Test
+    public void testBoundsListener() {
+        final var ellipse = new Ellipse(new Point(0, 0), 1, 1);
+        final var events = new ArrayList<BoundingBox>();
+        final BoundsListener<Ellipse> listener = (shape, oldBounds, newBounds) -> events.add(newBounds);
+        ellipse.addBoundsListener(listener);
+
+        ellipse.setHorizontalRadius(3);
+        ellipse.setVerticalRadius(2);
+        ellipse.setRadii(3, 2);
+        ellipse.set(new Point(5, 5), 1, 1);
+        assertEquals(List.of(new BoundingBox(-3, -1, 3, 1), new BoundingBox(-3, -2, 3, 2), new BoundingBox(4, 4, 6, 6)), events);
+
+        // A listener may remove itself while being notified.
+        final BoundsListener<Ellipse> once = new BoundsListener<>() {
+            @Override
+            public void boundsChanged(final Ellipse shape, final BoundingBox oldBounds, final BoundingBox newBounds) {
+                shape.removeBoundsListener(this);
+            }
+        };
+        ellipse.addBoundsListener(once);
+        ellipse.setMidpoint(new Point(0, 0));
+        assertEquals(4, events.size());
+        assertFalse(ellipse.removeBoundsListener(once));
+    }
+
+    @Test
+    public void testContains() {
+        final var ellipse = new Ellipse(new Point(1, 1), 4, 2);
+        assertTrue(ellipse.contains(1, 1));
+        assertTrue(ellipse.contains(new Point(5, 1)));
+        assertTrue(ellipse.contains(1, -1));
+        assertFalse(ellipse.contains(1, 4));
+        assertFalse(ellipse.contains(5, 2));
+        assertFalse(ellipse.contains(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertThrows(NullPointerException.class, () -> ellipse.contains(null));
+    }
+
+    @Test
+    public void testContains_withZeroRadius() {
+        final var horizontal = new Ellipse(new Point(0, 0), 3, 0);
+        assertTrue(horizontal.contains(-3, 0));
+        assertTrue(horizontal.contains(3, 0));
+        assertFalse(horizontal.contains(4, 0));
+        assertFalse(horizontal.contains(0, 1));
+
+        final var vertical = new Ellipse(new Point(0, 0), 0, 3);
+        assertTrue(vertical.contains(0, 3));
+        assertFalse(vertical.contains(0, 4));
+        assertFalse(vertical.contains(1, 0));
+
+        final var point = new Ellipse(new Point(7, 7), 0, 0);
+        assertTrue(point.contains(7, 7));
+        assertFalse(point.contains(7, 8));
+    }
+
     @Test
     public void testSerializationAndDeserialization() {
         final var midpoint = new Point(0, 0);
@@ -154,6 +238,30 @@ public class TestEllipse {
         }
     }
 
+    @Test
+    public void testDeserialization_withLegacyStream() throws IOException, ClassNotFoundException {
+        // Written by the original serialized form, before the compact form was introduced.
+        final var legacy = Base64.getDecoder().decode(LEGACY_STREAM);
+        final var ellipse = (Ellipse) deserialize(legacy);
+        assertEquals(new Point(-3, 4), ellipse.getMidpoint());
+        assertEquals(2.5, ellipse.getHorizontalRadius());
+        assertEquals(6, ellipse.getVerticalRadius());
+        assertEquals(Math.PI * 2.5 * 6, ellipse.getArea());
+    }
+
+    @Test
+    public void testSerialization_isCompact() throws IOException, ClassNotFoundException {
+        final var legacy = Base64.getDecoder().decode(LEGACY_STREAM);
+        final var ellipse = new Ellipse(new Point(-3, 4), 2.5, 6);
+        final var bytes = serialize(ellipse);
+        assertTrue(bytes.length < legacy.length, bytes.length + " >= " + legacy.length);
+
+        final var copy = (Ellipse) deserialize(bytes);
+        assertEquals(ellipse.getMidpoint(), copy.getMidpoint());
+        assertEquals(ellipse.getVerticalRadius(), copy.getVerticalRadius());
+        assertEquals(ellipse.getCircumference(), copy.getCircumference());
+    }
+
     @Test
     public void testToJson() {
         final var midpoint = new Point(0, 0);
@@ -272,4 +380,171 @@ public class TestEllipse {
         assertEquals(20, ellipse.getHorizontalDiameter(), 1e-15);
         assertEquals(60, ellipse.getVerticalDiameter(), 1e-15);
     }
+
+    @Test
+    public void testSetRadii() {
+        final var ellipse = new Ellipse(new Point(0, 0), 10, 20);
+        ellipse.setRadii(-30, 30);
+
+        assertEquals(30, ellipse.getHorizontalRadius(), 1e-15);
+        assertEquals(30, ellipse.getVerticalRadius(), 1e-15);
+        assertEquals(2827.43, ellipse.getArea(), 0.01);
+        assertEquals(188.50, ellipse.getCircumference(), 0.01);
+        assertEquals(60, ellipse.getHorizontalDiameter(), 1e-15);
+        assertEquals(60, ellipse.getVerticalDiameter(), 1e-15);
+    }
+
+    @Test
+    public void testSet() {
+        final var ellipse = new Ellipse(new Point(0, 0), 10, 20);
+        assertEquals(628.32, ellipse.getArea(), 0.002);
+
+        ellipse.set(new Point(5, 6), 30, 20);
+        assertEquals(new Point(5, 6), ellipse.getMidpoint());
+        assertEquals(30, ellipse.getHorizontalRadius(), 1e-15);
+        assertEquals(20, ellipse.getVerticalRadius(), 1e-15);
+        assertEquals(1884.96, ellipse.getArea(), 0.01);
+    }
+
+    @Test
+    public void testConstructor_withNoArgs() {
+        final var ellipse = new Ellipse();
+        assertEquals(new Point(0, 0), ellipse.getMidpoint());
+        assertEquals(0, ellipse.getHorizontalRadius());
+        assertEquals(0, ellipse.getVerticalRadius());
+    }
+
+    @Test
+    public void testSetMidpoint_withInts() {
+        final var ellipse = new Ellipse(new Point(0, 0), 10, 20);
+        final var midpoint = ellipse.getMidpoint();
+
+        ellipse.setMidpoint(3, -4);
+        assertEquals(new Point(3, -4), ellipse.getMidpoint());
+        assertSame(midpoint, ellipse.getMidpoint());
+        assertEquals(new BoundingBox(-7, -24, 13, 16), ellipse.getBounds());
+    }
+
+    @Test
+    public void testSet_withInts() {
+        final var ellipse = new Ellipse(new Point(0, 0), 10, 20);
+
+        ellipse.set(5, 6, -30, 20);
+        assertEquals(new Point(5, 6), ellipse.getMidpoint());
+        assertEquals(30, ellipse.getHorizontalRadius(), 1e-15);
+        assertEquals(20, ellipse.getVerticalRadius(), 1e-15);
+        assertEquals(1884.96, ellipse.getArea(), 0.01);
+    }
+
+    @Test
+    public void testSet_withEllipse() {
+        final var other = new Ellipse(new Point(-1, 2), 5, 7);
+        final var ellipse = new Ellipse();
+        ellipse.set(other);
+
+        assertEquals(other.getMidpoint(), ellipse.getMidpoint());
+        assertNotSame(other.getMidpoint(), ellipse.getMidpoint());
+        assertEquals(5, ellipse.getHorizontalRadius());
+        assertEquals(7, ellipse.getVerticalRadius());
+        assertEquals(other.getArea(), ellipse.getArea());
+
+        assertThrows(NullPointerException.class, () -> ellipse.set(null));
+    }
+
+    @Test
+    public void testSet_withNullPoint() {
+        final var ellipse = new Ellipse(new Point(0, 0), 10, 20);
+        assertThrows(NullPointerException.class, () -> ellipse.set(null, 10, 20));
+    }
+
+    @Test
+    public void testRasterizeOutline() {
+        final var ellipse = new Ellipse(new Point(0, 0), 3, 1);
+        final var cells = new HashSet<Point>();
+        ellipse.rasterizeOutline((x, y) -> assertTrue(cells.add(new Point(x, y))));
+
+        assertEquals(Set.of(
+            new Point(0, 1), new Point(1, 1), new Point(-1, 1), new Point(2, 1), new Point(-2, 1),
+            new Point(0, -1), new Point(1, -1), new Point(-1, -1), new Point(2, -1), new Point(-2, -1),
+            new Point(3, 0), new Point(-3, 0)
+        ), cells);
+    }
+
+    @Test
+    public void testRasterizeOutline_withZeroRadii() {
+        final var cells = new ArrayList<Point>();
+
+        new Ellipse(new Point(1, 1), 0, 0).rasterizeOutline((x, y) -> cells.add(new Point(x, y)));
+        assertEquals(List.of(new Point(1, 1)), cells);
+
+        cells.clear();
+        new Ellipse(new Point(0, 0), 2, 0).rasterizeOutline((x, y) -> cells.add(new Point(x, y)));
+        assertEquals(Set.of(new Point(-2, 0), new Point(-1, 0), new Point(0, 0), new Point(1, 0), new Point(2, 0)), new HashSet<>(cells));
+        assertEquals(5, cells.size());
+
+        cells.clear();
+        new Ellipse(new Point(0, 0), 0, 2).rasterizeOutline((x, y) -> cells.add(new Point(x, y)));
+        assertEquals(Set.of(new Point(0, -2), new Point(0, -1), new Point(0, 0), new Point(0, 1), new Point(0, 2)), new HashSet<>(cells));
+        assertEquals(5, cells.size());
+    }
+
+    @Test
+    public void testRasterizeOutline_isCloseToEllipse() {
+        final var ellipse = new Ellipse(new Point(0, 0), 40, 15);
+        ellipse.rasterizeOutline((x, y) -> {
+            final double distance = Math.pow(x / 40.0, 2) + Math.pow(y / 15.0, 2);
+            assertEquals(1, distance, 0.15);
+        });
+    }
+
+    @Test
+    public void testRasterizeOutline_withNullConsumer() {
+        final var ellipse = new Ellipse(new Point(0, 0), 3, 1);
+        assertThrows(NullPointerException.class, () -> ellipse.rasterizeOutline(null));
+    }
+
+    @Test
+    public void testRasterizeFilled() {
+        for (int horizontalRadius = 0 ; horizontalRadius <= 25 ; horizontalRadius++) {
+            for (int verticalRadius = 0 ; verticalRadius <= 25 ; verticalRadius++) {
+                final var ellipse = new Ellipse(new Point(-4, 9), horizontalRadius, verticalRadius);
+
+                final var cells = new HashSet<Point>();
+                final var outline = new HashMap<Integer, Integer>();
+                ellipse.rasterizeOutline((x, y) -> {
+                    assertTrue(cells.add(new Point(x, y)));
+                    outline.merge(y, Math.abs(x + 4), Math::max);
+                });
+
+                final var rows = new HashMap<Integer, Integer>();
+                ellipse.rasterizeFilled((y, startX, endX) -> {
+                    assertEquals(-4 - startX, endX + 4);
+                    assertNull(rows.put(y, endX + 4));
+                });
+
+                assertEquals(2 * verticalRadius + 1, rows.size());
+                assertEquals(outline, rows);
+            }
+        }
+    }
+
+    @Test
+    public void testRasterizeFilled_withNullConsumer() {
+        final var ellipse = new Ellipse(new Point(0, 0), 3, 1);
+        assertThrows(NullPointerException.class, () -> ellipse.rasterizeFilled(null));
+    }
+
+    private static byte[] serialize(final Object object) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(final byte[] bytes) throws IOException, ClassNotFoundException {
+        try (final var ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        }
+    }
 }
@@ -0,0 +1,179 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestKdTree {
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final Random random = new Random(21);
+
+    @AfterEach
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testFindNearest() {
+        final var points = randomPoints(5_000, 1000);
+        final var tree = new KdTree(points, pool);
+        assertEquals(5_000, tree.getSize());
+
+        for (int i = 0 ; i < 1_000 ; i++) {
+            final int x = random.nextInt(-1200, 1200);
+            final int y = random.nextInt(-1200, 1200);
+            final int nearest = tree.findNearest(x, y);
+            assertEquals(bruteForceDistances(points, x, y)[0], points.get(nearest).distanceSquared(x, y));
+        }
+    }
+
+    @Test
+    public void testFindNearest_withK() {
+        final var points = randomPoints(5_000, 100);
+        final var tree = new KdTree(points, pool);
+
+        final var nearest = new int[20];
+        final var distances = new double[20];
+        for (int i = 0 ; i < 500 ; i++) {
+            final int x = random.nextInt(-120, 120);
+            final int y = random.nextInt(-120, 120);
+            final int k = random.nextInt(21);
+
+            assertEquals(k, tree.findNearest(x, y, k, nearest, distances));
+            assertSorted(points, x, y, nearest, distances, 0, k);
+        }
+    }
+
+    @Test
+    public void testFindNearest_withKLargerThanSize() {
+        final var points = new PointBuffer();
+        points.add(5, 5);
+        points.add(1, 1);
+        points.add(3, 3);
+        final var tree = new KdTree(points, pool);
+
+        final var nearest = new int[5];
+        final var distances = new double[5];
+        assertEquals(3, tree.findNearest(0, 0, 5, nearest, distances));
+        assertArrayEquals(new int[] { 1, 2, 0 }, Arrays.copyOf(nearest, 3));
+        assertArrayEquals(new double[] { 2, 18, 50 }, Arrays.copyOf(distances, 3));
+    }
+
+    @Test
+    public void testFindNearest_withPointBuffer() {
+        // Large enough to be built in parallel.
+        final var points = randomPoints(40_000, 5000);
+        final var tree = new KdTree(points, pool);
+        final var positions = randomPoints(3_000, 6000);
+
+        final int k = 7;
+        final var nearest = new int[positions.getSize() * k];
+        final var distances = new double[positions.getSize() * k];
+        tree.findNearest(positions, k, nearest, distances);
+
+        for (int i = 0 ; i < positions.getSize() ; i++) {
+            assertSorted(points, positions.getX(i), positions.getY(i), nearest, distances, i * k, k);
+        }
+    }
+
+    @Test
+    public void testFindNearest_withNoPoints() {
+        final var tree = new KdTree(new PointBuffer(), pool);
+        assertEquals(-1, tree.findNearest(0, 0));
+        assertEquals(0, tree.findNearest(0, 0, 2, new int[2], new double[2]));
+
+        final var positions = new PointBuffer();
+        positions.add(1, 1);
+        final var nearest = new int[2];
+        final var distances = new double[2];
+        tree.findNearest(positions, 2, nearest, distances);
+        assertArrayEquals(new int[] { -1, -1 }, nearest);
+        assertArrayEquals(new double[] { Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY }, distances);
+    }
+
+    @Test
+    public void testFindNearest_withDuplicates() {
+        final var points = new PointBuffer();
+        for (int i = 0 ; i < 1_000 ; i++) {
+            points.add(7, 7);
+        }
+        points.add(8, 7);
+        final var tree = new KdTree(points, pool);
+
+        assertEquals(1_000, tree.findNearest(9, 7));
+        assertEquals(1_001, tree.countWithinRadius(7, 7, 1));
+        assertEquals(1_000, tree.countWithinRadius(6, 7, 1));
+    }
+
+    @Test
+    public void testQueryRadius() {
+        final var points = randomPoints(20_000, 1000);
+        final var tree = new KdTree(points, pool);
+
+        for (int i = 0 ; i < 200 ; i++) {
+            final int x = random.nextInt(-1000, 1000);
+            final int y = random.nextInt(-1000, 1000);
+            final int radius = random.nextInt(200);
+
+            final var expected = new ArrayList<Integer>();
+            for (int j = 0 ; j < points.getSize() ; j++) {
+                if (points.get(j).distanceSquared(x, y) <= (double) radius * radius) {
+                    expected.add(j);
+                }
+            }
+
+            final var actual = new ArrayList<Integer>();
+            tree.queryRadius(x, y, radius, actual::add);
+            actual.sort(null);
+
+            assertEquals(expected, actual);
+            assertEquals(expected.size(), tree.countWithinRadius(x, y, radius));
+        }
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        final var tree = new KdTree(randomPoints(10, 10), pool);
+        assertThrows(NullPointerException.class, () -> new KdTree(null));
+        assertThrows(NullPointerException.class, () -> new KdTree(new PointBuffer(), null));
+        assertThrows(IllegalArgumentException.class, () -> tree.findNearest(0, 0, -1, new int[0], new double[0]));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.findNearest(0, 0, 3, new int[2], new double[3]));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.findNearest(0, 0, 3, new int[3], new double[2]));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.findNearest(randomPoints(2, 1), 2, new int[4], new double[3]));
+        assertThrows(NullPointerException.class, () -> tree.queryRadius(0, 0, 1, null));
+    }
+
+    private static void assertSorted(final PointBuffer points, final int x, final int y, final int[] nearest, final double[] distances, final int offset, final int k) {
+        final var expected = bruteForceDistances(points, x, y);
+        for (int i = 0 ; i < k ; i++) {
+            assertEquals(expected[i], distances[offset + i]);
+            assertEquals(expected[i], points.get(nearest[offset + i]).distanceSquared(x, y));
+        }
+
+        final var indices = Arrays.copyOfRange(nearest, offset, offset + k);
+        assertEquals(k, Arrays.stream(indices).distinct().count());
+    }
+
+    private static double[] bruteForceDistances(final PointBuffer points, final int x, final int y) {
+        final var distances = new double[points.getSize()];
+        for (int i = 0 ; i < points.getSize() ; i++) {
+            distances[i] = points.get(i).distanceSquared(x, y);
+        }
+        Arrays.sort(distances);
+        return distances;
+    }
+
+    private PointBuffer randomPoints(final int count, final int extent) {
+        final var points = new PointBuffer(count);
+        for (int i = 0 ; i < count ; i++) {
+            points.add(random.nextInt(-extent, extent), random.nextInt(-extent, extent));
+        }
+        return points;
+    }
+}
@@ -6,12 +6,24 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.*;
+import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TestLine {
+    /** A line which was serialized before the compact serialized form was introduced. */
+    private static final String LEGACY_STREAM = "rO0ABXNyABtjb20udmFsa3J5c3QuVkdlb21ldHJ5LkxpbmUAAAAAAAAAAQIAA0QABXNsb3BlTAAI" +
+        "ZW5kUG9pbnR0AB5MY29tL3ZhbGtyeXN0L1ZHZW9tZXRyeS9Qb2ludDtMAApzdGFydFBvaW50cQB+" +
+        "AAF4cEAAAAAAAAAAc3IAHGNvbS52YWxrcnlzdC5WR2VvbWV0cnkuUG9pbnQAAAAAAAAAAQIAAkkA" +
+        "AXhJAAF5eHAAAAAFAAAACnNxAH4AAwAAAAEAAAAC";
+
     private Point startPoint;
     private Point endPoint;
 
@@ -129,6 +141,29 @@ public class TestLine {
         }
     }
 
+    @Test
+    public void testDeserialization_withLegacyStream() throws IOException, ClassNotFoundException {
+        // Written by the original serialized form, before the compact form was introduced.
+        final var legacy = Base64.getDecoder().decode(LEGACY_STREAM);
+        final var line = (Line) deserialize(legacy);
+        assertEquals(new Point(1, 2), line.getStartPoint());
+        assertEquals(new Point(5, 10), line.getEndPoint());
+        assertEquals(2, line.getSlope());
+    }
+
+    @Test
+    public void testSerialization_isCompact() throws IOException, ClassNotFoundException {
+        final var legacy = Base64.getDecoder().decode(LEGACY_STREAM);
+        final var line = new Line(new Point(1, 2), new Point(5, 10));
+        final var bytes = serialize(line);
+        assertTrue(bytes.length < legacy.length, bytes.length + " >= " + legacy.length);
+
+        final var copy = (Line) deserialize(bytes);
+        assertEquals(line.getStartPoint(), copy.getStartPoint());
+        assertEquals(line.getEndPoint(), copy.getEndPoint());
+        assertEquals(line.getSlope(), copy.getSlope());
+    }
+
     @Test
     public void testToJson() {
         final var line = new Line(startPoint, endPoint);
@@ -197,4 +232,536 @@ public class TestLine {
         line.setEndPoint(point);
         assertEquals(0.42857142857143, line.getSlope(), 1e-13);
     }
+
+    @Test
+    public void testConstructor_withNoArgs() {
+        final var line = new Line();
+        assertEquals(new Point(0, 0), line.getStartPoint());
+        assertEquals(new Point(0, 0), line.getEndPoint());
+        assertEquals(0, line.getSlope());
+    }
+
+    @Test
+    public void testConstructors_countOneModification() {
+        final var line = new Line(startPoint, endPoint);
+        assertEquals(1, line.getModificationCount());
+        assertEquals(1, new Line(line).getModificationCount());
+        assertEquals(1, new Line(line.toJson()).getModificationCount());
+    }
+
+    @Test
+    public void testSetStartPointAndEndPoint_withInts() {
+        final var line = new Line(startPoint, endPoint);
+        final var originalStartPoint = line.getStartPoint();
+
+        line.setStartPoint(7, 3);
+        assertEquals(new Point(7, 3), line.getStartPoint());
+        assertSame(originalStartPoint, line.getStartPoint());
+        assertEquals(2.3333333333333, line.getSlope(), 1e-13);
+
+        line.setEndPoint(7, 10);
+        assertEquals(new Point(7, 10), line.getEndPoint());
+        assertEquals(0, line.getSlope());
+    }
+
+    @Test
+    public void testSet() {
+        final var line = new Line(new Point(0, 0), new Point(5, 5));
+        final var events = new ArrayList<BoundingBox>();
+        line.addBoundsListener((shape, oldBounds, newBounds) -> {
+            events.add(oldBounds);
+            events.add(newBounds);
+        });
+
+        final long modificationCount = line.getModificationCount();
+        line.set(1, 2, 9, 6);
+        assertEquals(new Point(1, 2), line.getStartPoint());
+        assertEquals(new Point(9, 6), line.getEndPoint());
+        assertEquals(0.5, line.getSlope());
+
+        // Both points are set by a single modification.
+        assertEquals(modificationCount + 1, line.getModificationCount());
+        assertEquals(List.of(new BoundingBox(0, 0, 5, 5), new BoundingBox(1, 2, 9, 6)), events);
+    }
+
+    @Test
+    public void testSet_withLine() {
+        final var other = new Line(new Point(-3, 4), new Point(5, -6));
+        other.addBoundsListener((shape, oldBounds, newBounds) -> fail());
+
+        final var line = new Line();
+        line.set(other);
+        assertEquals(other.getStartPoint(), line.getStartPoint());
+        assertEquals(other.getEndPoint(), line.getEndPoint());
+        assertEquals(other.getSlope(), line.getSlope());
+        assertEquals(other.getBounds(), line.getBounds());
+        assertNotSame(other.getStartPoint(), line.getStartPoint());
+
+        assertThrows(NullPointerException.class, () -> line.set(null));
+    }
+
+    @Test
+    public void testGetBounds() {
+        final var line = new Line(new Point(5, -1), new Point(2, 7));
+        final var bounds = line.getBounds();
+        assertEquals(new BoundingBox(2, -1, 5, 7), bounds);
+        assertSame(bounds, line.getBounds());
+
+        final long modificationCount = line.getModificationCount();
+        line.setStartPoint(new Point(0, 0));
+        assertEquals(new BoundingBox(0, 0, 2, 7), line.getBounds());
+        line.setEndPoint(new Point(-3, -4));
+        assertEquals(new BoundingBox(-3, -4, 0, 0), line.getBounds());
+        assertEquals(modificationCount + 2, line.getModificationCount());
+    }
+
+    @Test
+    public void testBoundsListener() {
+        final var line = new Line(new Point(0, 0), new Point(5, 5));
+        final var events = new ArrayList<BoundingBox>();
+        line.addBoundsListener((shape, oldBounds, newBounds) -> {
+            events.add(oldBounds);
+            events.add(newBounds);
+        });
+
+        line.setEndPoint(new Point(5, 6));
+        line.setStartPoint(new Point(0, 0));
+        assertEquals(List.of(new BoundingBox(0, 0, 5, 5), new BoundingBox(0, 0, 5, 6)), events);
+    }
+
+    @Test
+    public void testIsHorizontalAndIsVertical() {
+        final var horizontal = new Line(new Point(0, 5), new Point(10, 5));
+        final var vertical = new Line(new Point(5, 0), new Point(5, 10));
+        assertEquals(horizontal.getSlope(), vertical.getSlope());
+        assertTrue(horizontal.isHorizontal());
+        assertFalse(horizontal.isVertical());
+        assertTrue(vertical.isVertical());
+        assertFalse(vertical.isHorizontal());
+    }
+
+    @Test
+    public void testOrientation() {
+        final var line = new Line(new Point(0, 0), new Point(10, 0));
+        assertEquals(1, line.orientation(5, 1));
+        assertEquals(-1, line.orientation(new Point(5, -1)));
+        assertEquals(0, line.orientation(20, 0));
+        assertEquals(0, new Line(new Point(3, 3), new Point(3, 3)).orientation(7, -2));
+    }
+
+    @Test
+    public void testOrientation_isExactAtExtremes() {
+        final int max = Integer.MAX_VALUE;
+        final int min = Integer.MIN_VALUE;
+        final var random = new Random(19);
+        final int[] values = { min, min + 1, -1, 0, 1, max - 1, max };
+
+        for (int i = 0 ; i < 2000 ; i++) {
+            final int[] c = new int[6];
+            for (int j = 0 ; j < 6 ; j++) {
+                c[j] = random.nextBoolean() ? values[random.nextInt(values.length)] : random.nextInt();
+            }
+
+            final var ax = BigInteger.valueOf((long) c[2] - c[0]);
+            final var ay = BigInteger.valueOf((long) c[3] - c[1]);
+            final var bx = BigInteger.valueOf((long) c[4] - c[0]);
+            final var by = BigInteger.valueOf((long) c[5] - c[1]);
+            final int expected = ax.multiply(by).subtract(ay.multiply(bx)).signum();
+            assertEquals(expected, Line.orientation(c[0], c[1], c[2], c[3], c[4], c[5]));
+        }
+
+        // The cross product here is exactly -1, which the products rounded to doubles would lose.
+        assertEquals(-1, Line.orientation(0, 0, max, max - 1, max - 1, max - 2));
+        assertTrue(Line.isCollinear(min, min, max, max, 0, 0));
+    }
+
+    @Test
+    public void testContains() {
+        final var line = new Line(new Point(0, 0), new Point(6, 3));
+        assertTrue(line.contains(0, 0));
+        assertTrue(line.contains(new Point(2, 1)));
+        assertTrue(line.contains(6, 3));
+        assertFalse(line.contains(8, 4));
+        assertFalse(line.contains(3, 1));
+    }
+
+    @Test
+    public void testIsCollinear() {
+        final var line = new Line(new Point(0, 0), new Point(2, 2));
+        assertTrue(line.isCollinear(new Line(new Point(5, 5), new Point(-1, -1))));
+        assertFalse(line.isCollinear(new Line(new Point(5, 5), new Point(-1, 0))));
+        assertTrue(new Line(new Point(4, 4), new Point(4, 4)).isCollinear(line));
+        assertFalse(new Line(new Point(4, 5), new Point(4, 5)).isCollinear(line));
+    }
+
+    @Test
+    public void testIntersects() {
+        final var line = new Line(new Point(0, 0), new Point(10, 10));
+        assertTrue(line.intersects(new Line(new Point(0, 10), new Point(10, 0))));
+        assertTrue(line.intersects(new Line(new Point(10, 10), new Point(20, 0))));
+        assertTrue(line.intersects(new Line(new Point(5, 5), new Point(20, 20))));
+        assertTrue(line.intersects(new Line(new Point(3, 3), new Point(3, 3))));
+        assertFalse(line.intersects(new Line(new Point(11, 11), new Point(20, 20))));
+        assertFalse(line.intersects(new Line(new Point(0, 1), new Point(9, 10))));
+        assertFalse(line.intersects(new Line(new Point(6, 0), new Point(10, 4))));
+    }
+
+    @Test
+    public void testFindIntersectionParameters() {
+        final var line = new Line(new Point(0, 0), new Point(4, 0));
+        final var parameters = new long[3];
+
+        assertTrue(line.findIntersectionParameters(new Line(new Point(1, -3), new Point(1, 1)), parameters));
+        assertEquals(1, parameters[0] * 4 / parameters[2]);
+        assertEquals(0, parameters[0] * 4 % parameters[2]);
+        assertEquals(3, parameters[1] * 4 / parameters[2]);
+        assertTrue(parameters[2] > 0);
+
+        assertTrue(line.findIntersectionParameters(new Line(new Point(4, 0), new Point(4, 7)), parameters));
+        assertEquals(parameters[2], parameters[0]);
+        assertEquals(0, parameters[1]);
+
+        // A third of the way along the first line.
+        assertTrue(Line.findIntersectionParameters(0, 0, 3, 3, 1, 0, 1, 5, parameters));
+        assertEquals(1, parameters[0] * 3 / parameters[2]);
+        assertEquals(parameters[2], parameters[1] * 5);
+
+        final var unchanged = new long[] { 7, 8, 9 };
+        assertFalse(line.findIntersectionParameters(new Line(new Point(0, 1), new Point(4, 1)), unchanged));
+        assertFalse(line.findIntersectionParameters(new Line(new Point(1, 0), new Point(3, 0)), unchanged));
+        assertFalse(line.findIntersectionParameters(new Line(new Point(5, -1), new Point(5, 1)), unchanged));
+        assertFalse(line.findIntersectionParameters(new Line(new Point(2, 0), new Point(2, 0)), unchanged));
+        assertArrayEquals(new long[] { 7, 8, 9 }, unchanged);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> line.findIntersectionParameters(line, new long[2]));
+        assertThrows(ArithmeticException.class, () -> Line.findIntersectionParameters(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, 0, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, new long[3]));
+    }
+
+    @Test
+    public void testRasterize() {
+        final var line = new Line(new Point(0, 0), new Point(5, 2));
+        final var buffer = new PointBuffer();
+        line.rasterize(buffer);
+
+        assertEquals(List.of(
+            new Point(0, 0), new Point(1, 0), new Point(2, 1),
+            new Point(3, 1), new Point(4, 2), new Point(5, 2)
+        ), buffer.toPoints());
+    }
+
+    @Test
+    public void testRasterize_withSinglePoint() {
+        final var line = new Line(new Point(3, 3), new Point(3, 3));
+        final var buffer = new PointBuffer();
+        line.rasterize(buffer);
+
+        assertEquals(List.of(new Point(3, 3)), buffer.toPoints());
+    }
+
+    @Test
+    public void testRasterize_allOctants() {
+        final int[][] ends = {
+            { 7, 3 }, { 3, 7 }, { -3, 7 }, { -7, 3 },
+            { -7, -3 }, { -3, -7 }, { 3, -7 }, { 7, -3 },
+            { 7, 0 }, { 0, 7 }, { -7, 0 }, { 0, -7 }, { 7, 7 }, { -7, -7 }
+        };
+
+        for (final var end : ends) {
+            final var line = new Line(new Point(0, 0), new Point(end[0], end[1]));
+            final var buffer = new PointBuffer();
+            line.rasterize(buffer);
+
+            assertEquals(line.getCellCount(), buffer.getSize());
+            assertEquals(new Point(0, 0), buffer.get(0));
+            assertEquals(line.getEndPoint(), buffer.get(buffer.getSize() - 1));
+
+            for (int i = 1 ; i < buffer.getSize() ; i++) {
+                final int stepX = Math.abs(buffer.getX(i) - buffer.getX(i - 1));
+                final int stepY = Math.abs(buffer.getY(i) - buffer.getY(i - 1));
+                assertTrue(stepX <= 1 && stepY <= 1 && stepX + stepY > 0);
+            }
+        }
+    }
+
+    @Test
+    public void testRasterize_withConsumer() {
+        final var line = new Line(new Point(0, 10), new Point(0, 0));
+        final var sum = new int[2];
+        line.rasterize((x, y) -> {
+            sum[0]++;
+            sum[1] += y;
+        });
+
+        assertEquals(11, sum[0]);
+        assertEquals(55, sum[1]);
+    }
+
+    @Test
+    public void testRasterize_withNullConsumer() {
+        final var line = new Line(startPoint, endPoint);
+        assertThrows(NullPointerException.class, () -> line.rasterize((PointConsumer) null));
+    }
+
+    @Test
+    public void testRasterize_withLines() {
+        final var lines = List.of(
+            new Line(new Point(0, 0), new Point(2, 0)),
+            new Line(new Point(5, 5), new Point(5, 3))
+        );
+        final var buffer = new PointBuffer();
+        Line.rasterize(lines, buffer);
+
+        assertEquals(List.of(
+            new Point(0, 0), new Point(1, 0), new Point(2, 0),
+            new Point(5, 5), new Point(5, 4), new Point(5, 3)
+        ), buffer.toPoints());
+    }
+
+    @Test
+    public void testRasterize_withPackedSegments() {
+        final int[] segments = { 0, 0, 2, 0, 5, 5, 5, 3, 9, 9, 9, 9 };
+        final var buffer = new PointBuffer();
+        Line.rasterize(segments, 2, buffer);
+
+        assertEquals(List.of(
+            new Point(0, 0), new Point(1, 0), new Point(2, 0),
+            new Point(5, 5), new Point(5, 4), new Point(5, 3)
+        ), buffer.toPoints());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> Line.rasterize(segments, 4, buffer));
+    }
+
+    @Test
+    public void testDistanceSquared() {
+        final var line = new Line(new Point(0, 0), new Point(10, 0));
+        assertEquals(25, line.distanceSquared(new Point(5, 5)));
+        assertEquals(0, line.distanceSquared(3, 0));
+        assertEquals(8, line.distanceSquared(-2, 2));
+        assertEquals(13, line.distanceSquared(12, -3));
+
+        final var point = new Line(new Point(4, 4), new Point(4, 4));
+        assertEquals(25, point.distanceSquared(7, 8));
+        assertEquals(0, point.distanceSquared(4, 4));
+    }
+
+    @Test
+    public void testDistanceSquared_matchesBruteForce() {
+        final var random = new Random(20);
+        for (int i = 0 ; i < 10_000 ; i++) {
+            final int startX = random.nextInt(-100, 100);
+            final int startY = random.nextInt(-100, 100);
+            final int endX = random.nextInt(-100, 100);
+            final int endY = random.nextInt(-100, 100);
+            final int x = random.nextInt(-150, 150);
+            final int y = random.nextInt(-150, 150);
+
+            // Samples are at most 0.3 apart, so the nearest sample is at most 0.15 further away.
+            double expected = Double.MAX_VALUE;
+            for (int step = 0 ; step <= 1000 ; step++) {
+                final double t = step / 1000.0;
+                final double dx = startX + t * (endX - startX) - x;
+                final double dy = startY + t * (endY - startY) - y;
+                expected = Math.min(expected, dx * dx + dy * dy);
+            }
+
+            final double actual = Line.distanceSquared(startX, startY, endX, endY, x, y);
+            assertTrue(actual <= expected + 1e-9);
+            assertTrue(Math.sqrt(expected) - Math.sqrt(actual) <= 0.3);
+        }
+    }
+
+    @Test
+    public void testDistanceSquared_withNullPoint() {
+        final var line = new Line(startPoint, endPoint);
+        assertThrows(NullPointerException.class, () -> line.distanceSquared(null));
+    }
+
+    @Test
+    public void testClip() {
+        final var viewport = new BoundingBox(0, 0, 10, 10);
+        final var clipped = new int[4];
+
+        assertTrue(new Line(new Point(2, 3), new Point(8, 7)).clip(viewport, clipped, 0));
+        assertArrayEquals(new int[] { 2, 3, 8, 7 }, clipped);
+
+        assertTrue(new Line(new Point(-10, 5), new Point(20, 5)).clip(viewport, clipped, 0));
+        assertArrayEquals(new int[] { 0, 5, 10, 5 }, clipped);
+
+        assertTrue(new Line(new Point(5, 20), new Point(5, -20)).clip(viewport, clipped, 0));
+        assertArrayEquals(new int[] { 5, 10, 5, 0 }, clipped);
+
+        assertTrue(new Line(new Point(-5, -5), new Point(15, 15)).clip(viewport, clipped, 0));
+        assertArrayEquals(new int[] { 0, 0, 10, 10 }, clipped);
+
+        assertTrue(new Line(new Point(-4, 2), new Point(6, 12)).clip(viewport, clipped, 0));
+        assertArrayEquals(new int[] { 0, 6, 4, 10 }, clipped);
+    }
+
+    @Test
+    public void testClip_onEdges() {
+        final var viewport = new BoundingBox(0, 0, 10, 10);
+        final var clipped = new int[4];
+
+        assertTrue(new Line(new Point(-5, 10), new Point(5, 10)).clip(viewport, clipped, 0));
+        assertArrayEquals(new int[] { 0, 10, 5, 10 }, clipped);
+
+        assertTrue(new Line(new Point(0, -5), new Point(0, 15)).clip(viewport, clipped, 0));
+        assertArrayEquals(new int[] { 0, 0, 0, 10 }, clipped);
+
+        assertTrue(new Line(new Point(-5, 5), new Point(5, -5)).clip(viewport, clipped, 0));
+        assertArrayEquals(new int[] { 0, 0, 0, 0 }, clipped);
+    }
+
+    @Test
+    public void testClip_rejected() {
+        final var viewport = new BoundingBox(0, 0, 10, 10);
+        final var clipped = new int[4];
+
+        assertFalse(new Line(new Point(-5, 11), new Point(15, 11)).clip(viewport, clipped, 0));
+        assertFalse(new Line(new Point(-1, -5), new Point(-1, 15)).clip(viewport, clipped, 0));
+        assertFalse(new Line(new Point(-5, 4), new Point(4, -5)).clip(viewport, clipped, 0));
+        assertFalse(new Line(new Point(20, 20), new Point(30, 25)).clip(viewport, clipped, 0));
+        assertFalse(new Line(new Point(11, 11), new Point(11, 11)).clip(viewport, clipped, 0));
+    }
+
+    @Test
+    public void testClip_withPoint() {
+        final var viewport = new BoundingBox(0, 0, 10, 10);
+        final var clipped = new int[6];
+
+        assertTrue(new Line(new Point(3, 4), new Point(3, 4)).clip(viewport, clipped, 2));
+        assertArrayEquals(new int[] { 0, 0, 3, 4, 3, 4 }, clipped);
+    }
+
+    @Test
+    public void testClip_withExtremeCoordinates() {
+        final var viewport = new BoundingBox(-100, -100, 100, 100);
+        final var clipped = new int[4];
+
+        final var line = new Line(new Point(Integer.MIN_VALUE, Integer.MIN_VALUE), new Point(Integer.MAX_VALUE, Integer.MAX_VALUE));
+        assertTrue(line.clip(viewport, clipped, 0));
+        assertArrayEquals(new int[] { -100, -100, 100, 100 }, clipped);
+    }
+
+    @Test
+    public void testClip_withShortArray() {
+        final var line = new Line(startPoint, endPoint);
+        final var viewport = new BoundingBox(0, 0, 10, 10);
+        assertThrows(IndexOutOfBoundsException.class, () -> line.clip(viewport, new int[4], 1));
+    }
+
+    @Test
+    public void testClip_withPackedSegments() {
+        final var viewport = new BoundingBox(0, 0, 10, 10);
+        final int[] segments = { -10, 5, 20, 5, 20, 20, 30, 25, 2, 3, 8, 7 };
+        final var clipped = new int[segments.length];
+        final var accepted = new boolean[3];
+
+        assertEquals(2, Line.clip(segments, 3, viewport, clipped, accepted));
+        assertArrayEquals(new boolean[] { true, false, true }, accepted);
+        assertArrayEquals(new int[] { 0, 5, 10, 5 }, Arrays.copyOfRange(clipped, 0, 4));
+        assertArrayEquals(new int[] { 2, 3, 8, 7 }, Arrays.copyOfRange(clipped, 8, 12));
+
+        // The clipped segments may overwrite the segments.
+        assertEquals(2, Line.clip(segments, 3, viewport, segments, accepted));
+        assertArrayEquals(new int[] { 0, 5, 10, 5 }, Arrays.copyOfRange(segments, 0, 4));
+    }
+
+    @Test
+    public void testClip_withPackedSegments_shortArrays() {
+        final var viewport = new BoundingBox(0, 0, 10, 10);
+        final var segments = new int[8];
+
+        assertThrows(IndexOutOfBoundsException.class, () -> Line.clip(segments, 3, viewport, new int[12], new boolean[3]));
+        assertThrows(IndexOutOfBoundsException.class, () -> Line.clip(segments, 2, viewport, new int[7], new boolean[2]));
+        assertThrows(IndexOutOfBoundsException.class, () -> Line.clip(segments, 2, viewport, new int[8], new boolean[1]));
+        assertThrows(IndexOutOfBoundsException.class, () -> Line.clip(segments, -1, viewport, new int[8], new boolean[2]));
+    }
+
+    @Test
+    public void testClip_throughCorner() {
+        final var clipped = new int[4];
+
+        // Each line passes exactly through one corner of the viewport, and through no other part of it.
+        assertTrue(Line.clip(6, 18, -12, -15, 0, 4, 5, 7, clipped, 0));
+        assertArrayEquals(new int[] { 0, 7, 0, 7 }, clipped);
+
+        final var line = new Line(new Point(-21, 21), new Point(28, -14));
+        assertTrue(line.clip(new BoundingBox(3, -4, 14, -4), clipped, 0));
+        assertArrayEquals(new int[] { 14, -4, 14, -4 }, clipped);
+    }
+
+    @Test
+    public void testClip_matchesIntersection() {
+        final var random = new Random(24);
+        assertClipMatchesIntersection(random, new BoundingBox(-20, -10, 30, 40), 100, 10_000);
+    }
+
+    @Test
+    public void testClip_matchesIntersection_withSmallCoordinates() {
+        // Small coordinates make lines which pass exactly through a corner common.
+        final var random = new Random(25);
+        for (int i = 0 ; i < 2_000 ; i++) {
+            final int minX = random.nextInt(-10, 10);
+            final int minY = random.nextInt(-10, 10);
+            final var viewport = new BoundingBox(minX, minY, minX + random.nextInt(0, 8), minY + random.nextInt(0, 8));
+            assertClipMatchesIntersection(random, viewport, 25, 100);
+        }
+    }
+
+    private static void assertClipMatchesIntersection(final Random random, final BoundingBox viewport, final int range, final int count) {
+        final int minX = viewport.getMinX();
+        final int minY = viewport.getMinY();
+        final int maxX = viewport.getMaxX();
+        final int maxY = viewport.getMaxY();
+        final int[][] edges = {
+            { minX, minY, maxX, minY }, { maxX, minY, maxX, maxY }, { maxX, maxY, minX, maxY }, { minX, maxY, minX, minY }
+        };
+
+        final var segments = new int[count * 4];
+        for (int i = 0 ; i < segments.length ; i++) {
+            segments[i] = random.nextInt(-range, range);
+        }
+
+        final var clipped = new int[segments.length];
+        final var accepted = new boolean[count];
+        Line.clip(segments, count, viewport, clipped, accepted);
+
+        for (int i = 0 ; i < count ; i++) {
+            final int startX = segments[i * 4];
+            final int startY = segments[i * 4 + 1];
+            final int endX = segments[i * 4 + 2];
+            final int endY = segments[i * 4 + 3];
+
+            boolean expected = viewport.contains(startX, startY);
+            for (final var edge : edges) {
+                expected |= Line.intersects(startX, startY, endX, endY, edge[0], edge[1], edge[2], edge[3]);
+            }
+            assertEquals(expected, accepted[i]);
+
+            if (accepted[i]) {
+                // Rounding moves each endpoint by at most half a cell on each axis.
+                for (int j = 0 ; j < 4 ; j += 2) {
+                    final int x = clipped[i * 4 + j];
+                    final int y = clipped[i * 4 + j + 1];
+                    assertTrue(viewport.contains(x, y));
+                    assertTrue(Line.distanceSquared(startX, startY, endX, endY, x, y) <= 0.5 + 1e-9);
+                }
+            }
+        }
+    }
+
+    private static byte[] serialize(final Object object) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(final byte[] bytes) throws IOException, ClassNotFoundException {
+        try (final var ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        }
+    }
 }
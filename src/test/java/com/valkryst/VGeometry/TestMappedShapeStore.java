@@ -0,0 +1,164 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMappedShapeStore {
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testPoints() throws IOException {
+        final var points = new PointBuffer();
+        for (int i = 0 ; i < 100 ; i++) {
+            points.add(i, -i);
+        }
+
+        final var path = directory.resolve("points.bin");
+        MappedShapeStore.writePoints(path, points);
+        assertEquals(MappedShapeStore.HEADER_BYTES + 100 * ShapeCodec.POINT_BYTES, Files.size(path));
+
+        try (final var store = MappedShapeStore.open(path)) {
+            assertEquals(ShapeType.POINT, store.getType());
+            assertEquals(100, store.getCount());
+            assertEquals(new Point(42, -42), store.getPoint(42, new Point()));
+            assertEquals(99, store.getX(99));
+            assertEquals(-99, store.getY(99));
+        }
+    }
+
+    @Test
+    public void testLines_acrossWindows() throws IOException {
+        final var segments = new int[4000];
+        for (int i = 0 ; i < segments.length ; i++) {
+            segments[i] = i * 7 - 5000;
+        }
+
+        final var path = directory.resolve("lines.bin");
+        MappedShapeStore.writeLines(path, segments, 1000);
+
+        // Use small windows, so that the records are spread across many of them.
+        try (final var store = MappedShapeStore.open(path, 3)) {
+            assertEquals(1000, store.getCount());
+
+            final var line = new Line(new Point(0, 0), new Point(0, 0));
+            for (int i = 0 ; i < 1000 ; i++) {
+                store.getLine(i, line);
+                assertEquals(new Point(segments[i * 4], segments[i * 4 + 1]), line.getStartPoint());
+                assertEquals(new Point(segments[i * 4 + 2], segments[i * 4 + 3]), line.getEndPoint());
+                assertEquals(segments[i * 4 + 3], store.getEndY(i));
+            }
+        }
+    }
+
+    @Test
+    public void testLines_withCollection() throws IOException {
+        final var path = directory.resolve("lines.bin");
+        MappedShapeStore.writeLines(path, List.of(new Line(new Point(1, 2), new Point(3, 4))));
+
+        try (final var store = MappedShapeStore.open(path)) {
+            final var line = store.getLine(0, new Line(new Point(0, 0), new Point(0, 0)));
+            assertEquals(new Point(3, 4), line.getEndPoint());
+            assertEquals(1, line.getSlope());
+        }
+    }
+
+    @Test
+    public void testCircles() throws IOException {
+        final var circles = new ArrayList<Circle>();
+        for (int i = 0 ; i < 5000 ; i++) {
+            circles.add(new Circle(new Point(i, i * 2), i / 4.0));
+        }
+
+        final var path = directory.resolve("circles.bin");
+        MappedShapeStore.writeCircles(path, circles);
+
+        try (final var store = MappedShapeStore.open(path)) {
+            final var circle = new Circle(new Point(0, 0), 0);
+            for (int i = 0 ; i < circles.size() ; i++) {
+                store.getCircle(i, circle);
+                assertEquals(circles.get(i).getMidpoint(), circle.getMidpoint());
+                assertEquals(circles.get(i).getArea(), circle.getArea());
+            }
+        }
+    }
+
+    @Test
+    public void testEllipses() throws IOException {
+        final var path = directory.resolve("ellipses.bin");
+        MappedShapeStore.writeEllipses(path, List.of(new Ellipse(new Point(1, 2), 3, 4), new Ellipse(new Point(5, 6), 7, 8)));
+
+        try (final var store = MappedShapeStore.open(path)) {
+            assertEquals(ShapeType.ELLIPSE, store.getType());
+            assertEquals(7, store.getHorizontalRadius(1));
+            assertEquals(8, store.getVerticalRadius(1));
+
+            final var ellipse = store.getEllipse(0, new Ellipse(new Point(0, 0), 0, 0));
+            assertEquals(new Point(1, 2), ellipse.getMidpoint());
+            assertEquals(4, ellipse.getVerticalRadius());
+        }
+    }
+
+    @Test
+    public void testEmptyStore() throws IOException {
+        final var path = directory.resolve("empty.bin");
+        MappedShapeStore.writeCircles(path, List.of());
+
+        try (final var store = MappedShapeStore.open(path)) {
+            assertEquals(0, store.getCount());
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getX(0));
+        }
+    }
+
+    @Test
+    public void testGet_withInvalidIndex() throws IOException {
+        final var path = directory.resolve("points.bin");
+        MappedShapeStore.writePoints(path, new PointBuffer(List.of(new Point(1, 1))));
+
+        try (final var store = MappedShapeStore.open(path)) {
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getX(1));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getY(-1));
+        }
+    }
+
+    @Test
+    public void testGet_withWrongType() throws IOException {
+        final var path = directory.resolve("points.bin");
+        MappedShapeStore.writePoints(path, new PointBuffer(List.of(new Point(1, 1))));
+
+        try (final var store = MappedShapeStore.open(path)) {
+            assertThrows(IllegalStateException.class, () -> store.getRadius(0));
+            assertThrows(IllegalStateException.class, () -> store.getEndX(0));
+            assertThrows(IllegalStateException.class, () -> store.getEllipse(0, new Ellipse(new Point(0, 0), 0, 0)));
+        }
+    }
+
+    @Test
+    public void testOpen_withInvalidFile() throws IOException {
+        final var path = directory.resolve("invalid.bin");
+        Files.write(path, new byte[] { 1, 2, 3 });
+        assertThrows(IOException.class, () -> MappedShapeStore.open(path));
+
+        Files.write(path, new byte[64]);
+        assertThrows(IOException.class, () -> MappedShapeStore.open(path));
+    }
+
+    @Test
+    public void testOpen_withTruncatedFile() throws IOException {
+        final var path = directory.resolve("points.bin");
+        MappedShapeStore.writePoints(path, new PointBuffer(List.of(new Point(1, 1), new Point(2, 2))));
+
+        final var bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> MappedShapeStore.open(path));
+    }
+}
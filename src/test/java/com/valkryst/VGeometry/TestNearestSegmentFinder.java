@@ -0,0 +1,127 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestNearestSegmentFinder {
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final Random random = new Random(20);
+
+    @AfterEach
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testFindNearest() {
+        final var segments = randomSegments(500);
+        final var finder = new NearestSegmentFinder(segments, 500, pool);
+        assertEquals(500, finder.getSize());
+
+        for (int i = 0 ; i < 2_000 ; i++) {
+            final int x = random.nextInt(-1200, 1200);
+            final int y = random.nextInt(-1200, 1200);
+            final int nearest = finder.findNearest(x, y);
+            assertEquals(bruteForceDistance(segments, 500, x, y), finder.distanceSquared(nearest, x, y));
+        }
+    }
+
+    @Test
+    public void testFindNearest_withPointBuffer() {
+        final var segments = randomSegments(300);
+        final var finder = new NearestSegmentFinder(segments, 300, pool);
+
+        final var points = new PointBuffer();
+        for (int i = 0 ; i < 10_000 ; i++) {
+            points.add(random.nextInt(-1200, 1200), random.nextInt(-1200, 1200));
+        }
+
+        final var nearest = new int[points.getSize()];
+        final var distances = new double[points.getSize()];
+        finder.findNearest(points, nearest, distances);
+
+        for (int i = 0 ; i < points.getSize() ; i++) {
+            final double expected = bruteForceDistance(segments, 300, points.getX(i), points.getY(i));
+            assertEquals(expected, distances[i]);
+            assertEquals(expected, finder.distanceSquared(nearest[i], points.getX(i), points.getY(i)));
+        }
+
+        final var nearestOnly = new int[points.getSize()];
+        finder.findNearest(points, nearestOnly, null);
+        for (int i = 0 ; i < points.getSize() ; i++) {
+            assertEquals(distances[i], finder.distanceSquared(nearestOnly[i], points.getX(i), points.getY(i)));
+        }
+    }
+
+    @Test
+    public void testFindNearest_withNoSegments() {
+        final var finder = new NearestSegmentFinder(new int[0], 0, pool);
+        assertEquals(-1, finder.findNearest(0, 0));
+
+        final var points = new PointBuffer();
+        points.add(1, 2);
+
+        final var nearest = new int[1];
+        final var distances = new double[1];
+        finder.findNearest(points, nearest, distances);
+        assertEquals(-1, nearest[0]);
+        assertEquals(Double.POSITIVE_INFINITY, distances[0]);
+    }
+
+    @Test
+    public void testOfLines() {
+        final var finder = NearestSegmentFinder.ofLines(List.of(
+            new Line(new Point(0, 0), new Point(10, 0)),
+            new Line(new Point(0, 10), new Point(10, 10))
+        ));
+
+        assertEquals(2, finder.getSize());
+        assertEquals(0, finder.findNearest(5, 2));
+        assertEquals(1, finder.findNearest(5, 8));
+        assertEquals(4, finder.distanceSquared(0, 5, 2));
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        final var segments = randomSegments(2);
+        assertThrows(NullPointerException.class, () -> new NearestSegmentFinder(null, 0));
+        assertThrows(NullPointerException.class, () -> new NearestSegmentFinder(segments, 2, null));
+        assertThrows(IndexOutOfBoundsException.class, () -> new NearestSegmentFinder(segments, 3, pool));
+        assertThrows(IndexOutOfBoundsException.class, () -> new NearestSegmentFinder(segments, -1, pool));
+
+        final var finder = new NearestSegmentFinder(segments, 2, pool);
+        assertThrows(IndexOutOfBoundsException.class, () -> finder.distanceSquared(2, 0, 0));
+
+        final var points = new PointBuffer();
+        points.add(0, 0);
+        points.add(1, 1);
+        assertThrows(NullPointerException.class, () -> finder.findNearest(null, new int[0], null));
+        assertThrows(IndexOutOfBoundsException.class, () -> finder.findNearest(points, new int[1], null));
+        assertThrows(IndexOutOfBoundsException.class, () -> finder.findNearest(points, new int[2], new double[1]));
+    }
+
+    private int[] randomSegments(final int count) {
+        final var segments = new int[count * 4];
+        for (int i = 0 ; i < count * 4 ; i += 4) {
+            segments[i] = random.nextInt(-1000, 1000);
+            segments[i + 1] = random.nextInt(-1000, 1000);
+            segments[i + 2] = segments[i] + random.nextInt(-100, 100);
+            segments[i + 3] = segments[i + 1] + random.nextInt(-100, 100);
+        }
+        return segments;
+    }
+
+    private static double bruteForceDistance(final int[] segments, final int count, final int x, final int y) {
+        double nearest = Double.POSITIVE_INFINITY;
+        for (int i = 0 ; i < count * 4 ; i += 4) {
+            nearest = Math.min(nearest, Line.distanceSquared(segments[i], segments[i + 1], segments[i + 2], segments[i + 3], x, y));
+        }
+        return nearest;
+    }
+}
@@ -152,4 +152,32 @@ public class TestPoint {
         p.setY(789);
         assertEquals(789, p.getY());
     }
+
+    @Test
+    public void testSet() {
+        final var p = new Point(123, 456);
+        p.set(-1, 2);
+        assertEquals(new Point(-1, 2), p);
+
+        final var other = new Point(7, 8);
+        p.set(other);
+        assertEquals(other, p);
+        assertNotSame(other, p);
+
+        assertThrows(NullPointerException.class, () -> p.set(null));
+    }
+
+    @Test
+    public void testDistanceSquared() {
+        final var p = new Point(1, 2);
+        assertEquals(25, p.distanceSquared(new Point(4, 6)));
+        assertEquals(25, p.distanceSquared(-2, -2));
+        assertEquals(0, p.distanceSquared(p));
+        assertEquals(2 * Math.pow(Math.pow(2, 32) - 1, 2), Point.distanceSquared(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testDistanceSquared_withNullPoint() {
+        assertThrows(NullPointerException.class, () -> new Point().distanceSquared(null));
+    }
 }
@@ -0,0 +1,194 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPointBuffer {
+    @Test
+    public void testConstructor_withNoArgs() {
+        final var buffer = new PointBuffer();
+        assertEquals(0, buffer.getSize());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testConstructor_withNegativeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new PointBuffer(-1));
+    }
+
+    @Test
+    public void testConstructor_withExistingBuffer() {
+        final var original = new PointBuffer();
+        original.add(1, 2);
+        original.add(3, 4);
+
+        final var clone = new PointBuffer(original);
+        assertEquals(2, clone.getSize());
+        assertEquals(3, clone.getX(1));
+        assertEquals(4, clone.getY(1));
+
+        clone.set(0, 9, 9);
+        assertEquals(1, original.getX(0));
+    }
+
+    @Test
+    public void testConstructor_withNullBuffer() {
+        assertThrows(NullPointerException.class, () -> new PointBuffer((PointBuffer) null));
+    }
+
+    @Test
+    public void testConstructor_withPoints() {
+        final var buffer = new PointBuffer(List.of(new Point(1, 2), new Point(3, 4)));
+        assertEquals(2, buffer.getSize());
+        assertEquals(new Point(1, 2), buffer.get(0));
+        assertEquals(new Point(3, 4), buffer.get(1));
+    }
+
+    @Test
+    public void testAdd_growsBuffer() {
+        final var buffer = new PointBuffer(0);
+
+        for (int i = 0 ; i < 100 ; i++) {
+            assertEquals(i, buffer.add(i, -i));
+        }
+
+        assertEquals(100, buffer.getSize());
+        assertEquals(99, buffer.getX(99));
+        assertEquals(-99, buffer.getY(99));
+    }
+
+    @Test
+    public void testAddAll_withArrays() {
+        final var buffer = new PointBuffer();
+        buffer.add(0, 0);
+        buffer.addAll(new int[] { 1, 2, 3 }, new int[] { 4, 5, 6 }, 1, 2);
+
+        assertEquals(3, buffer.getSize());
+        assertEquals(2, buffer.getX(1));
+        assertEquals(5, buffer.getY(1));
+        assertEquals(3, buffer.getX(2));
+        assertEquals(6, buffer.getY(2));
+    }
+
+    @Test
+    public void testAddAll_withInvalidRange() {
+        final var buffer = new PointBuffer();
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.addAll(new int[2], new int[2], 1, 2));
+    }
+
+    @Test
+    public void testGet_withInvalidIndex() {
+        final var buffer = new PointBuffer();
+        buffer.add(0, 0);
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getX(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(-1));
+    }
+
+    @Test
+    public void testGet_intoPoint() {
+        final var buffer = new PointBuffer();
+        buffer.add(7, 8);
+
+        final var point = new Point();
+        buffer.get(0, point);
+        assertEquals(7, point.getX());
+        assertEquals(8, point.getY());
+    }
+
+    @Test
+    public void testGetAndSet_withArrays() {
+        final var buffer = new PointBuffer();
+        buffer.addAll(new int[] { 1, 2, 3 }, new int[] { 4, 5, 6 }, 0, 3);
+        buffer.set(1, new int[] { 20, 30 }, new int[] { 50, 60 }, 0, 2);
+
+        final var xs = new int[3];
+        final var ys = new int[3];
+        buffer.get(0, xs, ys, 0, 3);
+        assertArrayEquals(new int[] { 1, 20, 30 }, xs);
+        assertArrayEquals(new int[] { 4, 50, 60 }, ys);
+    }
+
+    @Test
+    public void testSet_withPoint() {
+        final var buffer = new PointBuffer();
+        buffer.add(0, 0);
+        buffer.set(0, new Point(5, 6));
+        assertEquals(new Point(5, 6), buffer.get(0));
+    }
+
+    @Test
+    public void testClear() {
+        final var buffer = new PointBuffer();
+        buffer.add(1, 1);
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getX(0));
+    }
+
+    @Test
+    public void testTrimToSize() {
+        final var buffer = new PointBuffer(100);
+        buffer.add(1, 2);
+        buffer.trimToSize();
+        assertEquals(1, buffer.getSize());
+        assertEquals(2, buffer.getY(0));
+
+        buffer.add(3, 4);
+        assertEquals(4, buffer.getY(1));
+    }
+
+    @Test
+    public void testForEach() {
+        final var buffer = new PointBuffer();
+        buffer.add(1, 2);
+        buffer.add(3, 4);
+
+        final var sum = new int[1];
+        buffer.forEach((x, y) -> sum[0] += x * y);
+        assertEquals(14, sum[0]);
+    }
+
+    @Test
+    public void testCursor() {
+        final var buffer = new PointBuffer();
+        buffer.add(1, 2);
+        buffer.add(3, 4);
+
+        final var cursor = buffer.cursor();
+
+        for (int pass = 0 ; pass < 2 ; pass++) {
+            cursor.reset();
+            assertTrue(cursor.next());
+            assertEquals(0, cursor.getIndex());
+            assertEquals(1, cursor.getX());
+            assertEquals(2, cursor.getY());
+            assertTrue(cursor.next());
+            assertEquals(3, cursor.getX());
+            assertEquals(4, cursor.getY());
+            assertFalse(cursor.next());
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    public void testCursor_set() {
+        final var buffer = new PointBuffer();
+        buffer.add(1, 2);
+
+        final var cursor = buffer.cursor();
+        assertTrue(cursor.next());
+        cursor.set(10, 20);
+        assertEquals(new Point(10, 20), buffer.get(0));
+    }
+
+    @Test
+    public void testToPoints() {
+        final var buffer = new PointBuffer();
+        buffer.add(1, 2);
+        buffer.add(3, 4);
+        assertEquals(List.of(new Point(1, 2), new Point(3, 4)), buffer.toPoints());
+    }
+}
@@ -0,0 +1,167 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.geom.Path2D;
+import java.io.*;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPolygon {
+    @Test
+    public void testGetArea() {
+        final var square = new Polygon(new int[] { 0, 0, 4, 0, 4, 4, 0, 4 }, 4);
+        assertEquals(16, square.getSignedArea());
+        assertEquals(16, square.getArea());
+
+        final var reversed = new Polygon(new int[] { 0, 0, 0, 4, 4, 4, 4, 0 }, 4);
+        assertEquals(-16, reversed.getSignedArea());
+        assertEquals(16, reversed.getArea());
+
+        assertEquals(0, new Polygon(new int[] { 5, 5 }, 1).getArea());
+        assertEquals(0, new Polygon(new int[] { 0, 0, 5, 5 }, 2).getArea());
+    }
+
+    @Test
+    public void testGetArea_withLargeCoordinates() {
+        final int offset = 2_000_000_000;
+        final var triangle = new Polygon(new int[] { offset, offset, offset + 3, offset, offset, offset + 5 }, 3);
+        assertEquals(7.5, triangle.getArea());
+    }
+
+    @Test
+    public void testGetPerimeter() {
+        assertEquals(12, new Polygon(new int[] { 0, 0, 4, 0, 4, 3 }, 3).getPerimeter());
+        assertEquals(0, new Polygon(new int[] { 1, 1 }, 1).getPerimeter());
+    }
+
+    @Test
+    public void testGetBounds() {
+        final var polygon = new Polygon(List.of(new Point(0, 5), new Point(-3, 4), new Point(2, -1)));
+        assertEquals(new BoundingBox(-3, -1, 2, 5), polygon.getBounds());
+
+        polygon.setVertex(0, 0, 9);
+        assertEquals(new BoundingBox(-3, -1, 2, 9), polygon.getBounds());
+    }
+
+    @Test
+    public void testContains() {
+        // A U shape, opening upwards.
+        final var polygon = new Polygon(new int[] { 0, 0, 6, 0, 6, 6, 4, 6, 4, 2, 2, 2, 2, 6, 0, 6 }, 8);
+        assertTrue(polygon.contains(1, 1));
+        assertTrue(polygon.contains(new Point(5, 5)));
+        assertFalse(polygon.contains(3, 4));
+        assertFalse(polygon.contains(7, 1));
+
+        // Every vertex and edge is contained.
+        for (int i = 0 ; i < polygon.getVertexCount() ; i++) {
+            assertTrue(polygon.contains(polygon.getX(i), polygon.getY(i)));
+        }
+        assertTrue(polygon.contains(3, 2));
+        assertTrue(polygon.contains(3, 0));
+        assertTrue(polygon.contains(0, 3));
+        assertTrue(polygon.contains(4, 4));
+        assertFalse(polygon.contains(3, 6));
+    }
+
+    @Test
+    public void testContains_withSelfIntersection() {
+        // A pentagram winds around its centre twice.
+        final var star = new Polygon(new int[] { 0, 10, 6, -8, -10, 3, 10, 3, -6, -8 }, 5);
+        assertTrue(star.contains(0, 0));
+        assertTrue(star.contains(0, 8));
+        assertFalse(star.contains(9, 9));
+    }
+
+    @Test
+    public void testContains_withDegeneratePolygons() {
+        final var point = new Polygon(new int[] { 1, 1 }, 1);
+        assertTrue(point.contains(1, 1));
+        assertFalse(point.contains(1, 2));
+
+        final var segment = new Polygon(new int[] { 0, 0, 4, 4 }, 2);
+        assertTrue(segment.contains(2, 2));
+        assertFalse(segment.contains(2, 1));
+    }
+
+    @Test
+    public void testContains_matchesPath2D() {
+        final var random = new Random(23);
+        for (int i = 0 ; i < 200 ; i++) {
+            final int count = random.nextInt(3, 12);
+            final var coordinates = new int[count * 2];
+            for (int j = 0 ; j < coordinates.length ; j++) {
+                coordinates[j] = random.nextInt(-20, 20);
+            }
+
+            final var polygon = new Polygon(coordinates, count);
+            final var path = new Path2D.Double(Path2D.WIND_NON_ZERO);
+            path.moveTo(coordinates[0], coordinates[1]);
+            for (int j = 2 ; j < coordinates.length ; j += 2) {
+                path.lineTo(coordinates[j], coordinates[j + 1]);
+            }
+            path.closePath();
+
+            for (int x = -21 ; x <= 21 ; x++) {
+                for (int y = -21 ; y <= 21 ; y++) {
+                    if (polygon.distanceSquared(x, y) == 0) {
+                        assertTrue(polygon.contains(x, y));
+                    } else {
+                        assertEquals(path.contains(x, y), polygon.contains(x, y));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testContains_withExtremeCoordinates() {
+        final var polygon = new Polygon(new int[] {
+            Integer.MIN_VALUE, Integer.MIN_VALUE,
+            Integer.MAX_VALUE, Integer.MIN_VALUE,
+            Integer.MAX_VALUE, Integer.MAX_VALUE
+        }, 3);
+        assertTrue(polygon.contains(0, 0));
+        assertTrue(polygon.contains(Integer.MAX_VALUE, 0));
+        assertFalse(polygon.contains(Integer.MIN_VALUE, Integer.MIN_VALUE + 1));
+        assertTrue(polygon.contains(Integer.MIN_VALUE + 1, Integer.MIN_VALUE + 1));
+    }
+
+    @Test
+    public void testDistanceSquared() {
+        final var square = new Polygon(new int[] { 0, 0, 4, 0, 4, 4, 0, 4 }, 4);
+        assertEquals(1, square.distanceSquared(1, 2));
+        assertEquals(1, square.distanceSquared(new Point(-1, 2)));
+    }
+
+    @Test
+    public void testJsonAndSerialization() throws IOException, ClassNotFoundException {
+        final var polygon = new Polygon(new int[] { 0, 0, 4, 0, 4, 3 }, 3);
+        assertEquals(polygon.toJson().toString(), new Polygon(polygon.toJson()).toJson().toString());
+
+        // Polylines and polygons share their JSON representation.
+        assertEquals(polygon.toJson().toString(), new Polyline(polygon.toJson()).toJson().toString());
+
+        final var bytes = new ByteArrayOutputStream();
+        try (final var oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(polygon);
+        }
+
+        try (final var ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final var copy = (Polygon) ois.readObject();
+            assertEquals(6, copy.getArea());
+        }
+    }
+
+    @Test
+    public void testConstructor_withExistingPolygon() {
+        final var polygon = new Polygon(new int[] { 0, 0, 4, 0, 4, 3 }, 3);
+        final var copy = new Polygon(polygon);
+        polygon.setVertices(new int[] { 1, 1 }, 1);
+        assertEquals(3, copy.getVertexCount());
+        assertEquals(6, copy.getArea());
+        assertThrows(NullPointerException.class, () -> new Polygon((Polygon) null));
+    }
+}
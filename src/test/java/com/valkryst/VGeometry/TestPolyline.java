@@ -0,0 +1,152 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPolyline {
+    @Test
+    public void testConstructor_withCoordinates() {
+        final int[] coordinates = { 0, 0, 3, 4, 3, 10, 99 };
+        final var polyline = new Polyline(coordinates, 3);
+        assertEquals(3, polyline.getVertexCount());
+        assertEquals(new Point(3, 4), polyline.getVertex(1));
+
+        // The array is copied.
+        coordinates[0] = 50;
+        assertEquals(0, polyline.getX(0));
+    }
+
+    @Test
+    public void testConstructor_withPoints() {
+        final var points = List.of(new Point(1, 2), new Point(3, 4));
+        final var polyline = new Polyline(points);
+        assertEquals(new Point(3, 4), polyline.getVertex(1));
+
+        final var buffer = new PointBuffer();
+        polyline.getVertices(buffer);
+        assertEquals(points, buffer.toPoints());
+        assertEquals(polyline.toJson().toString(), new Polyline(buffer).toJson().toString());
+    }
+
+    @Test
+    public void testConstructor_withInvalidArguments() {
+        assertThrows(NullPointerException.class, () -> new Polyline((int[]) null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Polyline(new int[0], 0));
+        assertThrows(IllegalArgumentException.class, () -> new Polyline(new PointBuffer()));
+        assertThrows(IndexOutOfBoundsException.class, () -> new Polyline(new int[3], 2));
+    }
+
+    @Test
+    public void testConstructor_withExistingPolyline() {
+        final var polyline = new Polyline(new int[] { 1, 2, 3, 4 }, 2);
+        final var copy = new Polyline(polyline);
+        polyline.setVertex(0, 9, 9);
+        assertEquals(new Point(1, 2), copy.getVertex(0));
+    }
+
+    @Test
+    public void testJson() {
+        final var polyline = new Polyline(new int[] { 1, 2, -3, 4 }, 2);
+        final var json = polyline.toJson();
+        assertEquals("{\"vertices\":[{\"x\":1,\"y\":2},{\"x\":-3,\"y\":4}]}", json.toString());
+        assertEquals(json.toString(), new Polyline(json).toJson().toString());
+    }
+
+    @Test
+    public void testSerializationAndDeserialization() throws IOException, ClassNotFoundException {
+        final var polyline = new Polyline(new int[] { 1, 2, -3, 4, 5, 6 }, 3);
+        final var copy = (Polyline) deserialize(serialize(polyline));
+        assertEquals(polyline.toJson().toString(), copy.toJson().toString());
+        assertEquals(polyline.getBounds(), copy.getBounds());
+    }
+
+    @Test
+    public void testGetLength() {
+        assertEquals(11, new Polyline(new int[] { 0, 0, 3, 4, 3, 10 }, 3).getLength());
+        assertEquals(0, new Polyline(new int[] { 7, 7 }, 1).getLength());
+    }
+
+    @Test
+    public void testGetBounds() {
+        final var polyline = new Polyline(new int[] { 0, 5, -3, 4, 2, -1 }, 3);
+        final var bounds = polyline.getBounds();
+        assertEquals(new BoundingBox(-3, -1, 2, 5), bounds);
+        assertSame(bounds, polyline.getBounds());
+
+        final long modificationCount = polyline.getModificationCount();
+        polyline.setVertex(1, new Point(10, 4));
+        assertEquals(modificationCount + 1, polyline.getModificationCount());
+        assertEquals(new BoundingBox(0, -1, 10, 5), polyline.getBounds());
+
+        polyline.setVertices(new int[] { 1, 1 }, 1);
+        assertEquals(new BoundingBox(1, 1, 1, 1), polyline.getBounds());
+        assertEquals(1, polyline.getVertexCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> polyline.getX(1));
+    }
+
+    @Test
+    public void testBoundsListener() {
+        final var polyline = new Polyline(new int[] { 0, 0, 2, 2, 1, 1 }, 3);
+        final var events = new ArrayList<BoundingBox>();
+        final BoundsListener<Object> listener = (shape, oldBounds, newBounds) -> {
+            assertSame(polyline, shape);
+            events.add(oldBounds);
+            events.add(newBounds);
+        };
+        polyline.addBoundsListener(listener);
+
+        polyline.setVertex(1, 3, 2);
+        assertEquals(List.of(new BoundingBox(0, 0, 2, 2), new BoundingBox(0, 0, 3, 2)), events);
+
+        // The bounds are unchanged, so the listener is not notified.
+        polyline.setVertex(2, 1, 2);
+        assertEquals(2, events.size());
+
+        assertTrue(polyline.removeBoundsListener(listener));
+        assertFalse(polyline.removeBoundsListener(listener));
+        polyline.setVertex(0, -5, -5);
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    public void testContains() {
+        final var polyline = new Polyline(new int[] { 0, 0, 4, 0, 4, 4 }, 3);
+        assertTrue(polyline.contains(2, 0));
+        assertTrue(polyline.contains(new Point(4, 3)));
+        assertTrue(polyline.contains(0, 0));
+        assertFalse(polyline.contains(2, 2));
+        assertFalse(polyline.contains(0, 4));
+
+        final var single = new Polyline(new int[] { 1, 1 }, 1);
+        assertTrue(single.contains(1, 1));
+        assertFalse(single.contains(1, 2));
+    }
+
+    @Test
+    public void testDistanceSquared() {
+        final var polyline = new Polyline(new int[] { 0, 0, 4, 0, 4, 4 }, 3);
+        assertEquals(4, polyline.distanceSquared(2, 2));
+        assertEquals(0, polyline.distanceSquared(new Point(4, 1)));
+        assertEquals(2, polyline.distanceSquared(5, 5));
+        assertEquals(8, new Polyline(new int[] { 0, 0 }, 1).distanceSquared(2, 2));
+    }
+
+    private static byte[] serialize(final Object object) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(final byte[] bytes) throws IOException, ClassNotFoundException {
+        try (final var ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        }
+    }
+}
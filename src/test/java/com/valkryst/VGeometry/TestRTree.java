@@ -0,0 +1,242 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestRTree {
+    @Test
+    public void testConstructor() {
+        final var tree = new RTree();
+        assertEquals(0, tree.getSize());
+        assertEquals(1, tree.getHeight());
+        assertEquals(-1, tree.nearest(0, 0));
+        assertEquals(Set.of(), search(tree, -100, -100, 100, 100));
+    }
+
+    @Test
+    public void testOf_withNullBounds() {
+        assertThrows(NullPointerException.class, () -> RTree.of(null, 0));
+    }
+
+    @Test
+    public void testOf_withInvalidCount() {
+        assertThrows(IndexOutOfBoundsException.class, () -> RTree.of(new int[4], 2));
+    }
+
+    @Test
+    public void testOfLines() {
+        final var tree = RTree.ofLines(List.of(
+            new Line(new Point(0, 0), new Point(10, 10)),
+            new Line(new Point(20, 5), new Point(15, 0))
+        ));
+
+        assertEquals(2, tree.getSize());
+        assertEquals(Set.of(0), stab(tree, 5, 5));
+        assertEquals(Set.of(1), stab(tree, 15, 5));
+        assertEquals(Set.of(0, 1), search(tree, 9, 0, 16, 1));
+    }
+
+    @Test
+    public void testOfEllipses() {
+        final var tree = RTree.ofEllipses(List.of(
+            new Ellipse(new Point(0, 0), 5, 2),
+            new Ellipse(new Point(100, 100), 0.5, 0.5)
+        ));
+
+        assertEquals(Set.of(0), stab(tree, -5, 2));
+        assertEquals(Set.of(), stab(tree, -6, 0));
+        assertEquals(Set.of(1), stab(tree, 101, 99));
+        assertEquals(1, tree.nearest(90, 90));
+    }
+
+    @Test
+    public void testInsert() {
+        final var tree = new RTree();
+        final int line = tree.insert(new Line(new Point(0, 0), new Point(-10, 10)));
+        final int ellipse = tree.insert(new Ellipse(new Point(50, 50), 5, 5));
+
+        assertEquals(2, tree.getSize());
+        assertEquals(Set.of(line), stab(tree, -5, 5));
+        assertEquals(Set.of(ellipse), stab(tree, 45, 55));
+    }
+
+    @Test
+    public void testUpdate() {
+        final var tree = new RTree();
+        final var line = new Line(new Point(0, 0), new Point(10, 10));
+        final int handle = tree.insert(line);
+
+        line.setEndPoint(new Point(-10, -10));
+        tree.update(handle, line);
+
+        assertEquals(Set.of(), stab(tree, 5, 5));
+        assertEquals(Set.of(handle), stab(tree, -5, -5));
+        assertThrows(IllegalArgumentException.class, () -> tree.update(handle + 1, line));
+    }
+
+    @Test
+    public void testUpdate_withBoundsListener() {
+        final var tree = new RTree();
+        final var ellipse = new Ellipse(new Point(0, 0), 2, 2);
+        final int handle = tree.insert(ellipse.getBounds());
+        ellipse.addBoundsListener((shape, oldBounds, newBounds) -> tree.update(handle, newBounds));
+
+        ellipse.setMidpoint(new Point(50, 50));
+        assertEquals(Set.of(), stab(tree, 0, 0));
+        assertEquals(Set.of(handle), stab(tree, 51, 49));
+        assertThrows(NullPointerException.class, () -> tree.update(handle, (BoundingBox) null));
+    }
+
+    @Test
+    public void testRemove() {
+        final var tree = new RTree();
+        final int handle = tree.insert(0, 0, 5, 5);
+        tree.remove(handle);
+
+        assertEquals(0, tree.getSize());
+        assertFalse(tree.contains(handle));
+        assertEquals(Set.of(), stab(tree, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.remove(handle));
+    }
+
+    @Test
+    public void testNearest_withDistanceFunction() {
+        // The bounds of both lines contain the query point, but only the second line passes through it.
+        final var lines = List.of(
+            new Line(new Point(0, 0), new Point(10, 10)),
+            new Line(new Point(0, 10), new Point(10, 0))
+        );
+        final var tree = RTree.ofLines(lines);
+
+        assertEquals(1, tree.nearest(2, 8, (handle, x, y) -> distanceToLine(lines.get(handle), x, y)));
+        assertEquals(0, tree.nearest(8, 8, (handle, x, y) -> distanceToLine(lines.get(handle), x, y)));
+    }
+
+    @Test
+    public void testQueries_matchLinearScan() {
+        final var random = new Random(7);
+        final int count = 3000;
+        final var bounds = new int[count * 4];
+
+        for (int i = 0 ; i < count * 4 ; i += 4) {
+            randomBounds(random, bounds, i);
+        }
+
+        final var bulkLoaded = RTree.of(bounds, count);
+        assertQueriesMatchLinearScan(random, bulkLoaded, bounds, count);
+        assertTrue(bulkLoaded.getHeight() <= 4);
+
+        final var inserted = new RTree();
+        for (int i = 0 ; i < count * 4 ; i += 4) {
+            assertEquals(i / 4, inserted.insert(bounds[i], bounds[i + 1], bounds[i + 2], bounds[i + 3]));
+        }
+        assertQueriesMatchLinearScan(random, inserted, bounds, count);
+
+        // Move and remove entries from both trees, then check them again.
+        final var removed = new boolean[count];
+        for (int j = 0 ; j < count ; j++) {
+            final int i = random.nextInt(count);
+            if (removed[i]) {
+                continue;
+            }
+
+            if (random.nextBoolean()) {
+                removed[i] = true;
+                bulkLoaded.remove(i);
+                inserted.remove(i);
+                Arrays.fill(bounds, i * 4, i * 4 + 4, Integer.MIN_VALUE);
+            } else {
+                randomBounds(random, bounds, i * 4);
+                bulkLoaded.update(i, bounds[i * 4], bounds[i * 4 + 1], bounds[i * 4 + 2], bounds[i * 4 + 3]);
+                inserted.update(i, bounds[i * 4], bounds[i * 4 + 1], bounds[i * 4 + 2], bounds[i * 4 + 3]);
+            }
+        }
+
+        assertQueriesMatchLinearScan(random, bulkLoaded, bounds, count);
+        assertQueriesMatchLinearScan(random, inserted, bounds, count);
+
+        // Remove everything.
+        for (int i = 0 ; i < count ; i++) {
+            if (!removed[i]) {
+                bulkLoaded.remove(i);
+            }
+        }
+        assertEquals(0, bulkLoaded.getSize());
+        assertEquals(1, bulkLoaded.getHeight());
+        assertEquals(-1, bulkLoaded.nearest(0, 0));
+    }
+
+    private static void assertQueriesMatchLinearScan(final Random random, final RTree tree, final int[] bounds, final int count) {
+        for (int round = 0 ; round < 100 ; round++) {
+            final int minX = random.nextInt(2000) - 1000;
+            final int minY = random.nextInt(2000) - 1000;
+            final int maxX = minX + random.nextInt(200);
+            final int maxY = minY + random.nextInt(200);
+
+            final var expected = new HashSet<Integer>();
+            final var expectedStab = new HashSet<Integer>();
+            double nearestDistance = Double.POSITIVE_INFINITY;
+
+            for (int i = 0 ; i < count ; i++) {
+                final int offset = i * 4;
+                if (bounds[offset] == Integer.MIN_VALUE) {
+                    continue;
+                }
+
+                if (bounds[offset] <= maxX && bounds[offset + 2] >= minX && bounds[offset + 1] <= maxY && bounds[offset + 3] >= minY) {
+                    expected.add(i);
+                }
+
+                if (bounds[offset] <= minX && bounds[offset + 2] >= minX && bounds[offset + 1] <= minY && bounds[offset + 3] >= minY) {
+                    expectedStab.add(i);
+                }
+
+                nearestDistance = Math.min(nearestDistance, boundsDistance(bounds, i, minX, minY));
+            }
+
+            assertEquals(expected, search(tree, minX, minY, maxX, maxY));
+            assertEquals(expectedStab, stab(tree, minX, minY));
+            assertEquals(nearestDistance, boundsDistance(bounds, tree.nearest(minX, minY), minX, minY));
+        }
+    }
+
+    private static void randomBounds(final Random random, final int[] bounds, final int offset) {
+        bounds[offset] = random.nextInt(2000) - 1000;
+        bounds[offset + 1] = random.nextInt(2000) - 1000;
+        bounds[offset + 2] = bounds[offset] + random.nextInt(random.nextInt(10) == 0 ? 500 : 20);
+        bounds[offset + 3] = bounds[offset + 1] + random.nextInt(random.nextInt(10) == 0 ? 500 : 20);
+    }
+
+    private static double boundsDistance(final int[] bounds, final int index, final int x, final int y) {
+        final int offset = index * 4;
+        final double dx = Math.max(0, Math.max(bounds[offset] - x, x - bounds[offset + 2]));
+        final double dy = Math.max(0, Math.max(bounds[offset + 1] - y, y - bounds[offset + 3]));
+        return dx * dx + dy * dy;
+    }
+
+    private static double distanceToLine(final Line line, final int x, final int y) {
+        final double startX = line.getStartPoint().getX();
+        final double startY = line.getStartPoint().getY();
+        final double dx = line.getEndPoint().getX() - startX;
+        final double dy = line.getEndPoint().getY() - startY;
+        final double t = Math.max(0, Math.min(1, ((x - startX) * dx + (y - startY) * dy) / (dx * dx + dy * dy)));
+        final double offsetX = startX + t * dx - x;
+        final double offsetY = startY + t * dy - y;
+        return offsetX * offsetX + offsetY * offsetY;
+    }
+
+    private static Set<Integer> search(final RTree tree, final int minX, final int minY, final int maxX, final int maxY) {
+        final var handles = new HashSet<Integer>();
+        tree.search(minX, minY, maxX, maxY, handle -> assertTrue(handles.add(handle)));
+        return handles;
+    }
+
+    private static Set<Integer> stab(final RTree tree, final int x, final int y) {
+        final var handles = new HashSet<Integer>();
+        tree.stab(x, y, handle -> assertTrue(handles.add(handle)));
+        return handles;
+    }
+}
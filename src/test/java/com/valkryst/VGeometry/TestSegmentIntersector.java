@@ -0,0 +1,175 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSegmentIntersector {
+    @Test
+    public void testFindIntersections_withCrossingLines() {
+        final var lines = List.of(
+            new Line(new Point(0, 0), new Point(10, 10)),
+            new Line(new Point(0, 10), new Point(10, 0)),
+            new Line(new Point(20, 20), new Point(30, 20))
+        );
+
+        final var pairs = new HashSet<Long>();
+        SegmentIntersector.findIntersections(lines, (first, second, x, y) -> {
+            assertTrue(pairs.add(pair(first, second)));
+            assertEquals(5, x, 1e-9);
+            assertEquals(5, y, 1e-9);
+        });
+
+        assertEquals(Set.of(pair(0, 1)), pairs);
+    }
+
+    @Test
+    public void testFindIntersections_withVerticalLines() {
+        final var segments = new int[] {
+            5, 0, 5, 10,
+            0, 5, 10, 5,
+            5, 8, 5, 20,
+            0, 10, 5, 10
+        };
+
+        assertEquals(Set.of(pair(0, 1), pair(0, 2), pair(0, 3), pair(2, 3)), findIntersections(segments, 4));
+    }
+
+    @Test
+    public void testFindIntersections_withSharedPoint() {
+        // Every segment passes through, starts at, or ends at (5, 5).
+        final var segments = new int[] {
+            0, 0, 10, 10,
+            0, 10, 10, 0,
+            5, 0, 5, 10,
+            0, 5, 10, 5,
+            5, 5, 9, 7,
+            1, 3, 5, 5,
+            5, 5, 5, 5
+        };
+
+        final var expected = new HashSet<Long>();
+        for (int i = 0 ; i < 7 ; i++) {
+            for (int j = i + 1 ; j < 7 ; j++) {
+                expected.add(pair(i, j));
+            }
+        }
+
+        assertEquals(expected, findIntersections(segments, 7));
+    }
+
+    @Test
+    public void testFindIntersections_withCollinearOverlap() {
+        final var segments = new int[] {
+            0, 0, 10, 10,
+            5, 5, 15, 15,
+            11, 11, 20, 20,
+            10, 10, 0, 0
+        };
+
+        assertEquals(Set.of(pair(0, 1), pair(0, 3), pair(1, 2), pair(1, 3)), findIntersections(segments, 4));
+    }
+
+    @Test
+    public void testFindIntersections_withLargeCoordinates() {
+        final var segments = new int[] {
+            Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE,
+            Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE,
+            Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE
+        };
+
+        assertEquals(Set.of(pair(0, 1), pair(1, 2)), findIntersections(segments, 3));
+    }
+
+    @Test
+    public void testFindIntersections_withInvalidCount() {
+        assertThrows(IndexOutOfBoundsException.class, () -> SegmentIntersector.findIntersections(new int[4], 2, (first, second, x, y) -> {}));
+    }
+
+    @Test
+    public void testFindIntersections_withNullArguments() {
+        assertThrows(NullPointerException.class, () -> SegmentIntersector.findIntersections((List<Line>) null, (first, second, x, y) -> {}));
+        assertThrows(NullPointerException.class, () -> SegmentIntersector.findIntersections(new int[0], 0, null));
+    }
+
+    @Test
+    public void testFindIntersections_matchesBruteForce() {
+        final var random = new Random(42);
+
+        for (int round = 0 ; round < 500 ; round++) {
+            // Small coordinates produce many shared endpoints, collinear overlaps, and crossings at the same point.
+            final int count = 1 + random.nextInt(40);
+            final int range = 2 + random.nextInt(12);
+            final var segments = new int[count * 4];
+            for (int i = 0 ; i < segments.length ; i++) {
+                segments[i] = random.nextInt(range);
+            }
+
+            final var expected = new HashSet<Long>();
+            for (int i = 0 ; i < count ; i++) {
+                for (int j = i + 1 ; j < count ; j++) {
+                    if (intersects(segments, i, j)) {
+                        expected.add(pair(i, j));
+                    }
+                }
+            }
+
+            assertEquals(expected, findIntersections(segments, count), "Round " + round);
+        }
+    }
+
+    private static Set<Long> findIntersections(final int[] segments, final int count) {
+        final var pairs = new HashSet<Long>();
+
+        SegmentIntersector.findIntersections(segments, count, (first, second, x, y) -> {
+            assertTrue(first < second);
+            assertTrue(pairs.add(pair(first, second)));
+            assertTrue(isNear(segments, first, x, y));
+            assertTrue(isNear(segments, second, x, y));
+        });
+
+        return pairs;
+    }
+
+    private static long pair(final int first, final int second) {
+        return ((long) first << 32) | second;
+    }
+
+    private static boolean isNear(final int[] segments, final int i, final double x, final double y) {
+        final double x1 = segments[i * 4];
+        final double y1 = segments[i * 4 + 1];
+        final double dx = segments[i * 4 + 2] - x1;
+        final double dy = segments[i * 4 + 3] - y1;
+        final double lengthSquared = dx * dx + dy * dy;
+        final double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, ((x - x1) * dx + (y - y1) * dy) / lengthSquared));
+        return Math.hypot(x1 + t * dx - x, y1 + t * dy - y) <= 1e-6 * Math.max(1, Math.sqrt(lengthSquared));
+    }
+
+    private static boolean intersects(final int[] segments, final int i, final int j) {
+        final long ax = segments[i * 4], ay = segments[i * 4 + 1], bx = segments[i * 4 + 2], by = segments[i * 4 + 3];
+        final long cx = segments[j * 4], cy = segments[j * 4 + 1], dx = segments[j * 4 + 2], dy = segments[j * 4 + 3];
+
+        final long o1 = Long.signum((bx - ax) * (cy - ay) - (by - ay) * (cx - ax));
+        final long o2 = Long.signum((bx - ax) * (dy - ay) - (by - ay) * (dx - ax));
+        final long o3 = Long.signum((dx - cx) * (ay - cy) - (dy - cy) * (ax - cx));
+        final long o4 = Long.signum((dx - cx) * (by - cy) - (dy - cy) * (bx - cx));
+
+        if (o1 != o2 && o3 != o4) {
+            return true;
+        }
+
+        return (o1 == 0 && isWithin(ax, ay, bx, by, cx, cy))
+            || (o2 == 0 && isWithin(ax, ay, bx, by, dx, dy))
+            || (o3 == 0 && isWithin(cx, cy, dx, dy, ax, ay))
+            || (o4 == 0 && isWithin(cx, cy, dx, dy, bx, by));
+    }
+
+    private static boolean isWithin(final long ax, final long ay, final long bx, final long by, final long x, final long y) {
+        return x >= Math.min(ax, bx) && x <= Math.max(ax, bx) && y >= Math.min(ay, by) && y <= Math.max(ay, by);
+    }
+}
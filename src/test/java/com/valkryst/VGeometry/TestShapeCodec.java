@@ -0,0 +1,249 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestShapeCodec {
+    @Test
+    public void testPoint() {
+        final var buffer = ByteBuffer.allocate(ShapeCodec.POINT_BYTES);
+        ShapeCodec.encode(new Point(-1, Integer.MAX_VALUE), buffer);
+        assertEquals(ShapeCodec.POINT_BYTES, buffer.position());
+
+        buffer.flip();
+        assertEquals(new Point(-1, Integer.MAX_VALUE), ShapeCodec.decodePoint(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testLine() {
+        final var line = new Line(new Point(1, 2), new Point(5, 10));
+        final var buffer = ByteBuffer.allocate(ShapeCodec.LINE_BYTES * 2);
+        ShapeCodec.encode(line, buffer);
+        ShapeCodec.encode(line, buffer);
+        assertFalse(buffer.hasRemaining());
+
+        buffer.flip();
+        final var copy = ShapeCodec.decodeLine(buffer);
+        assertEquals(line.getStartPoint(), copy.getStartPoint());
+        assertEquals(line.getEndPoint(), copy.getEndPoint());
+        assertEquals(line.getSlope(), copy.getSlope());
+
+        final var existing = new Line(new Point(0, 0), new Point(0, 0));
+        assertSame(existing, ShapeCodec.decode(buffer, existing));
+        assertEquals(line.getEndPoint(), existing.getEndPoint());
+        assertEquals(line.getSlope(), existing.getSlope());
+    }
+
+    @Test
+    public void testCircle() {
+        final var circle = new Circle(new Point(3, 4), 2.5);
+        final var buffer = ByteBuffer.allocate(ShapeCodec.CIRCLE_BYTES * 2);
+        ShapeCodec.encode(circle, buffer);
+        ShapeCodec.encode(circle, buffer);
+        assertFalse(buffer.hasRemaining());
+
+        buffer.flip();
+        final var copy = ShapeCodec.decodeCircle(buffer);
+        assertEquals(circle.getMidpoint(), copy.getMidpoint());
+        assertEquals(circle.getArea(), copy.getArea());
+
+        final var existing = new Circle(new Point(0, 0), 1);
+        existing.getArea();
+        assertSame(existing, ShapeCodec.decode(buffer, existing));
+        assertEquals(circle.getMidpoint(), existing.getMidpoint());
+        assertEquals(circle.getArea(), existing.getArea());
+    }
+
+    @Test
+    public void testEllipse() {
+        final var ellipse = new Ellipse(new Point(3, 4), 2.5, 7);
+        final var buffer = ByteBuffer.allocate(ShapeCodec.ELLIPSE_BYTES * 2);
+        ShapeCodec.encode(ellipse, buffer);
+        ShapeCodec.encode(ellipse, buffer);
+        assertFalse(buffer.hasRemaining());
+
+        buffer.flip();
+        final var copy = ShapeCodec.decodeEllipse(buffer);
+        assertEquals(ellipse.getMidpoint(), copy.getMidpoint());
+        assertEquals(ellipse.getCircumference(), copy.getCircumference());
+
+        final var existing = new Ellipse(new Point(0, 0), 1, 1);
+        existing.getArea();
+        assertSame(existing, ShapeCodec.decode(buffer, existing));
+        assertEquals(ellipse.getArea(), existing.getArea());
+    }
+
+    @Test
+    public void testPolyline() {
+        final var polyline = new Polyline(new int[] { 1, 2, -3, 4, 5, Integer.MIN_VALUE }, 3);
+        final var buffer = ByteBuffer.allocate((int) ShapeCodec.getRecordBytes(polyline) * 2);
+        assertEquals(ShapeCodec.VERTEX_COUNT_BYTES + ShapeCodec.POINT_BYTES * 3, ShapeCodec.getRecordBytes(polyline));
+        ShapeCodec.encode(polyline, buffer);
+        ShapeCodec.encode(polyline, buffer);
+        assertFalse(buffer.hasRemaining());
+
+        buffer.flip();
+        final var copy = ShapeCodec.decodePolyline(buffer);
+        assertEquals(polyline.toJson().toString(), copy.toJson().toString());
+
+        final var existing = new Polyline(new int[] { 0, 0 }, 1);
+        assertSame(existing, ShapeCodec.decode(buffer, existing));
+        assertEquals(polyline.toJson().toString(), existing.toJson().toString());
+        assertEquals(polyline.getBounds(), existing.getBounds());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testPolygon() {
+        final var polygon = new Polygon(new int[] { 0, 0, 4, 0, 4, 3 }, 3);
+        final var buffer = ByteBuffer.allocate((int) ShapeCodec.getRecordBytes(polygon) * 2).order(ByteOrder.LITTLE_ENDIAN);
+        ShapeCodec.encode(polygon, buffer);
+        ShapeCodec.encode(polygon, buffer);
+
+        buffer.flip();
+        assertEquals(6, ShapeCodec.decodePolygon(buffer).getArea());
+
+        final var existing = new Polygon(new int[] { 0, 0, 1, 1, 2, 2, 3, 3 }, 4);
+        assertSame(existing, ShapeCodec.decode(buffer, existing));
+        assertEquals(3, existing.getVertexCount());
+        assertEquals(12, existing.getPerimeter());
+    }
+
+    @Test
+    public void testPolyline_withInvalidRecord() {
+        final var truncated = ByteBuffer.allocate(ShapeCodec.VERTEX_COUNT_BYTES + ShapeCodec.POINT_BYTES);
+        truncated.putInt(0, 2);
+        assertThrows(BufferUnderflowException.class, () -> ShapeCodec.decodePolyline(truncated));
+        assertEquals(0, truncated.position());
+
+        final var empty = ByteBuffer.allocate(ShapeCodec.VERTEX_COUNT_BYTES);
+        assertThrows(IllegalArgumentException.class, () -> ShapeCodec.decodePolygon(empty));
+        assertEquals(0, empty.position());
+
+        final var polyline = new Polyline(new int[] { 1, 1, 2, 2 }, 2);
+        final var small = ByteBuffer.allocate((int) ShapeCodec.getRecordBytes(polyline) - 1);
+        assertThrows(BufferOverflowException.class, () -> ShapeCodec.encode(polyline, small));
+        assertEquals(0, small.position());
+    }
+
+    @Test
+    public void testByteOrder() {
+        final var buffer = ByteBuffer.allocate(ShapeCodec.POINT_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        ShapeCodec.encode(new Point(1, 2), buffer);
+        assertArrayEquals(new byte[] { 1, 0, 0, 0, 2, 0, 0, 0 }, buffer.array());
+    }
+
+    @Test
+    public void testEncode_withInsufficientSpace() {
+        final var buffer = ByteBuffer.allocate(ShapeCodec.ELLIPSE_BYTES - 1);
+        assertThrows(BufferOverflowException.class, () -> ShapeCodec.encode(new Ellipse(new Point(0, 0), 1, 1), buffer));
+
+        // Nothing is written when the buffer is too small.
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testDecode_withInsufficientData() {
+        final var buffer = ByteBuffer.allocate(ShapeCodec.LINE_BYTES * 2 - 1);
+        assertThrows(BufferUnderflowException.class, () -> ShapeCodec.decodeLines(buffer, new int[8], 2));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testPoints_withPointBuffer() {
+        final var points = new PointBuffer();
+        points.add(1, 2);
+        points.add(-3, -4);
+
+        final var buffer = ByteBuffer.allocateDirect(ShapeCodec.POINT_BYTES * 2);
+        ShapeCodec.encodePoints(points, buffer);
+        buffer.flip();
+
+        final var copy = new PointBuffer();
+        copy.add(9, 9);
+        ShapeCodec.decodePoints(buffer, 2, copy);
+        assertEquals(3, copy.getSize());
+        assertEquals(new Point(1, 2), copy.get(1));
+        assertEquals(new Point(-3, -4), copy.get(2));
+    }
+
+    @Test
+    public void testPoints_withArrays() {
+        final var buffer = ByteBuffer.allocate(ShapeCodec.POINT_BYTES * 2);
+        ShapeCodec.encodePoints(new int[] { 0, 1, 2 }, new int[] { 3, 4, 5 }, 1, 2, buffer);
+        buffer.flip();
+
+        final var xs = new int[2];
+        final var ys = new int[2];
+        ShapeCodec.decodePoints(buffer, xs, ys, 0, 2);
+        assertArrayEquals(new int[] { 1, 2 }, xs);
+        assertArrayEquals(new int[] { 4, 5 }, ys);
+    }
+
+    @Test
+    public void testLines_withSegments() {
+        final var segments = new int[] { 1, 2, 3, 4, -5, -6, -7, -8 };
+
+        for (final var order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+            final var buffer = ByteBuffer.allocate(4 + ShapeCodec.LINE_BYTES * 2).order(order);
+            buffer.putInt(42);
+            ShapeCodec.encodeLines(segments, 2, buffer);
+            assertFalse(buffer.hasRemaining());
+
+            // Bulk records are identical to individual ones.
+            buffer.flip();
+            assertEquals(42, buffer.getInt());
+            final var line = ShapeCodec.decodeLine(buffer);
+            assertEquals(new Point(3, 4), line.getEndPoint());
+
+            buffer.position(4);
+            final var copy = new int[8];
+            ShapeCodec.decodeLines(buffer, copy, 2);
+            assertArrayEquals(segments, copy);
+            assertFalse(buffer.hasRemaining());
+        }
+    }
+
+    @Test
+    public void testCircles_withArrays() {
+        final var buffer = ByteBuffer.allocate(ShapeCodec.CIRCLE_BYTES * 2);
+        ShapeCodec.encodeCircles(new int[] { 1, 2 }, new int[] { 3, 4 }, new double[] { 0.5, 1.5 }, 0, 2, buffer);
+        buffer.flip();
+
+        final var xs = new int[3];
+        final var ys = new int[3];
+        final var radii = new double[3];
+        ShapeCodec.decodeCircles(buffer, xs, ys, radii, 1, 2);
+        assertArrayEquals(new int[] { 0, 1, 2 }, xs);
+        assertArrayEquals(new int[] { 0, 3, 4 }, ys);
+        assertArrayEquals(new double[] { 0, 0.5, 1.5 }, radii);
+    }
+
+    @Test
+    public void testEllipses_withArrays() {
+        final var buffer = ByteBuffer.allocate(ShapeCodec.ELLIPSE_BYTES);
+        ShapeCodec.encodeEllipses(new int[] { 1 }, new int[] { 2 }, new double[] { 3 }, new double[] { 4 }, 0, 1, buffer);
+        buffer.flip();
+
+        final var ellipse = ShapeCodec.decodeEllipse(buffer);
+        assertEquals(new Point(1, 2), ellipse.getMidpoint());
+        assertEquals(3, ellipse.getHorizontalRadius());
+        assertEquals(4, ellipse.getVerticalRadius());
+    }
+
+    @Test
+    public void testBulk_withInvalidArguments() {
+        final var buffer = ByteBuffer.allocate(64);
+        assertThrows(IllegalArgumentException.class, () -> ShapeCodec.encodeLines(new int[4], -1, buffer));
+        assertThrows(IndexOutOfBoundsException.class, () -> ShapeCodec.encodeLines(new int[4], 2, buffer));
+        assertThrows(IndexOutOfBoundsException.class, () -> ShapeCodec.encodePoints(new int[1], new int[2], 0, 2, buffer));
+        assertThrows(NullPointerException.class, () -> ShapeCodec.encode((Point) null, buffer));
+    }
+}
@@ -0,0 +1,175 @@
+package com.valkryst.VGeometry;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestShapeJsonReader {
+    @Test
+    public void testReadPoint() throws IOException {
+        final var reader = reader(" { \"y\" : \"7\", \"extra\": [1, {\"a\": \"}\\\"\"}, null], \"x\": -3.9 } ");
+        assertEquals(new Point(-3, 7), reader.readPoint());
+    }
+
+    @Test
+    public void testReadPoint_withMissingField() {
+        assertThrows(JSONException.class, () -> reader("{\"x\": 1}").readPoint());
+    }
+
+    @Test
+    public void testReadPoint_withOutOfRangeValue() {
+        assertThrows(JSONException.class, () -> reader("{\"x\": 2147483648, \"y\": 0}").readPoint());
+    }
+
+    @Test
+    public void testReadPoint_withMalformedInput() {
+        assertThrows(JSONException.class, () -> reader("{\"x\" 1, \"y\": 0}").readPoint());
+        assertThrows(JSONException.class, () -> reader("{\"x\": , \"y\": 0}").readPoint());
+        assertThrows(JSONException.class, () -> reader("{\"x\": 1, \"y\": 0").readPoint());
+        assertThrows(JSONException.class, () -> reader("[]").readPoint());
+    }
+
+    @Test
+    public void testReadLine() throws IOException {
+        final var line = new Line(new Point(1, -2), new Point(300, 400));
+        final var copy = reader(line.toJson().toString()).readLine();
+        assertEquals(line.getStartPoint(), copy.getStartPoint());
+        assertEquals(line.getEndPoint(), copy.getEndPoint());
+        assertEquals(line.getSlope(), copy.getSlope());
+    }
+
+    @Test
+    public void testReadCircle() throws IOException {
+        final var circle = new Circle(new Point(1, 2), 2.5);
+        final var copy = reader(circle.toJson().toString()).readCircle();
+        assertEquals(circle.getMidpoint(), copy.getMidpoint());
+        assertEquals(circle.getRadius(), copy.getRadius());
+        assertEquals(circle.getArea(), copy.getArea());
+    }
+
+    @Test
+    public void testReadEllipse() throws IOException {
+        final var ellipse = new Ellipse(new Point(1, 2), 1e-3, 12345678901234567.0);
+        final var copy = reader(ellipse.toJson().toString()).readEllipse();
+        assertEquals(ellipse.getMidpoint(), copy.getMidpoint());
+        assertEquals(ellipse.getHorizontalRadius(), copy.getHorizontalRadius());
+        assertEquals(ellipse.getVerticalRadius(), copy.getVerticalRadius());
+    }
+
+    @Test
+    public void testReadPolyline() throws IOException {
+        final var polyline = new Polyline(new int[] { 1, -2, 300, 400, 0, 0 }, 3);
+        final var copy = reader(polyline.toJson().toString()).readPolyline();
+        assertEquals(polyline.toJson().toString(), copy.toJson().toString());
+        assertEquals(polyline.getLength(), copy.getLength());
+    }
+
+    @Test
+    public void testReadPolygon() throws IOException {
+        final var reader = reader("[{\"extra\": 1, \"vertices\": [{\"x\": 0, \"y\": 0}, {\"y\": 0, \"x\": 2}, {\"x\": 2, \"y\": 2}]}, {\"vertices\": [{\"x\": 9, \"y\": 9}]}]");
+        reader.beginArray();
+        assertEquals(2, reader.readPolygon().getArea());
+
+        final var existing = new Polygon(new int[] { 0, 0, 1, 1 }, 2);
+        assertSame(existing, reader.readPolygon(existing));
+        assertEquals(1, existing.getVertexCount());
+        assertEquals(new Point(9, 9), existing.getVertex(0));
+        reader.endArray();
+    }
+
+    @Test
+    public void testReadPolygon_withInvalidVertices() {
+        assertThrows(JSONException.class, () -> reader("{}").readPolygon());
+        assertThrows(JSONException.class, () -> reader("{\"vertices\": [{\"x\": 1}]}").readPolyline());
+        assertThrows(IllegalArgumentException.class, () -> reader("{\"vertices\": []}").readPolyline());
+    }
+
+    @Test
+    public void testReadArray_intoExistingShape() throws IOException {
+        final var input = new ByteArrayInputStream("[{\"midpoint\":{\"x\":1,\"y\":1},\"radius\":1}, {\"midpoint\":{\"x\":2,\"y\":2},\"radius\":2}]".getBytes(StandardCharsets.UTF_8));
+        final var circle = new Circle(new Point(0, 0), 0);
+        final var radii = new ArrayList<Double>();
+
+        try (final var reader = new ShapeJsonReader(input)) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                assertSame(circle, reader.readCircle(circle));
+                assertEquals(circle.getRadius(), circle.getMidpoint().getX());
+                radii.add(circle.getRadius());
+            }
+            reader.endArray();
+        }
+
+        assertEquals(List.of(1.0, 2.0), radii);
+    }
+
+    @Test
+    public void testReadArray_withEmptyArray() throws IOException {
+        final var reader = reader(" [ ] ");
+        reader.beginArray();
+        assertFalse(reader.hasNext());
+        reader.endArray();
+    }
+
+    @Test
+    public void testReadArray_withMissingComma() throws IOException {
+        final var reader = reader("[{\"x\":1,\"y\":1} {\"x\":2,\"y\":2}]");
+        reader.beginArray();
+        reader.readPoint();
+        assertTrue(reader.hasNext());
+        assertThrows(JSONException.class, reader::readPoint);
+    }
+
+    @Test
+    public void testHasNext_withNoArray() {
+        assertThrows(JSONException.class, () -> reader("[]").hasNext());
+    }
+
+    @Test
+    public void testRoundTrip_withWriter() throws IOException {
+        final var random = new Random(42);
+        final var ellipses = new ArrayList<Ellipse>();
+        for (int i = 0 ; i < 10_000 ; i++) {
+            ellipses.add(new Ellipse(new Point(random.nextInt(), random.nextInt()), random.nextDouble() * 100, random.nextInt(100)));
+        }
+
+        final var output = new StringWriter();
+        final var writer = new ShapeJsonWriter(output);
+        writer.beginArray();
+        for (final var ellipse : ellipses) {
+            writer.write(ellipse);
+        }
+        writer.endArray();
+
+        // The output is also readable by JSONArray.
+        assertEquals(ellipses.size(), new JSONArray(output.toString()).length());
+
+        final var reader = reader(output.toString());
+        final var ellipse = new Ellipse(new Point(0, 0), 0, 0);
+        reader.beginArray();
+        for (final var expected : ellipses) {
+            assertTrue(reader.hasNext());
+            reader.readEllipse(ellipse);
+            assertEquals(expected.getMidpoint(), ellipse.getMidpoint());
+            assertEquals(expected.getHorizontalRadius(), ellipse.getHorizontalRadius());
+            assertEquals(expected.getVerticalRadius(), ellipse.getVerticalRadius());
+        }
+        assertFalse(reader.hasNext());
+        reader.endArray();
+    }
+
+    private static ShapeJsonReader reader(final String json) {
+        return new ShapeJsonReader(new StringReader(json));
+    }
+}
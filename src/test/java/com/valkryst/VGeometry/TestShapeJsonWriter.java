@@ -0,0 +1,111 @@
+package com.valkryst.VGeometry;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestShapeJsonWriter {
+    @Test
+    public void testWrite_withPoint() throws IOException {
+        final var output = new StringWriter();
+        new ShapeJsonWriter(output).write(new Point(-12, 34));
+
+        assertEquals("{\"x\":-12,\"y\":34}", output.toString());
+        assertEquals(new Point(-12, 34), new Point(new JSONObject(output.toString())));
+    }
+
+    @Test
+    public void testWrite_withLine() throws IOException {
+        final var line = new Line(new Point(1, 2), new Point(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        final var output = new StringWriter();
+        new ShapeJsonWriter(output).write(line);
+
+        final var copy = new Line(new JSONObject(output.toString()));
+        assertEquals(line.getStartPoint(), copy.getStartPoint());
+        assertEquals(line.getEndPoint(), copy.getEndPoint());
+    }
+
+    @Test
+    public void testWrite_withCircle() throws IOException {
+        final var output = new StringWriter();
+        new ShapeJsonWriter(output).write(new Circle(new Point(1, 2), 10));
+
+        // Whole numbers are written as JSONObject writes them.
+        assertEquals("{\"midpoint\":{\"x\":1,\"y\":2},\"radius\":10}", output.toString());
+        assertTrue(new JSONObject(output.toString()).similar(new Circle(new Point(1, 2), 10).toJson()));
+    }
+
+    @Test
+    public void testWrite_withEllipse() throws IOException {
+        final var ellipse = new Ellipse(new Point(1, 2), 0.1, 1e20);
+        final var output = new StringWriter();
+        new ShapeJsonWriter(output).write(ellipse);
+
+        final var copy = new Ellipse(new JSONObject(output.toString()));
+        assertEquals(ellipse.getMidpoint(), copy.getMidpoint());
+        assertEquals(0.1, copy.getHorizontalRadius());
+        assertEquals(1e20, copy.getVerticalRadius());
+    }
+
+    @Test
+    public void testWrite_withPolylineAndPolygon() throws IOException {
+        final var output = new StringWriter();
+        final var writer = new ShapeJsonWriter(output);
+        writer.beginArray();
+        writer.write(new Polyline(new int[] { 1, 2, -3, 4 }, 2));
+        writer.write(new Polygon(new int[] { 5, 6 }, 1));
+        writer.endArray();
+
+        assertEquals("[{\"vertices\":[{\"x\":1,\"y\":2},{\"x\":-3,\"y\":4}]},{\"vertices\":[{\"x\":5,\"y\":6}]}]", output.toString());
+    }
+
+    @Test
+    public void testWrite_withNonFiniteRadius() {
+        final var writer = new ShapeJsonWriter(new StringWriter());
+        assertThrows(JSONException.class, () -> writer.write(new Circle(new Point(0, 0), Double.POSITIVE_INFINITY)));
+        assertThrows(JSONException.class, () -> writer.write(new Ellipse(new Point(0, 0), 1, Double.NaN)));
+    }
+
+    @Test
+    public void testWrite_withArrays() throws IOException {
+        final var buffer = new PointBuffer();
+        buffer.add(1, 2);
+        buffer.add(3, 4);
+
+        final var output = new ByteArrayOutputStream();
+        try (final var writer = new ShapeJsonWriter(output)) {
+            writer.beginArray();
+            writer.write(buffer);
+            writer.beginArray();
+            writer.endArray();
+            writer.write(5, 6);
+            writer.endArray();
+        }
+
+        final var array = new JSONArray(output.toString(StandardCharsets.UTF_8));
+        assertEquals(4, array.length());
+        assertEquals(new Point(3, 4), new Point(array.getJSONObject(1)));
+        assertEquals(0, array.getJSONArray(2).length());
+        assertEquals(new Point(5, 6), new Point(array.getJSONObject(3)));
+    }
+
+    @Test
+    public void testEndArray_withNoArray() {
+        final var writer = new ShapeJsonWriter(new StringWriter());
+        assertThrows(JSONException.class, writer::endArray);
+    }
+
+    @Test
+    public void testConstructor_withNullArguments() {
+        assertThrows(NullPointerException.class, () -> new ShapeJsonWriter((StringWriter) null));
+        assertThrows(NullPointerException.class, () -> new ShapeJsonWriter((ByteArrayOutputStream) null));
+    }
+}
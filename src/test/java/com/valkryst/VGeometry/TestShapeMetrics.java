@@ -0,0 +1,181 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestShapeMetrics {
+    /** An odd count, so that the kernels have a tail to handle. */
+    private static final int COUNT = 1031;
+
+    private static final double TOLERANCE = 1e-12;
+
+    private final Random random = new Random(15);
+
+    @Test
+    public void testIsVectorized() {
+        // The tests are run with the Vector API module, so that both kernels are exercised.
+        assertTrue(ShapeMetrics.isVectorized());
+    }
+
+    @Test
+    public void testCircleAreas() {
+        final var radii = randomRadii();
+        final var areas = new double[COUNT];
+        ShapeMetrics.circleAreas(radii, areas, COUNT);
+
+        for (int i = 0 ; i < COUNT ; i++) {
+            assertClose(new Circle(new Point(0, 0), radii[i]).getArea(), areas[i]);
+        }
+    }
+
+    @Test
+    public void testCircleCircumferences() {
+        final var radii = randomRadii();
+        final var circumferences = new double[COUNT];
+        ShapeMetrics.circleCircumferences(radii, circumferences, COUNT);
+
+        for (int i = 0 ; i < COUNT ; i++) {
+            assertClose(new Circle(new Point(0, 0), radii[i]).getCircumference(), circumferences[i]);
+        }
+    }
+
+    @Test
+    public void testCirclesContain() {
+        final var xs = new int[COUNT];
+        final var ys = new int[COUNT];
+        final var radii = new double[COUNT];
+        for (int i = 0 ; i < COUNT ; i++) {
+            xs[i] = random.nextInt(-50, 50);
+            ys[i] = random.nextInt(-50, 50);
+            radii[i] = random.nextInt(60);
+        }
+        xs[0] = Integer.MIN_VALUE;
+        ys[0] = Integer.MAX_VALUE;
+
+        final var vector = new boolean[COUNT];
+        final var scalar = new boolean[COUNT];
+        ShapeMetrics.circlesContain(xs, ys, radii, COUNT, 3, -7, vector);
+        new ScalarMetricsKernels().circlesContain(xs, ys, radii, COUNT, 3, -7, scalar);
+        assertArrayEquals(scalar, vector);
+
+        for (int i = 0 ; i < COUNT ; i++) {
+            final double dx = (double) xs[i] - 3;
+            final double dy = (double) ys[i] + 7;
+            assertEquals(dx * dx + dy * dy <= radii[i] * radii[i], vector[i]);
+        }
+    }
+
+    @Test
+    public void testEllipsesContain() {
+        final var xs = new int[COUNT];
+        final var ys = new int[COUNT];
+        final var horizontalRadii = new double[COUNT];
+        final var verticalRadii = new double[COUNT];
+        for (int i = 0 ; i < COUNT ; i++) {
+            xs[i] = random.nextInt(-20, 20);
+            ys[i] = random.nextInt(-20, 20);
+            horizontalRadii[i] = random.nextInt(4) == 0 ? 0 : random.nextInt(30);
+            verticalRadii[i] = random.nextInt(4) == 0 ? 0 : random.nextInt(30);
+        }
+
+        final var results = new boolean[COUNT];
+        for (int y = -10 ; y <= 10 ; y += 5) {
+            for (int x = -10 ; x <= 10 ; x += 5) {
+                ShapeMetrics.ellipsesContain(xs, ys, horizontalRadii, verticalRadii, COUNT, x, y, results);
+
+                for (int i = 0 ; i < COUNT ; i++) {
+                    final var ellipse = new Ellipse(new Point(xs[i], ys[i]), horizontalRadii[i], verticalRadii[i]);
+                    assertEquals(ellipse.contains(x, y), results[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEllipseAreas() {
+        final var horizontalRadii = randomRadii();
+        final var verticalRadii = randomRadii();
+        final var areas = new double[COUNT];
+        ShapeMetrics.ellipseAreas(horizontalRadii, verticalRadii, areas, COUNT);
+
+        for (int i = 0 ; i < COUNT ; i++) {
+            assertClose(new Ellipse(new Point(0, 0), horizontalRadii[i], verticalRadii[i]).getArea(), areas[i]);
+        }
+    }
+
+    @Test
+    public void testEllipseCircumferences() {
+        final var horizontalRadii = randomRadii();
+        final var verticalRadii = randomRadii();
+        verticalRadii[1] = horizontalRadii[1];
+
+        final var circumferences = new double[COUNT];
+        ShapeMetrics.ellipseCircumferences(horizontalRadii, verticalRadii, circumferences, COUNT);
+
+        for (int i = 0 ; i < COUNT ; i++) {
+            assertClose(new Ellipse(new Point(0, 0), horizontalRadii[i], verticalRadii[i]).getCircumference(), circumferences[i]);
+        }
+
+        assertClose(2 * Math.PI * horizontalRadii[1], circumferences[1]);
+    }
+
+    @Test
+    public void testVectorMatchesScalar() {
+        final var horizontalRadii = randomRadii();
+        final var verticalRadii = randomRadii();
+        final var vector = new VectorMetricsKernels();
+        final var scalar = new ScalarMetricsKernels();
+
+        // Every count up to a few vectors long, to cover each tail length.
+        for (int count = 0 ; count < 40 ; count++) {
+            final var expected = new double[count];
+            final var actual = new double[count];
+
+            scalar.circleAreas(horizontalRadii, expected, count);
+            vector.circleAreas(horizontalRadii, actual, count);
+            assertArrayEquals(expected, actual, 0);
+
+            scalar.circleCircumferences(horizontalRadii, expected, count);
+            vector.circleCircumferences(horizontalRadii, actual, count);
+            assertArrayEquals(expected, actual, 0);
+
+            scalar.ellipseAreas(horizontalRadii, verticalRadii, expected, count);
+            vector.ellipseAreas(horizontalRadii, verticalRadii, actual, count);
+            assertArrayEquals(expected, actual, 0);
+
+            scalar.ellipseCircumferences(horizontalRadii, verticalRadii, expected, count);
+            vector.ellipseCircumferences(horizontalRadii, verticalRadii, actual, count);
+            for (int i = 0 ; i < count ; i++) {
+                assertClose(expected[i], actual[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testCountIsChecked() {
+        final var radii = new double[4];
+
+        ShapeMetrics.circleAreas(radii, new double[4], 0);
+        assertThrows(IndexOutOfBoundsException.class, () -> ShapeMetrics.circleAreas(radii, new double[4], -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> ShapeMetrics.circleAreas(radii, new double[3], 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> ShapeMetrics.ellipseCircumferences(radii, new double[3], radii, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> ShapeMetrics.circlesContain(new int[4], new int[4], radii, 4, 0, 0, new boolean[3]));
+        assertThrows(NullPointerException.class, () -> ShapeMetrics.circleCircumferences(null, radii, 0));
+    }
+
+    private double[] randomRadii() {
+        final var radii = new double[COUNT];
+        for (int i = 0 ; i < COUNT ; i++) {
+            radii[i] = random.nextDouble() * 1000;
+        }
+        radii[0] = 0.001;
+        return radii;
+    }
+
+    private static void assertClose(final double expected, final double actual) {
+        assertEquals(expected, actual, Math.abs(expected) * TOLERANCE);
+    }
+}
@@ -0,0 +1,90 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestShapePool {
+    @Test
+    public void testConstructor() {
+        final var created = new AtomicInteger();
+        final var pool = new ShapePool<>(() -> {
+            created.incrementAndGet();
+            return new Line();
+        }, 3);
+
+        assertEquals(3, created.get());
+        assertEquals(3, pool.getAvailableCount());
+    }
+
+    @Test
+    public void testConstructor_withNegativeCount() {
+        assertThrows(IllegalArgumentException.class, () -> new ShapePool<>(Line::new, -1));
+    }
+
+    @Test
+    public void testConstructor_withNullFactory() {
+        assertThrows(NullPointerException.class, () -> new ShapePool<Line>(null));
+        assertThrows(NullPointerException.class, () -> new ShapePool<Line>(null, 1));
+    }
+
+    @Test
+    public void testAcquire_createsWhenEmpty() {
+        final var created = new AtomicInteger();
+        final var pool = new ShapePool<>(() -> {
+            created.incrementAndGet();
+            return new Circle();
+        });
+
+        assertNotSame(pool.acquire(), pool.acquire());
+        assertEquals(2, created.get());
+        assertEquals(0, pool.getAvailableCount());
+    }
+
+    @Test
+    public void testAcquire_reusesReleasedShapes() {
+        final var created = new AtomicInteger();
+        final var pool = new ShapePool<>(() -> {
+            created.incrementAndGet();
+            return new Ellipse();
+        });
+
+        final var ellipse = pool.acquire();
+        ellipse.set(1, 2, 3, 4);
+        pool.release(ellipse);
+        assertEquals(1, pool.getAvailableCount());
+
+        // A reused shape keeps the state it was released with.
+        final var reused = pool.acquire();
+        assertSame(ellipse, reused);
+        assertEquals(new Point(1, 2), reused.getMidpoint());
+        assertEquals(1, created.get());
+        assertEquals(0, pool.getAvailableCount());
+    }
+
+    @Test
+    public void testRelease_growsPool() {
+        final var pool = new ShapePool<>(Line::new);
+
+        final var lines = new ArrayList<Line>();
+        for (int i = 0 ; i < 100 ; i++) {
+            lines.add(pool.acquire());
+        }
+        lines.forEach(pool::release);
+        assertEquals(100, pool.getAvailableCount());
+
+        for (int i = 0 ; i < 100 ; i++) {
+            assertTrue(lines.contains(pool.acquire()));
+        }
+        assertEquals(0, pool.getAvailableCount());
+    }
+
+    @Test
+    public void testRelease_withNullShape() {
+        final var pool = new ShapePool<>(Line::new);
+        assertThrows(NullPointerException.class, () -> pool.release(null));
+    }
+}
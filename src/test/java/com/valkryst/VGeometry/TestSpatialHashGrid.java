@@ -0,0 +1,184 @@
+package com.valkryst.VGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSpatialHashGrid {
+    @Test
+    public void testConstructor_withInvalidCellSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SpatialHashGrid(0));
+        assertThrows(IllegalArgumentException.class, () -> new SpatialHashGrid(-1));
+    }
+
+    @Test
+    public void testInsert() {
+        final var grid = new SpatialHashGrid(10);
+        final int point = grid.insert(new Point(5, 5));
+        final int circle = grid.insert(new Circle(new Point(-20, -20), 8));
+
+        assertNotEquals(point, circle);
+        assertEquals(2, grid.getSize());
+        assertTrue(grid.contains(point));
+        assertTrue(grid.contains(circle));
+    }
+
+    @Test
+    public void testInsert_withNullPoint() {
+        final var grid = new SpatialHashGrid(10);
+        assertThrows(NullPointerException.class, () -> grid.insert((Point) null));
+        assertThrows(NullPointerException.class, () -> grid.insert((Circle) null));
+    }
+
+    @Test
+    public void testRemove() {
+        final var grid = new SpatialHashGrid(10);
+        final int handle = grid.insert(5, 5);
+        grid.remove(handle);
+
+        assertEquals(0, grid.getSize());
+        assertFalse(grid.contains(handle));
+        assertEquals(Set.of(), queryRectangle(grid, 0, 0, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> grid.remove(handle));
+    }
+
+    @Test
+    public void testRemove_reusesHandles() {
+        final var grid = new SpatialHashGrid(10);
+        final int handle = grid.insert(5, 5);
+        grid.remove(handle);
+
+        assertEquals(handle, grid.insert(50, 50));
+        assertEquals(Set.of(handle), queryRectangle(grid, 50, 50, 50, 50));
+    }
+
+    @Test
+    public void testMove() {
+        final var grid = new SpatialHashGrid(10);
+        final int handle = grid.insert(5, 5);
+        grid.move(handle, new Point(105, -95));
+
+        assertEquals(Set.of(), queryRectangle(grid, 0, 0, 10, 10));
+        assertEquals(Set.of(handle), queryRectangle(grid, 100, -100, 110, -90));
+    }
+
+    @Test
+    public void testMove_withCircle() {
+        final var grid = new SpatialHashGrid(10);
+        final int handle = grid.insert(new Circle(new Point(0, 0), 1));
+        grid.move(handle, new Circle(new Point(0, 0), 50));
+
+        assertEquals(Set.of(handle), queryRectangle(grid, 40, 0, 45, 0));
+    }
+
+    @Test
+    public void testMove_withInvalidHandle() {
+        final var grid = new SpatialHashGrid(10);
+        assertThrows(IllegalArgumentException.class, () -> grid.move(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> grid.move(-1, 1, 1));
+    }
+
+    @Test
+    public void testQueryRectangle_withCircleCorner() {
+        final var grid = new SpatialHashGrid(4);
+        final int handle = grid.insert(0, 0, 10);
+
+        // The corner of the rectangle is just outside of the circle.
+        assertEquals(Set.of(), queryRectangle(grid, 8, 8, 20, 20));
+        assertEquals(Set.of(handle), queryRectangle(grid, 7, 7, 20, 20));
+    }
+
+    @Test
+    public void testQueryRectangle_withInvertedRectangle() {
+        final var grid = new SpatialHashGrid(4);
+        grid.insert(0, 0);
+        assertEquals(Set.of(), queryRectangle(grid, 1, 1, -1, -1));
+    }
+
+    @Test
+    public void testClear() {
+        final var grid = new SpatialHashGrid(4);
+        grid.insert(0, 0);
+        grid.insert(1, 1, 5);
+        grid.clear();
+
+        assertEquals(0, grid.getSize());
+        assertEquals(Set.of(), queryRectangle(grid, -10, -10, 10, 10));
+        assertEquals(0, grid.insert(3, 3));
+    }
+
+    @Test
+    public void testQueries_matchLinearScan() {
+        final var random = new Random(42);
+        final var grid = new SpatialHashGrid(16);
+
+        final int count = 500;
+        final int[] xs = new int[count];
+        final int[] ys = new int[count];
+        final double[] radii = new double[count];
+        final int[] handles = new int[count];
+
+        for (int i = 0 ; i < count ; i++) {
+            xs[i] = random.nextInt(400) - 200;
+            ys[i] = random.nextInt(400) - 200;
+            radii[i] = random.nextBoolean() ? 0 : random.nextDouble() * 40;
+            handles[i] = grid.insert(xs[i], ys[i], radii[i]);
+        }
+
+        for (int round = 0 ; round < 200 ; round++) {
+            // Move, resize and re-insert some entries.
+            for (int j = 0 ; j < 20 ; j++) {
+                final int i = random.nextInt(count);
+                xs[i] += random.nextInt(21) - 10;
+                ys[i] += random.nextInt(21) - 10;
+                radii[i] = random.nextInt(4) == 0 ? random.nextDouble() * 40 : radii[i];
+
+                if (random.nextInt(10) == 0) {
+                    grid.remove(handles[i]);
+                    handles[i] = grid.insert(xs[i], ys[i], radii[i]);
+                } else {
+                    grid.move(handles[i], xs[i], ys[i], radii[i]);
+                }
+            }
+
+            final int minX = random.nextInt(400) - 200;
+            final int minY = random.nextInt(400) - 200;
+            final int maxX = minX + random.nextInt(100);
+            final int maxY = minY + random.nextInt(100);
+
+            final var expectedRectangle = new HashSet<Integer>();
+            for (int i = 0 ; i < count ; i++) {
+                final double dx = Math.max(0, Math.max(minX - xs[i], xs[i] - maxX));
+                final double dy = Math.max(0, Math.max(minY - ys[i], ys[i] - maxY));
+                if (dx * dx + dy * dy <= radii[i] * radii[i]) {
+                    expectedRectangle.add(handles[i]);
+                }
+            }
+            assertEquals(expectedRectangle, queryRectangle(grid, minX, minY, maxX, maxY));
+
+            final double radius = random.nextDouble() * 60;
+            final var expectedRadius = new HashSet<Integer>();
+            for (int i = 0 ; i < count ; i++) {
+                final double dx = xs[i] - minX;
+                final double dy = ys[i] - minY;
+                if (dx * dx + dy * dy <= (radius + radii[i]) * (radius + radii[i])) {
+                    expectedRadius.add(handles[i]);
+                }
+            }
+
+            final var actualRadius = new HashSet<Integer>();
+            grid.queryRadius(minX, minY, radius, handle -> assertTrue(actualRadius.add(handle)));
+            assertEquals(expectedRadius, actualRadius);
+        }
+    }
+
+    private static Set<Integer> queryRectangle(final SpatialHashGrid grid, final int minX, final int minY, final int maxX, final int maxY) {
+        final var handles = new HashSet<Integer>();
+        grid.queryRectangle(minX, minY, maxX, maxY, handle -> assertTrue(handles.add(handle)));
+        return handles;
+    }
+}